@@ -0,0 +1,116 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.allocationpolicies;
+
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicy;
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicyBestFit;
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.cloudsimplus.util.Log;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A benchmark for placing VMs into Hosts using a {@link VmAllocationPolicy}
+ * which finds a Host for each VM by means of an index of Hosts ordered by their free PEs.
+ * Each benchmark invocation places {@link #VMS_BY_HOST} VMs for each Host
+ * (such as 1 million VMs into 100 thousand Hosts),
+ * where VMs have a random number of PEs.
+ *
+ * <p>Since scenarios with 100 thousand Hosts require some GB of memory,
+ * you may need to increase the JVM heap size to run them.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@State(Scope.Thread)
+public class VmAllocationPolicyBenchmark {
+    private static final int VMS_BY_HOST = 10;
+    private static final int HOST_PES = 32;
+    private static final int MAX_VM_PES = 4;
+
+    @Param({"10000", "100000"})
+    private int hosts;
+
+    @Param({"Simple", "BestFit"})
+    private String policyName;
+
+    private VmAllocationPolicy policy;
+    private List<Vm> vmList;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        Log.setLevel(ch.qos.logback.classic.Level.ERROR);
+        final CloudSim simulation = new CloudSim();
+        final List<Host> hostList = new ArrayList<>(hosts);
+        for (int i = 0; i < hosts; i++) {
+            hostList.add(createHost());
+        }
+
+        policy = "Simple".equals(policyName) ? new VmAllocationPolicySimple() : new VmAllocationPolicyBestFit();
+        new DatacenterSimple(simulation, hostList, policy);
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+
+        final Random random = new Random(1);
+        vmList = new ArrayList<>(hosts * VMS_BY_HOST);
+        for (int i = 0; i < hosts * VMS_BY_HOST; i++) {
+            final Vm vm = new VmSimple(1000, 1 + random.nextInt(MAX_VM_PES));
+            vm.setRam(512).setBw(1000).setSize(1000).setBroker(broker);
+            vmList.add(vm);
+        }
+    }
+
+    private Host createHost() {
+        final List<Pe> peList = new ArrayList<>(HOST_PES);
+        for (int i = 0; i < HOST_PES; i++) {
+            peList.add(new PeSimple(1000));
+        }
+
+        return new HostSimple(HOST_PES * 1024, HOST_PES * 1000, HOST_PES * 10000, peList);
+    }
+
+    @Benchmark
+    public List<Vm> testAllocateHostForVms() {
+        return policy.allocateHostForVm(vmList);
+    }
+}
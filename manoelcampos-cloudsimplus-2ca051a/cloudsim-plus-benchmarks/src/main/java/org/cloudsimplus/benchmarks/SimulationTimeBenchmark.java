@@ -55,6 +55,11 @@ import static java.util.stream.Collectors.toList;
  * Each simulation run increases the number of Hosts, VMs and Cloudlets.
  * That benchmark doesn't use JHM benchmarking framework.
  *
+ * <p>If the {@link #LOGGING_ARG} argument is given, it just compares the execution time
+ * of a simulation with about {@link #LOGGING_CLOUDLETS} Cloudlets
+ * when the {@link CloudSim#isQuietLogging() quiet logging mode} is disabled and enabled,
+ * with logging at the INFO level.</p>
+ *
  * @author Manoel Campos da Silva Filho
  * @since CloudSim Plus 6.2.0
  */
@@ -73,9 +78,20 @@ public class SimulationTimeBenchmark {
     private static final int CLOUDLET_PES = 1;
     private static final int CLOUDLET_LENGTH = 1000;
 
+    /**
+     * Argument to run the benchmark comparing logging modes.
+     */
+    public static final String LOGGING_ARG = "--logging";
+
+    /**
+     * Minimum number of Cloudlets for the benchmark comparing logging modes.
+     */
+    public static final int LOGGING_CLOUDLETS = 100_000;
+
     private final int hostsNumber;
     private final int vmsNumber;
     private final int cloudletsNumber;
+    private final boolean quietLogging;
 
     private final CloudSim simulation;
     private final int index;
@@ -88,12 +104,17 @@ public class SimulationTimeBenchmark {
 
     public static void main(String[] args) {
         System.out.printf("%s - %s%n%n", SimulationTimeBenchmark.class.getSimpleName(), CloudSim.VERSION);
+        if(args.length > 0 && LOGGING_ARG.equals(args[0])){
+            compareLoggingModes();
+            return;
+        }
+
         final double startTimeSecs = System.currentTimeMillis() / 1000.0;
         Log.setLevel(ch.qos.logback.classic.Level.ERROR);
         final List<SimulationTimeBenchmark> experiments =
             IntStream.iterate(INITIAL_HOSTS_NUMBER, hosts -> hosts + HOSTS_INCREMENT)
                      .limit(SIMULATIONS)
-                     .mapToObj(SimulationTimeBenchmark::new)
+                     .mapToObj(hosts -> new SimulationTimeBenchmark(hosts, SIMULATIONS, false))
                      .collect(toList());
 
         System.out.println();
@@ -108,15 +129,37 @@ public class SimulationTimeBenchmark {
             SIMULATIONS, TimeUtil.secondsToStr(TimeUtil.elapsedSeconds(startTimeSecs)));
     }
 
-    private SimulationTimeBenchmark(final int hostsNumber) {
+    /**
+     * Runs a simulation with about {@link #LOGGING_CLOUDLETS} Cloudlets
+     * and logging at INFO level, without and with the quiet logging mode.
+     * Since all messages are written when the quiet mode is disabled,
+     * you may want to redirect the output to a file.
+     */
+    private static void compareLoggingModes() {
+        Log.setLevel(ch.qos.logback.classic.Level.INFO);
+        final int hosts = (LOGGING_CLOUDLETS + VMS_MULTIPLIER - 1) / VMS_MULTIPLIER;
+        final SimulationTimeBenchmark verbose = new SimulationTimeBenchmark(hosts, 2, false);
+        final SimulationTimeBenchmark quiet = new SimulationTimeBenchmark(hosts, 2, true);
+
+        System.out.println();
+        for (final SimulationTimeBenchmark exp : new SimulationTimeBenchmark[]{verbose, quiet}) {
+            System.out.printf(
+                "Cloudlets: %6d Quiet logging: %-5s Execution Time (secs): %8.1f Throughput (Cloudlets/sec): %10.1f%n",
+                exp.cloudletsNumber, exp.quietLogging, exp.finishTimeSecs, exp.cloudletsNumber/exp.finishTimeSecs);
+        }
+    }
+
+    private SimulationTimeBenchmark(final int hostsNumber, final int runs, final boolean quietLogging) {
         this.index = lastIndex.incrementAndGet();
         final double startTimeSecs = System.currentTimeMillis()/1000.0;
-        System.out.printf("Starting simulation run %d/%d for %d hosts at %s%n", index, SIMULATIONS, hostsNumber, LocalTime.now());
+        System.out.printf("Starting simulation run %d/%d for %d hosts at %s%n", index, runs, hostsNumber, LocalTime.now());
 
         this.hostsNumber = hostsNumber;
         this.vmsNumber = hostsNumber;
         this.cloudletsNumber = vmsNumber* VMS_MULTIPLIER;
+        this.quietLogging = quietLogging;
         simulation = new CloudSim();
+        simulation.setQuietLogging(quietLogging);
         datacenter0 = createDatacenter();
 
         //Creates a broker that is a software acting on behalf a cloud customer to manage his/her VMs and Cloudlets
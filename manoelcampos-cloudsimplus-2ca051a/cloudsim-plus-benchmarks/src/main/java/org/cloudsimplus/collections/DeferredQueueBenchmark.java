@@ -0,0 +1,115 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.collections;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimEntity;
+import org.cloudbus.cloudsim.core.SimEntity;
+import org.cloudbus.cloudsim.core.events.CloudSimEvent;
+import org.cloudbus.cloudsim.core.events.DeferredQueue;
+import org.cloudbus.cloudsim.core.events.SimEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * A set of benchmarks to assess how the cost of delivering deferred events
+ * scales with the number of entities.
+ * Each benchmark simulates a clock tick where every entity
+ * receives an event and then gets its own events from the deferred queue, using:
+ * - the {@link DeferredQueue} which keeps a mailbox for each destination entity;
+ * - a single {@link LinkedList} shared by all entities
+ * that is filtered by destination (the previous implementation of the {@link DeferredQueue}).
+ *
+ * @author Manoel Campos da Silva Filho
+ * @see SortedSetVsLinkedList
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+@State(Scope.Thread)
+public class DeferredQueueBenchmark {
+    private static final Predicate<SimEvent> ANY_EVT = evt -> true;
+
+    @Param({"10", "100", "1000", "10000"})
+    private int entitiesNumber;
+
+    private List<SimEntity> entities;
+    private DeferredQueue deferredQueue;
+    private LinkedList<SimEvent> linkedList;
+
+    @Setup(Level.Iteration)
+    public void doSetup() {
+        final CloudSim simulation = new CloudSim();
+        entities = new ArrayList<>(entitiesNumber);
+        for (int i = 0; i < entitiesNumber; i++) {
+            entities.add(new DummyEntity(simulation));
+        }
+
+        deferredQueue = new DeferredQueue();
+        linkedList = new LinkedList<>();
+    }
+
+    @Benchmark
+    public DeferredQueue testMailboxesTick() {
+        for (final SimEntity entity : entities) {
+            deferredQueue.addEvent(new CloudSimEvent(entity, 0));
+        }
+
+        for (final SimEntity entity : entities) {
+            deferredQueue.removeFirst(entity, ANY_EVT);
+        }
+
+        return deferredQueue;
+    }
+
+    @Benchmark
+    public List<SimEvent> testGlobalLinkedListTick() {
+        for (final SimEntity entity : entities) {
+            linkedList.add(new CloudSimEvent(entity, 0));
+        }
+
+        for (final SimEntity entity : entities) {
+            linkedList.stream()
+                      .filter(ANY_EVT.and(evt -> evt.getDestination() == entity))
+                      .findFirst()
+                      .ifPresent(linkedList::remove);
+        }
+
+        return linkedList;
+    }
+
+    private static class DummyEntity extends CloudSimEntity {
+        DummyEntity(final CloudSim simulation) {
+            super(simulation);
+        }
+
+        @Override
+        protected void startInternal() {/**/}
+
+        @Override
+        public void processEvent(final SimEvent evt) {/**/}
+    }
+}
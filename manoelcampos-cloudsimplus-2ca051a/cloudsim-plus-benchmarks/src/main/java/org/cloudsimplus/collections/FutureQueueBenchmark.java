@@ -0,0 +1,91 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.collections;
+
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.cloudbus.cloudsim.core.SimEntity;
+import org.cloudbus.cloudsim.core.events.*;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * A set of benchmarks to compare the performance of {@link FutureEventQueue}
+ * implementations using the classic "hold" model:
+ * the queue is filled with a given number of events and each operation
+ * removes the first event and adds a new one at a random time
+ * after the removed event.
+ * The number of events remains constant during the benchmark.
+ *
+ * @author Manoel Campos da Silva Filho
+ * @see SortedSetVsLinkedList
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+@State(Scope.Thread)
+public class FutureQueueBenchmark {
+    /**
+     * Defines the probability of a new event to be scheduled
+     * at the same time of the removed one,
+     * such as in bursts of simultaneous events.
+     */
+    private static final double SAME_TIME_PROBABILITY = 0.3;
+
+    @Param({"1000", "100000", "1000000"})
+    private int eventsNumber;
+
+    @Param({"simple", "calendar"})
+    private String queueType;
+
+    private FutureEventQueue queue;
+    private RandomGenerator prng;
+
+    @Setup(Level.Iteration)
+    public void doSetup() {
+        queue = "calendar".equals(queueType) ? new FutureQueueCalendar() : new FutureQueue();
+        prng = new Well19937c();
+        for (int i = 0; i < eventsNumber; i++) {
+            queue.addEvent(createEvent(prng.nextDouble() * eventsNumber));
+        }
+    }
+
+    /**
+     * Removes the first event and adds a new one
+     * with a time equal or greater than the removed event.
+     * @return
+     */
+    @Benchmark
+    public FutureEventQueue testHold() {
+        final SimEvent first = queue.first();
+        queue.remove(first);
+        queue.addEvent(createEvent(first.getTime() + nextDelay()));
+        return queue;
+    }
+
+    private double nextDelay() {
+        return prng.nextDouble() < SAME_TIME_PROBABILITY ? 0 : -Math.log(prng.nextDouble()) * 10;
+    }
+
+    private SimEvent createEvent(final double time) {
+        return new CloudSimEvent(time, SimEntity.NULL, SimEntity.NULL, prng.nextInt(4), null);
+    }
+}
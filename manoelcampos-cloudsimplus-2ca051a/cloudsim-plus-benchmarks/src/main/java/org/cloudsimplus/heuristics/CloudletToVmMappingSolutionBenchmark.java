@@ -23,19 +23,23 @@
  */
 package org.cloudsimplus.heuristics;
 
-import java.util.stream.IntStream;
-
 import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
-import org.cloudbus.cloudsim.vms.VmSimple;
 import org.cloudbus.cloudsim.distributions.UniformDistr;
 import org.cloudbus.cloudsim.utilizationmodels.UtilizationModel;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 /**
  * A set of benchmarks for the {@link CloudletToVmMappingSolution} class.
  *
@@ -44,14 +48,23 @@ import org.openjdk.jmh.annotations.State;
 @BenchmarkMode({Mode.AverageTime, Mode.Throughput})
 @State(Scope.Thread)
 public class CloudletToVmMappingSolutionBenchmark {
+    /**
+     * Number of Cloudlets for each VM.
+     */
+    private static final int CLOUDLETS_BY_VM = 10;
+
+    @Param({"100", "100000"})
+    private int cloudlets;
+
     private CloudletToVmMappingSimulatedAnnealing heuristic;
     private CloudletToVmMappingSolution instance1;
     private CloudletToVmMappingSolution instance2;
+    private UniformDistr random;
 
     @Setup
     public void doSetup() {
-        CloudletToVmMappingSimulatedAnnealing heuristic =
-            new CloudletToVmMappingSimulatedAnnealing(0, new UniformDistr(0, 1));
+        random = new UniformDistr(0, 1, 1);
+        heuristic = new CloudletToVmMappingSimulatedAnnealing(0, random);
         instance1 = createInstance();
         instance2 = createInstance();
         /*Call the getCost the first time without measure it
@@ -62,11 +75,14 @@ public class CloudletToVmMappingSolutionBenchmark {
 
     private CloudletToVmMappingSolution createInstance() {
         final CloudletToVmMappingSolution result = new CloudletToVmMappingSolution(heuristic);
-        UtilizationModel um = UtilizationModel.NULL;
-        IntStream.range(0, 100).forEach(i
+        final UtilizationModel um = UtilizationModel.NULL;
+        final List<Vm> vms = IntStream.range(0, Math.max(cloudlets / CLOUDLETS_BY_VM, 1))
+                                      .mapToObj(i -> new VmSimple(i, 1000, i % 8 + 1))
+                                      .collect(Collectors.toList());
+        IntStream.range(0, cloudlets).forEach(i
                 -> result.bindCloudletToVm(
-                        new CloudletSimple(i, 1, 1).setUtilizationModel(um),
-                        new VmSimple(i, 1000, 1))
+                        new CloudletSimple(i, 1, i % 4 + 1).setUtilizationModel(um),
+                        vms.get(i % vms.size()))
         );
 
         return result;
@@ -95,4 +111,21 @@ public class CloudletToVmMappingSolutionBenchmark {
     public double testGetCostWhenSecondCall() {
         return instance2.getCost();
     }
+
+    /**
+     * Evaluates the swap of the VMs of two random Cloudlets, applies it and then rolls it back,
+     * which is the work performed by each neighborhood search of the
+     * {@link CloudletToVmMappingSimulatedAnnealing}.
+     *
+     * @return the cost of the swap
+     */
+    @Benchmark
+    public double testSwapVmsOfCloudletsAndRollback() {
+        final int first = heuristic.getRandomValue(cloudlets);
+        final int second = heuristic.getRandomValue(cloudlets);
+        final double cost = instance2.getCostOfSwap(first, second);
+        instance2.swapVmsOfCloudlets(first, second);
+        instance2.swapVmsOfCloudlets(first, second);
+        return cost;
+    }
 }
@@ -0,0 +1,92 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.network;
+
+import org.cloudbus.cloudsim.network.FloydWarshall;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * A benchmark for the {@link FloydWarshall} all-pairs shortest paths computation,
+ * using a random sparse undirected graph (as the ones generated by BRITE),
+ * where each vertex has about 3 links.
+ * It compares the computation of all paths from scratch with the incremental
+ * update of paths when a link is added and then removed.
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+@State(Scope.Thread)
+public class FloydWarshallBenchmark {
+    private static final int LINKS_PER_VERTEX = 3;
+
+    @Param({"500", "1000"})
+    private int vertices;
+
+    private double[][] delayMatrix;
+    private FloydWarshall floyd;
+    private Random random;
+
+    @Setup
+    public void setup() {
+        random = new Random(1);
+        delayMatrix = new double[vertices][vertices];
+        for (int i = 0; i < vertices * LINKS_PER_VERTEX / 2; i++) {
+            final int src = random.nextInt(vertices);
+            final int dest = random.nextInt(vertices);
+            delayMatrix[src][dest] = random.nextDouble() + 0.1;
+            delayMatrix[dest][src] = delayMatrix[src][dest];
+        }
+
+        floyd = new FloydWarshall(vertices);
+        floyd.computeShortestPaths(delayMatrix);
+    }
+
+    @Benchmark
+    public double[][] testComputeShortestPaths() {
+        return new FloydWarshall(vertices).computeShortestPaths(delayMatrix);
+    }
+
+    @Benchmark
+    public double[][] testComputeShortestPathsInParallel() {
+        return new FloydWarshall(vertices).setParallel(true).computeShortestPaths(delayMatrix);
+    }
+
+    @Benchmark
+    public double testAddAndRemoveLink() {
+        final int src = random.nextInt(vertices);
+        final int dest = random.nextInt(vertices);
+        final double delay = delayMatrix[src][dest];
+        floyd.updateLink(src, dest, 0.01);
+        floyd.updateLink(src, dest, delay);
+        return floyd.getDelay(src, dest);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.network;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.network.switches.AbstractSwitch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A benchmark for the packet forwarding of {@link AbstractSwitch},
+ * where a switch receives a burst of packets while the simulation
+ * has as many other events waiting in the future queue.
+ * The time to run the simulation should grow linearly with the number of packets,
+ * since the arrival of a packet doesn't depend on the number of pending events.
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+@State(Scope.Thread)
+public class SwitchForwardingBenchmark {
+    /**
+     * The interval between the arrival of packets (in seconds),
+     * which is lower than the switching delay, so that forwarding is
+     * postponed by every packet received.
+     */
+    private static final double PACKET_INTERVAL = 0.00001;
+
+    @Param({"1000", "10000", "100000"})
+    private int packets;
+
+    @Benchmark
+    public double testReceivePackets() {
+        final CloudSim simulation = new CloudSim();
+        new BurstSwitch(simulation, packets);
+        return simulation.start();
+    }
+
+    /**
+     * A switch that receives a given number of packets,
+     * while it has as many other events pending.
+     */
+    private static final class BurstSwitch extends AbstractSwitch {
+        private final int packets;
+
+        private BurstSwitch(final CloudSim simulation, final int packets) {
+            super(simulation, null);
+            this.packets = packets;
+            setSwitchingDelay(PACKET_INTERVAL * 10);
+        }
+
+        @Override
+        protected void startInternal() {
+            final double lastPacketTime = packets * PACKET_INTERVAL;
+            for (int i = 0; i < packets; i++) {
+                schedule(this, i * PACKET_INTERVAL, CloudSimTags.NETWORK_EVENT_UP);
+                //Events ignored by the switch, just to keep the future queue large
+                schedule(this, lastPacketTime + 1 + i, CloudSimTags.DATACENTER_LIST_REQUEST);
+            }
+        }
+
+        @Override
+        public int getLevel() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.schedulers;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.schedulers.MipsShare;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletSchedulerSpaceShared;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModel;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A set of benchmarks to assess the performance of updating
+ * the processing of a VM running a large number of Cloudlets,
+ * using different {@link CloudletScheduler}s.
+ * Cloudlets are so long that none of them finishes during the benchmark,
+ * keeping the scheduler in a steady state.
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+@State(Scope.Thread)
+public class CloudletSchedulerBenchmark {
+    private static final int VM_PES = 8;
+    private static final double MIPS = 1000;
+    private static final long CLOUDLET_LENGTH = 1_000_000_000_000L;
+
+    @Param({"10000"})
+    private int cloudletsNumber;
+
+    @Param({"timeShared", "spaceShared"})
+    private String schedulerType;
+
+    private CloudletScheduler scheduler;
+    private MipsShare mipsShare;
+    private double time;
+
+    @Setup(Level.Iteration)
+    public void doSetup() {
+        final CloudSim simulation = new CloudSim();
+        final List<Pe> peList = new ArrayList<>(VM_PES);
+        for (int i = 0; i < VM_PES; i++) {
+            peList.add(new PeSimple(MIPS));
+        }
+
+        final Host host = new HostSimple(1_000_000, 1_000_000, 1_000_000, peList);
+        new DatacenterSimple(simulation, Collections.singletonList(host));
+
+        scheduler = "spaceShared".equals(schedulerType) ? new CloudletSchedulerSpaceShared() : new CloudletSchedulerTimeShared();
+        final Vm vm = new VmSimple(MIPS, VM_PES, scheduler).setRam(1000).setBw(1000).setSize(1000);
+        host.createVm(vm);
+
+        mipsShare = new MipsShare(VM_PES, MIPS);
+        for (int i = 0; i < cloudletsNumber; i++) {
+            final Cloudlet cloudlet = new CloudletSimple(i, CLOUDLET_LENGTH, 1);
+            cloudlet.setUtilizationModelCpu(new UtilizationModelFull())
+                    .setUtilizationModelRam(UtilizationModel.NULL)
+                    .setUtilizationModelBw(UtilizationModel.NULL)
+                    .setVm(vm);
+            scheduler.cloudletSubmit(cloudlet);
+        }
+
+        time = 0;
+    }
+
+    /**
+     * Updates the processing of all Cloudlets running inside the VM.
+     * @return the delay to the next expected Cloudlet completion
+     */
+    @Benchmark
+    public double testUpdateProcessing() {
+        time += 0.1;
+        return scheduler.updateProcessing(time, mipsShare);
+    }
+}
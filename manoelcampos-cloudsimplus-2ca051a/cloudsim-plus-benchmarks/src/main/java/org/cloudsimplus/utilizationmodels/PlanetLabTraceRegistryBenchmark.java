@@ -0,0 +1,135 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.utilizationmodels;
+
+import org.cloudbus.cloudsim.utilizationmodels.PlanetLabTraceRegistry;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelPlanetLab;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * A set of benchmarks for the {@link PlanetLabTraceRegistry} class,
+ * creating {@link UtilizationModelPlanetLab} instances for
+ * a workload with the same number of trace files (and lines per file)
+ * as one day of the PlanetLab dataset.
+ * Synthetic traces are used, since the dataset isn't shipped with the benchmarks.
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+@State(Scope.Thread)
+public class PlanetLabTraceRegistryBenchmark {
+    /**
+     * Number of trace files for one day of the PlanetLab dataset.
+     */
+    private static final int TRACE_FILES = 1052;
+
+    /**
+     * Number of utilization models created for each trace file
+     * (such as for the CPU, RAM and BW of a Cloudlet and for a VM).
+     */
+    private static final int MODELS_PER_TRACE = 4;
+
+    private Path dir;
+    private List<String> traces;
+
+    @Setup
+    public void doSetup() throws IOException {
+        dir = Files.createTempDirectory("planetlab");
+        traces = new ArrayList<>(TRACE_FILES);
+        final Random random = new Random(TRACE_FILES);
+        for (int i = 0; i < TRACE_FILES; i++) {
+            final Path file = dir.resolve("trace" + i);
+            try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+                for (int line = 0; line < UtilizationModelPlanetLab.DEF_DATA_SAMPLES; line++) {
+                    writer.write(random.nextInt(101) + System.lineSeparator());
+                }
+            }
+
+            traces.add(file.toString());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        PlanetLabTraceRegistry.clear();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (final Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+
+        Files.delete(dir);
+    }
+
+    /**
+     * Creates the utilization models reading and parsing every trace file just once,
+     * sharing the values among all models using the same file.
+     * @return the created utilization models
+     */
+    @Benchmark
+    public List<UtilizationModelPlanetLab> testCreateModelsSharingTraces() {
+        PlanetLabTraceRegistry.clear();
+        return createModels(false);
+    }
+
+    /**
+     * Creates the utilization models reading and parsing a trace file for every model,
+     * as it happens when each model has its own copy of the trace values.
+     * @return the created utilization models
+     */
+    @Benchmark
+    public List<UtilizationModelPlanetLab> testCreateModelsReadingTraces() {
+        return createModels(true);
+    }
+
+    private List<UtilizationModelPlanetLab> createModels(final boolean clearRegistry) {
+        final List<UtilizationModelPlanetLab> models = new ArrayList<>(TRACE_FILES * MODELS_PER_TRACE);
+        for (final String trace : traces) {
+            for (int i = 0; i < MODELS_PER_TRACE; i++) {
+                if (clearRegistry) {
+                    PlanetLabTraceRegistry.clear();
+                }
+
+                models.add(new UtilizationModelPlanetLab(trace, UtilizationModelPlanetLab.DEF_SCHEDULING_INTERVAL));
+            }
+        }
+
+        return models;
+    }
+}
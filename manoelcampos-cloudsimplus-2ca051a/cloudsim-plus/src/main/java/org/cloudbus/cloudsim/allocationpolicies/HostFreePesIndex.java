@@ -0,0 +1,283 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.allocationpolicies;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.schedulers.vm.VmSchedulerSpaceShared;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmGroup;
+import org.cloudsimplus.listeners.EventListener;
+import org.cloudsimplus.listeners.HostEventInfo;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An index of the Hosts from a {@link VmAllocationPolicy}, ordered by their
+ * {@link Host#isActive() active state} (active ones first) and number of
+ * {@link Host#getFreePesNumber() free PEs}, so that a {@link VmAllocationPolicy}
+ * selecting the suitable Host with the most or the fewest free PEs
+ * doesn't need to check every Host for every VM.
+ * Hosts with the same active state and number of free PEs are kept
+ * in the order they appear in the {@link VmAllocationPolicy#getHostList() Host list}.
+ *
+ * <p>The index is built when it's first used and updated before each search,
+ * by just re-positioning the Hosts that {@link Host#addOnAvailabilityChangeListener(EventListener) notified}
+ * some change since the last search (due to VM creation, destruction, migration or scaling,
+ * Host start up, shutdown or failure). Hosts changed without notification are re-positioned
+ * when they are reached during the search.
+ * The whole index is rebuilt if Hosts are added or removed.</p>
+ *
+ * <p>Since each Host is checked for {@link Host#isSuitableForVm(Vm) suitability} in the index order
+ * until a suitable one is found, the selected Host is the same one found by checking all Hosts.
+ * The search costs O(log N) for N Hosts when the first Hosts checked are suitable.
+ * If all Hosts use a {@link VmSchedulerSpaceShared}, Hosts without enough free PEs
+ * for the VM are skipped without being checked.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 6.5.3
+ */
+final class HostFreePesIndex {
+    private final VmAllocationPolicy policy;
+
+    /**
+     * The index entries, ordered from the most to the least preferred Host.
+     */
+    private final NavigableSet<Entry> entries;
+
+    /**
+     * A map where each key is a Host and each value is its entry in the index.
+     * Hosts are compared by identity, since different Hosts may have the same id
+     * before they are added to a Datacenter.
+     */
+    private final Map<Host, Entry> hostEntries;
+
+    /**
+     * Hosts that notified some change since the last search.
+     * Since Hosts may be updated in parallel, the set is concurrent.
+     */
+    private final Set<Host> changedHosts;
+
+    private final EventListener<HostEventInfo> availabilityChangeListener;
+
+    /**
+     * Indicates if entries with more free PEs come first.
+     */
+    private final boolean mostFreePesFirst;
+
+    /**
+     * Indicates if all indexed Hosts use a {@link VmSchedulerSpaceShared},
+     * which requires the number of free PEs of a Host to be at least
+     * the number of PEs of a VM for the Host to be suitable.
+     */
+    private boolean spaceSharedHosts;
+
+    /**
+     * Indicates if the current search has found a Host which changed without notifying it,
+     * so that the search must be restarted after the Host is re-positioned.
+     */
+    private boolean restartSearch;
+
+    /**
+     * Creates an index for the Hosts of a given policy.
+     * @param policy the policy to index the Hosts from
+     * @param mostFreePesFirst true to give preference to Hosts with the most free PEs,
+     *                         false to give preference to the ones with the fewest free PEs
+     */
+    HostFreePesIndex(final VmAllocationPolicy policy, final boolean mostFreePesFirst) {
+        this.policy = Objects.requireNonNull(policy);
+        this.mostFreePesFirst = mostFreePesFirst;
+        this.entries = new TreeSet<>(this::compare);
+        this.hostEntries = new IdentityHashMap<>();
+        this.changedHosts = ConcurrentHashMap.newKeySet();
+        this.availabilityChangeListener = info -> changedHosts.add(info.getHost());
+    }
+
+    /**
+     * Finds the most preferred Host that is suitable for a given VM.
+     * @param vm the VM to find a Host for
+     * @return an {@link Optional} containing the Host found or an empty {@link Optional} if not found
+     */
+    Optional<Host> findHostForVm(final Vm vm) {
+        update();
+        final int minFreePes = spaceSharedHosts && !(vm instanceof VmGroup) ? (int) vm.getCurrentRequestedMips().pes() : 0;
+
+        Host host;
+        do {
+            restartSearch = false;
+            host = findHostForVm(vm, true, minFreePes);
+            if (host == Host.NULL && !restartSearch) {
+                host = findHostForVm(vm, false, minFreePes);
+            }
+        } while (restartSearch);
+
+        return host == Host.NULL ? Optional.empty() : Optional.of(host);
+    }
+
+    /**
+     * Finds the most preferred Host for a VM among the active or inactive Hosts.
+     * If some outdated Host is found, it's re-positioned and the search is interrupted,
+     * setting {@link #restartSearch}, since the Host may have moved to a position already passed.
+     *
+     * @param vm the VM to find a Host for
+     * @param active indicates if active or inactive Hosts will be checked
+     * @param minFreePes the minimum number of free PEs a Host must have to be checked
+     * @return the Host found or {@link Host#NULL} if not found or the search was interrupted
+     */
+    private Host findHostForVm(final Vm vm, final boolean active, final int minFreePes) {
+        for (final Entry entry : getEntries(active, minFreePes)) {
+            if (entry.isOutdated()) {
+                reposition(entry.host);
+                restartSearch = true;
+                return Host.NULL;
+            }
+
+            if (entry.host.isSuitableForVm(vm)) {
+                return entry.host;
+            }
+        }
+
+        return Host.NULL;
+    }
+
+    /**
+     * Gets the entries for active or inactive Hosts having a minimum number of free PEs,
+     * from the most to the least preferred one.
+     */
+    private NavigableSet<Entry> getEntries(final boolean active, final int minFreePes) {
+        final Entry min = new Entry(active, minFreePes, mostFreePesFirst ? Long.MAX_VALUE : Long.MIN_VALUE);
+        final Entry max = new Entry(active, Integer.MAX_VALUE, mostFreePesFirst ? Long.MIN_VALUE : Long.MAX_VALUE);
+        return mostFreePesFirst ? entries.subSet(max, true, min, true) : entries.subSet(min, true, max, true);
+    }
+
+    /**
+     * Updates the index, re-positioning the changed Hosts or
+     * rebuilding it if the number of Hosts has changed.
+     */
+    private void update() {
+        final List<Host> hostList = policy.getHostList();
+        if (isHostListChanged(hostList)) {
+            rebuild(hostList);
+            return;
+        }
+
+        for (final Iterator<Host> it = changedHosts.iterator(); it.hasNext(); ) {
+            final Host host = it.next();
+            it.remove();
+            reposition(host);
+        }
+    }
+
+    /**
+     * Checks if Hosts were added to or removed from the Host list since the index was built.
+     * Since new Hosts are added to the end of the list, a Host removed and another one added
+     * is detected by checking the last Host.
+     */
+    private boolean isHostListChanged(final List<Host> hostList) {
+        return hostList.size() != hostEntries.size() ||
+               !hostList.isEmpty() && !hostEntries.containsKey(hostList.get(hostList.size() - 1));
+    }
+
+    private void rebuild(final List<Host> hostList) {
+        hostEntries.keySet().forEach(host -> host.removeOnAvailabilityChangeListener(availabilityChangeListener));
+        hostEntries.clear();
+        entries.clear();
+        changedHosts.clear();
+
+        spaceSharedHosts = true;
+        long position = 0;
+        for (final Host host : hostList) {
+            final Entry entry = new Entry(host, position++);
+            hostEntries.put(host, entry);
+            entries.add(entry);
+            host.addOnAvailabilityChangeListener(availabilityChangeListener);
+            spaceSharedHosts &= host.getVmScheduler() instanceof VmSchedulerSpaceShared;
+        }
+    }
+
+    private void reposition(final Host host) {
+        final Entry entry = hostEntries.get(host);
+        if (entry == null || !entry.isOutdated()) {
+            return;
+        }
+
+        entries.remove(entry);
+        entry.refresh();
+        entries.add(entry);
+    }
+
+    private int compare(final Entry entry1, final Entry entry2) {
+        final int activeComparison = Boolean.compare(entry2.active, entry1.active);
+        if (activeComparison != 0) {
+            return activeComparison;
+        }
+
+        final int freePesComparison = Integer.compare(entry1.freePes, entry2.freePes);
+        if (freePesComparison != 0) {
+            return mostFreePesFirst ? -freePesComparison : freePesComparison;
+        }
+
+        return Long.compare(entry1.position, entry2.position);
+    }
+
+    /**
+     * An index entry storing the Host attributes used to order it
+     * when the entry was last updated, since changing such attributes
+     * for an entry inside the index would break the index order.
+     */
+    private static final class Entry {
+        private final Host host;
+
+        /** The position of the Host in the Host list, used to order Hosts with the same attributes. */
+        private final long position;
+
+        private boolean active;
+        private int freePes;
+
+        private Entry(final Host host, final long position) {
+            this.host = host;
+            this.position = position;
+            refresh();
+        }
+
+        /**
+         * Creates an entry with no Host, used just as a bound to get a range of entries.
+         */
+        private Entry(final boolean active, final int freePes, final long position) {
+            this.host = Host.NULL;
+            this.position = position;
+            this.active = active;
+            this.freePes = freePes;
+        }
+
+        private void refresh() {
+            this.active = host.isActive();
+            this.freePes = host.getFreePesNumber();
+        }
+
+        private boolean isOutdated() {
+            return active != host.isActive() || freePes != host.getFreePesNumber();
+        }
+    }
+}
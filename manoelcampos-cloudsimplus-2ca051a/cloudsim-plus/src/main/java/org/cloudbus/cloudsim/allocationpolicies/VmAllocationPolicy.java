@@ -175,6 +175,13 @@ public interface VmAllocationPolicy {
 
     /**
      * Checks if Host's parallel search is enabled or not.
+     *
+     * <p><b>This setting is ignored by the policies provided by CloudSim Plus</b>,
+     * which don't search Hosts in parallel anymore.
+     * For instance, {@link VmAllocationPolicySimple} and {@link VmAllocationPolicyBestFit}
+     * search an index of Hosts ordered by their number of free PEs.
+     * It's just available for custom policies to decide if they search Hosts in parallel.</p>
+     *
      * @return true if a Host for a VM is to find in parallel, false if it's to be find sequentially
      * @see #setHostCountForParallelSearch(int)
      */
@@ -190,6 +197,8 @@ public interface VmAllocationPolicy {
 
     /**
      * Sets the minimum number of Hosts to start using parallel search.
+     * This setting is ignored by the policies provided by CloudSim Plus
+     * (see {@link #isParallelHostSearchEnabled()}).
      * @param hostCountForParallelSearch the value to set (use {@link Integer#MAX_VALUE} to disable parallel search)
      */
     void setHostCountForParallelSearch(int hostCountForParallelSearch);
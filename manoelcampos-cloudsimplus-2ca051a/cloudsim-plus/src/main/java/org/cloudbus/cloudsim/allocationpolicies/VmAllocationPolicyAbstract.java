@@ -20,6 +20,7 @@ import org.cloudbus.cloudsim.util.Conversion;
 import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudbus.cloudsim.vms.VmGroup;
 import org.cloudsimplus.autoscaling.VerticalVmScaling;
+import org.cloudsimplus.util.Log;
 
 import java.util.*;
 import java.util.function.BiFunction;
@@ -281,7 +282,9 @@ public abstract class VmAllocationPolicyAbstract implements VmAllocationPolicy {
             return allocateHostForVm(vm, optional.get());
         }
 
-        LOGGER.warn("{}: {}: No suitable host found for {} in {}", vm.getSimulation().clockStr(), getClass().getSimpleName(), vm, datacenter);
+        if(LOGGER.isWarnEnabled()) {
+            LOGGER.warn("{}: {}: No suitable host found for {} in {}", vm.getSimulation().clockStr(), getClass().getSimpleName(), vm, datacenter);
+        }
         return new HostSuitability("No suitable host found");
     }
 
@@ -321,9 +324,11 @@ public abstract class VmAllocationPolicyAbstract implements VmAllocationPolicy {
     private HostSuitability createVm(final Vm vm, final Host host) {
         final HostSuitability suitability = host.createVm(vm);
         if (suitability.fully()) {
-            LOGGER.info(
-                "{}: {}: {} has been allocated to {}",
-                vm.getSimulation().clockStr(), getClass().getSimpleName(), vm, host);
+            if(Log.isInfoEnabled(LOGGER, vm.getSimulation())) {
+                LOGGER.info(
+                    "{}: {}: {} has been allocated to {}",
+                    vm.getSimulation().clockStr(), getClass().getSimpleName(), vm, host);
+            }
         } else {
             LOGGER.error(
                 "{}: {} Creation of {} on {} failed due to {}.",
@@ -26,18 +26,17 @@ package org.cloudbus.cloudsim.allocationpolicies;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.vms.Vm;
 
-import java.util.Comparator;
 import java.util.Optional;
-import java.util.stream.Stream;
 
 /**
  * A Best Fit VmAllocationPolicy implementation that chooses, as
  * the host for a VM, the one with the most number of PEs in use,
  * which has enough free PEs for a VM.
  *
- * <p>This is a really computationally complex policy since the worst-case complexity
- * to allocate a Host for a VM is O(N), where N is the number of Hosts.
- * Such an implementation is not appropriate for large scale scenarios.</p>
+ * <p>Hosts are kept in an index ordered by their number of free PEs,
+ * so that allocating a Host for a VM usually costs O(log N), where N is the number of Hosts.
+ * The worst-case complexity is still O(N), when most Hosts
+ * don't have enough RAM, bandwidth or storage for the VM.</p>
  *
  * <p><b>NOTE: This policy doesn't perform optimization of VM allocation by means of VM migration.</b></p>
  *
@@ -48,6 +47,12 @@ import java.util.stream.Stream;
  * @see VmAllocationPolicySimple
  */
 public class VmAllocationPolicyBestFit extends VmAllocationPolicyAbstract {
+    /**
+     * An index of the Hosts ordered by their number of free PEs
+     * (the ones with the fewest free PEs first).
+     */
+    private final HostFreePesIndex hostIndex = new HostFreePesIndex(this, false);
+
     /**
      * Gets the first suitable host from the {@link #getHostList()}
      * that has the most number of PEs in use (i.e. the least number of free PEs).
@@ -55,15 +60,7 @@ public class VmAllocationPolicyBestFit extends VmAllocationPolicyAbstract {
      */
     @Override
     protected Optional<Host> defaultFindHostForVm(final Vm vm) {
-        /* Since it's being used the min operation, the active comparator must be reversed so that
-         * we get active hosts with minimum number of free PEs. */
-        final Comparator<Host> activeComparator = Comparator.comparing(Host::isActive).reversed();
-        final Comparator<Host> comparator = activeComparator.thenComparingLong(Host::getFreePesNumber);
-
-        final Stream<Host> stream = isParallelHostSearchEnabled() ? getHostList().stream().parallel() : getHostList().stream();
-        return stream
-                .filter(host -> host.isSuitableForVm(vm))
-                .min(comparator);
+        return hostIndex.findHostForVm(vm);
     }
 
 }
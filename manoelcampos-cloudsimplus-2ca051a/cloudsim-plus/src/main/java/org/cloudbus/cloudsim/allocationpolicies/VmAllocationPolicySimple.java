@@ -10,20 +10,19 @@ package org.cloudbus.cloudsim.allocationpolicies;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.vms.Vm;
 
-import java.util.Comparator;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Function;
-import java.util.stream.Stream;
 
 /**
  * A VmAllocationPolicy implementation that chooses, as
  * the host for a VM, that one with the fewest PEs in use.
  * <b>It is therefore a Worst Fit policy</b>, allocating each VM into the host with most available PEs.
  *
- * <p>This is a really computationally complex policy since the worst-case complexity
- * to allocate a Host for a VM is O(N), where N is the number of Hosts.
- * Such an implementation is not appropriate for large scale scenarios.</p>
+ * <p>Hosts are kept in an index ordered by their number of free PEs,
+ * so that allocating a Host for a VM usually costs O(log N), where N is the number of Hosts.
+ * The worst-case complexity is still O(N), when most Hosts
+ * don't have enough RAM, bandwidth or storage for the VM.</p>
  *
  * <p><b>NOTE: This policy doesn't perform optimization of VM allocation by means of VM migration.</b></p>
  *
@@ -36,6 +35,12 @@ import java.util.stream.Stream;
  * @see VmAllocationPolicyBestFit
  */
 public class VmAllocationPolicySimple extends VmAllocationPolicyAbstract {
+    /**
+     * An index of the Hosts ordered by their number of free PEs
+     * (the ones with the most free PEs first).
+     */
+    private final HostFreePesIndex hostIndex = new HostFreePesIndex(this, true);
+
     /**
      * Instantiates a VmAllocationPolicySimple.
      */
@@ -60,13 +65,7 @@ public class VmAllocationPolicySimple extends VmAllocationPolicyAbstract {
      */
     @Override
     protected Optional<Host> defaultFindHostForVm(final Vm vm) {
-        final Comparator<Host> comparator = Comparator.comparing(Host::isActive)
-                                                      .thenComparingLong(Host::getFreePesNumber);
-
-        final Stream<Host> stream = isParallelHostSearchEnabled() ? getHostList().stream().parallel() : getHostList().stream();
-        return stream
-                .filter(host -> host.isSuitableForVm(vm))
-                .max(comparator);
+        return hostIndex.findHostForVm(vm);
     }
 
 }
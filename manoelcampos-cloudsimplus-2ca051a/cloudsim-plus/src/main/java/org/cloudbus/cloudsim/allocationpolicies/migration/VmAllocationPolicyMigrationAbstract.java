@@ -59,9 +59,12 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
     private VmSelectionPolicy vmSelectionPolicy;
 
     /**
-     * A map between a VM and the host where it is placed.
+     * A map between a Host and the VMs placed into it
+     * before the Host is temporarily changed for the first time to compute a new VM placement.
+     * Only Hosts that were in fact changed are stored,
+     * so that just them have to be restored after the new placement is computed.
      */
-    private final Map<Vm, Host> savedAllocation;
+    private final Map<Host, List<Vm>> savedAllocation;
 
     /** @see #areHostsUnderloaded() */
     private boolean hostsUnderloaded;
@@ -95,7 +98,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
     {
         super(findHostForVmFunction);
         this.underUtilizationThreshold = DEF_UNDER_UTILIZATION_THRESHOLD;
-        this.savedAllocation = new HashMap<>();
+        this.savedAllocation = new LinkedHashMap<>();
         setVmSelectionPolicy(vmSelectionPolicy);
     }
 
@@ -105,7 +108,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
         final Set<Host> overloadedHosts = getOverloadedHosts();
         this.hostsOverloaded = !overloadedHosts.isEmpty();
         printOverUtilizedHosts(overloadedHosts);
-        saveAllocation();
+        savedAllocation.clear();
 
         final Map<Vm, Host> migrationMap = getMigrationMapFromOverloadedHosts(overloadedHosts);
         updateMigrationMapFromUnderloadedHosts(overloadedHosts, migrationMap);
@@ -148,6 +151,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
         final Set<Host> ignoredTargetHosts = getIgnoredHosts(overloadedHosts, switchedOffHosts);
 
         final int numberOfHosts = getHostList().size();
+        final Queue<HostCpuUtilization> underloadedHosts = getUnderloadedHosts(ignoredSourceHosts);
 
         this.hostsUnderloaded = false;
         while (true) {
@@ -155,7 +159,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
                 break;
             }
 
-            final Host underloadedHost = getUnderloadedHost(ignoredSourceHosts);
+            final Host underloadedHost = getUnderloadedHost(underloadedHosts, ignoredSourceHosts);
             if (underloadedHost == Host.NULL) {
                 break;
             }
@@ -237,22 +241,22 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
     /**
      * Checks if a host will be over utilized after placing of a candidate VM.
      *
+     * <p>Instead of temporarily creating the VM into the Host (which requires allocating and
+     * then releasing every Host resource for each candidate Host), it just checks if the Host is suitable
+     * for the VM and computes the Host CPU usage as if the VM was placed there.</p>
+     *
      * @param host the host to verify
-     * @param vm the candidate vm
+     * @param tempVm a copy of the candidate vm
      * @return true, if the host will be over utilized after VM placement;
      *         false otherwise
      */
-    private boolean isNotHostOverloadedAfterAllocation(final Host host, final Vm vm) {
-        final Vm tempVm = new VmSimple(vm);
-
-        if (!host.createTemporaryVm(tempVm).fully()) {
+    private boolean isNotHostOverloadedAfterAllocation(final Host host, final Vm tempVm) {
+        if (!host.isSuitableForVm(tempVm)) {
             return false;
         }
 
-        final double usagePercent = getHostCpuPercentRequested(host);
-        final boolean notOverloadedAfterAllocation = !isHostOverloaded(host, usagePercent);
-        host.destroyTemporaryVm(tempVm);
-        return notOverloadedAfterAllocation;
+        final double usagePercent = getHostCpuPercentRequested(host, tempVm);
+        return !isHostOverloaded(host, usagePercent);
     }
 
     /**
@@ -339,11 +343,12 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      * @see #findHostForVmInternal(Vm, Stream)
      */
     private Optional<Host> findHostForVm(final Vm vm, final Set<? extends Host> excludedHosts, final Predicate<Host> predicate) {
+        final Vm tempVm = new VmSimple(vm);
         final Stream<Host> stream = this.getHostList().stream()
             .filter(host -> !excludedHosts.contains(host))
             .filter(host -> host.isSuitableForVm(vm))
-            .filter(host -> isNotHostOverloadedAfterAllocation(host, vm))
-            .filter(predicate);
+            .filter(predicate)
+            .filter(host -> isNotHostOverloadedAfterAllocation(host, tempVm));
 
         return findHostForVmInternal(vm, stream);
     }
@@ -452,7 +457,10 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      * @param simulationTime the simulation time to get the current CPU utilization for each Vm
      */
     private void sortByCpuUtilization(final List<? extends Vm> vmList, final double simulationTime) {
-        final Comparator<Vm> comparator = comparingDouble(vm -> vm.getTotalCpuMipsUtilization(simulationTime));
+        //Computes the utilization of each VM just once, instead of every time two VMs are compared
+        final Map<Vm, Double> cpuUtilizationMap = new IdentityHashMap<>(vmList.size());
+        vmList.forEach(vm -> cpuUtilizationMap.put(vm, vm.getTotalCpuMipsUtilization(simulationTime)));
+        final Comparator<Vm> comparator = comparingDouble(cpuUtilizationMap::get);
         vmList.sort(comparator.reversed());
     }
 
@@ -464,6 +472,8 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
         used by the previous VM will be considered when
         assessing the suitability of such a Host for the next VM.
          */
+        saveAllocation(targetHost);
+        saveAllocation(vm.getHost());
         targetHost.createTemporaryVm(vm);
         migrationMap.put(vm, targetHost);
     }
@@ -498,6 +508,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
             vmsToMigrate.add(vm);
             /*Temporarily destroys the selected VM into the overloaded Host so that
             the loop gets VMs from such a Host until it is not overloaded anymore.*/
+            saveAllocation(host);
             host.destroyTemporaryVm(vm);
             if (!isHostOverloaded(host)) {
                 break;
@@ -549,33 +560,84 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
     }
 
     /**
-     * Gets the most underloaded Host.
+     * Gets a priority queue of underloaded Hosts, where the head is the most underloaded one.
      * If a Host is underloaded but it has VMs migrating in,
-     * then it's not included in the returned List
+     * then it's not included in the returned queue
      * because the VMs to be migrated to move the Host from
      * the underload state already are in migration to it.
      * Likewise, if all VMs are migrating out, nothing has to be
      * done anymore. It just has to wait the VMs to finish
      * the migration.
      *
+     * @param excludedHosts the Hosts that have to be ignored when looking for under utilized Hosts
+     * @return the queue of under utilized Hosts
+     * @see #getUnderloadedHost(Queue, Set)
+     */
+    private Queue<HostCpuUtilization> getUnderloadedHosts(final Set<? extends Host> excludedHosts) {
+        final List<Host> hostList = getHostList();
+        final Queue<HostCpuUtilization> queue = new PriorityQueue<>();
+        for (int i = 0; i < hostList.size(); i++) {
+            final Host host = hostList.get(i);
+            if (!excludedHosts.contains(host) && host.isActive() && isHostUnderloaded(host) &&
+                host.getVmsMigratingIn().isEmpty() && notAllVmsAreMigratingOut(host))
+            {
+                queue.add(new HostCpuUtilization(host, i));
+            }
+        }
+
+        return queue;
+    }
+
+    /**
+     * Gets the most underloaded Host from a queue of underloaded Hosts.
+     *
+     * <p>While a new VM placement is computed, the only change in Hosts inside the queue
+     * is the temporary placement of VMs into them, which increases the Host utilization.
+     * This way, the queue is just updated when its head is taken:
+     * if the head Host is excluded or not underloaded anymore, it's removed;
+     * if its utilization has changed, it's re-inserted into the queue in the right position.
+     * That avoids looking over the entire Host list for every underloaded Host.</p>
+     *
+     * @param underloadedHosts the queue of underloaded Hosts, created by {@link #getUnderloadedHosts(Set)}
      * @param excludedHosts the Hosts that have to be ignored when looking for the under utilized Host
      * @return the most under utilized host or {@link Host#NULL} if no Host is found
      */
-    private Host getUnderloadedHost(final Set<? extends Host> excludedHosts) {
-        return this.getHostList().stream()
-            .filter(host -> !excludedHosts.contains(host))
-            .filter(Host::isActive)
-            .filter(this::isHostUnderloaded)
-            .filter(host -> host.getVmsMigratingIn().isEmpty())
-            .filter(this::notAllVmsAreMigratingOut)
-            .min(comparingDouble(Host::getCpuPercentUtilization))
-            .orElse(Host.NULL);
+    private Host getUnderloadedHost(final Queue<HostCpuUtilization> underloadedHosts, final Set<? extends Host> excludedHosts) {
+        while (!underloadedHosts.isEmpty()) {
+            final HostCpuUtilization head = underloadedHosts.poll();
+            final Host host = head.getHost();
+            if (excludedHosts.contains(host) || !isHostUnderloaded(host)) {
+                continue;
+            }
+
+            if (head.isOutdated()) {
+                underloadedHosts.add(new HostCpuUtilization(host, head.getIndex()));
+                continue;
+            }
+
+            return host;
+        }
+
+        return Host.NULL;
     }
 
     private double getHostCpuPercentRequested(final Host host) {
         return getHostTotalRequestedMips(host) / host.getTotalMipsCapacity();
     }
 
+    /**
+     * Gets the percentage of CPU the Host will be requested if a given VM is placed into it.
+     * @param host the Host to get the requested CPU
+     * @param vm the VM which is supposed to be placed into the Host
+     * @return
+     */
+    private double getHostCpuPercentRequested(final Host host, final Vm vm) {
+        final double requestedMips = Stream.concat(host.getVmList().stream(), Stream.of(vm))
+                                           .mapToDouble(Vm::getTotalCpuMipsRequested)
+                                           .sum();
+        return requestedMips / host.getTotalMipsCapacity();
+    }
+
     /**
      * Gets the total MIPS that is currently being used by all VMs inside the Host.
      * @param host
@@ -600,29 +662,31 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
     }
 
     /**
-     * Saves the current map between a VM and the host where it is placed.
+     * Saves the VMs placed into a given Host (which aren't migrating into it),
+     * if the Host is about to be temporarily changed for the first time
+     * to compute a new VM placement.
      *
+     * @param host the Host to save the VMs
      * @see #savedAllocation
      */
-    private void saveAllocation() {
-        savedAllocation.clear();
-        for (final Host host : getHostList()) {
-            for (final Vm vm : host.getVmList()) {
-                /* TODO: this VM loop has a quadratic wost-case complexity (when
-                    all Vms already in the VM list are migrating into this Host).
-                *  Instead of looping over the vmsMigratingIn list for every VM,
-                *  we could add a Host migratingIn attribute to the Vm.
-                * Then, for every VM on the Host, we check this VM attribute
-                * to see if the VM is migrating into the Host. */
-                if (!host.getVmsMigratingIn().contains(vm)) {
-                    savedAllocation.put(vm, host);
-                }
+    private void saveAllocation(final Host host) {
+        if (host == Host.NULL || savedAllocation.containsKey(host)) {
+            return;
+        }
+
+        final Set<Vm> vmsMigratingIn = host.getVmsMigratingIn();
+        final List<Vm> vmList = new ArrayList<>(host.getVmList().size());
+        for (final Vm vm : host.getVmList()) {
+            if (!vmsMigratingIn.contains(vm)) {
+                vmList.add(vm);
             }
         }
+
+        savedAllocation.put(host, vmList);
     }
 
     /**
-     * Restore VM allocation from the allocation history.
+     * Restore VM allocation of the Hosts changed to compute a new VM placement.
      *  TODO: The allocation map only needs to be restored because
      *  VMs are destroyed in order to assess a new VM placement.
      *  After fixing this issue, there will be no need to restore VM mapping.
@@ -631,17 +695,21 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      * @see #savedAllocation
      */
     private void restoreAllocation() {
-        for (final Host host : getHostList()) {
+        for (final Host host : savedAllocation.keySet()) {
             host.destroyAllVms();
             host.reallocateMigratingInVms();
         }
 
-        for (final Vm vm : savedAllocation.keySet()) {
-            final Host host = savedAllocation.get(vm);
-            if (host.createTemporaryVm(vm).fully())
-                vm.setCreated(true);
-            else LOGGER.error("VmAllocationPolicy: Couldn't restore {} on {}", vm, host);
+        for (final Map.Entry<Host, List<Vm>> entry : savedAllocation.entrySet()) {
+            final Host host = entry.getKey();
+            for (final Vm vm : entry.getValue()) {
+                if (host.createTemporaryVm(vm).fully())
+                    vm.setCreated(true);
+                else LOGGER.error("VmAllocationPolicy: Couldn't restore {} on {}", vm, host);
+            }
         }
+
+        savedAllocation.clear();
     }
 
     /**
@@ -752,4 +820,43 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
     public boolean areHostsOverloaded() {
         return hostsOverloaded;
     }
+
+    /**
+     * Stores the CPU utilization of a Host when it's added to a queue of underloaded Hosts,
+     * ordering Hosts by such a utilization and then by their position in the Host list.
+     * @see #getUnderloadedHost(Queue, Set)
+     */
+    private static final class HostCpuUtilization implements Comparable<HostCpuUtilization> {
+        private final Host host;
+        private final int index;
+        private final double cpuUtilization;
+
+        private HostCpuUtilization(final Host host, final int index) {
+            this.host = host;
+            this.index = index;
+            this.cpuUtilization = host.getCpuPercentUtilization();
+        }
+
+        private Host getHost() {
+            return host;
+        }
+
+        private int getIndex() {
+            return index;
+        }
+
+        /**
+         * Checks if the Host CPU utilization has changed since the object was created.
+         * @return
+         */
+        private boolean isOutdated() {
+            return Double.compare(cpuUtilization, host.getCpuPercentUtilization()) != 0;
+        }
+
+        @Override
+        public int compareTo(final HostCpuUtilization other) {
+            final int result = Double.compare(cpuUtilization, other.cpuUtilization);
+            return result == 0 ? Integer.compare(index, other.index) : result;
+        }
+    }
 }
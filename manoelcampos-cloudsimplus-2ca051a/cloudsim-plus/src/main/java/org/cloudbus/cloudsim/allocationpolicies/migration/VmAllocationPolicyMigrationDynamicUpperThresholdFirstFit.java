@@ -2,6 +2,8 @@ package org.cloudbus.cloudsim.allocationpolicies.migration;
 
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicy;
+import org.cloudbus.cloudsim.util.SlidingWindowStats;
+import org.cloudbus.cloudsim.vms.HostResourceStats;
 
 import java.util.Objects;
 
@@ -14,6 +16,13 @@ import java.util.Objects;
 public abstract class VmAllocationPolicyMigrationDynamicUpperThresholdFirstFit extends VmAllocationPolicyMigrationAbstract
     implements VmAllocationPolicyMigrationDynamicUpperThreshold {
 
+    /**
+     * The maximum number of latest CPU utilization values kept for each Host
+     * to compute its over utilization threshold.
+     * @see #getUtilizationHistory(Host)
+     */
+    public static final int HOST_UTILIZATION_HISTORY_SIZE = 30;
+
     /**
      * @see #getSafetyParameter()
      */
@@ -87,6 +96,25 @@ public abstract class VmAllocationPolicyMigrationDynamicUpperThresholdFirstFit e
         }
     }
 
+    /**
+     * Gets the latest CPU utilization percentages (from 0 to 1) collected for a Host,
+     * enabling the collection of the Host {@link Host#getCpuUtilizationStats() CPU utilization statistics}
+     * and its {@link HostResourceStats#getHistory() history} if they aren't enabled yet.
+     * The statistics of the Host VMs aren't enabled, since they aren't used.
+     * The history is updated along with the Host processing, so that the statistical measures
+     * used to compute the over utilization threshold are obtained incrementally,
+     * without sorting the whole history every time the Host is checked.
+     *
+     * @param host the Host to get the CPU utilization history
+     * @return the CPU utilization history, which is empty when just enabled
+     */
+    protected SlidingWindowStats getUtilizationHistory(final Host host) {
+        host.enableCpuUtilizationStats();
+        final HostResourceStats stats = host.getCpuUtilizationStats();
+        stats.enableHistory(HOST_UTILIZATION_HISTORY_SIZE);
+        return stats.getHistory();
+    }
+
     /**
      * Sets the safety parameter.
      *
@@ -0,0 +1,86 @@
+package org.cloudbus.cloudsim.allocationpolicies.migration;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicy;
+import org.cloudbus.cloudsim.util.SlidingWindowStats;
+
+/**
+ * A VM allocation policy that uses the <a href="https://en.wikipedia.org/wiki/Interquartile_range">Inter-quartile Range (IQR)</a>
+ * to compute a dynamic threshold in order to detect host over utilization.
+ *
+ * <p>The IQR is computed from the latest CPU utilization values of each Host,
+ * which are kept sorted while the Host processing is updated.
+ * This way, checking if the Hosts are overloaded doesn't require sorting their history.</p>
+ *
+ * <p>If you are using any algorithms, policies or workload included in the power package please cite
+ * the following paper:
+ * <ul>
+ * <li><a href="https://doi.org/10.1002/cpe.1867">Anton Beloglazov, and Rajkumar Buyya, "Optimal Online Deterministic Algorithms and Adaptive
+ * Heuristics for Energy and Performance Efficient Dynamic Consolidation of Virtual Machines in
+ * Cloud Data Centers", Concurrency and Computation: Practice and Experience (CCPE), Volume 24,
+ * Issue 13, Pages: 1397-1420, John Wiley and Sons, Ltd, New York, USA, 2012</a></li>
+ * </ul>
+ * </p>
+ *
+ * @author Anton Beloglazov
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 6.5.3
+ */
+public class VmAllocationPolicyMigrationInterQuartileRange extends VmAllocationPolicyMigrationDynamicUpperThresholdFirstFit {
+    /**
+     * The minimum number of CPU utilization values a Host must have
+     * to compute its IQR.
+     */
+    public static final int MIN_HISTORY_SIZE = 12;
+
+    /**
+     * The default {@link #getSafetyParameter() safety parameter},
+     * which sets the upper threshold 1.5 IQRs below 100%,
+     * as used in the paper cited in the class documentation.
+     */
+    public static final double DEF_SAFETY_PARAMETER = 1.5;
+
+    /**
+     * Creates a VmAllocationPolicyMigrationInterQuartileRange
+     * with a {@link #getSafetyParameter() safety parameter} equals to {@link #DEF_SAFETY_PARAMETER}
+     * and no {@link #getFallbackVmAllocationPolicy() fallback policy}.
+     *
+     * @param vmSelectionPolicy the policy that defines how VMs are selected for migration
+     */
+    public VmAllocationPolicyMigrationInterQuartileRange(final VmSelectionPolicy vmSelectionPolicy) {
+        this(vmSelectionPolicy, DEF_SAFETY_PARAMETER, VmAllocationPolicyMigration.NULL);
+    }
+
+    /**
+     * Creates a VmAllocationPolicyMigrationInterQuartileRange.
+     *
+     * @param vmSelectionPolicy          the policy that defines how VMs are selected for migration
+     * @param safetyParameter            the safety parameter
+     * @param fallbackVmAllocationPolicy the fallback VM allocation policy to be used when
+     * the over utilization host detection doesn't have data to be computed
+     */
+    public VmAllocationPolicyMigrationInterQuartileRange(
+        final VmSelectionPolicy vmSelectionPolicy,
+        final double safetyParameter,
+        final VmAllocationPolicyMigration fallbackVmAllocationPolicy)
+    {
+        super(vmSelectionPolicy, safetyParameter, fallbackVmAllocationPolicy);
+    }
+
+    /**
+     * Computes the host utilization IQR used for generating the host over utilization threshold.
+     *
+     * @param host the host
+     * @return the host CPU utilization IQR
+     * @throws IllegalStateException when the host doesn't have at least {@link #MIN_HISTORY_SIZE} CPU utilization values
+     */
+    @Override
+    public double computeHostUtilizationMeasure(final Host host) throws IllegalStateException {
+        final SlidingWindowStats history = getUtilizationHistory(host);
+        if (history.size() >= MIN_HISTORY_SIZE) {
+            return history.getIqr();
+        }
+
+        throw new IllegalStateException("There is not enough Host history to compute Host utilization IQR");
+    }
+}
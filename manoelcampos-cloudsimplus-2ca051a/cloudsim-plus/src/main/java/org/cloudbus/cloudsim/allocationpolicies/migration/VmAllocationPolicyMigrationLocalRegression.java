@@ -0,0 +1,183 @@
+package org.cloudbus.cloudsim.allocationpolicies.migration;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicy;
+import org.cloudbus.cloudsim.util.MathUtil;
+import org.cloudbus.cloudsim.util.SlidingWindowStats;
+import org.cloudbus.cloudsim.vms.Vm;
+
+/**
+ * A VM allocation policy that uses <a href="https://en.wikipedia.org/wiki/Local_regression">Local Regression (LR)</a>
+ * to predict the Host CPU utilization in order to detect host over utilization.
+ * A Host is considered overloaded when its predicted utilization,
+ * multiplied by the {@link #getSafetyParameter() safety parameter}, is equal to or greater than 100%.
+ *
+ * <p>The regression uses just the latest {@link #REGRESSION_LENGTH} values in the Host CPU utilization history,
+ * which are read directly from the history kept along with the Host processing,
+ * so that the cost of checking a Host doesn't grow with the history size.</p>
+ *
+ * <p>If you are using any algorithms, policies or workload included in the power package please cite
+ * the following paper:
+ * <ul>
+ * <li><a href="https://doi.org/10.1002/cpe.1867">Anton Beloglazov, and Rajkumar Buyya, "Optimal Online Deterministic Algorithms and Adaptive
+ * Heuristics for Energy and Performance Efficient Dynamic Consolidation of Virtual Machines in
+ * Cloud Data Centers", Concurrency and Computation: Practice and Experience (CCPE), Volume 24,
+ * Issue 13, Pages: 1397-1420, John Wiley and Sons, Ltd, New York, USA, 2012</a></li>
+ * </ul>
+ * </p>
+ *
+ * @author Anton Beloglazov
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 6.5.3
+ */
+public class VmAllocationPolicyMigrationLocalRegression extends VmAllocationPolicyMigrationDynamicUpperThresholdFirstFit {
+    /**
+     * The number of latest CPU utilization values used to compute the regression,
+     * which makes the prediction responsive enough to the latest values.
+     */
+    public static final int REGRESSION_LENGTH = 10;
+
+    /**
+     * The default {@link #getSafetyParameter() safety parameter},
+     * which increases the predicted utilization by 20%,
+     * as used in the paper cited in the class documentation.
+     */
+    public static final double DEF_SAFETY_PARAMETER = 1.2;
+
+    /**
+     * Creates a VmAllocationPolicyMigrationLocalRegression
+     * with a {@link #getSafetyParameter() safety parameter} equals to {@link #DEF_SAFETY_PARAMETER}
+     * and no {@link #getFallbackVmAllocationPolicy() fallback policy}.
+     *
+     * @param vmSelectionPolicy the policy that defines how VMs are selected for migration
+     */
+    public VmAllocationPolicyMigrationLocalRegression(final VmSelectionPolicy vmSelectionPolicy) {
+        this(vmSelectionPolicy, DEF_SAFETY_PARAMETER, VmAllocationPolicyMigration.NULL);
+    }
+
+    /**
+     * Creates a VmAllocationPolicyMigrationLocalRegression.
+     *
+     * @param vmSelectionPolicy          the policy that defines how VMs are selected for migration
+     * @param safetyParameter            the safety parameter
+     * @param fallbackVmAllocationPolicy the fallback VM allocation policy to be used when
+     * the over utilization host detection doesn't have data to be computed
+     */
+    public VmAllocationPolicyMigrationLocalRegression(
+        final VmSelectionPolicy vmSelectionPolicy,
+        final double safetyParameter,
+        final VmAllocationPolicyMigration fallbackVmAllocationPolicy)
+    {
+        super(vmSelectionPolicy, safetyParameter, fallbackVmAllocationPolicy);
+    }
+
+    /**
+     * Checks if a host is over utilized based on its CPU utilization predicted
+     * by {@link #computeHostUtilizationMeasure(Host)}.
+     *
+     * @param host {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean isHostOverloaded(final Host host) {
+        try {
+            return computeHostUtilizationMeasure(host) >= 1;
+        } catch (IllegalStateException e) {
+            return getFallbackVmAllocationPolicy().isHostOverloaded(host);
+        }
+    }
+
+    /**
+     * Gets the Host over utilization threshold used to check if a Host will be overloaded
+     * after placing a VM into it.
+     * Since the over utilization detection is based on a prediction of the Host
+     * utilization, the current utilization is just checked against the Host capacity.
+     *
+     * @param host {@inheritDoc}
+     * @return 1 (meaning 100%) or {@link Double#MAX_VALUE} if the Host doesn't have enough history
+     * to predict its utilization
+     */
+    @Override
+    public double getOverUtilizationThreshold(final Host host) {
+        return getUtilizationHistory(host).size() >= REGRESSION_LENGTH ? 1 : Double.MAX_VALUE;
+    }
+
+    /**
+     * Computes the Host CPU utilization predicted for the time when
+     * the migration of its VMs would finish, multiplied by the {@link #getSafetyParameter() safety parameter}.
+     *
+     * <p>The prediction is made {@code REGRESSION_LENGTH + migrationIntervals} samples ahead,
+     * where the migration intervals are the maximum VM migration time divided by the
+     * Datacenter scheduling interval. That assumes the history has one sample per scheduling interval.
+     * Since the Host utilization is sampled at most once per second
+     * (see {@link org.cloudbus.cloudsim.vms.AbstractResourceStats#add(double)}),
+     * but also whenever the Host is processed, the samples may be closer to each other than the
+     * scheduling interval. In that case, the prediction is actually for an earlier time
+     * than the migration finish.</p>
+     *
+     * @param host the host
+     * @return the predicted Host CPU utilization (in scale from 0 to 1)
+     * @throws IllegalStateException when the host doesn't have at least {@link #REGRESSION_LENGTH}
+     *                               CPU utilization values or the prediction cannot be computed
+     */
+    @Override
+    public double computeHostUtilizationMeasure(final Host host) throws IllegalStateException {
+        final SlidingWindowStats history = getUtilizationHistory(host);
+        if (history.size() < REGRESSION_LENGTH) {
+            throw new IllegalStateException("There is not enough Host history to compute Host utilization regression");
+        }
+
+        final double[] estimates = getParameterEstimates(history.latest(REGRESSION_LENGTH));
+        if (Double.isNaN(estimates[0]) || Double.isNaN(estimates[1])) {
+            throw new IllegalStateException("The Host utilization regression could not be computed");
+        }
+
+        final double migrationIntervals = Math.ceil(getMaximumVmMigrationTime(host) / getSchedulingInterval());
+        final double predictedUtilization = estimates[0] + estimates[1] * (REGRESSION_LENGTH + migrationIntervals);
+        return predictedUtilization * getSafetyParameter();
+    }
+
+    /**
+     * Gets the utilization estimates.
+     *
+     * @param utilizationHistory the utilization history, from the oldest to the latest value
+     * @return the utilization estimates
+     */
+    protected double[] getParameterEstimates(final double... utilizationHistory) {
+        return MathUtil.getLoessParameterEstimates(utilizationHistory);
+    }
+
+    /**
+     * Gets the maximum time (in seconds) to migrate a VM from a given Host,
+     * considering half of the Host bandwidth is available for migration.
+     *
+     * @param host the Host to get the maximum VM migration time
+     * @return the maximum VM migration time
+     */
+    protected double getMaximumVmMigrationTime(final Host host) {
+        final double bw = host.getBw().getCapacity();
+        if (bw <= 0) {
+            return 0;
+        }
+
+        final double maxRam = host.getVmList().stream().mapToDouble(this::getVmRam).max().orElse(0);
+        return maxRam / (bw / (2 * 8));
+    }
+
+    private double getVmRam(final Vm vm) {
+        return vm.getRam().getCapacity();
+    }
+
+    /**
+     * Gets the interval between the Host utilization samples.
+     * The Host utilization is collected at most once per second,
+     * at every {@link org.cloudbus.cloudsim.datacenters.Datacenter#getSchedulingInterval() Datacenter scheduling interval}
+     * when it's defined.
+     *
+     * @return the interval between the samples (in seconds)
+     */
+    private double getSchedulingInterval() {
+        final double interval = getDatacenter().getSchedulingInterval();
+        return interval > 0 ? interval : 1;
+    }
+}
@@ -0,0 +1,64 @@
+package org.cloudbus.cloudsim.allocationpolicies.migration;
+
+import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicy;
+import org.cloudbus.cloudsim.util.MathUtil;
+
+/**
+ * A VM allocation policy that uses Local Regression Robust (LRR) to predict
+ * the Host CPU utilization in order to detect host over utilization.
+ * It works as the {@link VmAllocationPolicyMigrationLocalRegression},
+ * but using a robust regression that is less sensitive to outliers.
+ *
+ * <p>If you are using any algorithms, policies or workload included in the power package please cite
+ * the following paper:
+ * <ul>
+ * <li><a href="https://doi.org/10.1002/cpe.1867">Anton Beloglazov, and Rajkumar Buyya, "Optimal Online Deterministic Algorithms and Adaptive
+ * Heuristics for Energy and Performance Efficient Dynamic Consolidation of Virtual Machines in
+ * Cloud Data Centers", Concurrency and Computation: Practice and Experience (CCPE), Volume 24,
+ * Issue 13, Pages: 1397-1420, John Wiley and Sons, Ltd, New York, USA, 2012</a></li>
+ * </ul>
+ * </p>
+ *
+ * @author Anton Beloglazov
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 6.5.3
+ */
+public class VmAllocationPolicyMigrationLocalRegressionRobust extends VmAllocationPolicyMigrationLocalRegression {
+    /**
+     * Creates a VmAllocationPolicyMigrationLocalRegressionRobust
+     * with a {@link #getSafetyParameter() safety parameter} equals to {@link #DEF_SAFETY_PARAMETER}
+     * and no {@link #getFallbackVmAllocationPolicy() fallback policy}.
+     *
+     * @param vmSelectionPolicy the policy that defines how VMs are selected for migration
+     */
+    public VmAllocationPolicyMigrationLocalRegressionRobust(final VmSelectionPolicy vmSelectionPolicy) {
+        super(vmSelectionPolicy);
+    }
+
+    /**
+     * Creates a VmAllocationPolicyMigrationLocalRegressionRobust.
+     *
+     * @param vmSelectionPolicy          the policy that defines how VMs are selected for migration
+     * @param safetyParameter            the safety parameter
+     * @param fallbackVmAllocationPolicy the fallback VM allocation policy to be used when
+     * the over utilization host detection doesn't have data to be computed
+     */
+    public VmAllocationPolicyMigrationLocalRegressionRobust(
+        final VmSelectionPolicy vmSelectionPolicy,
+        final double safetyParameter,
+        final VmAllocationPolicyMigration fallbackVmAllocationPolicy)
+    {
+        super(vmSelectionPolicy, safetyParameter, fallbackVmAllocationPolicy);
+    }
+
+    /**
+     * Gets the utilization estimates using a robust local regression.
+     *
+     * @param utilizationHistory {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    protected double[] getParameterEstimates(final double... utilizationHistory) {
+        return MathUtil.getRobustLoessParameterEstimates(utilizationHistory);
+    }
+}
@@ -491,4 +491,26 @@ public interface DatacenterBroker extends SimEntity {
      * @return
      */
     DatacenterBroker setShutdownWhenIdle(boolean shutdownWhenIdle);
+
+    /**
+     * Checks if the creation of waiting VMs is requested in batches,
+     * sending a single request to each Datacenter.
+     * @return
+     * @see #setBatchVmCreation(boolean)
+     */
+    boolean isBatchVmCreation();
+
+    /**
+     * Enables or disables the creation of waiting VMs in batches.
+     * When enabled, instead of sending a creation request for each VM,
+     * the broker sends a single {@link org.cloudbus.cloudsim.core.CloudSimTags#VM_CREATE_BATCH_ACK}
+     * request to each selected Datacenter (for VMs having the same submission delay)
+     * and receives a single acknowledgement for all of them.
+     * That largely reduces the number of events and the Host searches
+     * when a large number of VMs is submitted at once.
+     *
+     * @param batchVmCreation true to enable batch VM creation, false to request the creation of each VM individually
+     * @return
+     */
+    DatacenterBroker setBatchVmCreation(boolean batchVmCreation);
 }
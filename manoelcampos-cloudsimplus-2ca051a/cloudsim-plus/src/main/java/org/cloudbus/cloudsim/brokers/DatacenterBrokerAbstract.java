@@ -24,6 +24,7 @@ import org.cloudsimplus.listeners.DatacenterBrokerEventInfo;
 import org.cloudsimplus.listeners.EventInfo;
 import org.cloudsimplus.listeners.EventListener;
 import org.cloudsimplus.traces.google.GoogleTaskEventsTraceReader;
+import org.cloudsimplus.util.Log;
 
 import java.util.*;
 import java.util.function.BiFunction;
@@ -141,6 +142,9 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
 
     /** @see #isShutdownWhenIdle()  */
     private boolean shutdownWhenIdle;
+
+    /** @see #isBatchVmCreation() */
+    private boolean batchVmCreation;
     private boolean vmCreationRetrySent;
 
     /**
@@ -235,9 +239,11 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         vmWaitingList.addAll(list);
 
         if (isStarted() && !list.isEmpty()) {
-            LOGGER.info(
-                "{}: {}: List of {} VMs submitted to the broker during simulation execution. VMs creation request sent to Datacenter.",
-                getSimulation().clockStr(), getName(), list.size());
+            if(Log.isInfoEnabled(LOGGER, getSimulation())) {
+                LOGGER.info(
+                    "{}: {}: List of {} VMs submitted to the broker during simulation execution. VMs creation request sent to Datacenter.",
+                    getSimulation().clockStr(), getName(), list.size());
+            }
             requestDatacentersToCreateWaitingCloudlets();
             if(!vmCreationRetrySent) {
                 lastSelectedDc = null;
@@ -356,15 +362,22 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
             return this;
         }
 
-        LOGGER.info(
-            "{}: {}: List of {} Cloudlets submitted to the broker during simulation execution.",
-            getSimulation().clockStr(), getName(), list.size());
+        final boolean logEnabled = Log.isInfoEnabled(LOGGER, getSimulation());
+        if(logEnabled) {
+            LOGGER.info(
+                "{}: {}: List of {} Cloudlets submitted to the broker during simulation execution.",
+                getSimulation().clockStr(), getName(), list.size());
+        }
 
         if (allNonDelayedVmsCreated()) {
-            LOGGER.info("Cloudlets creation request sent to Datacenter.");
+            if(logEnabled) {
+                LOGGER.info("Cloudlets creation request sent to Datacenter.");
+            }
             requestDatacentersToCreateWaitingCloudlets();
             notifyOnVmsCreatedListeners();
-        } else LOGGER.info("Waiting creation of {} VMs to send Cloudlets creation request to Datacenter.", vmWaitingList.size());
+        } else if(logEnabled) {
+            LOGGER.info("Waiting creation of {} VMs to send Cloudlets creation request to Datacenter.", vmWaitingList.size());
+        }
 
         return this;
     }
@@ -457,7 +470,9 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
             return;
         }
 
-        LOGGER.trace("{}: {}: Unknown event {} received.", getSimulation().clockStr(), this, evt.getTag());
+        if(Log.isTraceEnabled(LOGGER, getSimulation())) {
+            LOGGER.trace("{}: {}: Unknown event {} received.", getSimulation().clockStr(), this, evt.getTag());
+        }
     }
 
     private boolean processCloudletEvents(final SimEvent evt) {
@@ -501,6 +516,9 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
             case CloudSimTags.VM_CREATE_ACK:
                 processVmCreateResponseFromDatacenter(evt);
                 return true;
+            case CloudSimTags.VM_CREATE_BATCH_ACK:
+                processVmCreateBatchResponseFromDatacenter(evt);
+                return true;
             case CloudSimTags.VM_VERTICAL_SCALING:
                 requestVmVerticalScaling(evt);
                 return true;
@@ -604,6 +622,10 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
     }
 
     private void logCloudletStatusChange(final Cloudlet cloudlet, final String status) {
+        if(!Log.isInfoEnabled(LOGGER, getSimulation())) {
+            return;
+        }
+
         final String msg = cloudlet.getJobId() > 0 ? String.format("(job %d) ", cloudlet.getJobId()) : "";
         LOGGER.info("{}: {}: Request to {} {} {}received.", getSimulation().clockStr(), getName(), status, cloudlet, msg);
     }
@@ -645,7 +667,45 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
      */
     private boolean processVmCreateResponseFromDatacenter(final SimEvent evt) {
         final Vm vm = (Vm) evt.getData();
+        processVmCreationResult(vm);
+
+        //Decreases to indicate an ack for the request was received (either if the VM was created or not)
+        vmCreationRequests--;
+        requestCloudletsOrFallbackDatacenterAfterVmCreationAck();
+
+        return vm.isCreated();
+    }
 
+    /**
+     * Process the single ack received from a Datacenter to a broker's request for
+     * creation of a batch of VMs in that Datacenter.
+     *
+     * @param evt a CloudSimEvent object which data is the List of VMs requested to be created
+     * @return the number of VMs created successfully
+     * @see #setBatchVmCreation(boolean)
+     */
+    private int processVmCreateBatchResponseFromDatacenter(final SimEvent evt) {
+        @SuppressWarnings("unchecked")
+        final List<Vm> vmList = (List<Vm>) evt.getData();
+        int createdVms = 0;
+        for (final Vm vm : vmList) {
+            processVmCreationResult(vm);
+            createdVms += vm.isCreated() ? 1 : 0;
+        }
+
+        //Decreases to indicate an ack for the requests was received (either if the VMs were created or not)
+        vmCreationRequests -= vmList.size();
+        requestCloudletsOrFallbackDatacenterAfterVmCreationAck();
+
+        return createdVms;
+    }
+
+    /**
+     * Process the result of the creation of a VM,
+     * informed inside an ack received from a Datacenter.
+     * @param vm the VM that was requested to be created
+     */
+    private void processVmCreationResult(final Vm vm) {
         //if the VM was successfully created in the requested Datacenter
         if (vm.isCreated()) {
             notifyOnVmsCreatedListeners();
@@ -656,23 +716,27 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
             if(!isRetryFailedVms()){
                 vmWaitingList.remove(vm);
                 vmFailedList.add(vm);
-                LOGGER.warn("{}: {}: {} has been moved to the failed list because creation retry is not enabled.", getSimulation().clockStr(), getName(), vm);
+                if(LOGGER.isWarnEnabled()) {
+                    LOGGER.warn("{}: {}: {} has been moved to the failed list because creation retry is not enabled.", getSimulation().clockStr(), getName(), vm);
+                }
             }
 
             vm.notifyOnCreationFailureListeners(lastSelectedDc);
         }
+    }
 
-        //Decreases to indicate an ack for the request was received (either if the VM was created or not)
-        vmCreationRequests--;
-
+    /**
+     * After an ack for VM creation requests is received, requests the creation of waiting Cloudlets
+     * if all non-delayed VMs were created, or tries a fallback Datacenter
+     * if the acks for all requests were received but some VMs couldn't be created.
+     */
+    private void requestCloudletsOrFallbackDatacenterAfterVmCreationAck() {
         if(allNonDelayedVmsCreated()) {
             newVmsArrived = false;
             requestDatacentersToCreateWaitingCloudlets();
         } else if (vmCreationRequests == 0) {
             requestCreationOfWaitingVmsToFallbackDatacenter();
         }
-
-        return vm.isCreated();
     }
 
     @SuppressWarnings("ForLoopReplaceableByForEach")
@@ -740,6 +804,9 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
      * @see #submitVmList(java.util.List)
      */
     private boolean requestDatacenterToCreateWaitingVms(final boolean isFallbackDatacenter, final boolean creationRetry) {
+        /* Maps each selected Datacenter and submission delay to the VMs to be created there,
+         * if batch VM creation is enabled. */
+        final Map<Map.Entry<Datacenter, Double>, List<Vm>> batches = new LinkedHashMap<>();
         for (final Vm vm : vmWaitingList) {
             this.lastSelectedDc = isFallbackDatacenter && selectClosestDatacenter ?
                                         defaultDatacenterMapper(lastSelectedDc, vm) :
@@ -747,12 +814,65 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
             if(creationRetry) {
                 vm.setLastTriedDatacenter(Datacenter.NULL);
             }
-            this.vmCreationRequests += requestVmCreation(lastSelectedDc, isFallbackDatacenter, vm);
+
+            if(batchVmCreation) {
+                addVmToCreationBatch(batches, lastSelectedDc, vm);
+            } else this.vmCreationRequests += requestVmCreation(lastSelectedDc, isFallbackDatacenter, vm);
         }
 
+        batches.forEach((key, vmList) -> requestVmBatchCreation(key.getKey(), isFallbackDatacenter, key.getValue(), vmList));
         return lastSelectedDc != Datacenter.NULL;
     }
 
+    /**
+     * Adds a VM to the batch of VMs to be created in a given Datacenter,
+     * if the VM can be requested to be created there.
+     *
+     * @param batches a map where each key is a Datacenter and a submission delay,
+     *                and each value is the batch of VMs to be created in that Datacenter after that delay
+     * @param datacenter the Datacenter to try creating the VM (or {@link Datacenter#NULL} if not Datacenter is available)
+     * @param vm the VM to be placed
+     * @see #requestVmCreation(Datacenter, boolean, Vm)
+     */
+    private void addVmToCreationBatch(
+        final Map<Map.Entry<Datacenter, Double>, List<Vm>> batches,
+        final Datacenter datacenter, final Vm vm)
+    {
+        if (datacenter == Datacenter.NULL || datacenter.equals(vm.getLastTriedDatacenter())) {
+            return;
+        }
+
+        final Map.Entry<Datacenter, Double> key = new AbstractMap.SimpleImmutableEntry<>(datacenter, vm.getSubmissionDelay());
+        batches.computeIfAbsent(key, k -> new ArrayList<>()).add(vm);
+        vm.setLastTriedDatacenter(datacenter);
+    }
+
+    /**
+     * Requests the creation of a batch of VMs into a given datacenter,
+     * using a single event.
+     *
+     * @param datacenter the Datacenter to try creating the VMs
+     * @param isFallbackDatacenter indicate if the given Datacenter was selected when
+     *                             a previous one don't have enough capacity to place the requested VMs
+     * @param delay the submission delay of all VMs in the batch
+     * @param vmList the VMs to be placed
+     */
+    private void requestVmBatchCreation(
+        final Datacenter datacenter, final boolean isFallbackDatacenter,
+        final double delay, final List<Vm> vmList)
+    {
+        if(Log.isInfoEnabled(LOGGER, getSimulation())) {
+            final String fallbackMsg = isFallbackDatacenter ? " (due to lack of a suitable Host in previous one)" : "";
+            LOGGER.info(
+                "{}: {}: Requesting the creation of a batch of {} VMs in {}{} {}",
+                getSimulation().clockStr(), getName(), vmList.size(), datacenter.getName(), fallbackMsg,
+                delay == 0 ? "now" : "in " + delay + " seconds");
+        }
+
+        send(datacenter, delay, CloudSimTags.VM_CREATE_BATCH_ACK, vmList);
+        this.vmCreationRequests += vmList.size();
+    }
+
     @Override
     public int getVmsNumber() {
         return vmCreatedList.size() + vmWaitingList.size() + vmFailedList.size();
@@ -796,7 +916,9 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         final Cloudlet cloudlet = (Cloudlet) evt.getData();
         cloudletsFinishedList.add(cloudlet);
         ((VmSimple) cloudlet.getVm()).addExpectedFreePesNumber(cloudlet.getNumberOfPes());
-        LOGGER.info("{}: {}: {} finished in {} and returned to broker.", getSimulation().clockStr(), getName(), cloudlet, cloudlet.getVm());
+        if(Log.isInfoEnabled(LOGGER, getSimulation())) {
+            LOGGER.info("{}: {}: {} finished in {} and returned to broker.", getSimulation().clockStr(), getName(), cloudlet, cloudlet.getVm());
+        }
 
         if (cloudlet.getVm().getCloudletScheduler().isEmpty()) {
             requestIdleVmDestruction(cloudlet.getVm());
@@ -838,7 +960,9 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
 
         if (vm.isCreated()) {
             if((delay > DEF_VM_DESTRUCTION_DELAY && vm.isIdleEnough(delay)) || isFinished()) {
-                LOGGER.info("{}: {}: Requesting {} destruction.", getSimulation().clockStr(), getName(), vm);
+                if(Log.isInfoEnabled(LOGGER, getSimulation())) {
+                    LOGGER.info("{}: {}: Requesting {} destruction.", getSimulation().clockStr(), getName(), vm);
+                }
                 sendNow(getDatacenter(vm), CloudSimTags.VM_DESTROY, vm);
             }
 
@@ -882,7 +1006,7 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
             return cloudletsAffected;
         }
 
-        LOGGER.warn("Vm: " + vm.getId() + " does not belong to this broker! Broker: " + this.toString());
+        LOGGER.warn("Vm: {} does not belong to this broker! Broker: {}", vm.getId(), this);
         return new ArrayList<>();
     }
 
@@ -950,6 +1074,10 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
     }
 
     private void logVmCreationRequest(final Datacenter datacenter, final boolean isFallbackDatacenter, final Vm vm) {
+        if(!Log.isInfoEnabled(LOGGER, getSimulation())) {
+            return;
+        }
+
         final String fallbackMsg = isFallbackDatacenter ? " (due to lack of a suitable Host in previous one)" : "";
         if(vm.getSubmissionDelay() == 0)
             LOGGER.info(
@@ -1013,6 +1141,10 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
             return;
 
         final Vm vm = cloudlet.getVm();
+        final boolean delayedVm = vm.getSubmissionDelay() > 0;
+        if(delayedVm ? !Log.isInfoEnabled(LOGGER, getSimulation()) : !LOGGER.isWarnEnabled())
+            return;
+
         final String vmMsg = vm == Vm.NULL ?
                                 "it couldn't be mapped to any VM" :
                                 String.format("bind Vm %d is not available", vm.getId());
@@ -1021,13 +1153,17 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
             "%s: %s: Postponing execution of Cloudlet %d because {}.",
             getSimulation().clockStr(), getName(), cloudlet.getId());
 
-        if(vm.getSubmissionDelay() > 0) {
+        if(delayedVm) {
             final String secs = vm.getSubmissionDelay() > 1 ? "seconds" : "second";
             LOGGER.info(msg, String.format("bind Vm %d was requested to be created with %.2f %s delay", vm.getId(), vm.getSubmissionDelay(), secs));
         } else LOGGER.warn(msg, vmMsg);
     }
 
     private void logCloudletCreationRequest(final Cloudlet cloudlet) {
+        if(!Log.isInfoEnabled(LOGGER, getSimulation())) {
+            return;
+        }
+
         final String delayMsg =
             cloudlet.getSubmissionDelay() > 0 ?
                 String.format(" with a requested delay of %.0f seconds", cloudlet.getSubmissionDelay()) :
@@ -1049,9 +1185,11 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
 
         //avoid duplicated notifications
         if (wereThereWaitingCloudlets) {
-            LOGGER.info(
-                "{}: {}: All {} waiting Cloudlets submitted to some VM.",
-                getSimulation().clockStr(), getName(), createdCloudlets);
+            if(Log.isInfoEnabled(LOGGER, getSimulation())) {
+                LOGGER.info(
+                    "{}: {}: All {} waiting Cloudlets submitted to some VM.",
+                    getSimulation().clockStr(), getName(), createdCloudlets);
+            }
             wereThereWaitingCloudlets = false;
         }
 
@@ -1300,4 +1438,15 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         this.shutdownWhenIdle = shutdownWhenIdle;
         return this;
     }
+
+    @Override
+    public boolean isBatchVmCreation() {
+        return batchVmCreation;
+    }
+
+    @Override
+    public DatacenterBroker setBatchVmCreation(final boolean batchVmCreation) {
+        this.batchVmCreation = batchVmCreation;
+        return this;
+    }
 }
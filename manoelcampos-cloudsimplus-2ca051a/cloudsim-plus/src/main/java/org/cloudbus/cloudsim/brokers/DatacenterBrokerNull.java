@@ -64,6 +64,8 @@ final class DatacenterBrokerNull implements DatacenterBroker, SimEntityNullBase
     @Override public void setFailedVmsRetryDelay(double failedVmsRetryDelay) {/**/}
     @Override public boolean isShutdownWhenIdle() { return false; }
     @Override public DatacenterBroker setShutdownWhenIdle(boolean shutdownWhenIdle) { return this; }
+    @Override public boolean isBatchVmCreation() { return false; }
+    @Override public DatacenterBroker setBatchVmCreation(boolean batchVmCreation) { return this; }
     @Override public DatacenterBroker setVmComparator(Comparator<Vm> comparator) { return this; }
     @Override public void setCloudletComparator(Comparator<Cloudlet> comparator) {/**/}
     @Override public DatacenterBroker submitCloudlet(Cloudlet cloudlet) { return this; }
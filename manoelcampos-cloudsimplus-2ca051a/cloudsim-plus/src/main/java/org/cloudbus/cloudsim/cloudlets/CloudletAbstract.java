@@ -274,7 +274,12 @@ public abstract class CloudletAbstract extends CustomerEntityAbstract implements
 
     @Override
     public void notifyOnUpdateProcessingListeners(final double time) {
-        onUpdateProcessingListeners.forEach(listener -> listener.update(CloudletVmEventInfo.of(listener, time, this)));
+        if (onUpdateProcessingListeners.isEmpty()) {
+            return;
+        }
+
+        getSimulation().runSequentially(() ->
+            onUpdateProcessingListeners.forEach(listener -> listener.update(CloudletVmEventInfo.of(listener, time, this))));
     }
 
     @Override
@@ -414,9 +419,11 @@ public abstract class CloudletAbstract extends CustomerEntityAbstract implements
      * multiple times about a Cloudlet termination.
      */
     private void notifyListenersIfCloudletIsFinished() {
-        if (isFinished()) {
-            onFinishListeners.forEach(listener -> listener.update(CloudletVmEventInfo.of(listener, this)));
-            onFinishListeners.clear();
+        if (isFinished() && !onFinishListeners.isEmpty()) {
+            getSimulation().runSequentially(() -> {
+                onFinishListeners.forEach(listener -> listener.update(CloudletVmEventInfo.of(listener, this)));
+                onFinishListeners.clear();
+            });
         }
     }
 
@@ -116,6 +116,9 @@ public class CloudletExecution {
     /** @see #getLastAllocatedMips() */
     private double lastAllocatedMips;
 
+    /** @see #getExecListIndex() */
+    private int execListIndex;
+
     /**
      * Instantiates a CloudletExecutionInfo object upon the arrival of a Cloudlet inside a Datacenter.
      * The arriving time is determined by {@link CloudSim#clock()}.
@@ -130,6 +133,7 @@ public class CloudletExecution {
         this.totalCompletionTime = 0.0;
         this.startExecTime = 0.0;
         this.virtualRuntime = 0;
+        this.execListIndex = -1;
 
         //In case a Cloudlet has been executed partially by some other Host
         this.instructionsFinishedSoFar = cloudlet.getFinishedLengthSoFar() * Conversion.MILLION;
@@ -293,9 +297,13 @@ public class CloudletExecution {
             return;
         }
 
-        this.instructionsFinishedSoFar += partialFinishedInstructions;
-        final double partialFinishedMI = partialFinishedInstructions / Conversion.MILLION;
-        cloudlet.addFinishedLengthSoFar((long)partialFinishedMI);
+        /* Adds just the MI completed by the instructions executed so far,
+         * so that fractions of MI aren't lost when the Cloudlet is updated many times.
+         * Instructions are rounded to avoid floating-point errors such as 999.99999 instead of 1000. */
+        final long previousFinishedMI = instructionsFinishedSoFar / Conversion.MILLION;
+        this.instructionsFinishedSoFar += Math.round(partialFinishedInstructions);
+        final long partialFinishedMI = instructionsFinishedSoFar / Conversion.MILLION - previousFinishedMI;
+        cloudlet.addFinishedLengthSoFar(partialFinishedMI);
 
         /* If a simulation termination time was defined and the length of the Cloudlet is negative
          * (to indicate that they must not finish before the termination time),
@@ -466,6 +474,27 @@ public class CloudletExecution {
         this.timeSlice = timeSlice;
     }
 
+    /**
+     * Gets the position of the Cloudlet inside the execution list of its {@link CloudletScheduler},
+     * enabling the Cloudlet to be removed from such a list without searching it.
+     * This attribute is used just internally by CloudletSchedulers.
+     *
+     * @return the Cloudlet index in the execution list or -1 if it is not in such a list
+     */
+    public int getExecListIndex() {
+        return execListIndex;
+    }
+
+    /**
+     * Sets the position of the Cloudlet inside the execution list of its {@link CloudletScheduler}.
+     * This attribute is used just internally by CloudletSchedulers.
+     *
+     * @param execListIndex the Cloudlet index to set or -1 if it is not in the execution list
+     */
+    public void setExecListIndex(final int execListIndex) {
+        this.execListIndex = execListIndex;
+    }
+
     @Override
     public String toString() {
         return String.format("Cloudlet %d", cloudlet.getId());
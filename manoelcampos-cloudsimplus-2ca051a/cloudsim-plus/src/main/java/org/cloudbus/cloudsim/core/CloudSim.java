@@ -15,11 +15,16 @@ import org.cloudbus.cloudsim.util.TimeUtil;
 import org.cloudbus.cloudsim.util.Util;
 import org.cloudsimplus.listeners.EventInfo;
 import org.cloudsimplus.listeners.EventListener;
+import org.cloudsimplus.util.Log;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
@@ -86,10 +91,53 @@ public class CloudSim implements Simulation {
      */
     private final List<CloudSimEntity> entities;
 
+    /**
+     * The set of entities that have events to process,
+     * ordered in the same way they were added to the simulation.
+     * Just such entities are executed at each clock tick,
+     * instead of checking all the {@link #entities}.
+     */
+    private final SortedSet<CloudSimEntity> readyEntities;
+
+    /**
+     * A reusable list to iterate over the {@link #readyEntities}
+     * while they are executed and removed from that set.
+     */
+    private final List<CloudSimEntity> readyEntitiesBuffer;
+
+    /**
+     * The sequential number to be assigned to the next entity added to the simulation.
+     * @see CloudSimEntity#getSequence()
+     */
+    private long nextEntitySequence;
+
     /**
      * The queue of events that will be sent in a future simulation time.
      */
-    private final FutureQueue future;
+    private final FutureEventQueue future;
+
+    /**
+     * A reusable list that stores the batch of events happening at the same time,
+     * which are removed at once from the {@link #future} queue to be processed.
+     * @see FutureEventQueue#pollFirstBatch(List)
+     */
+    private final List<SimEvent> futureBatch;
+
+    /**
+     * Index of the event from the {@link #futureBatch} currently being processed.
+     * Events from this index on are still considered future events,
+     * which may be canceled before being processed
+     * (in such a case, they are replaced by null inside the batch).
+     */
+    private int futureBatchIndex;
+
+    /**
+     * Indicates if some event happening at the current simulation time
+     * was added to the {@link #future} queue while the {@link #futureBatch}
+     * was being processed. Such events may have to be processed
+     * before the remaining ones in the batch, to keep events order.
+     */
+    private boolean sameTimeFutureEventAdded;
 
     /**
      * The deferred event queue.
@@ -130,6 +178,9 @@ public class CloudSim implements Simulation {
     /** @see #isAborted() */
     private boolean aborted;
 
+    /** @see #isQuietLogging() */
+    private boolean quietLogging;
+
     /**
      * Indicates if the simulation already run once.
      * If yes, it can't run again.
@@ -142,8 +193,26 @@ public class CloudSim implements Simulation {
     private final Set<EventListener<EventInfo>> onSimulationPauseListeners;
     private final Set<EventListener<EventInfo>> onClockTickListeners;
     private final Set<EventListener<EventInfo>> onSimulationStartListeners;
+
+    /** @see #isProcessEventsInParallel() */
     private boolean processEventsInParallel;
 
+    /** @see #getForkJoinPool() */
+    private ForkJoinPool forkJoinPool;
+
+    /**
+     * The group of tasks being executed by the current thread
+     * when {@link #runInParallel(List, ForkJoinPool) running tasks in parallel},
+     * or null if the thread isn't executing a group of tasks.
+     */
+    private final ThreadLocal<ParallelGroup> parallelGroup;
+
+    /**
+     * The number of {@link #runInParallel(List, ForkJoinPool) parallel executions} in progress.
+     * It avoids checking the {@link #parallelGroup} when nothing is executed in parallel.
+     */
+    private final AtomicInteger parallelExecutions;
+
     /**
      * Creates a CloudSim simulation.
      * Internally it creates a CloudInformationService.
@@ -165,8 +234,52 @@ public class CloudSim implements Simulation {
      * @see CloudInformationService
      */
     public CloudSim(final double minTimeBetweenEvents) {
+        this(minTimeBetweenEvents, new FutureQueue());
+    }
+
+    /**
+     * Creates a CloudSim simulation that uses a given {@link FutureEventQueue}
+     * implementation to store events that will happen in a future simulation time.
+     * Internally it creates a CloudInformationService.
+     *
+     * @param futureQueue the {@link FutureEventQueue} to store future events
+     *                    (which must be empty)
+     * @see FutureQueue
+     * @see FutureQueueCalendar
+     * @see #CloudSim(double, FutureEventQueue)
+     */
+    public CloudSim(final FutureEventQueue futureQueue){
+        this(0.1, futureQueue);
+    }
+
+    /**
+     * Creates a CloudSim simulation that tracks events happening in a time interval
+     * as little as the minTimeBetweenEvents parameter
+     * and uses a given {@link FutureEventQueue} implementation
+     * to store events that will happen in a future simulation time.
+     * Internally it creates a {@link CloudInformationService}.
+     *
+     * @param minTimeBetweenEvents the minimal period between events. Events
+     * within shorter periods after the last event are discarded.
+     * @param futureQueue the {@link FutureEventQueue} to store future events
+     *                    (which must be empty)
+     * @see CloudInformationService
+     * @see FutureQueue
+     * @see FutureQueueCalendar
+     */
+    public CloudSim(final double minTimeBetweenEvents, final FutureEventQueue futureQueue) {
+        if(!requireNonNull(futureQueue).isEmpty()){
+            throw new IllegalArgumentException("The FutureEventQueue given to a simulation must be empty.");
+        }
+
         this.entities = new ArrayList<>();
-        this.future = new FutureQueue();
+        this.readyEntities = new TreeSet<>(Comparator.comparingLong(CloudSimEntity::getSequence));
+        this.readyEntitiesBuffer = new ArrayList<>();
+        this.forkJoinPool = ForkJoinPool.commonPool();
+        this.parallelGroup = new ThreadLocal<>();
+        this.parallelExecutions = new AtomicInteger();
+        this.future = futureQueue;
+        this.futureBatch = new ArrayList<>();
         this.deferred = new DeferredQueue();
         this.waitPredicates = new HashMap<>();
         this.networkTopology = NetworkTopology.NULL;
@@ -466,13 +579,20 @@ public class CloudSim implements Simulation {
     @Override
     public void addEntity(final CloudSimEntity entity) {
         requireNonNull(entity);
+        final ParallelGroup group = getParallelGroup();
+        if (group != null) {
+            group.addOperation(() -> addEntity(entity));
+            return;
+        }
+
         if (running) {
             final SimEvent evt = new CloudSimEvent(SimEvent.Type.CREATE, 0, entity, SimEntity.NULL, -1, entity);
-            future.addEvent(evt);
+            addFutureEvent(evt);
         }
 
         if (entity.getId() == -1) { // Only add once!
             entity.setId(entities.size());
+            entity.setSequence(nextEntitySequence++);
             entities.add(entity);
         }
     }
@@ -483,7 +603,17 @@ public class CloudSim implements Simulation {
                 String.format("Alive entity %s cannot be removed from the simulation entity list.", entity)
             );
         }
+
+        final ParallelGroup group = getParallelGroup();
+        if (group != null) {
+            group.addOperation(() -> removeFinishedEntity(entity));
+            return;
+        }
+
         entities.remove(entity);
+        readyEntities.remove(entity);
+        deferred.removeMailboxIfUnused(entity);
+        future.removeIndex(entity);
     }
 
     /**
@@ -499,9 +629,8 @@ public class CloudSim implements Simulation {
             return false;
         }
 
-        final SimEvent first = future.first();
-        if(first.getTime() <= until) {
-            processFutureEventsHappeningAtSameTimeOfTheFirstOne(first);
+        if(future.first().getTime() <= until) {
+            processFutureEventsHappeningAtSameTimeOfTheFirstOne();
             return true;
         }
 
@@ -522,9 +651,11 @@ public class CloudSim implements Simulation {
         * the simulation must keep running waiting for dynamic events
         * (such as the dynamic arrival of VMs or Cloudlets).
         * Without increasing the time, the simulation stops due to lack of new events.*/
-        LOGGER.info(
-            "{}: Simulation: Waiting more events or the clock to reach {} (the termination time set). Checking new events in {} seconds ({})",
-            clockStr(), terminationTime, increment, info);
+        if(Log.isInfoEnabled(LOGGER, this)) {
+            LOGGER.info(
+                "{}: Simulation: Waiting more events or the clock to reach {} (the termination time set). Checking new events in {} seconds ({})",
+                clockStr(), terminationTime, increment, info);
+        }
         setClock(clock + increment);
         return true;
 
@@ -547,33 +678,332 @@ public class CloudSim implements Simulation {
                 .min().orElse(minTimeBetweenEvents);
     }
 
-    private void processFutureEventsHappeningAtSameTimeOfTheFirstOne(final SimEvent firstEvent) {
-        processEvent(firstEvent);
-        future.remove(firstEvent);
+    /**
+     * Removes all events happening at the same time of the first one
+     * from the {@link #future} queue at once and processes them.
+     * If new events for the current time are added while processing such events,
+     * they are also processed in the right order.
+     */
+    private void processFutureEventsHappeningAtSameTimeOfTheFirstOne() {
+        final double time = future.first().getTime();
+        do {
+            sameTimeFutureEventAdded = false;
+            future.pollFirstBatch(futureBatch);
+            for (futureBatchIndex = 0; futureBatchIndex < futureBatch.size(); futureBatchIndex++) {
+                final SimEvent evt = futureBatch.get(futureBatchIndex);
+                if (evt == null) {
+                    continue;
+                }
+
+                processFutureEventsPrecedingBatchEvent(evt);
+                //Checks if the event wasn't canceled when processing preceding events
+                if (futureBatch.get(futureBatchIndex) != null) {
+                    processEvent(evt);
+                }
+            }
+
+            futureBatch.clear();
+            futureBatchIndex = 0;
+        } while(!future.isEmpty() && future.first().getTime() == time);
+    }
+
+    /**
+     * Processes events added to the {@link #future} queue
+     * for the current time, while the {@link #futureBatch} was being processed,
+     * that must be processed before a given event from the batch
+     * (according to the {@link SimEvent#compareTo(SimEvent) events order}).
+     *
+     * @param batchEvent the next event from the {@link #futureBatch} to be processed
+     */
+    private void processFutureEventsPrecedingBatchEvent(final SimEvent batchEvent) {
+        while (sameTimeFutureEventAdded && !future.isEmpty()) {
+            final SimEvent first = future.first();
+            if (first.getTime() != batchEvent.getTime()) {
+                sameTimeFutureEventAdded = false;
+                return;
+            }
+
+            if (first.compareTo(batchEvent) > 0) {
+                return;
+            }
+
+            future.remove(first);
+            processEvent(first);
+        }
+    }
+
+    /**
+     * Gets a stream of the events inside the {@link #futureBatch} which weren't processed yet.
+     * @return
+     */
+    private Stream<SimEvent> pendingFutureBatchEvents() {
+        return futureBatch.subList(futureBatchIndex, futureBatch.size()).stream().filter(Objects::nonNull);
+    }
+
+    /**
+     * Adds an event to the {@link #future} queue.
+     * @param evt the event to add
+     */
+    private void addFutureEvent(final SimEvent evt) {
+        final ParallelGroup group = getParallelGroup();
+        if (group != null) {
+            group.addEvent(evt, false);
+            return;
+        }
+
+        future.addEvent(evt);
+        sameTimeFutureEventAdded |= evt.getTime() <= clock;
+    }
 
-        while(!future.isEmpty()) {
-            final SimEvent evt = future.first();
-            if(evt.getTime() != firstEvent.getTime())
-                break;
-            processEvent(evt);
-            future.remove(evt);
+    /**
+     * Adds an event to the head of the {@link #future} queue.
+     * @param evt the event to add
+     */
+    private void addFutureEventFirst(final SimEvent evt) {
+        final ParallelGroup group = getParallelGroup();
+        if (group != null) {
+            group.addEvent(evt, true);
+            return;
         }
+
+        future.addEventFirst(evt);
+        sameTimeFutureEventAdded |= evt.getTime() <= clock;
     }
 
     /**
-     * Gets the list of entities that are in {@link SimEntity.State#RUNNABLE}
-     * and execute them.
+     * Gets the list of entities that have events to process and are in {@link SimEntity.State#RUNNABLE},
+     * then execute them. Entities that don't have more events to process are removed
+     * from the {@link #readyEntities} set, until new events are delivered to them.
      */
-    @SuppressWarnings("ForLoopReplaceableByForEach")
     private void executeRunnableEntities(final double until) {
-        /*Uses an indexed for instead of anything else to avoid
-        ConcurrencyModificationException when a HostFaultInjection is created inside a Datacenter*/
-        for (int i = 0; i < entities.size(); i++) {
-            CloudSimEntity ent = entities.get(i);
-            if (ent.getState() == SimEntity.State.RUNNABLE) {
-                ent.run(until);
+        /*Iterates over a copy of the ready entities to avoid
+        ConcurrencyModificationException when they are removed from the set*/
+        readyEntitiesBuffer.addAll(readyEntities);
+        int i = 0;
+        while (i < readyEntitiesBuffer.size()) {
+            final int end = processEventsInParallel ? datacentersSequenceEnd(i) : i + 1;
+            if (end - i > 1) {
+                executeDatacentersInParallel(readyEntitiesBuffer.subList(i, end), until);
+            } else executeEntity(readyEntitiesBuffer.get(i), until);
+            i = end;
+        }
+
+        for (final CloudSimEntity ent : readyEntitiesBuffer) {
+            if (ent.getState() == SimEntity.State.FINISHED || !deferred.hasEvents(ent)) {
+                readyEntities.remove(ent);
+                deferred.removeMailboxIfUnused(ent);
+            }
+        }
+
+        readyEntitiesBuffer.clear();
+    }
+
+    private void executeEntity(final CloudSimEntity ent, final double until) {
+        if (ent.getState() == SimEntity.State.RUNNABLE) {
+            ent.run(until);
+        }
+    }
+
+    /**
+     * Gets the end index of a sequence of {@link Datacenter}s inside the {@link #readyEntitiesBuffer},
+     * which may be executed in parallel.
+     *
+     * @param start the index of the first entity in the sequence
+     * @return the index (exclusive) where the sequence of Datacenters ends
+     */
+    private int datacentersSequenceEnd(final int start) {
+        int end = start;
+        while (end < readyEntitiesBuffer.size() && readyEntitiesBuffer.get(end) instanceof Datacenter) {
+            end++;
+        }
+
+        return Math.max(end, start + 1);
+    }
+
+    /**
+     * Executes a sequence of Datacenters in parallel, using the {@link #getForkJoinPool()}.
+     * Datacenters that may interfere with each other (since they host VMs from the same broker
+     * or have events sent by the same entity to process) are put in the same {@link ParallelGroup},
+     * which executes them sequentially. Different groups are executed in parallel.
+     *
+     * @param datacenters the sequence of Datacenters to execute, in the order they were added to the simulation
+     * @param until the maximum time of events to process
+     * @see #executeGroupsInParallel(List, List, ForkJoinPool)
+     */
+    private void executeDatacentersInParallel(final List<CloudSimEntity> datacenters, final double until) {
+        final List<ParallelGroup> groups = createParallelGroups(datacenters, until);
+        if (groups.size() < 2) {
+            datacenters.forEach(dc -> executeEntity(dc, until));
+            return;
+        }
+
+        final List<Runnable> tasks = new ArrayList<>(datacenters.size());
+        for (final CloudSimEntity dc : datacenters) {
+            tasks.add(() -> executeEntity(dc, until));
+        }
+
+        executeGroupsInParallel(tasks, groups, forkJoinPool);
+    }
+
+    @Override
+    public void runInParallel(final List<? extends Runnable> tasks, final ForkJoinPool pool) {
+        requireNonNull(pool);
+        final int groupsNumber = Math.min(tasks.size(), pool.getParallelism() * 4);
+        if (groupsNumber < 2) {
+            tasks.forEach(Runnable::run);
+            return;
+        }
+
+        //Splits tasks into groups of consecutive tasks with almost the same size
+        final List<ParallelGroup> groups = new ArrayList<>(groupsNumber);
+        for (int i = 0; i < groupsNumber; i++) {
+            final ParallelGroup group = new ParallelGroup();
+            final int end = (int)((long)tasks.size() * (i + 1) / groupsNumber);
+            for (int j = (int)((long)tasks.size() * i / groupsNumber); j < end; j++) {
+                group.indexes.add(j);
+            }
+
+            groups.add(group);
+        }
+
+        executeGroupsInParallel(tasks, groups, pool);
+    }
+
+    @Override
+    public void runSequentially(final Runnable operation) {
+        final ParallelGroup group = getParallelGroup();
+        if (group == null) {
+            operation.run();
+        } else group.addOperation(operation);
+    }
+
+    /**
+     * Executes groups of tasks in parallel, where the tasks inside each group are executed sequentially.
+     *
+     * <p>Operations the tasks request to the simulation
+     * (such as sending events and adding entities),
+     * together with the ones given to {@link #runSequentially(Runnable)},
+     * are buffered and just applied after all groups finish,
+     * in the same order they would be applied if the tasks were executed sequentially.
+     * This way, the simulation results are exactly the same
+     * as when tasks are executed sequentially.</p>
+     *
+     * @param tasks the tasks to execute
+     * @param groups the groups of tasks to execute in parallel
+     * @param pool the pool to execute the groups
+     */
+    private void executeGroupsInParallel(
+        final List<? extends Runnable> tasks, final List<ParallelGroup> groups, final ForkJoinPool pool)
+    {
+        final List<List<Runnable>> operations = new ArrayList<>(Collections.nCopies(tasks.size(), null));
+        final List<ForkJoinTask<?>> forkJoinTasks = new ArrayList<>(groups.size());
+        parallelExecutions.incrementAndGet();
+        try {
+            for (final ParallelGroup group : groups) {
+                forkJoinTasks.add(pool.submit(() -> group.execute(tasks)));
+            }
+
+            for (int i = 0; i < groups.size(); i++) {
+                forkJoinTasks.get(i).join();
+                groups.get(i).collectOperations(operations);
+            }
+        } finally {
+            parallelExecutions.decrementAndGet();
+        }
+
+        for (final List<Runnable> taskOperations : operations) {
+            if (taskOperations != null) {
+                taskOperations.forEach(Runnable::run);
+            }
+        }
+    }
+
+    /**
+     * Splits a sequence of Datacenters into groups that can be executed in parallel.
+     * Two Datacenters are put in the same group if they are related to a common entity,
+     * that is, they have VMs from the same broker or have events to process
+     * sent by the same entity.
+     *
+     * @param datacenters the sequence of Datacenters to split
+     * @param until the maximum time of events to process
+     * @return the list of groups, sorted by the index of the first Datacenter in each group
+     */
+    private List<ParallelGroup> createParallelGroups(final List<CloudSimEntity> datacenters, final double until) {
+        /*A union-find structure where each element is the index of a Datacenter
+        * and the root of an element represents the group it belongs to*/
+        final int[] parents = new int[datacenters.size()];
+        final Map<SimEntity, Integer> owners = new IdentityHashMap<>();
+        for (int i = 0; i < datacenters.size(); i++) {
+            parents[i] = i;
+            final CloudSimEntity dc = datacenters.get(i);
+            if (dc.getState() != SimEntity.State.RUNNABLE) {
+                continue;
+            }
+
+            for (final SimEntity related : relatedEntities(dc, until)) {
+                final Integer owner = owners.putIfAbsent(related, i);
+                if (owner != null) {
+                    parents[findGroupRoot(parents, i)] = findGroupRoot(parents, owner);
+                }
+            }
+        }
+
+        final Map<Integer, ParallelGroup> groups = new LinkedHashMap<>();
+        for (int i = 0; i < datacenters.size(); i++) {
+            if (datacenters.get(i).getState() == SimEntity.State.RUNNABLE) {
+                groups.computeIfAbsent(findGroupRoot(parents, i), root -> new ParallelGroup()).indexes.add(i);
             }
         }
+
+        return new ArrayList<>(groups.values());
+    }
+
+    private static int findGroupRoot(final int[] parents, int index) {
+        while (parents[index] != index) {
+            parents[index] = parents[parents[index]];
+            index = parents[index];
+        }
+
+        return index;
+    }
+
+    /**
+     * Gets the entities that a Datacenter may interact with when processing its events:
+     * the brokers of its VMs and the senders of its events.
+     * Brokers are got from {@link CloudSimEntity#getRelatedEntities()},
+     * which is updated as VMs are created and destroyed, instead of traversing all Hosts and VMs.
+     * Datacenters sharing a broker can't be executed in parallel,
+     * since Cloudlet and VM listeners may change the state of the broker
+     * (for instance, by submitting new Cloudlets).
+     *
+     * @param dc the Datacenter to get the related entities
+     * @param until the maximum time of events to process
+     * @return the set of related entities
+     */
+    private Set<SimEntity> relatedEntities(final CloudSimEntity dc, final double until) {
+        final Set<SimEntity> related = Collections.newSetFromMap(new IdentityHashMap<>());
+        related.addAll(dc.getRelatedEntities());
+
+        deferred.stream(dc)
+                .filter(evt -> evt.getTime() <= until)
+                .forEach(evt -> related.add(evt.getSource()));
+        if (dc.getEventBuffer() != null) {
+            related.add(dc.getEventBuffer().getSource());
+        }
+
+        related.remove(SimEntity.NULL);
+        related.remove(dc);
+        return related;
+    }
+
+    /**
+     * Gets the group of tasks being executed by the current thread
+     * when {@link #runInParallel(List, ForkJoinPool) running tasks in parallel}.
+     *
+     * @return the group or null if the current thread isn't executing a group of tasks
+     */
+    private ParallelGroup getParallelGroup() {
+        return parallelExecutions.get() > 0 ? parallelGroup.get() : null;
     }
 
     private void sendNow(final SimEntity dest, final int tag) {
@@ -595,8 +1025,8 @@ public class CloudSim implements Simulation {
         requireNonNull(evt);
         //Events with a negative tag have higher priority (except the "end of the simulation" event)
         if(evt.getTag() < 0 && evt.getTag() != CloudSimTags.END_OF_SIMULATION)
-            future.addEventFirst(evt);
-        else future.addEvent(evt);
+            addFutureEventFirst(evt);
+        else addFutureEvent(evt);
     }
 
     @Override
@@ -606,7 +1036,7 @@ public class CloudSim implements Simulation {
 
     @Override
     public void sendFirst(SimEvent evt) {
-        future.addEventFirst(evt);
+        addFutureEventFirst(evt);
     }
 
     @Override
@@ -614,44 +1044,47 @@ public class CloudSim implements Simulation {
         src.setState(SimEntity.State.WAITING);
         if (predicate != ANY_EVT) {
             // If a predicate has been used, store it in order to check incoming events that matches it
-            waitPredicates.put(src, predicate);
+            sync(() -> waitPredicates.put(src, predicate));
         }
     }
 
     @Override
     public SimEvent select(final SimEntity dest, final Predicate<SimEvent> predicate) {
-        final SimEvent evt = findFirstDeferred(dest, predicate);
-        if(evt != SimEvent.NULL) {
-            deferred.remove(evt);
-        }
-
-        return evt;
+        return sync(() -> deferred.removeFirst(dest, predicate));
     }
 
     @Override
     public SimEvent findFirstDeferred(final SimEntity dest, final Predicate<SimEvent> predicate) {
-        return filterEventsToDestinationEntity(deferred, predicate, dest).findFirst().orElse(SimEvent.NULL);
-    }
-
-    /**
-     * Gets a stream of events inside a specific queue that match a given predicate
-     * and are targeted to an specific entity.
-     *
-     * @param queue the queue to get the events from
-     * @param predicate the event selection predicate
-     * @param dest Id of entity that the event has to be sent to
-     * @return a Stream of events from the queue
-     */
-    private Stream<SimEvent> filterEventsToDestinationEntity(final EventQueue queue, final Predicate<SimEvent> predicate, final SimEntity dest) {
-        return filterEvents(queue, predicate.and(evt -> evt.getDestination() == dest));
+        return deferred.findFirst(dest, predicate);
     }
 
     @Override
     public SimEvent cancel(final SimEntity src, final Predicate<SimEvent> predicate) {
+        final ParallelGroup group = getParallelGroup();
+        return group == null ? cancelFutureEvent(src, predicate) : group.cancel(src, predicate);
+    }
+
+    private SimEvent cancelFutureEvent(final SimEntity src, final Predicate<SimEvent> predicate) {
+        /*Gets the earliest matching event using min() instead of findFirst(),
+        * since some FutureEventQueue implementations don't iterate events in order.
+        * Events in the batch being processed always precede the ones in the future queue.*/
+        final Predicate<SimEvent> sourcePredicate = isEventSourceEqualsTo(predicate, src);
+        for (int i = futureBatchIndex; i < futureBatch.size(); i++) {
+            final SimEvent evt = futureBatch.get(i);
+            if (evt != null && sourcePredicate.test(evt)) {
+                futureBatch.set(i, null);
+                return evt;
+            }
+        }
+
+        if(predicate instanceof PredicateType){
+            return future.removeFirst(src, ((PredicateType) predicate).getTag(), predicate);
+        }
+
         final SimEvent canceled =
                 future.stream()
-                      .filter(isEventSourceEqualsTo(predicate, src))
-                      .findFirst()
+                      .filter(sourcePredicate)
+                      .min(Comparator.naturalOrder())
                       .orElse(SimEvent.NULL);
         future.remove(canceled);
         return canceled;
@@ -659,24 +1092,35 @@ public class CloudSim implements Simulation {
 
     @Override
     public boolean cancelAll(final SimEntity src, final Predicate<SimEvent> predicate) {
-        final int previousSize = future.size();
-        future.removeIf(isEventSourceEqualsTo(predicate, src));
-        return previousSize < future.size();
+        final ParallelGroup group = getParallelGroup();
+        if (group == null) {
+            return cancelAllFutureEvents(src, predicate);
+        }
+
+        final boolean canceled = group.cancelAll(src, predicate);
+        return sync(() -> cancelAllFutureEvents(src, predicate)) || canceled;
     }
 
-    private Predicate<SimEvent> isEventSourceEqualsTo(final Predicate<SimEvent> predicate, final SimEntity src) {
-        return predicate.and(evt -> evt.getSource().equals(src));
+    private boolean cancelAllFutureEvents(final SimEntity src, final Predicate<SimEvent> predicate) {
+        final Predicate<SimEvent> sourcePredicate = isEventSourceEqualsTo(predicate, src);
+        boolean canceled = false;
+        for (int i = futureBatchIndex; i < futureBatch.size(); i++) {
+            final SimEvent evt = futureBatch.get(i);
+            if (evt != null && sourcePredicate.test(evt)) {
+                futureBatch.set(i, null);
+                canceled = true;
+            }
+        }
+
+        if(predicate instanceof PredicateType){
+            return future.removeIf(src, ((PredicateType) predicate).getTag(), predicate) || canceled;
+        }
+
+        return future.removeIf(sourcePredicate) || canceled;
     }
 
-    /**
-     * Gets a stream of events inside a specific queue that match a given predicate.
-     *
-     * @param queue the queue to get the events from
-     * @param predicate the event selection predicate
-     * @return a Stream of events from the queue
-     */
-    private Stream<SimEvent> filterEvents(final EventQueue queue, final Predicate<SimEvent> predicate) {
-        return queue.stream().filter(predicate);
+    private Predicate<SimEvent> isEventSourceEqualsTo(final Predicate<SimEvent> predicate, final SimEntity src) {
+        return predicate.and(evt -> evt.getSource().equals(src));
     }
 
     /**
@@ -697,7 +1141,8 @@ public class CloudSim implements Simulation {
     }
 
     /**
-     * Checks if the simulation must {@link #processEventsInParallel process events in parallel}
+     * Checks if the current thread is executing tasks in parallel
+     * (see {@link #runInParallel(List, ForkJoinPool)})
      * and then synchronizes some code block encapsulated into a {@link Runnable} object
      * (or lambda expression). This ensures thread safety to call the code block.
      *
@@ -706,15 +1151,27 @@ public class CloudSim implements Simulation {
      * This gives the sync() method a lambda expression representing a {@link Runnable}.
      * </p>
      *
-     * <p><b>WARNING:</b> this is a very experimental feature. It may result
-     * in unexpected simulation behaviour. Use at your own risk.</p>
-     *
      * @param runnable The {@link Runnable} that encapsulates the code block to be called synchronously.
      */
     private void sync(final Runnable runnable){
-        if(processEventsInParallel)
-            synchronized(this){ runnable.run(); }
-        else runnable.run();
+        sync(() -> { runnable.run(); return null; });
+    }
+
+    /**
+     * Checks if the current thread is executing tasks in parallel
+     * (see {@link #runInParallel(List, ForkJoinPool)})
+     * and then synchronizes some code block encapsulated into a {@link Supplier} object
+     * (or lambda expression), returning its result.
+     *
+     * @param supplier The {@link Supplier} that encapsulates the code block to be called synchronously.
+     * @param <T> the type of the result
+     * @return the result of the code block
+     */
+    private <T> T sync(final Supplier<T> supplier){
+        if(getParallelGroup() == null)
+            return supplier.get();
+
+        synchronized(this){ return supplier.get(); }
     }
 
     private void processEventByType(final SimEvent evt) {
@@ -757,6 +1214,7 @@ public class CloudSim implements Simulation {
         }
 
         evt.getSource().setState(SimEntity.State.RUNNABLE);
+        readyEntities.add((CloudSimEntity) evt.getSource());
     }
 
     private void processSendEvent(final SimEvent evt) {
@@ -765,6 +1223,7 @@ public class CloudSim implements Simulation {
         }
 
         final CloudSimEntity destEnt = (CloudSimEntity)evt.getDestination();
+        readyEntities.add(destEnt);
         if (destEnt.getState() != SimEntity.State.WAITING) {
             deferred.addEvent(evt);
             return;
@@ -834,7 +1293,7 @@ public class CloudSim implements Simulation {
     }
 
     private void addHoldingFutureEvent(SimEntity src, SimEvent evt) {
-        future.addEvent(evt);
+        addFutureEvent(evt);
         src.setState(SimEntity.State.HOLDING);
     }
 
@@ -885,12 +1344,12 @@ public class CloudSim implements Simulation {
 
     @Override
     public long getNumberOfFutureEvents(final Predicate<SimEvent> predicate){
-        return future.stream().filter(predicate).count();
+        return future.stream().filter(predicate).count() + pendingFutureBatchEvents().filter(predicate).count();
     }
 
     @Override
     public boolean isThereAnyFutureEvt(final Predicate<SimEvent> predicate){
-        return future.stream().anyMatch(predicate);
+        return future.stream().anyMatch(predicate) || pendingFutureBatchEvents().anyMatch(predicate);
     }
 
     private boolean isThereFutureEvtsAndNextOneHappensAfterTimeToPause() {
@@ -907,7 +1366,7 @@ public class CloudSim implements Simulation {
     }
 
     private boolean isNextFutureEventHappeningAfterTimeToPause() {
-        return future.iterator().next().getTime() >= pauseAt;
+        return future.first().getTime() >= pauseAt;
     }
 
     @Override
@@ -987,13 +1446,13 @@ public class CloudSim implements Simulation {
 
     /**
      * Gets the maximum number of events that have ever existed at the same time
-     * inside the {@link FutureQueue}.
+     * inside the {@link FutureEventQueue}.
      */
     public long getMaxEventsNumber() {
         return future.getMaxEventsNumber();
     }
 
-    /** Gets the total number of events generated in the {@link FutureQueue} */
+    /** Gets the total number of events generated in the {@link FutureEventQueue} */
     public long getGeneratedEventsNumber() {
         return future.getSerial();
     }
@@ -1006,4 +1465,172 @@ public class CloudSim implements Simulation {
     public boolean isAbortRequested() {
         return abortRequested;
     }
+
+    @Override
+    public boolean isQuietLogging() {
+        return quietLogging;
+    }
+
+    @Override
+    public void setQuietLogging(final boolean quietLogging) {
+        this.quietLogging = quietLogging;
+    }
+
+    /**
+     * Checks if {@link Datacenter}s having events to process at the same time
+     * are executed in parallel, using the {@link #getForkJoinPool()}.
+     * Datacenters that may interfere with each other
+     * (since they host VMs from the same broker or have events sent
+     * by the same entity to process) are still executed sequentially.
+     * Events the Datacenters send are merged in the same order
+     * of a sequential execution, so that simulation results are exactly the same.
+     *
+     * <p>Since the Datacenters of a simulation usually have disjoint Hosts and VMs,
+     * they can be safely executed in parallel.
+     * However, any listener registered for objects inside the Datacenters
+     * (such as Hosts, VMs and Cloudlets) must not change objects from other Datacenters.
+     * Entities created by a Datacenter executing in parallel
+     * just get their id after the execution of all Datacenters finishes.</p>
+     *
+     * @return true if Datacenters are executed in parallel, false otherwise (default)
+     */
+    public boolean isProcessEventsInParallel() {
+        return processEventsInParallel;
+    }
+
+    /**
+     * Defines if {@link Datacenter}s having events to process at the same time
+     * are executed in parallel.
+     *
+     * @param processEventsInParallel true to execute Datacenters in parallel, false otherwise
+     * @see #isProcessEventsInParallel()
+     */
+    public void setProcessEventsInParallel(final boolean processEventsInParallel) {
+        this.processEventsInParallel = processEventsInParallel;
+    }
+
+    /**
+     * Gets the pool used to execute Datacenters in parallel,
+     * which by default is the {@link ForkJoinPool#commonPool()}.
+     *
+     * @return the pool
+     * @see #isProcessEventsInParallel()
+     */
+    public ForkJoinPool getForkJoinPool() {
+        return forkJoinPool;
+    }
+
+    /**
+     * Sets the pool used to execute Datacenters in parallel.
+     *
+     * @param forkJoinPool the pool to set
+     * @see #isProcessEventsInParallel()
+     */
+    public void setForkJoinPool(final ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = requireNonNull(forkJoinPool);
+    }
+
+    /**
+     * A group of tasks which are executed sequentially by a single thread when
+     * {@link #runInParallel(List, ForkJoinPool) running tasks in parallel}
+     * (such as Datacenters that may interfere with each other).
+     * The operations they request to the simulation are buffered
+     * so that they are applied after all groups finish executing,
+     * in the order of a sequential execution.
+     */
+    private final class ParallelGroup {
+        /**
+         * The indexes of the tasks in this group,
+         * inside the list of tasks being executed in parallel.
+         */
+        private final List<Integer> indexes = new ArrayList<>();
+
+        /**
+         * The list of operations requested by each task in this group,
+         * in the same order of the {@link #indexes}.
+         */
+        private final List<List<Runnable>> operations = new ArrayList<>();
+
+        /**
+         * The events sent by tasks in this group, which weren't canceled.
+         */
+        private final Set<SimEvent> events = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        /**
+         * Serial numbers assigned to buffered events, which just enable comparing them
+         * to the events in the {@link #future} queue while they aren't added to it.
+         * Buffered events have a serial greater than all events in the future queue,
+         * except for the ones that must be added to the head of the queue.
+         * The actual serial numbers are assigned when events are added to the queue.
+         */
+        private long serial = Long.MAX_VALUE / 2;
+        private long lowestSerial = Long.MIN_VALUE / 2;
+
+        private void execute(final List<? extends Runnable> tasks) {
+            /*The thread may be executing another group (for instance, when a Datacenter executed in parallel
+            * updates its Hosts in parallel and the thread helps executing them while waiting)*/
+            final ParallelGroup previous = parallelGroup.get();
+            parallelGroup.set(this);
+            try {
+                for (final int index : indexes) {
+                    operations.add(new ArrayList<>());
+                    tasks.get(index).run();
+                }
+            } finally {
+                if (previous == null) {
+                    parallelGroup.remove();
+                } else parallelGroup.set(previous);
+            }
+        }
+
+        /**
+         * Adds the operations requested by each task in this group
+         * to a list containing the operations of all tasks being executed.
+         * @param allOperations the list where each element is the operations of a task
+         */
+        private void collectOperations(final List<List<Runnable>> allOperations) {
+            for (int i = 0; i < indexes.size(); i++) {
+                allOperations.set(indexes.get(i), operations.get(i));
+            }
+        }
+
+        private void addOperation(final Runnable operation) {
+            operations.get(operations.size() - 1).add(operation);
+        }
+
+        private void addEvent(final SimEvent evt, final boolean first) {
+            evt.setSerial(first ? --lowestSerial : serial++);
+            events.add(evt);
+            addOperation(() -> {
+                if (!events.remove(evt)) {
+                    return;
+                }
+
+                if (first) {
+                    addFutureEventFirst(evt);
+                } else addFutureEvent(evt);
+            });
+        }
+
+        private SimEvent cancel(final SimEntity src, final Predicate<SimEvent> predicate) {
+            final Predicate<SimEvent> sourcePredicate = isEventSourceEqualsTo(predicate, src);
+            final SimEvent buffered = events.stream().filter(sourcePredicate).min(Comparator.naturalOrder()).orElse(SimEvent.NULL);
+            if (buffered == SimEvent.NULL) {
+                return sync(() -> cancelFutureEvent(src, predicate));
+            }
+
+            final SimEvent queued = sync(() -> future.stream().filter(sourcePredicate).min(Comparator.naturalOrder()).orElse(SimEvent.NULL));
+            if (queued != SimEvent.NULL && queued.compareTo(buffered) < 0) {
+                sync(() -> future.remove(queued));
+                return queued;
+            }
+
+            events.remove(buffered);
+            return buffered;
+        }
+
+        private boolean cancelAll(final SimEntity src, final Predicate<SimEvent> predicate) {
+            return events.removeIf(isEventSourceEqualsTo(predicate, src));
+        }
+    }
 }
@@ -13,6 +13,8 @@ import org.cloudbus.cloudsim.core.events.SimEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Objects;
 import java.util.function.Predicate;
 
@@ -54,6 +56,13 @@ public abstract class CloudSimEntity implements SimEntity {
     /** @see #getShutdownTime() */
     private double shutdownTime;
 
+    /**
+     * A sequential number indicating the order the entity was added to the simulation.
+     * Differently from the {@link #getId() id}, it's never reused
+     * after finished entities are removed from the simulation.
+     */
+    private long sequence = -1;
+
     /**
      * Creates a new entity.
      *
@@ -430,6 +439,14 @@ public abstract class CloudSimEntity implements SimEntity {
         this.name = String.format("%s%d", getClass().getSimpleName(), id);
     }
 
+    long getSequence() {
+        return sequence;
+    }
+
+    void setSequence(final long sequence) {
+        this.sequence = sequence;
+    }
+
     /**
      * Sets the event buffer.
      *
@@ -439,6 +456,27 @@ public abstract class CloudSimEntity implements SimEntity {
         buffer = evt;
     }
 
+    /**
+     * Gets the event buffer.
+     *
+     * @return the event buffer or null if it's empty
+     */
+    SimEvent getEventBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Gets the entities whose state may be changed while this entity processes its events,
+     * besides the senders of such events.
+     * Entities related to a common entity aren't executed in parallel
+     * (see {@link CloudSim#isProcessEventsInParallel()}).
+     *
+     * @return a read-only collection of related entities (empty by default)
+     */
+    protected Collection<? extends SimEntity> getRelatedEntities() {
+        return Collections.emptySet();
+    }
+
     // --------------- EVENT / MESSAGE SEND WITH NETWORK DELAY METHODS ------------------
 
     /**
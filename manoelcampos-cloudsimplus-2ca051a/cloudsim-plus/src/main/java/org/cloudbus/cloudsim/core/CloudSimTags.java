@@ -11,7 +11,9 @@ import org.cloudbus.cloudsim.brokers.DatacenterBroker;
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.core.events.SimEvent;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
 import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.network.FlowNetwork;
 import org.cloudbus.cloudsim.power.PowerMeter;
 import org.cloudbus.cloudsim.power.models.PowerModel;
 import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler;
@@ -267,6 +269,18 @@ public final class CloudSimTags {
      */
     public static final int VM_MIGRATE_ACK = BASE + 36;
 
+    /**
+     * Denotes a request to create a batch of VMs in a {@link Datacenter}
+     * where the {@link SimEvent#getData()} of the request and of the reply event
+     * is a {@code List<Vm>}.
+     * Using this tag, the Datacenter acknowledges the reception of the request
+     * by sending a single reply for all VMs.
+     * To check which VMs were in fact created inside the requested Datacenter
+     * one has only to call {@link Vm#isCreated()} for each VM in the list.
+     * @see #VM_CREATE_ACK
+     */
+    public static final int VM_CREATE_BATCH_ACK = BASE + 37;
+
     /**
      * Denotes an internal event generated in a {@link Datacenter}
      * to notify itself to update the processing of cloudlets.
@@ -294,6 +308,14 @@ public final class CloudSimTags {
 
     public static final int NETWORK_EVENT_SEND = BASE + 44;
 
+    /**
+     * Denotes an internal event generated in a {@link NetworkDatacenter}
+     * to notify itself to update the flows of its
+     * {@link FlowNetwork flow-level network model},
+     * when some flow is expected to finish or some packet to be delivered.
+     */
+    public static final int NETWORK_FLOW_UPDATE = BASE + 45;
+
     /**
      * Denotes the transmission of packets down through the network topology.
      */
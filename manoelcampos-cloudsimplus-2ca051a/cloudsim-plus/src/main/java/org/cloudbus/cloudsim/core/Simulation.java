@@ -18,6 +18,7 @@ import org.cloudsimplus.listeners.EventListener;
 import java.util.Calendar;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
 
 /**
@@ -70,6 +71,8 @@ public interface Simulation {
     /**
      * Cancels the first event from the future event queue that matches a given predicate
      * and was sent by a given entity, then removes it from the queue.
+     * If the predicate is a {@link org.cloudbus.cloudsim.core.events.PredicateType},
+     * events are found without traversing the whole queue.
      *
      * @param src Id of entity that scheduled the event
      * @param p   the event selection predicate
@@ -80,6 +83,8 @@ public interface Simulation {
     /**
      * Cancels all events from the future event queue that matches a given predicate
      * and were sent by a given entity, then removes those ones from the queue.
+     * If the predicate is a {@link org.cloudbus.cloudsim.core.events.PredicateType},
+     * events are found without traversing the whole queue.
      *
      * @param src Id of entity that scheduled the event
      * @param p   the event selection predicate
@@ -505,5 +510,72 @@ public interface Simulation {
      */
     void setLastCloudletProcessingUpdate(double lastCloudletProcessingUpdate);
 
+    /**
+     * Runs a list of independent tasks in parallel, using a given pool.
+     * Consecutive tasks are grouped to be executed by the same thread.
+     * Operations requested to the simulation by the tasks (such as sending events)
+     * and the ones given to {@link #runSequentially(Runnable)} are deferred until
+     * all tasks finish, then they are executed in the same order as if the tasks
+     * were run sequentially. This way, the simulation results are the same.
+     *
+     * <p>The tasks must not change objects used by other tasks.</p>
+     *
+     * <p>The default implementation just runs the tasks sequentially,
+     * for implementations that don't support parallel execution.</p>
+     *
+     * @param tasks the tasks to run
+     * @param pool the pool to run the tasks
+     */
+    default void runInParallel(final List<? extends Runnable> tasks, final ForkJoinPool pool) {
+        tasks.forEach(Runnable::run);
+    }
+
+    /**
+     * Runs an operation that may change objects shared among tasks
+     * being {@link #runInParallel(List, ForkJoinPool) run in parallel}
+     * (such as notifying listeners or requesting something to a broker).
+     * If the calling thread is running such tasks, the operation is deferred until all
+     * tasks finish, being executed in the same order as in a sequential execution.
+     * Otherwise, it's executed immediately.
+     * The default implementation always executes the operation immediately.
+     *
+     * @param operation the operation to run
+     */
+    default void runSequentially(final Runnable operation) {
+        operation.run();
+    }
+
     boolean isAbortRequested();
+
+    /**
+     * Checks if the quiet logging mode is enabled.
+     * In such a mode, INFO and TRACE messages produced while processing simulation events
+     * (such as Cloudlets submission and finish and VMs migration)
+     * are neither built nor logged, even if their logging level is enabled.
+     * Warnings (such as resource over-subscription), errors and
+     * messages about the simulation start and end are still logged,
+     * according to the logging level only.
+     *
+     * <p>Regardless of this mode, messages on event-processing paths
+     * are just built when their logging level is enabled.
+     * This mode is useful to reduce the overhead of large simulations
+     * without changing the logging configuration.</p>
+     *
+     * <p>The default implementation doesn't support such a mode,
+     * always returning false.</p>
+     *
+     * @return true if the quiet logging mode is enabled, false otherwise (default)
+     * @see org.cloudsimplus.util.Log#isInfoEnabled(org.slf4j.Logger, Simulation)
+     */
+    default boolean isQuietLogging() {
+        return false;
+    }
+
+    /**
+     * Enables or disables the quiet logging mode.
+     * The default implementation just ignores the request.
+     * @param quietLogging true to enable the quiet logging mode, false to disable it
+     * @see #isQuietLogging()
+     */
+    default void setQuietLogging(final boolean quietLogging) {/**/}
 }
@@ -1,16 +1,24 @@
 package org.cloudbus.cloudsim.core.events;
 
+import org.cloudbus.cloudsim.core.SimEntity;
+
 import java.util.*;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * An {@link EventQueue} that orders {@link SimEvent}s based on their time attribute.
+ * Events are partitioned into mailboxes, one for each destination entity,
+ * so that an entity can get its events without traversing events sent to other entities.
  * Since a new event's time is usually equal or higher than the previous event
- * in regular simulations, this classes uses a {@link LinkedList} instead
- * of a {@link java.util.SortedSet} such as {@link java.util.TreeSet}
- * because the {@link LinkedList} provides constant O(1) complexity
- * to add elements to the end.
+ * in regular simulations, each mailbox is an array-based circular buffer
+ * that provides constant O(1) complexity to add events to the end
+ * and to remove events from the beginning.
+ *
+ * <p>The {@link #iterator()} and {@link #stream()} methods
+ * return events grouped by destination entity,
+ * which are ordered by time inside each group.</p>
  *
  * @author Marcos Dias de Assuncao
  * @author Manoel Campos da Silva Filho
@@ -18,18 +26,18 @@ import java.util.stream.Stream;
  */
 public class DeferredQueue implements EventQueue {
     /**
-     * Despite the events are sorted by time and there are
-     * sorted collections such as {@link java.util.SortedSet},
-     * since the time of a new event is usually higher than the previous
-     * one, in such a case, the {@link LinkedList#add(Object)} provides
-     * better performance, which is O(1).
+     * A map where each key is a destination entity and each value
+     * is the mailbox storing events sent to that entity.
+     * It compares entities by reference (instead of using {@link SimEntity#equals(Object)})
+     * since different entities may have the same id
+     * after finished entities are removed from the simulation.
+     * The mailbox of an entity that has shut down is removed
+     * as soon as it becomes empty.
      */
-    private final List<SimEvent> list = new LinkedList<>();
+    private final Map<SimEntity, Mailbox> mailboxes = new IdentityHashMap<>();
 
-    /**
-     * The max time that an added event is scheduled.
-     */
-    private double maxTime = -1;
+    /** @see #size() */
+    private int size;
 
     private int addedToTail;
     private int addedToMiddle;
@@ -37,42 +45,92 @@ public class DeferredQueue implements EventQueue {
 
     /**
      * Adds a new event to the queue, preserving the temporal order
-     * of the events.
+     * of the events sent to the same destination entity.
      *
      * @param newEvent the event to be added to the queue.
      */
     public void addEvent(final SimEvent newEvent) {
         // The event has to be inserted as the last of all events
         // with the same event_time(). Yes, this matters.
-        final double eventTime = newEvent.getTime();
-        maxSize = Math.max(maxSize, list.size());
-        if (eventTime >= maxTime) {
-            list.add(newEvent);
-            maxTime = eventTime;
+        maxSize = Math.max(maxSize, size);
+        final Mailbox mailbox = mailboxes.computeIfAbsent(newEvent.getDestination(), dest -> new Mailbox());
+        if (mailbox.add(newEvent)) {
             addedToTail++;
-            return;
-        }
-
-        /*
-         * Adds an event in some position from the tail of the list.
-         * If the event time is smaller than the maxTime, traverses the list
-         * to find the place to insert the event.
-         * It uses a reverse iterator because usually in such cases,
-         * the time of the new event is close to the last events.
-         * Starting from the tail of the list will ensure the lowest number
-         * of iterations on the best cases.
-         * */
-        final ListIterator<SimEvent> reverseIterator = list.listIterator(list.size() - 1);
-        while (reverseIterator.hasPrevious()) {
-            if (reverseIterator.previous().getTime() <= eventTime) {
-                reverseIterator.next();
-                reverseIterator.add(newEvent);
-                addedToMiddle++;
-                return;
-            }
+        } else {
+            addedToMiddle++;
+        }
+
+        size++;
+    }
+
+    /**
+     * Gets the first event sent to a given entity that matches a predicate.
+     *
+     * @param dest the destination entity
+     * @param predicate the event selection predicate
+     * @return the event found or {@link SimEvent#NULL} if not found
+     */
+    public SimEvent findFirst(final SimEntity dest, final Predicate<SimEvent> predicate) {
+        final Mailbox mailbox = mailboxes.get(dest);
+        if (mailbox == null) {
+            return SimEvent.NULL;
         }
 
-        list.add(newEvent);
+        final int index = mailbox.indexOf(predicate);
+        return index < 0 ? SimEvent.NULL : mailbox.get(index);
+    }
+
+    /**
+     * Removes the first event sent to a given entity that matches a predicate.
+     *
+     * @param dest the destination entity
+     * @param predicate the event selection predicate
+     * @return the removed event or {@link SimEvent#NULL} if not found
+     */
+    public SimEvent removeFirst(final SimEntity dest, final Predicate<SimEvent> predicate) {
+        final Mailbox mailbox = mailboxes.get(dest);
+        if (mailbox == null) {
+            return SimEvent.NULL;
+        }
+
+        final int index = mailbox.indexOf(predicate);
+        if (index < 0) {
+            return SimEvent.NULL;
+        }
+
+        size--;
+        final SimEvent evt = mailbox.remove(index);
+        removeMailboxIfUnused(dest);
+        return evt;
+    }
+
+    /**
+     * Removes the mailbox of a given entity if it is empty
+     * and the entity has shut down, so that mailboxes of finished entities
+     * are not kept for the rest of the simulation.
+     *
+     * @param dest the destination entity to remove its mailbox
+     * @return true if the mailbox was removed, false otherwise
+     */
+    public boolean removeMailboxIfUnused(final SimEntity dest) {
+        final Mailbox mailbox = mailboxes.get(dest);
+        if (mailbox == null || mailbox.size > 0 || !dest.isFinished()) {
+            return false;
+        }
+
+        mailboxes.remove(dest);
+        return true;
+    }
+
+    /**
+     * Checks if there is any event sent to a given entity.
+     *
+     * @param dest the destination entity
+     * @return true if there are events to the entity, false otherwise
+     */
+    public boolean hasEvents(final SimEntity dest) {
+        final Mailbox mailbox = mailboxes.get(dest);
+        return mailbox != null && mailbox.size > 0;
     }
 
     /**
@@ -81,7 +139,7 @@ public class DeferredQueue implements EventQueue {
      * @return the iterator
      */
     public Iterator<SimEvent> iterator() {
-        return list.iterator();
+        return stream().iterator();
     }
 
     /**
@@ -90,7 +148,18 @@ public class DeferredQueue implements EventQueue {
      * @return the stream
      */
     public Stream<SimEvent> stream() {
-        return list.stream();
+        return mailboxes.values().stream().flatMap(Mailbox::stream);
+    }
+
+    /**
+     * Returns a stream to the events sent to a given entity, ordered by time.
+     *
+     * @param dest the destination entity
+     * @return the stream
+     */
+    public Stream<SimEvent> stream(final SimEntity dest) {
+        final Mailbox mailbox = mailboxes.get(dest);
+        return mailbox == null ? Stream.empty() : mailbox.stream();
     }
 
     /**
@@ -99,12 +168,12 @@ public class DeferredQueue implements EventQueue {
      * @return the number of events in the queue.
      */
     public int size() {
-        return list.size();
+        return size;
     }
 
     @Override
     public boolean isEmpty() {
-        return list.isEmpty();
+        return size == 0;
     }
 
     /**
@@ -114,7 +183,7 @@ public class DeferredQueue implements EventQueue {
      * @return true, if successful
      */
     public boolean remove(final SimEvent event) {
-        return list.remove(event);
+        return removeFirst(event.getDestination(), evt -> evt.equals(event)) != SimEvent.NULL;
     }
 
     /**
@@ -124,27 +193,51 @@ public class DeferredQueue implements EventQueue {
      * @return true, if successful
      */
     public boolean removeAll(final Collection<SimEvent> events) {
-        return list.removeAll(events);
+        boolean removed = false;
+        for (final SimEvent evt : events) {
+            removed |= remove(evt);
+        }
+
+        return removed;
     }
 
     public boolean removeIf(final Predicate<SimEvent> predicate) {
-        return list.removeIf(predicate);
+        final int previousSize = size;
+        final Iterator<Map.Entry<SimEntity, Mailbox>> iterator = mailboxes.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<SimEntity, Mailbox> entry = iterator.next();
+            final Mailbox mailbox = entry.getValue();
+            size -= mailbox.removeIf(predicate);
+            if (mailbox.size == 0 && entry.getKey().isFinished()) {
+                iterator.remove();
+            }
+        }
+
+        return size < previousSize;
     }
 
     /**
      * Clears the queue.
      */
     public void clear() {
-        list.clear();
+        mailboxes.clear();
+        size = 0;
     }
 
     @Override
     public SimEvent first() throws NoSuchElementException {
-        if (list.isEmpty()) {
+        if (isEmpty()) {
             throw new NoSuchElementException("The Deferred Queue is empty.");
         }
 
-        return list.get(0);
+        SimEvent first = SimEvent.NULL;
+        for (final Mailbox mailbox : mailboxes.values()) {
+            if (mailbox.size > 0 && (first == SimEvent.NULL || mailbox.get(0).getTime() < first.getTime())) {
+                first = mailbox.get(0);
+            }
+        }
+
+        return first;
     }
 
     /**
@@ -172,4 +265,156 @@ public class DeferredQueue implements EventQueue {
     public int getMaxSize() {
         return maxSize;
     }
+
+    /**
+     * Gets the number of mailboxes currently kept,
+     * one for each entity which has been sent events,
+     * just for debug purpose.
+     */
+    public int getMailboxesNumber() {
+        return mailboxes.size();
+    }
+
+    /**
+     * A circular buffer storing the events sent to a single entity, ordered by time.
+     * Its capacity is always a power of 2.
+     */
+    private static final class Mailbox {
+        private static final int INITIAL_CAPACITY = 8;
+
+        private SimEvent[] events = new SimEvent[INITIAL_CAPACITY];
+
+        /** Index of the first event inside the {@link #events} array. */
+        private int head;
+
+        private int size;
+
+        /**
+         * Gets the event at a given position, relative to the first event.
+         * @param index the event position (where 0 is the first event)
+         * @return the event
+         */
+        SimEvent get(final int index) {
+            return events[physicalIndex(index)];
+        }
+
+        private int physicalIndex(final int index) {
+            return (head + index) & (events.length - 1);
+        }
+
+        /**
+         * Adds an event to the mailbox, preserving the temporal order.
+         * @param evt the event to add
+         * @return true if the event was added to the end, false if it was added to the middle
+         */
+        boolean add(final SimEvent evt) {
+            if (size == events.length) {
+                grow();
+            }
+
+            /* Looks for the place to insert the event from the tail,
+             * since the time of the new event is usually equal or greater than the last events.*/
+            int index = size;
+            while (index > 0 && get(index - 1).getTime() > evt.getTime()) {
+                events[physicalIndex(index)] = get(index - 1);
+                index--;
+            }
+
+            events[physicalIndex(index)] = evt;
+            size++;
+            return index == size - 1;
+        }
+
+        /**
+         * Gets the position of the first event matching a predicate.
+         * @param predicate the event selection predicate
+         * @return the event position or -1 if not found
+         */
+        int indexOf(final Predicate<SimEvent> predicate) {
+            for (int i = 0; i < size; i++) {
+                if (predicate.test(get(i))) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        /**
+         * Removes the event at a given position.
+         * @param index the event position (where 0 is the first event)
+         * @return the removed event
+         */
+        SimEvent remove(final int index) {
+            final SimEvent evt = get(index);
+            if (index == 0) {
+                events[head] = null;
+                head = physicalIndex(1);
+            } else {
+                for (int i = index; i < size - 1; i++) {
+                    events[physicalIndex(i)] = get(i + 1);
+                }
+
+                events[physicalIndex(size - 1)] = null;
+            }
+
+            size--;
+            return evt;
+        }
+
+        /**
+         * Removes all events matching a predicate.
+         * @param predicate the predicate to select events to remove
+         * @return the number of removed events
+         */
+        int removeIf(final Predicate<SimEvent> predicate) {
+            int write = 0;
+            for (int read = 0; read < size; read++) {
+                final SimEvent evt = get(read);
+                if (!predicate.test(evt)) {
+                    events[physicalIndex(write++)] = evt;
+                }
+            }
+
+            for (int i = write; i < size; i++) {
+                events[physicalIndex(i)] = null;
+            }
+
+            final int removed = size - write;
+            size = write;
+            return removed;
+        }
+
+        Stream<SimEvent> stream() {
+            final Spliterator<SimEvent> spliterator = Spliterators.spliterator(
+                new Iterator<SimEvent>() {
+                    private int index;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < size;
+                    }
+
+                    @Override
+                    public SimEvent next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+
+                        return get(index++);
+                    }
+                }, size, Spliterator.ORDERED | Spliterator.NONNULL);
+            return StreamSupport.stream(spliterator, false);
+        }
+
+        private void grow() {
+            final SimEvent[] newEvents = new SimEvent[events.length * 2];
+            for (int i = 0; i < size; i++) {
+                newEvents[i] = get(i);
+            }
+
+            events = newEvents;
+            head = 0;
+        }
+    }
 }
@@ -0,0 +1,143 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.core.events;
+
+import org.cloudbus.cloudsim.core.SimEntity;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * An {@link EventQueue} that stores future simulation events,
+ * which must always be kept ordered according to
+ * {@link SimEvent#compareTo(SimEvent)} (that is, by time, tag and serial).
+ * The {@link org.cloudbus.cloudsim.core.CloudSim} instance
+ * uses an implementation of this interface to store
+ * all events that will happen in a future simulation time.
+ *
+ * <p>Different implementations can be given to a simulation
+ * to improve performance according to the number of
+ * events and the time distribution of such events.
+ * The {@link FutureQueue} class is the default implementation.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @see FutureQueue
+ * @see FutureQueueCalendar
+ * @since CloudSim Plus 6.5.3
+ */
+public interface FutureEventQueue extends EventQueue {
+    /**
+     * Adds a new event to the head of the queue.
+     *
+     * @param newEvent The event to be put in the queue.
+     */
+    void addEventFirst(SimEvent newEvent);
+
+    /**
+     * Removes, in a single operation, all the events happening at the same time of the first one,
+     * appending them to a given list in the same order they are stored in the queue.
+     * This enables processing a burst of simultaneous events
+     * without searching and removing them one by one.
+     *
+     * @param batch the list where the removed events will be added to
+     *              (which can be reused across calls after being cleared)
+     * @return the number of removed events (zero if the queue is empty)
+     */
+    int pollFirstBatch(List<SimEvent> batch);
+
+    /**
+     * Removes the event from the queue.
+     *
+     * @param event the event
+     * @return true, if successful
+     */
+    boolean remove(SimEvent event);
+
+    /**
+     * Removes all the events from the queue.
+     *
+     * @param events the events
+     * @return true, if successful
+     */
+    boolean removeAll(Collection<SimEvent> events);
+
+    /**
+     * Removes all events that match a given predicate.
+     *
+     * @param predicate the predicate to select the events to remove
+     * @return true if any event was removed, false otherwise
+     */
+    boolean removeIf(Predicate<SimEvent> predicate);
+
+    /**
+     * Removes the first event sent by a given entity,
+     * having a given tag and matching a given predicate.
+     * Since it selects events by source and tag,
+     * implementations can index events to avoid traversing the whole queue.
+     *
+     * @param source the entity that sent the event
+     * @param tag the tag of the event
+     * @param predicate an additional predicate to select the event
+     * @return the removed event or {@link SimEvent#NULL} if not found
+     */
+    SimEvent removeFirst(SimEntity source, int tag, Predicate<SimEvent> predicate);
+
+    /**
+     * Removes all events sent by a given entity,
+     * having a given tag and matching a given predicate.
+     * Since it selects events by source and tag,
+     * implementations can index events to avoid traversing the whole queue.
+     *
+     * @param source the entity that sent the events
+     * @param tag the tag of the events
+     * @param predicate an additional predicate to select the events
+     * @return true if any event was removed, false otherwise
+     */
+    boolean removeIf(SimEntity source, int tag, Predicate<SimEvent> predicate);
+
+    /**
+     * Removes any index of events sent by a given entity,
+     * which must be called when the entity shuts down,
+     * so that the index doesn't keep data of finished entities.
+     * The default implementation does nothing, since it doesn't index events.
+     *
+     * @param source the entity to remove its events from the index
+     */
+    default void removeIndex(final SimEntity source) {/**/}
+
+    /**
+     * Clears the queue.
+     */
+    void clear();
+
+    /** Gets an incremental number used for {@link SimEvent#getSerial()} event attribute. */
+    long getSerial();
+
+    /**
+     * Maximum number of events that have ever existed at the same time
+     * inside the queue.
+     */
+    long getMaxEventsNumber();
+}
@@ -13,46 +13,29 @@ import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /**
- * An {@link EventQueue} that stores future simulation events.
+ * A {@link FutureEventQueue} that stores future simulation events.
  * It uses a {@link TreeSet} in order ensure the events
  * are stored ordered. Using a {@link java.util.LinkedList}
  * as defined by {@link DeferredQueue} to improve performance
  * doesn't work for this queue.
  *
+ * <p>This is the default {@link FutureEventQueue} used by
+ * {@link org.cloudbus.cloudsim.core.CloudSim}.</p>
+ *
  * @author Marcos Dias de Assuncao
  * @author Manoel Campos da Silva Filho
  * @see java.util.TreeSet
  * @since CloudSim Toolkit 1.0
  */
-public class FutureQueue implements EventQueue {
+public class FutureQueue extends FutureQueueAbstract {
 
     /**
      * The sorted set of events.
      */
     private final SortedSet<SimEvent> sortedSet = new TreeSet<>();
 
-    /** @see #getSerial() */
-    private long serial;
-
-    private long lowestSerial;
-
-    /** @see #getMaxEventsNumber() */
-    private long maxEventsNumber;
-
     @Override
-    public void addEvent(final SimEvent newEvent) {
-        newEvent.setSerial(serial++);
-        sortedSet.add(newEvent);
-        maxEventsNumber = Math.max(maxEventsNumber, sortedSet.size());
-    }
-
-    /**
-     * Adds a new event to the head of the queue.
-     *
-     * @param newEvent The event to be put in the queue.
-     */
-    public void addEventFirst(final SimEvent newEvent) {
-        newEvent.setSerial(--lowestSerial);
+    protected void addEventInternal(final SimEvent newEvent) {
         sortedSet.add(newEvent);
     }
 
@@ -76,27 +59,38 @@ public class FutureQueue implements EventQueue {
         return sortedSet.isEmpty();
     }
 
-    /**
-     * Removes the event from the queue.
-     *
-     * @param event the event
-     * @return true, if successful
-     */
-    public boolean remove(final SimEvent event) {
-        return sortedSet.remove(event);
+    @Override
+    protected int pollFirstBatchInternal(final List<SimEvent> batch) {
+        if (sortedSet.isEmpty()) {
+            return 0;
+        }
+
+        /* Uses the iterator to remove events while traversing the set,
+         * avoiding a new search from the root for each removed event. */
+        final Iterator<SimEvent> iterator = sortedSet.iterator();
+        final double time = sortedSet.first().getTime();
+        int count = 0;
+        while (iterator.hasNext()) {
+            final SimEvent evt = iterator.next();
+            if (evt.getTime() != time) {
+                break;
+            }
+
+            batch.add(evt);
+            iterator.remove();
+            count++;
+        }
+
+        return count;
     }
 
-    /**
-     * Removes all the events from the queue.
-     *
-     * @param events the events
-     * @return true, if successful
-     */
-    public boolean removeAll(final Collection<SimEvent> events) {
-        return sortedSet.removeAll(events);
+    @Override
+    protected boolean removeInternal(final SimEvent event) {
+        return sortedSet.remove(event);
     }
 
-    public boolean removeIf(final Predicate<SimEvent> predicate){
+    @Override
+    protected boolean removeIfInternal(final Predicate<SimEvent> predicate){
         return sortedSet.removeIf(predicate);
     }
 
@@ -105,23 +99,8 @@ public class FutureQueue implements EventQueue {
         return sortedSet.first();
     }
 
-    /**
-     * Clears the queue.
-     */
-    public void clear() {
+    @Override
+    protected void clearInternal() {
         sortedSet.clear();
     }
-
-    /** Gets an incremental number used for {@link SimEvent#getSerial()} event attribute. */
-    public long getSerial() {
-        return serial;
-    }
-
-    /**
-     * Maximum number of events that have ever existed at the same time
-     * inside the queue.
-     */
-    public long getMaxEventsNumber() {
-        return maxEventsNumber;
-    }
 }
@@ -0,0 +1,308 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.core.events;
+
+import org.cloudbus.cloudsim.core.SimEntity;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * An abstract class that implements the basic features of a {@link FutureEventQueue},
+ * assigning serial numbers to added events so that events
+ * happening at the same time and having the same tag
+ * keep the order they were added.
+ * Subclasses just have to define the data structure that stores the events.
+ *
+ * <p>It also keeps an index of events by source entity and tag,
+ * enabling events to be canceled without traversing the whole queue
+ * (see {@link #removeFirst(SimEntity, int, Predicate)}).
+ * A pair (source, tag) is just indexed after the first time
+ * events matching it are requested,
+ * so that events that are never canceled don't pay the indexing cost.
+ * A pair is removed from the index when it doesn't have events anymore
+ * and all pairs of an entity are removed when it shuts down
+ * (see {@link #removeIndex(SimEntity)}),
+ * so that the index doesn't grow for the entire simulation.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 6.5.3
+ */
+public abstract class FutureQueueAbstract implements FutureEventQueue {
+    /** @see #getSerial() */
+    private long serial;
+
+    private long lowestSerial;
+
+    /** @see #getMaxEventsNumber() */
+    private long maxEventsNumber;
+
+    /**
+     * A map where each key is a source entity and each value is
+     * another map of events sent by that entity, indexed by the event tag.
+     * Events for each (source, tag) pair are sorted
+     * in the same order of the queue.
+     */
+    private final Map<SimEntity, Map<Integer, SortedSet<SimEvent>>> sourceTagIndex = new HashMap<>();
+
+    @Override
+    public void addEvent(final SimEvent newEvent) {
+        newEvent.setSerial(serial++);
+        addEventInternal(newEvent);
+        addToIndex(newEvent);
+        maxEventsNumber = Math.max(maxEventsNumber, size());
+    }
+
+    @Override
+    public void addEventFirst(final SimEvent newEvent) {
+        newEvent.setSerial(--lowestSerial);
+        addEventInternal(newEvent);
+        addToIndex(newEvent);
+    }
+
+    /**
+     * Stores an event which already had its serial number set,
+     * into the underlying data structure.
+     *
+     * @param newEvent the event to store
+     */
+    protected abstract void addEventInternal(SimEvent newEvent);
+
+    /**
+     * Removes an event from the underlying data structure.
+     * @param event the event to remove
+     * @return true if the event was removed, false if it was not found
+     */
+    protected abstract boolean removeInternal(SimEvent event);
+
+    /**
+     * Removes all events matching a predicate from the underlying data structure.
+     * @param predicate the predicate to select events to remove
+     * @return true if any event was removed, false otherwise
+     */
+    protected abstract boolean removeIfInternal(Predicate<SimEvent> predicate);
+
+    /**
+     * Removes the batch of events happening at the same time of the first one
+     * from the underlying data structure.
+     * @param batch the list to add the removed events to
+     * @return the number of removed events
+     * @see #pollFirstBatch(List)
+     */
+    protected abstract int pollFirstBatchInternal(List<SimEvent> batch);
+
+    /**
+     * Removes all events from the underlying data structure.
+     */
+    protected abstract void clearInternal();
+
+    @Override
+    public boolean remove(final SimEvent event) {
+        if (removeInternal(event)) {
+            removeFromIndex(event);
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean removeAll(final Collection<SimEvent> events) {
+        boolean removed = false;
+        for (final SimEvent evt : events) {
+            removed |= remove(evt);
+        }
+
+        return removed;
+    }
+
+    @Override
+    public boolean removeIf(final Predicate<SimEvent> predicate) {
+        if (sourceTagIndex.isEmpty()) {
+            return removeIfInternal(predicate);
+        }
+
+        return removeIfInternal(evt -> predicate.test(evt) && removeFromIndex(evt));
+    }
+
+    @Override
+    public int pollFirstBatch(final List<SimEvent> batch) {
+        final int start = batch.size();
+        final int count = pollFirstBatchInternal(batch);
+        if (!sourceTagIndex.isEmpty()) {
+            for (int i = start; i < batch.size(); i++) {
+                removeFromIndex(batch.get(i));
+            }
+        }
+
+        return count;
+    }
+
+    @Override
+    public void clear() {
+        clearInternal();
+        sourceTagIndex.clear();
+    }
+
+    @Override
+    public SimEvent removeFirst(final SimEntity source, final int tag, final Predicate<SimEvent> predicate) {
+        final SortedSet<SimEvent> events = getIndexedEvents(source, tag);
+        final Iterator<SimEvent> iterator = events.iterator();
+        SimEvent removed = SimEvent.NULL;
+        while (iterator.hasNext()) {
+            final SimEvent evt = iterator.next();
+            if (predicate.test(evt)) {
+                iterator.remove();
+                removeInternal(evt);
+                removed = evt;
+                break;
+            }
+        }
+
+        removeIndexIfEmpty(source, tag, events);
+        return removed;
+    }
+
+    @Override
+    public boolean removeIf(final SimEntity source, final int tag, final Predicate<SimEvent> predicate) {
+        final SortedSet<SimEvent> events = getIndexedEvents(source, tag);
+        final Iterator<SimEvent> iterator = events.iterator();
+        boolean removed = false;
+        while (iterator.hasNext()) {
+            final SimEvent evt = iterator.next();
+            if (predicate.test(evt)) {
+                iterator.remove();
+                removeInternal(evt);
+                removed = true;
+            }
+        }
+
+        removeIndexIfEmpty(source, tag, events);
+        return removed;
+    }
+
+    @Override
+    public void removeIndex(final SimEntity source) {
+        sourceTagIndex.remove(source);
+    }
+
+    /**
+     * Gets the sorted set of events sent by a given entity with a given tag.
+     * If such a (source, tag) pair was not indexed yet, traverses the queue
+     * once to build the index, which from now on is updated
+     * as events are added and removed.
+     *
+     * @param source the entity that sent the events
+     * @param tag the tag of the events
+     * @return the sorted set of indexed events
+     */
+    private SortedSet<SimEvent> getIndexedEvents(final SimEntity source, final int tag) {
+        final Map<Integer, SortedSet<SimEvent>> tagIndex = sourceTagIndex.computeIfAbsent(source, src -> new HashMap<>());
+        SortedSet<SimEvent> events = tagIndex.get(tag);
+        if (events == null) {
+            events = new TreeSet<>();
+            final Iterator<SimEvent> iterator = iterator();
+            while (iterator.hasNext()) {
+                final SimEvent evt = iterator.next();
+                if (evt.getTag() == tag && evt.getSource().equals(source)) {
+                    events.add(evt);
+                }
+            }
+
+            tagIndex.put(tag, events);
+        }
+
+        return events;
+    }
+
+    private void addToIndex(final SimEvent evt) {
+        final SortedSet<SimEvent> events = findIndexedEvents(evt);
+        if (events != null) {
+            events.add(evt);
+        }
+    }
+
+    /**
+     * Removes an event from the (source, tag) index, if that pair is indexed.
+     * @param evt the event to remove
+     * @return always true, to enable using the method inside predicates
+     */
+    private boolean removeFromIndex(final SimEvent evt) {
+        final SortedSet<SimEvent> events = findIndexedEvents(evt);
+        if (events != null && events.remove(evt)) {
+            removeIndexIfEmpty(evt.getSource(), evt.getTag(), events);
+        }
+
+        return true;
+    }
+
+    /**
+     * Removes a (source, tag) pair from the index if it doesn't have events anymore,
+     * also removing the source entity from the index if it has no other indexed pair.
+     * The pair will be indexed again if its events are requested later.
+     *
+     * @param source the entity that sent the events
+     * @param tag the tag of the events
+     * @param events the indexed events for the (source, tag) pair
+     */
+    private void removeIndexIfEmpty(final SimEntity source, final int tag, final SortedSet<SimEvent> events) {
+        if (!events.isEmpty()) {
+            return;
+        }
+
+        final Map<Integer, SortedSet<SimEvent>> tagIndex = sourceTagIndex.get(source);
+        if (tagIndex == null) {
+            return;
+        }
+
+        tagIndex.remove(tag);
+        if (tagIndex.isEmpty()) {
+            sourceTagIndex.remove(source);
+        }
+    }
+
+    /**
+     * Gets the set of indexed events with the same source and tag of a given event.
+     * @param evt the event to get the indexed events with the same source and tag
+     * @return the set of indexed events or null if the (source, tag) pair of the event is not indexed
+     */
+    private SortedSet<SimEvent> findIndexedEvents(final SimEvent evt) {
+        if (sourceTagIndex.isEmpty()) {
+            return null;
+        }
+
+        final Map<Integer, SortedSet<SimEvent>> tagIndex = sourceTagIndex.get(evt.getSource());
+        return tagIndex == null ? null : tagIndex.get(evt.getTag());
+    }
+
+    @Override
+    public long getSerial() {
+        return serial;
+    }
+
+    @Override
+    public long getMaxEventsNumber() {
+        return maxEventsNumber;
+    }
+}
@@ -0,0 +1,577 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.core.events;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A {@link FutureEventQueue} implemented as a Calendar Queue,
+ * which provides O(1) amortized time to add and remove events.
+ * Events are distributed into an array of buckets (the "days" of the calendar),
+ * according to their time. Each bucket covers a time interval
+ * (the bucket width) and the array of buckets is traversed in a circular way,
+ * as the days of a year. Events within a bucket are kept
+ * sorted according to {@link SimEvent#compareTo(SimEvent)},
+ * ensuring the order by time, tag and serial is exactly the same
+ * of the {@link FutureQueue}.
+ *
+ * <p>The number of buckets and their width are automatically
+ * adjusted as the number of events grows or shrinks,
+ * so that each bucket keeps just a few events.
+ * Since events happening at the same time are always stored
+ * in the same bucket, each bucket is an array that
+ * allows removing the first event in constant time.
+ * </p>
+ *
+ * <p>The {@link #iterator()} and {@link #stream()} methods
+ * return the events in no particular order.
+ * Use {@link #first()} to get the next event.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @see <a href="https://doi.org/10.1145/63039.63045">R. Brown, "Calendar queues: a fast O(1) priority queue implementation for the simulation event set problem", Communications of the ACM, 1988.</a>
+ * @since CloudSim Plus 6.5.3
+ */
+public class FutureQueueCalendar extends FutureQueueAbstract {
+    /**
+     * The minimum number of buckets (which must be a power of 2).
+     */
+    private static final int MIN_BUCKETS = 2;
+
+    /**
+     * Number of events with distinct times used to
+     * estimate the width of buckets when the calendar is resized.
+     */
+    private static final int WIDTH_SAMPLE_SIZE = 25;
+
+    /**
+     * The default time interval (in seconds) covered by each bucket,
+     * before the calendar is resized for the first time.
+     */
+    public static final double DEF_BUCKET_WIDTH = 1.0;
+
+    /**
+     * The array of buckets (the days of the calendar),
+     * whose length is always a power of 2.
+     * Buckets are lazily created.
+     */
+    private Bucket[] buckets;
+
+    /** @see #getBucketWidth() */
+    private double bucketWidth;
+
+    /** @see #size() */
+    private int size;
+
+    /**
+     * The virtual number of the bucket currently being scanned, that is,
+     * the absolute number of the time interval (with length equal to the {@link #bucketWidth})
+     * where the first event is located.
+     * All events in the queue have a virtual bucket number equal or greater than this one.
+     */
+    private long currentVirtualBucket;
+
+    /**
+     * Creates a Calendar Queue with {@link #DEF_BUCKET_WIDTH default bucket width}.
+     */
+    public FutureQueueCalendar() {
+        this(DEF_BUCKET_WIDTH);
+    }
+
+    /**
+     * Creates a Calendar Queue with a given initial bucket width.
+     *
+     * @param initialBucketWidth the initial time interval (in seconds) covered by each bucket.
+     *                           Such a value is automatically adjusted according to the time
+     *                           of stored events.
+     */
+    public FutureQueueCalendar(final double initialBucketWidth) {
+        super();
+        if(initialBucketWidth <= 0){
+            throw new IllegalArgumentException("Bucket width must be greater than zero.");
+        }
+
+        this.bucketWidth = initialBucketWidth;
+        this.buckets = new Bucket[MIN_BUCKETS];
+    }
+
+    @Override
+    protected void addEventInternal(final SimEvent newEvent) {
+        insert(newEvent);
+        size++;
+        if(size > buckets.length * 2){
+            resize(buckets.length * 2);
+        }
+    }
+
+    /**
+     * Inserts an event into its bucket, without changing the queue size.
+     * @param evt the event to insert
+     */
+    private void insert(final SimEvent evt) {
+        final long virtualBucket = virtualBucket(evt.getTime());
+        if(size == 0 || virtualBucket < currentVirtualBucket){
+            currentVirtualBucket = virtualBucket;
+        }
+
+        final int index = bucketIndex(virtualBucket);
+        if(buckets[index] == null){
+            buckets[index] = new Bucket();
+        }
+
+        buckets[index].add(evt);
+    }
+
+    @Override
+    public SimEvent first() throws NoSuchElementException {
+        if (size == 0) {
+            throw new NoSuchElementException("The Future Queue is empty.");
+        }
+
+        return buckets[firstBucketIndex()].first();
+    }
+
+    /**
+     * Removes and returns the first event in the queue,
+     * without trying to resize the calendar.
+     * @return the first event
+     */
+    private SimEvent pollFirst() {
+        final SimEvent evt = buckets[firstBucketIndex()].pollFirst();
+        size--;
+        return evt;
+    }
+
+    /**
+     * Gets the index of the bucket containing the first event in the queue.
+     * The queue must not be empty.
+     *
+     * @return the index of the bucket where the first event is located
+     */
+    private int firstBucketIndex() {
+        long virtualBucket = currentVirtualBucket;
+        for (int i = 0; i < buckets.length; i++, virtualBucket++) {
+            final Bucket bucket = buckets[bucketIndex(virtualBucket)];
+            if (bucket != null && !bucket.isEmpty() && virtualBucket(bucket.first().getTime()) <= virtualBucket) {
+                currentVirtualBucket = virtualBucket;
+                return bucketIndex(virtualBucket);
+            }
+        }
+
+        /* There is no event in the next "year" of the calendar.
+         * Performs a direct search for the earliest event in all buckets. */
+        int minIndex = -1;
+        for (int i = 0; i < buckets.length; i++) {
+            final Bucket bucket = buckets[i];
+            if (bucket != null && !bucket.isEmpty() && (minIndex == -1 || bucket.first().compareTo(buckets[minIndex].first()) < 0)) {
+                minIndex = i;
+            }
+        }
+
+        currentVirtualBucket = virtualBucket(buckets[minIndex].first().getTime());
+        return minIndex;
+    }
+
+    @Override
+    protected int pollFirstBatchInternal(final List<SimEvent> batch) {
+        if (size == 0) {
+            return 0;
+        }
+
+        final int count = buckets[firstBucketIndex()].pollFirstBatch(batch);
+        size -= count;
+        shrinkIfRequired();
+        return count;
+    }
+
+    @Override
+    protected boolean removeInternal(final SimEvent event) {
+        final Bucket bucket = buckets[bucketIndex(virtualBucket(event.getTime()))];
+        if (bucket == null || !bucket.remove(event)) {
+            return false;
+        }
+
+        size--;
+        shrinkIfRequired();
+        return true;
+    }
+
+    @Override
+    protected boolean removeIfInternal(final Predicate<SimEvent> predicate) {
+        final int previousSize = size;
+        for (final Bucket bucket : buckets) {
+            if (bucket != null) {
+                size -= bucket.removeIf(predicate);
+            }
+        }
+
+        shrinkIfRequired();
+        return size < previousSize;
+    }
+
+    private void shrinkIfRequired() {
+        if (buckets.length > MIN_BUCKETS && size < buckets.length / 2) {
+            resize(buckets.length / 2);
+        }
+    }
+
+    /**
+     * Changes the number of buckets and recomputes the bucket width,
+     * redistributing all events.
+     *
+     * @param newBucketsNumber the new number of buckets (a power of 2)
+     */
+    private void resize(final int newBucketsNumber) {
+        final int previousSize = size;
+        final List<SimEvent> sample = new ArrayList<>(WIDTH_SAMPLE_SIZE);
+        int distinctTimes = 0;
+        while (size > 0 && distinctTimes < WIDTH_SAMPLE_SIZE) {
+            final SimEvent evt = pollFirst();
+            if (sample.isEmpty() || evt.getTime() != sample.get(sample.size() - 1).getTime()) {
+                distinctTimes++;
+            }
+            sample.add(evt);
+        }
+
+        bucketWidth = computeBucketWidth(sample);
+        final Bucket[] oldBuckets = buckets;
+        buckets = new Bucket[newBucketsNumber];
+        size = 0;
+        for (final SimEvent evt : sample) {
+            insert(evt);
+            size++;
+        }
+
+        for (final Bucket bucket : oldBuckets) {
+            if (bucket != null) {
+                for (int i = bucket.head; i < bucket.tail; i++) {
+                    insert(bucket.events[i]);
+                    size++;
+                }
+            }
+        }
+
+        if (size != previousSize) {
+            throw new IllegalStateException("Events lost while resizing the Future Queue.");
+        }
+    }
+
+    /**
+     * Computes the new bucket width based on the average time separation
+     * of a sample of the first events in the queue,
+     * ignoring events happening at the same time (which are always stored
+     * in the same bucket) and separations that are too large.
+     *
+     * @param sample the list of first events in the queue, ordered by time
+     * @return the new bucket width
+     */
+    private double computeBucketWidth(final List<SimEvent> sample) {
+        double sum = 0;
+        int count = 0;
+        for (int i = 1; i < sample.size(); i++) {
+            final double separation = sample.get(i).getTime() - sample.get(i - 1).getTime();
+            if (separation > 0) {
+                sum += separation;
+                count++;
+            }
+        }
+
+        if (count == 0) {
+            return bucketWidth;
+        }
+
+        final double average = sum / count;
+        sum = 0;
+        count = 0;
+        for (int i = 1; i < sample.size(); i++) {
+            final double separation = sample.get(i).getTime() - sample.get(i - 1).getTime();
+            if (separation > 0 && separation <= average * 2) {
+                sum += separation;
+                count++;
+            }
+        }
+
+        final double width = 3 * sum / count;
+        return width > 0 && !Double.isInfinite(width) ? width : bucketWidth;
+    }
+
+    /**
+     * Gets the absolute number of the time interval where a given time is located.
+     * @param time the time to get its virtual bucket
+     * @return the virtual bucket number
+     */
+    private long virtualBucket(final double time) {
+        return (long) Math.floor(time / bucketWidth);
+    }
+
+    /**
+     * Gets the index inside the {@link #buckets} array for a virtual bucket number.
+     * @param virtualBucket the virtual bucket number
+     * @return the bucket index
+     */
+    private int bucketIndex(final long virtualBucket) {
+        return (int) (virtualBucket & (buckets.length - 1));
+    }
+
+    @Override
+    public Iterator<SimEvent> iterator() {
+        return new Iterator<SimEvent>() {
+            private int bucketIndex = -1;
+            private int eventIndex;
+
+            {
+                nextBucket();
+            }
+
+            private void nextBucket() {
+                do {
+                    bucketIndex++;
+                } while (bucketIndex < buckets.length && (buckets[bucketIndex] == null || buckets[bucketIndex].isEmpty()));
+
+                if (bucketIndex < buckets.length) {
+                    eventIndex = buckets[bucketIndex].head;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return bucketIndex < buckets.length;
+            }
+
+            @Override
+            public SimEvent next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                final Bucket bucket = buckets[bucketIndex];
+                final SimEvent evt = bucket.events[eventIndex++];
+                if (eventIndex == bucket.tail) {
+                    nextBucket();
+                }
+
+                return evt;
+            }
+        };
+    }
+
+    @Override
+    public Stream<SimEvent> stream() {
+        final Spliterator<SimEvent> spliterator = Spliterators.spliterator(iterator(), size, Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    protected void clearInternal() {
+        buckets = new Bucket[MIN_BUCKETS];
+        size = 0;
+    }
+
+    /**
+     * Gets the time interval (in seconds) covered by each bucket.
+     * @return
+     */
+    public double getBucketWidth() {
+        return bucketWidth;
+    }
+
+    /**
+     * Gets the current number of buckets.
+     * @return
+     */
+    public int getBucketsNumber() {
+        return buckets.length;
+    }
+
+    /**
+     * A bucket that stores events sorted according to {@link SimEvent#compareTo(SimEvent)}
+     * into an array. It keeps the index for the first and last events,
+     * so that the first event can be removed in constant time
+     * and events are usually appended to the end, also in constant time.
+     */
+    private static final class Bucket {
+        private static final SimEvent[] EMPTY = new SimEvent[0];
+
+        private SimEvent[] events = EMPTY;
+
+        /** Index of the first event. */
+        private int head;
+
+        /** Index after the last event. */
+        private int tail;
+
+        boolean isEmpty() {
+            return head == tail;
+        }
+
+        SimEvent first() {
+            return events[head];
+        }
+
+        SimEvent pollFirst() {
+            final SimEvent evt = events[head];
+            events[head++] = null;
+            if (head == tail) {
+                head = tail = 0;
+            }
+
+            return evt;
+        }
+
+        /**
+         * Removes all the events at the head of the bucket
+         * happening at the same time of the first one.
+         * Since events are sorted by time, they are contiguous in the array.
+         *
+         * @param batch the list to add the removed events to
+         * @return the number of removed events
+         */
+        int pollFirstBatch(final List<SimEvent> batch) {
+            final double time = events[head].getTime();
+            int end = head;
+            while (end < tail && events[end].getTime() == time) {
+                batch.add(events[end++]);
+            }
+
+            final int count = end - head;
+            Arrays.fill(events, head, end, null);
+            head = end;
+            if (head == tail) {
+                head = tail = 0;
+            }
+
+            return count;
+        }
+
+        void add(final SimEvent evt) {
+            if (head > 0 && evt.compareTo(events[head]) < 0) {
+                events[--head] = evt;
+                return;
+            }
+
+            makeRoomAtTail();
+            if (head == tail || evt.compareTo(events[tail - 1]) > 0) {
+                events[tail++] = evt;
+                return;
+            }
+
+            final int pos = lowerBound(evt);
+            System.arraycopy(events, pos, events, pos + 1, tail - pos);
+            events[pos] = evt;
+            tail++;
+        }
+
+        boolean remove(final SimEvent evt) {
+            final int pos = lowerBound(evt);
+            if (pos == tail || events[pos].compareTo(evt) != 0) {
+                return false;
+            }
+
+            if (pos == head) {
+                pollFirst();
+                return true;
+            }
+
+            System.arraycopy(events, pos + 1, events, pos, tail - pos - 1);
+            events[--tail] = null;
+            return true;
+        }
+
+        /**
+         * Removes all events matching a predicate.
+         * @param predicate the predicate to select events to remove
+         * @return the number of removed events
+         */
+        int removeIf(final Predicate<SimEvent> predicate) {
+            int write = head;
+            for (int read = head; read < tail; read++) {
+                if (!predicate.test(events[read])) {
+                    events[write++] = events[read];
+                }
+            }
+
+            final int removed = tail - write;
+            Arrays.fill(events, write, tail, null);
+            tail = write;
+            if (head == tail) {
+                head = tail = 0;
+            }
+
+            return removed;
+        }
+
+        /**
+         * Gets the index of the first event that is not lower than a given one.
+         * @param evt the event to search
+         * @return the index where the event is or should be inserted
+         */
+        private int lowerBound(final SimEvent evt) {
+            int low = head;
+            int high = tail;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (events[mid].compareTo(evt) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            return low;
+        }
+
+        /**
+         * Ensures there is space for one more event at the end of the array,
+         * moving events to the beginning of the array or growing it.
+         */
+        private void makeRoomAtTail() {
+            if (tail < events.length) {
+                return;
+            }
+
+            final int count = tail - head;
+            final SimEvent[] target = head > events.length / 2 ? events : new SimEvent[Math.max(4, events.length * 2)];
+            System.arraycopy(events, head, target, 0, count);
+            if (target == events) {
+                Arrays.fill(events, count, tail, null);
+            }
+
+            events = target;
+            head = 0;
+            tail = count;
+        }
+    }
+}
@@ -8,11 +8,18 @@
 
 package org.cloudbus.cloudsim.core.events;
 
+import java.util.Objects;
 import java.util.function.Predicate;
 
 /**
  * A predicate to select events with specific {@link SimEvent#getTag() tag}.
  *
+ * <p>Since the tag is known beforehand, canceling events using
+ * such a predicate enables the simulation to find
+ * the events to cancel without traversing the whole {@link FutureEventQueue}.
+ * Combining this predicate with other conditions using {@link #and(Predicate)}
+ * keeps that feature.</p>
+ *
  * @author Marcos Dias de Assuncao
  * @see Predicate
  * @since CloudSim Toolkit 1.0
@@ -21,13 +28,24 @@ public class PredicateType implements Predicate<SimEvent> {
 
     private final int tag;
 
+    /**
+     * An additional condition that events must meet,
+     * besides having the {@link #tag}.
+     */
+    private final Predicate<? super SimEvent> condition;
+
     /**
      * Constructor used to select events with the given tag value.
      *
      * @param tag an event {@link SimEvent#getTag() tag} value
      */
     public PredicateType(final int tag) {
+        this(tag, evt -> true);
+    }
+
+    private PredicateType(final int tag, final Predicate<? super SimEvent> condition) {
         this.tag = tag;
+        this.condition = condition;
     }
 
     /**
@@ -39,7 +57,27 @@ public class PredicateType implements Predicate<SimEvent> {
      */
     @Override
     public boolean test(final SimEvent evt) {
-        return tag == evt.getTag();
+        return tag == evt.getTag() && condition.test(evt);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The returned predicate is also a {@link PredicateType} for the same {@link #getTag() tag}.
+     *
+     * @param other {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public PredicateType and(final Predicate<? super SimEvent> other) {
+        Objects.requireNonNull(other);
+        return new PredicateType(tag, evt -> condition.test(evt) && other.test(evt));
     }
 
+    /**
+     * Gets the tag of the events selected by this predicate.
+     * @return
+     */
+    public int getTag() {
+        return tag;
+    }
 }
@@ -9,6 +9,7 @@ package org.cloudbus.cloudsim.datacenters;
 import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicy;
 import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
 import org.cloudbus.cloudsim.allocationpolicies.migration.VmAllocationPolicyMigration;
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.core.CloudSimEntity;
 import org.cloudbus.cloudsim.core.CloudSimTags;
@@ -28,6 +29,8 @@ import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler;
 import org.cloudbus.cloudsim.util.BytesConversion;
 import org.cloudbus.cloudsim.util.MathUtil;
 import org.cloudbus.cloudsim.util.TimeUtil;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModel;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
 import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudbus.cloudsim.vms.VmSimple;
 import org.cloudsimplus.autoscaling.VerticalVmScaling;
@@ -35,8 +38,11 @@ import org.cloudsimplus.faultinjection.HostFaultInjection;
 import org.cloudsimplus.listeners.DatacenterVmMigrationEventInfo;
 import org.cloudsimplus.listeners.EventListener;
 import org.cloudsimplus.listeners.HostEventInfo;
+import org.cloudsimplus.listeners.VmHostEventInfo;
+import org.cloudsimplus.util.Log;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
@@ -52,6 +58,13 @@ import static java.util.stream.Collectors.toList;
  * @since CloudSim Toolkit 1.0
  */
 public class DatacenterSimple extends CloudSimEntity implements Datacenter {
+    /**
+     * A {@link Comparator} that sorts VMs in decreasing order of size
+     * (number of PEs and then MIPS capacity), used to place a batch of VMs.
+     * @see #processVmCreateBatch(SimEvent)
+     */
+    private static final Comparator<Vm> VM_SIZE_DECREASING_COMPARATOR =
+        Comparator.comparingLong(Vm::getNumberOfPes).thenComparingDouble(Vm::getMips).reversed();
 
     /**
      * The last time some Host on the Datacenter was under or overloaded.
@@ -106,6 +119,67 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
     private PowerModelDatacenter powerModel = PowerModelDatacenter.NULL;
     private long activeHostsNumber;
 
+    /** @see #getParallelHostsProcessingThreshold() */
+    private int parallelHostsProcessingThreshold = Integer.MAX_VALUE;
+
+    /** @see #getHostsProcessingPool() */
+    private ForkJoinPool hostsProcessingPool = ForkJoinPool.commonPool();
+
+    /** @see #isIncrementalHostsProcessing() */
+    private boolean incrementalHostsProcessing;
+
+    /**
+     * A queue of Hosts ordered by the time some of their Cloudlets is expected to finish,
+     * used when {@link #isIncrementalHostsProcessing() incremental Hosts processing} is enabled.
+     * Since a Host may be updated before such a time, the queue may have outdated entries,
+     * which are the ones that aren't the {@link #lastHostsUpdates last update} of their Hosts.
+     */
+    private final PriorityQueue<HostUpdate> hostsUpdateQueue = new PriorityQueue<>();
+
+    /**
+     * A map where each key is a Host and each value is the information about the last update of that Host,
+     * including the time it has to be updated again.
+     * It compares Hosts by reference, since different Hosts may have the same id.
+     */
+    private final Map<Host, HostUpdate> lastHostsUpdates = new IdentityHashMap<>();
+
+    /**
+     * Hosts whose state has changed since their last update
+     * (such as by receiving a new Cloudlet or VM), which must be updated
+     * in the next Cloudlets processing update.
+     */
+    private final Set<Host> changedHosts = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /** The last time the processing of all Hosts was updated. */
+    private double lastAllHostsUpdateTime = -Double.MAX_VALUE;
+
+    /**
+     * Indicates if a warning about Cloudlets whose CPU utilization may change along the time
+     * was already shown, when {@link #isIncrementalHostsProcessing() incremental Hosts processing} is enabled.
+     * @see #warnIfCpuUtilizationMayChange(Cloudlet)
+     */
+    private boolean variableCpuUtilizationWarned;
+
+    /**
+     * A map where each key is a broker owning VMs placed into Hosts of this Datacenter
+     * and each value is the number of such VMs.
+     * It compares brokers by reference, since different brokers may have the same id.
+     * @see #getRelatedEntities()
+     */
+    private final Map<DatacenterBroker, Integer> vmsByBroker = new IdentityHashMap<>();
+
+    /**
+     * A listener registered on every Host to update the {@link #vmsByBroker}
+     * as VMs are placed into and removed from them.
+     */
+    private final EventListener<VmHostEventInfo> vmBrokersUpdater = this::updateVmBrokers;
+
+    /**
+     * A listener registered on every Host to {@link #prepareHostForChange(Host) prepare it}
+     * just before a VM is created into it.
+     */
+    private final EventListener<VmHostEventInfo> hostPreparer = info -> prepareHostForChange(info.getHost());
+
     /**
      * Creates a Datacenter with an empty {@link #getDatacenterStorage() storage}
      * and a {@link VmAllocationPolicySimple} by default.
@@ -229,6 +303,8 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
 
         host.setDatacenter(this);
         host.setActive(((HostSimple)host).isActivateOnDatacenterStartup());
+        ((HostSimple)host).addOnVmPlacementChangeListener(vmBrokersUpdater);
+        ((HostSimple)host).addOnVmCreationStartListener(hostPreparer);
         host.setSimulation(getSimulation());
 
         return nextId;
@@ -240,7 +316,9 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
             return;
         }
 
-        LOGGER.trace("{}: {}: Unknown event {} received.", getSimulation().clockStr(), this, evt.getTag());
+        if(Log.isTraceEnabled(LOGGER, getSimulation())) {
+            LOGGER.trace("{}: {}: Unknown event {} received.", getSimulation().clockStr(), this, evt.getTag());
+        }
     }
 
     private boolean processHostEvents(final SimEvent evt) {
@@ -252,6 +330,7 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
             return true;
         } else if (evt.getTag() == CloudSimTags.HOST_POWER_ON || evt.getTag() == CloudSimTags.HOST_POWER_OFF) {
             final HostSimple host = (HostSimple)evt.getData();
+            prepareHostForChange(host);
             host.processActivation(evt.getTag() == CloudSimTags.HOST_POWER_ON);
         }
 
@@ -301,9 +380,8 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         * Datacenters to try to find the Host for removal.*/
         getSimulation().cancelAll(
             getSimulation().getCloudInfoService(),
-            evt -> MathUtil.same(evt.getTime(), srcEvt.getTime()) &&
-                   evt.getTag() == CloudSimTags.HOST_REMOVE &&
-                   (long)evt.getData() == host.getId());
+            new PredicateType(CloudSimTags.HOST_REMOVE).and(
+                evt -> MathUtil.same(evt.getTime(), srcEvt.getTime()) && (long)evt.getData() == host.getId()));
     }
 
     private Optional<Host> getHostFromHostEvent(final SimEvent evt) {
@@ -332,6 +410,9 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
             case CloudSimTags.VM_CREATE_ACK:
                 processVmCreate(evt);
                 return true;
+            case CloudSimTags.VM_CREATE_BATCH_ACK:
+                processVmCreateBatch(evt);
+                return true;
             case CloudSimTags.VM_VERTICAL_SCALING:
                 requestVmVerticalScaling(evt);
                 return true;
@@ -367,7 +448,9 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
             return false;
         }
 
-        return vmAllocationPolicy.scaleVmVertically((VerticalVmScaling)evt.getData());
+        final VerticalVmScaling scaling = (VerticalVmScaling)evt.getData();
+        prepareHostForChange(scaling.getVm().getHost());
+        return vmAllocationPolicy.scaleVmVertically(scaling);
     }
 
     private boolean processCloudletEvents(final SimEvent evt) {
@@ -453,9 +536,11 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
                 processCloudletResume(cloudlet, true);
                 break;
             default:
-                LOGGER.trace(
-                    "{}: Unable to handle a request from {} with event tag = {}",
-                    this, evt.getSource().getName(), evt.getTag());
+                if(Log.isTraceEnabled(LOGGER, getSimulation())) {
+                    LOGGER.trace(
+                        "{}: Unable to handle a request from {} with event tag = {}",
+                        this, evt.getSource().getName(), evt.getTag());
+                }
 
         }
     }
@@ -489,6 +574,8 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         final double fileTransferTime = getDatacenterStorage().predictFileTransferTime(cloudlet.getRequiredFiles());
 
         final CloudletScheduler scheduler = cloudlet.getVm().getCloudletScheduler();
+        warnIfCpuUtilizationMayChange(cloudlet);
+        prepareHostForChange(cloudlet.getVm().getHost());
         final double estimatedFinishTime = scheduler.cloudletSubmit(cloudlet, fileTransferTime);
 
         // if this cloudlet is in the exec queue
@@ -546,6 +633,7 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
      * acknowledge message when the event finishes to be processed
      */
     protected void processCloudletResume(final Cloudlet cloudlet, final boolean ack) {
+        prepareHostForChange(cloudlet.getVm().getHost());
         final double estimatedFinishTime = cloudlet.getVm()
             .getCloudletScheduler().cloudletResume(cloudlet);
 
@@ -572,6 +660,7 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
      * acknowledge message when the event finishes to be processed
      */
     protected void processCloudletPause(final Cloudlet cloudlet, final boolean ack) {
+        prepareHostForChange(cloudlet.getVm().getHost());
         cloudlet.getVm().getCloudletScheduler().cloudletPause(cloudlet);
         sendAck(ack, cloudlet, CloudSimTags.CLOUDLET_PAUSE_ACK);
     }
@@ -582,6 +671,7 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
      * @param cloudlet cloudlet to be canceled
      */
     protected void processCloudletCancel(final Cloudlet cloudlet) {
+        prepareHostForChange(cloudlet.getVm().getHost());
         cloudlet.getVm().getCloudletScheduler().cloudletCancel(cloudlet);
         sendNow(cloudlet.getBroker(), CloudSimTags.CLOUDLET_CANCEL, cloudlet);
     }
@@ -601,6 +691,7 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         final boolean hostAllocatedForVm = vmAllocationPolicy.allocateHostForVm(vm).fully();
         if (hostAllocatedForVm) {
             vm.updateProcessing(vm.getHost().getVmScheduler().getAllocatedMips(vm));
+            addChangedHost(vm.getHost());
         }
 
         /* Acknowledges that the request was received by the Datacenter,
@@ -610,6 +701,45 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         return hostAllocatedForVm;
     }
 
+    /**
+     * Process the event for a Broker which wants to create a batch of VMs in this
+     * Datacenter. The VMs are placed at once by the {@link VmAllocationPolicy},
+     * in decreasing order of size (number of PEs and then MIPS),
+     * so that larger VMs are placed while there are more Hosts with enough free capacity
+     * and smaller VMs fill the remaining gaps.
+     * A single acknowledge is sent back to the Broker for all of them,
+     * keeping the VMs in the order they were requested.
+     *
+     * @param evt information about the event just happened,
+     *            which data is the List of VMs to create
+     * @return the number of VMs which a host was allocated to
+     * @see VmAllocationPolicy#allocateHostForVm(Collection)
+     */
+    private int processVmCreateBatch(final SimEvent evt) {
+        @SuppressWarnings("unchecked")
+        final List<Vm> vmList = (List<Vm>) evt.getData();
+        if(vmList.isEmpty()){
+            return 0;
+        }
+
+        final List<Vm> sortedVms = new ArrayList<>(vmList);
+        sortedVms.sort(VM_SIZE_DECREASING_COMPARATOR);
+
+        final Set<Vm> failedVms = Collections.newSetFromMap(new IdentityHashMap<>());
+        failedVms.addAll(vmAllocationPolicy.allocateHostForVm(sortedVms));
+        int createdVms = 0;
+        for (final Vm vm : vmList) {
+            if (!failedVms.contains(vm)) {
+                vm.updateProcessing(vm.getHost().getVmScheduler().getAllocatedMips(vm));
+                addChangedHost(vm.getHost());
+                createdVms++;
+            }
+        }
+
+        send(vmList.get(0).getBroker(), getSimulation().getMinTimeBetweenEvents(), CloudSimTags.VM_CREATE_BATCH_ACK, vmList);
+        return createdVms;
+    }
+
     /**
      * Process the event sent by a Broker, requesting the destruction of a given VM
      * created in this Datacenter. This Datacenter may send, upon
@@ -621,6 +751,8 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
      */
     protected void processVmDestroy(final SimEvent evt, final boolean ack) {
         final Vm vm = (Vm) evt.getData();
+        //Other VMs in the Host may get the resources released by the destroyed VM
+        prepareHostForChange(vm.getHost());
         vmAllocationPolicy.deallocateHostForVm(vm);
 
         if (ack) {
@@ -631,13 +763,18 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         if(getSimulation().isAborted() || getSimulation().isAbortRequested())
             return;
 
+        final boolean unfinishedCloudlets = !vm.getCloudletScheduler().getCloudletList().isEmpty();
+        final boolean warning = unfinishedCloudlets && !getSimulation().isTerminationTimeSet();
+        if(warning ? !LOGGER.isWarnEnabled() : !Log.isInfoEnabled(LOGGER, getSimulation()))
+            return;
+
         final String warningMsg = generateNotFinishedCloudletsWarning(vm);
         final String msg = String.format(
                 "%s: %s: %s destroyed on %s. %s",
                 getSimulation().clockStr(), getClass().getSimpleName(), vm, vm.getHost(), warningMsg);
-        if(warningMsg.isEmpty() || getSimulation().isTerminationTimeSet())
-            LOGGER.info(msg);
-        else LOGGER.warn(msg);
+        if(warning)
+            LOGGER.warn(msg);
+        else LOGGER.info(msg);
     }
 
     private String generateNotFinishedCloudletsWarning(final Vm vm) {
@@ -697,9 +834,11 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
             updateHostsProcessing();
         }
 
-        if (suitability.fully())
-            LOGGER.info("{}: Migration of {} to {} is completed", getSimulation().clockStr(), vm, targetHost);
-        else LOGGER.error(
+        if (suitability.fully()) {
+            if(Log.isInfoEnabled(LOGGER, getSimulation())) {
+                LOGGER.info("{}: Migration of {} to {} is completed", getSimulation().clockStr(), vm, targetHost);
+            }
+        } else LOGGER.error(
             "{}: {}: Allocation of {} to the destination {} failed due to {}!",
             getSimulation().clockStr(), this, vm, targetHost, suitability);
 
@@ -762,23 +901,223 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
      * or {@link Double#MAX_VALUE} if there is no next Cloudlet to execute
      */
     protected double updateHostsProcessing() {
+        final double nextSimulationDelay = updateHostsProcessing(getHostList());
+        lastAllHostsUpdateTime = clock();
+        changedHosts.clear();
+        return ensureMinTimeBetweenEvents(nextSimulationDelay);
+    }
+
+    /**
+     * Updates the processing of some given Hosts.
+     * If {@link #isIncrementalHostsProcessing() incremental Hosts processing} is enabled,
+     * stores the time each Host must be updated again.
+     *
+     * @param hosts the Hosts to update
+     * @return the minimum delay returned by the Hosts update
+     */
+    private double updateHostsProcessing(final List<? extends Host> hosts) {
+        if (hosts.size() >= parallelHostsProcessingThreshold) {
+            return updateHostsProcessingInParallel(hosts);
+        }
+
         double nextSimulationDelay = Double.MAX_VALUE;
-        for (final Host host : getHostList()) {
+        for (final Host host : hosts) {
             final double delay = host.updateProcessing(clock());
+            setHostNextUpdateDelay(host, delay);
             nextSimulationDelay = Math.min(delay, nextSimulationDelay);
         }
 
-        // Guarantees a minimal interval before scheduling the event
+        return nextSimulationDelay;
+    }
+
+    /**
+     * Guarantees a minimal interval before scheduling the next Cloudlets processing update.
+     * @param nextSimulationDelay the delay to the next Cloudlets processing update
+     * @return the given delay or the minimal interval between events, if the delay is smaller
+     */
+    private double ensureMinTimeBetweenEvents(final double nextSimulationDelay) {
         final double minTimeBetweenEvents = getSimulation().getMinTimeBetweenEvents()+0.01;
-        nextSimulationDelay = nextSimulationDelay == 0 ? nextSimulationDelay : Math.max(nextSimulationDelay, minTimeBetweenEvents);
+        return nextSimulationDelay == 0 ? nextSimulationDelay : Math.max(nextSimulationDelay, minTimeBetweenEvents);
+    }
 
-        if (nextSimulationDelay == Double.MAX_VALUE) {
-            return nextSimulationDelay;
+    /**
+     * Updates processing of Hosts in parallel, using the {@link #getHostsProcessingPool()}.
+     * Listeners notifications and other operations that change objects shared among Hosts
+     * are executed after all Hosts are updated, in the same order of a sequential update.
+     *
+     * @param hosts the Hosts to update
+     * @return the minimum delay returned by the Hosts update
+     * @see Simulation#runInParallel(List, ForkJoinPool)
+     */
+    private double updateHostsProcessingInParallel(final List<? extends Host> hosts) {
+        final double currentTime = clock();
+        final double[] delays = new double[hosts.size()];
+        final List<Runnable> tasks = new ArrayList<>(hosts.size());
+        for (int i = 0; i < hosts.size(); i++) {
+            final int index = i;
+            tasks.add(() -> delays[index] = hosts.get(index).updateProcessing(currentTime));
+        }
+
+        getSimulation().runInParallel(tasks, hostsProcessingPool);
+
+        double nextSimulationDelay = Double.MAX_VALUE;
+        for (int i = 0; i < delays.length; i++) {
+            setHostNextUpdateDelay(hosts.get(i), delays[i]);
+            nextSimulationDelay = Math.min(delays[i], nextSimulationDelay);
         }
 
         return nextSimulationDelay;
     }
 
+    /**
+     * Updates the processing of Hosts whose state has changed
+     * or which have some Cloudlet expected to finish at the current time,
+     * when {@link #isIncrementalHostsProcessing() incremental Hosts processing} is enabled.
+     * Hosts are updated in the order of their ids.
+     *
+     * @return the predicted completion time of the earliest finishing cloudlet
+     * among all Hosts (which is a relative delay from the current simulation time),
+     * or {@link Double#MAX_VALUE} if there is no next Cloudlet to execute
+     */
+    private double updateChangedHostsProcessing() {
+        /* Hosts expected to be updated a little after the current time are updated now,
+         * since all Hosts would be updated at this time if incremental processing was disabled. */
+        final double maxTime = clock() + getSimulation().getMinTimeBetweenEvents();
+        while (!hostsUpdateQueue.isEmpty() && hostsUpdateQueue.peek().time <= maxTime) {
+            final HostUpdate update = hostsUpdateQueue.poll();
+            if (isUpToDate(update)) {
+                changedHosts.add(update.host);
+            }
+        }
+
+        final List<Host> hosts = new ArrayList<>(changedHosts);
+        hosts.sort(Comparator.comparingLong(Host::getId));
+        changedHosts.clear();
+        updateHostsProcessing(hosts);
+
+        return ensureMinTimeBetweenEvents(getNextHostUpdateDelay());
+    }
+
+    /**
+     * Gets the delay until the next time some Host has to be updated
+     * because some of its Cloudlets is expected to finish.
+     * @return the delay or {@link Double#MAX_VALUE} if there is no Cloudlet expected to finish
+     */
+    private double getNextHostUpdateDelay() {
+        while (!hostsUpdateQueue.isEmpty() && !isUpToDate(hostsUpdateQueue.peek())) {
+            hostsUpdateQueue.poll();
+        }
+
+        return hostsUpdateQueue.isEmpty() ? Double.MAX_VALUE : Math.max(hostsUpdateQueue.peek().time - clock(), 0);
+    }
+
+    private boolean isUpToDate(final HostUpdate update) {
+        return lastHostsUpdates.get(update.host) == update;
+    }
+
+    /**
+     * Stores the time a Host has to be updated again,
+     * if {@link #isIncrementalHostsProcessing() incremental Hosts processing} is enabled.
+     * @param host the Host just updated
+     * @param delay the delay returned by the Host update
+     */
+    private void setHostNextUpdateDelay(final Host host, final double delay) {
+        if (!incrementalHostsProcessing) {
+            return;
+        }
+
+        final HostUpdate update = new HostUpdate(host, clock(), delay == Double.MAX_VALUE ? delay : clock() + delay);
+        lastHostsUpdates.put(host, update);
+        if (delay == Double.MAX_VALUE) {
+            return;
+        }
+
+        hostsUpdateQueue.add(update);
+
+        //Removes outdated entries when they are the majority of the queue
+        if (hostsUpdateQueue.size() > 2 * (lastHostsUpdates.size() + hostList.size())) {
+            hostsUpdateQueue.clear();
+            lastHostsUpdates.values().stream().filter(last -> last.time != Double.MAX_VALUE).forEach(hostsUpdateQueue::add);
+        }
+    }
+
+    /**
+     * Updates the processing of a Host (if it wasn't updated yet at the current time)
+     * just before its state is changed, so that the processing done until now
+     * isn't computed using the new state, when
+     * {@link #isIncrementalHostsProcessing() incremental Hosts processing} is enabled.
+     * The Host is then included into the changed Hosts to be updated in the next Cloudlets processing update.
+     * Hosts notify the {@link #hostPreparer} before a VM is placed into them,
+     * since the Host to place a VM is just known inside the {@link VmAllocationPolicy}.
+     *
+     * @param host the Host whose state is going to change
+     */
+    private void prepareHostForChange(final Host host) {
+        if (!incrementalHostsProcessing || host == Host.NULL) {
+            return;
+        }
+
+        final HostUpdate last = lastHostsUpdates.get(host);
+        if (last == null || last.updateTime < clock()) {
+            setHostNextUpdateDelay(host, host.updateProcessing(clock()));
+        }
+
+        addChangedHost(host);
+    }
+
+    /**
+     * Adds a Host to the set of Hosts which must be updated in the next Cloudlets processing update,
+     * if {@link #isIncrementalHostsProcessing() incremental Hosts processing} is enabled.
+     * @param host the Host whose state has changed
+     */
+    private void addChangedHost(final Host host) {
+        if (incrementalHostsProcessing && host != Host.NULL) {
+            changedHosts.add(host);
+        }
+    }
+
+    /**
+     * Warns (just once) that changes in the CPU utilization of a given Cloudlet aren't
+     * computed when they happen, if {@link #isIncrementalHostsProcessing() incremental Hosts processing}
+     * is enabled and there is no {@link #getSchedulingInterval() scheduling interval}.
+     * In such a case, the Host running the Cloudlet is just updated when some of its Cloudlets
+     * is expected to finish or its state changes, since the times the utilization changes can't be predicted.
+     *
+     * @param cloudlet the Cloudlet being submitted
+     */
+    private void warnIfCpuUtilizationMayChange(final Cloudlet cloudlet) {
+        if (!incrementalHostsProcessing || schedulingInterval > 0 || variableCpuUtilizationWarned) {
+            return;
+        }
+
+        final UtilizationModel model = cloudlet.getUtilizationModelCpu();
+        if (model instanceof UtilizationModelFull || model == UtilizationModel.NULL) {
+            return;
+        }
+
+        variableCpuUtilizationWarned = true;
+        LOGGER.warn(
+            "{}: {}: {} has a CPU utilization model which may change along the time. " +
+            "Since incremental Hosts processing is enabled, set a scheduling interval to get such changes periodically.",
+            getSimulation().clockStr(), getClass().getSimpleName(), cloudlet);
+    }
+
+    /**
+     * Checks if all Hosts have to be updated in the current Cloudlets processing update.
+     * When {@link #isIncrementalHostsProcessing() incremental Hosts processing} is enabled,
+     * all Hosts are updated at the beginning of the simulation
+     * and at least once in each {@link #getSchedulingInterval() scheduling interval} (if it's set).
+     * @return true if all Hosts have to be updated, false if only the changed ones have
+     */
+    private boolean isTimeToUpdateAllHosts() {
+        if (!incrementalHostsProcessing || clock() < 0.111) {
+            return true;
+        }
+
+        return schedulingInterval > 0 &&
+               Math.floor(clock() / schedulingInterval) > Math.floor(lastAllHostsUpdateTime / schedulingInterval);
+    }
+
     /**
      * Updates processing of each Host, that fires the update of VMs,
      * which in turn updates cloudlets running in this Datacenter.
@@ -796,7 +1135,7 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         if (!isTimeToUpdateCloudletsProcessing()){
             return Double.MAX_VALUE;
         }
-        double nextSimulationDelay = updateHostsProcessing();
+        double nextSimulationDelay = isTimeToUpdateAllHosts() ? updateHostsProcessing() : updateChangedHostsProcessing();
 
         if (nextSimulationDelay != Double.MAX_VALUE) {
             nextSimulationDelay = getCloudletProcessingUpdateInterval(nextSimulationDelay);
@@ -875,7 +1214,6 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
 
     @Override
     public void requestVmMigration(final Vm sourceVm, Host targetHost) {
-        final String currentTime = getSimulation().clockStr();
         final Host sourceHost = sourceVm.getHost();
 
         //If Host.NULL is given, it must try to find a target host
@@ -885,11 +1223,24 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
 
         //If a host couldn't be found yet
         if(targetHost == Host.NULL) {
-            LOGGER.warn("{}: {}: No suitable host found for {} in {}", sourceVm.getSimulation().clockStr(), getClass().getSimpleName(), sourceVm, this);
+            if(LOGGER.isWarnEnabled()) {
+                LOGGER.warn("{}: {}: No suitable host found for {} in {}", sourceVm.getSimulation().clockStr(), getClass().getSimpleName(), sourceVm, this);
+            }
             return;
         }
 
         final double delay = timeToMigrateVm(sourceVm, targetHost);
+        if(Log.isInfoEnabled(LOGGER, getSimulation())) {
+            logVmMigrationRequest(sourceVm, sourceHost, targetHost, delay);
+        }
+
+        if(targetHost.addMigratingInVm(sourceVm)) {
+            sourceHost.addVmMigratingOut(sourceVm);
+            send(this, delay, CloudSimTags.VM_MIGRATE, new TreeMap.SimpleEntry<>(sourceVm, targetHost));
+        }
+    }
+
+    private void logVmMigrationRequest(final Vm sourceVm, final Host sourceHost, final Host targetHost, final double delay) {
         final String msg1 =
             sourceHost == Host.NULL ?
                 String.format("%s to %s", sourceVm, targetHost) :
@@ -898,12 +1249,7 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         final String msg2 = String.format(
             "It's expected to finish in %.2f seconds, considering the %.0f%% of bandwidth allowed for migration and the VM RAM size.",
             delay, getBandwidthPercentForMigration()*100);
-        LOGGER.info("{}: {}: Migration of {} is started. {}", currentTime, getName(), msg1, msg2);
-
-        if(targetHost.addMigratingInVm(sourceVm)) {
-            sourceHost.addVmMigratingOut(sourceVm);
-            send(this, delay, CloudSimTags.VM_MIGRATE, new TreeMap.SimpleEntry<>(sourceVm, targetHost));
-        }
+        LOGGER.info("{}: {}: Migration of {} is started. {}", getSimulation().clockStr(), getName(), msg1, msg2);
     }
 
     /**
@@ -1044,6 +1390,31 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         return activeHostsNumber;
     }
 
+    /**
+     * {@inheritDoc}
+     * They are the brokers owning VMs currently placed into Hosts of this Datacenter.
+     * The set is kept updated as VMs are created and destroyed,
+     * so it's got without traversing all Hosts and VMs.
+     *
+     * @return a read-only set of brokers
+     */
+    @Override
+    protected Set<DatacenterBroker> getRelatedEntities() {
+        return Collections.unmodifiableSet(vmsByBroker.keySet());
+    }
+
+    /**
+     * Updates the {@link #getRelatedEntities() brokers owning VMs inside the datacenter}
+     * when a VM is placed into or removed from one of its Hosts.
+     * @param info the information about the VM placed into or removed from a Host
+     */
+    private void updateVmBrokers(final VmHostEventInfo info){
+        final Vm vm = info.getVm();
+        if(vm.isCreated()) {
+            vmsByBroker.merge(vm.getBroker(), 1, Integer::sum);
+        } else vmsByBroker.computeIfPresent(vm.getBroker(), (broker, vms) -> vms > 1 ? vms - 1 : null);
+    }
+
     /**
      * Update the number of active Hosts inside the datacenter
      */
@@ -1076,6 +1447,7 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
 
         setupHost(host, getLastHostId());
         ((List<T>)hostList).add(host);
+        addChangedHost(host);
         return this;
     }
 
@@ -1086,6 +1458,8 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
     @Override
     public <T extends Host> Datacenter removeHost(final T host) {
         hostList.remove(host);
+        lastHostsUpdates.remove(host);
+        changedHosts.remove(host);
         return this;
     }
 
@@ -1198,4 +1572,141 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         this.hostSearchRetryDelay = delay;
         return this;
     }
+
+    /**
+     * Gets the minimum number of Hosts the Datacenter must have
+     * to update the processing of its Hosts in parallel,
+     * using the {@link #getHostsProcessingPool()}.
+     * The default value is {@link Integer#MAX_VALUE}, which means Hosts are always updated sequentially.
+     *
+     * <p>Listeners notifications, logging and requests sent to brokers during the Hosts update
+     * are performed after all Hosts are updated,
+     * in the same order as if Hosts were updated sequentially.
+     * Objects used by different Hosts during their update,
+     * such as a {@link org.cloudbus.cloudsim.utilizationmodels.UtilizationModel}
+     * shared among Cloudlets running in different Hosts, must be thread-safe.</p>
+     *
+     * @return the minimum number of Hosts to update them in parallel
+     */
+    public int getParallelHostsProcessingThreshold() {
+        return parallelHostsProcessingThreshold;
+    }
+
+    /**
+     * Sets the minimum number of Hosts the Datacenter must have
+     * to update the processing of its Hosts in parallel.
+     *
+     * @param threshold the minimum number of Hosts to update them in parallel
+     *                  (use {@link Integer#MAX_VALUE} to always update Hosts sequentially)
+     * @return this Datacenter
+     * @see #getParallelHostsProcessingThreshold()
+     */
+    public Datacenter setParallelHostsProcessingThreshold(final int threshold) {
+        if(threshold <= 0){
+            throw new IllegalArgumentException("The parallel Hosts processing threshold must be a positive number.");
+        }
+
+        this.parallelHostsProcessingThreshold = threshold;
+        return this;
+    }
+
+    /**
+     * Gets the pool used to update the processing of Hosts in parallel,
+     * which by default is the {@link ForkJoinPool#commonPool()}.
+     *
+     * @return the pool
+     * @see #getParallelHostsProcessingThreshold()
+     */
+    public ForkJoinPool getHostsProcessingPool() {
+        return hostsProcessingPool;
+    }
+
+    /**
+     * Sets the pool used to update the processing of Hosts in parallel.
+     *
+     * @param pool the pool to set
+     * @return this Datacenter
+     * @see #getParallelHostsProcessingThreshold()
+     */
+    public Datacenter setHostsProcessingPool(final ForkJoinPool pool) {
+        this.hostsProcessingPool = requireNonNull(pool);
+        return this;
+    }
+
+    /**
+     * Checks if only the Hosts affected by some change are updated
+     * when the processing of Cloudlets is updated, instead of all Hosts.
+     * The default value is false.
+     *
+     * <p>When enabled, the Datacenter keeps a queue with the time each Host
+     * expects some of its Cloudlets to finish.
+     * Each Cloudlets processing update just updates the Hosts whose time has come
+     * and the Hosts whose state has changed since their last update
+     * (such as by receiving a Cloudlet or VM, or by having a VM destroyed or scaled).
+     * All Hosts are still updated at the beginning of the simulation,
+     * when a VM migration finishes and at least once in each
+     * {@link #getSchedulingInterval() scheduling interval} (if it's set).</p>
+     *
+     * <p>This considerably reduces the number of Host updates in large Datacenters,
+     * but the processing of a Host that isn't updated is just computed at its next update.
+     * Therefore, results are only the same as updating all Hosts when the resource utilization
+     * of Cloudlets doesn't change along the time
+     * (otherwise, a scheduling interval must be set to get such changes periodically,
+     * and a warning is logged if it isn't).
+     * Host listeners, utilization history and idle Hosts shutdown are also
+     * just processed when each Host is updated.</p>
+     *
+     * @return true if incremental Hosts processing is enabled, false otherwise
+     */
+    public boolean isIncrementalHostsProcessing() {
+        return incrementalHostsProcessing;
+    }
+
+    /**
+     * Enables or disables the update of only the Hosts affected by some change
+     * when the processing of Cloudlets is updated.
+     *
+     * @param incremental true to enable incremental Hosts processing, false to update all Hosts
+     * @return this Datacenter
+     * @see #isIncrementalHostsProcessing()
+     */
+    public Datacenter setIncrementalHostsProcessing(final boolean incremental) {
+        this.incrementalHostsProcessing = incremental;
+        hostsUpdateQueue.clear();
+        lastHostsUpdates.clear();
+        changedHosts.clear();
+        //Forces all Hosts to be updated next time, to get their expected update times
+        if(incremental) {
+            changedHosts.addAll(hostList);
+        }
+
+        return this;
+    }
+
+    /**
+     * Information about the update of a Host,
+     * indicating the time a Host has to be updated again.
+     * @see #hostsUpdateQueue
+     */
+    private static final class HostUpdate implements Comparable<HostUpdate> {
+        private final Host host;
+
+        /** The time the Host was updated. */
+        private final double updateTime;
+
+        /** The time the Host has to be updated again or {@link Double#MAX_VALUE} if there is no Cloudlet to finish. */
+        private final double time;
+
+        private HostUpdate(final Host host, final double updateTime, final double time) {
+            this.host = host;
+            this.updateTime = updateTime;
+            this.time = time;
+        }
+
+        @Override
+        public int compareTo(final HostUpdate other) {
+            final int result = Double.compare(time, other.time);
+            return result == 0 ? Long.compare(host.getId(), other.host.getId()) : result;
+        }
+    }
 }
@@ -8,10 +8,13 @@
 package org.cloudbus.cloudsim.datacenters.network;
 
 import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicy;
+import org.cloudbus.cloudsim.core.CloudSimTags;
 import org.cloudbus.cloudsim.core.Simulation;
+import org.cloudbus.cloudsim.core.events.SimEvent;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
 import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.network.FlowNetwork;
 import org.cloudbus.cloudsim.network.switches.EdgeSwitch;
 import org.cloudbus.cloudsim.network.switches.Switch;
 
@@ -50,6 +53,11 @@ public class NetworkDatacenter extends DatacenterSimple {
      */
     private final List<Switch> switchMap;
 
+    /**
+     * @see #getFlowNetwork()
+     */
+    private FlowNetwork flowNetwork;
+
     /**
      * Creates a NetworkDatacenter with the given parameters.
      *
@@ -100,4 +108,49 @@ public class NetworkDatacenter extends DatacenterSimple {
     public List<Switch> getSwitchMap() {
         return Collections.unmodifiableList(switchMap);
     }
+
+    @Override
+    public void processEvent(final SimEvent evt) {
+        if (evt.getTag() == CloudSimTags.NETWORK_FLOW_UPDATE && isFlowNetworkEnabled()) {
+            flowNetwork.update();
+            return;
+        }
+
+        super.processEvent(evt);
+    }
+
+    /**
+     * Checks if the network is simulated at the flow level,
+     * instead of simulating every packet hop through the switches.
+     * @return
+     * @see #setFlowNetworkEnabled(boolean)
+     */
+    public boolean isFlowNetworkEnabled() {
+        return flowNetwork != null;
+    }
+
+    /**
+     * Enables or disables the simulation of the network at the flow level.
+     * In such a mode, packets sent between Hosts aren't forwarded hop by hop through the switches.
+     * Each packet is modeled as a flow sharing the bandwidth of the links in its route
+     * with other flows, as described in {@link FlowNetwork}.
+     * That requires much fewer events for data-intensive workloads.
+     *
+     * <p>The mode must be set before the simulation starts.</p>
+     *
+     * @param enabled true to enable the flow-level network model, false to simulate every packet hop
+     * @return
+     */
+    public NetworkDatacenter setFlowNetworkEnabled(final boolean enabled) {
+        this.flowNetwork = enabled ? new FlowNetwork(this) : null;
+        return this;
+    }
+
+    /**
+     * Gets the flow-level model of the Datacenter network.
+     * @return the flow-level network model or null if it's {@link #isFlowNetworkEnabled() disabled}
+     */
+    public FlowNetwork getFlowNetwork() {
+        return flowNetwork;
+    }
 }
@@ -570,6 +570,30 @@ public interface Host extends Machine, Comparable<Host>, PowerAware<PowerModelHo
      */
     boolean removeOnShutdownListener(EventListener<HostEventInfo> listener);
 
+    /**
+     * Adds a listener object that will be notified every time
+     * the number of free {@link Pe}s or the {@link #isActive() active state} of the host changes,
+     * which means the host may have become more or less suitable to place VMs.
+     * The default implementation doesn't notify availability changes,
+     * just ignoring the listener.
+     *
+     * @param listener the Listener to add
+     * @return
+     */
+    default Host addOnAvailabilityChangeListener(final EventListener<HostEventInfo> listener) {
+        return this;
+    }
+
+    /**
+     * Removes a Listener object from the registered List.
+     * The default implementation doesn't store any listener, so it always returns false.
+     * @param listener the Listener to remove
+     * @return true if the Listener was removed, false otherwise
+     */
+    default boolean removeOnAvailabilityChangeListener(final EventListener<HostEventInfo> listener) {
+        return false;
+    }
+
     /**
      * Adds a listener object that will be notified every time
      * the host updates the processing of all its {@link Vm VMs}.
@@ -641,6 +665,17 @@ public interface Host extends Machine, Comparable<Host>, PowerAware<PowerModelHo
      */
     void enableUtilizationStats();
 
+    /**
+     * Enables the computation of the Host's {@link #getCpuUtilizationStats() CPU utilization statistics}
+     * without enabling the statistics of its VMs.
+     * This way, the Host collects just its overall CPU utilization percentage.
+     * The default implementation just calls {@link #enableUtilizationStats()}.
+     * @see #enableUtilizationStats()
+     */
+    default void enableCpuUtilizationStats() {
+        enableUtilizationStats();
+    }
+
     /**
      * Gets the current total utilization of CPU in MIPS,
      * considering the usage of all its PEs.
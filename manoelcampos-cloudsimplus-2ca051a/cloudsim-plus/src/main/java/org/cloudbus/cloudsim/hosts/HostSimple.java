@@ -23,6 +23,8 @@ import org.cloudbus.cloudsim.vms.*;
 import org.cloudsimplus.listeners.EventListener;
 import org.cloudsimplus.listeners.HostEventInfo;
 import org.cloudsimplus.listeners.HostUpdatesVmsProcessingEventInfo;
+import org.cloudsimplus.listeners.VmHostEventInfo;
+import org.cloudsimplus.util.Log;
 
 import java.util.*;
 import java.util.function.Predicate;
@@ -126,6 +128,15 @@ public class HostSimple implements Host {
     /** @see #addOnShutdownListener(EventListener) (EventListener) */
     private final List<EventListener<HostEventInfo>> onShutdownListeners;
 
+    /** @see #addOnAvailabilityChangeListener(EventListener) */
+    private final List<EventListener<HostEventInfo>> onAvailabilityChangeListeners;
+
+    /** @see #addOnVmCreationStartListener(EventListener) */
+    private final List<EventListener<VmHostEventInfo>> onVmCreationStartListeners;
+
+    /** @see #addOnVmPlacementChangeListener(EventListener) */
+    private final List<EventListener<VmHostEventInfo>> onVmPlacementChangeListeners;
+
     /** @see #getSimulation() */
     private Simulation simulation;
 
@@ -269,6 +280,9 @@ public class HostSimple implements Host {
         this.setSimulation(Simulation.NULL);
         this.idleShutdownDeadline = DEF_IDLE_SHUTDOWN_DEADLINE;
         this.lazySuitabilityEvaluation = true;
+        this.onAvailabilityChangeListeners = new ArrayList<>();
+        this.onVmCreationStartListeners = new ArrayList<>();
+        this.onVmPlacementChangeListeners = new ArrayList<>();
 
         this.ram = new Ram(ram);
         this.bw = new Bandwidth(bw);
@@ -363,7 +377,10 @@ public class HostSimple implements Host {
             nextSimulationDelay = updateVmProcessing(vmList.get(i), currentTime, nextSimulationDelay);
         }
 
-        notifyOnUpdateProcessingListeners(currentTime);
+        if (!onUpdateProcessingListeners.isEmpty()) {
+            simulation.runSequentially(() -> notifyOnUpdateProcessingListeners(currentTime));
+        }
+
         cpuUtilizationStats.add(currentTime);
         addStateHistory(currentTime);
         if (!vmList.isEmpty()) {
@@ -384,12 +401,14 @@ public class HostSimple implements Host {
 
     @Override
     public HostSuitability createVm(final Vm vm) {
+        notifyListeners(onVmCreationStartListeners, vm);
         final HostSuitability suitability = createVmInternal(vm);
         if(suitability.fully()) {
             addVmToCreatedList(vm);
             vm.setHost(this);
             vm.setCreated(true);
             vm.setStartTime(getSimulation().clock());
+            notifyListeners(onVmPlacementChangeListeners, vm);
         }
 
         return suitability;
@@ -573,9 +592,13 @@ public class HostSimple implements Host {
         }
 
         this.active = activate;
-        ((DatacenterSimple) datacenter).updateActiveHostsNumber(this);
         activationChangeInProgress = false;
-        notifyStartupOrShutdown(activate, wasActive);
+        //The Datacenter and listeners are shared among Hosts that may be updated in parallel
+        simulation.runSequentially(() -> {
+            ((DatacenterSimple) datacenter).updateActiveHostsNumber(this);
+            updateOnAvailabilityChangeListeners();
+            notifyStartupOrShutdown(activate, wasActive);
+        });
     }
 
     /**
@@ -609,6 +632,21 @@ public class HostSimple implements Host {
         }
     }
 
+    /**
+     * Notifies the availability change listeners in a deterministic order,
+     * since the PEs of Hosts being updated in parallel may change.
+     */
+    private void notifyOnAvailabilityChangeListeners() {
+        simulation.runSequentially(this::updateOnAvailabilityChangeListeners);
+    }
+
+    private void updateOnAvailabilityChangeListeners() {
+        for (int i = 0; i < onAvailabilityChangeListeners.size(); i++) {
+            final EventListener<HostEventInfo> l = onAvailabilityChangeListeners.get(i);
+            l.update(HostEventInfo.of(l, this, simulation.clock()));
+        }
+    }
+
     private void updateOnStartupListeners() {
         for (int i = 0; i < onStartupListeners.size(); i++) {
             final EventListener<HostEventInfo> l = onStartupListeners.get(i);
@@ -624,9 +662,17 @@ public class HostSimple implements Host {
 
         destroyVmInternal(vm);
         vm.setStopTime(getSimulation().clock());
+        notifyListeners(onVmPlacementChangeListeners, vm);
         vm.notifyOnHostDeallocationListeners(this);
     }
 
+    private void notifyListeners(final List<EventListener<VmHostEventInfo>> listeners, final Vm vm) {
+        for (int i = 0; i < listeners.size(); i++) {
+            final EventListener<VmHostEventInfo> l = listeners.get(i);
+            l.update(VmHostEventInfo.of(l, vm, this));
+        }
+    }
+
     @Override
     public void destroyTemporaryVm(final Vm vm) {
         destroyVmInternal(vm);
@@ -695,6 +741,76 @@ public class HostSimple implements Host {
         return onShutdownListeners.remove(listener);
     }
 
+    @Override
+    public Host addOnAvailabilityChangeListener(final EventListener<HostEventInfo> listener) {
+        if(EventListener.NULL.equals(listener)){
+            return this;
+        }
+
+        onAvailabilityChangeListeners.add(Objects.requireNonNull(listener));
+        return this;
+    }
+
+    @Override
+    public boolean removeOnAvailabilityChangeListener(final EventListener<HostEventInfo> listener) {
+        return onAvailabilityChangeListeners.remove(listener);
+    }
+
+    /**
+     * Adds a listener object that will be notified every time
+     * a VM is about to be created into this Host, before the Host state changes.
+     * It enables the {@link Datacenter} to bring the Host processing up to date
+     * before the VM is placed, without being directly called by the Host.
+     *
+     * @param listener the Listener to add
+     * @return
+     */
+    public Host addOnVmCreationStartListener(final EventListener<VmHostEventInfo> listener) {
+        if(EventListener.NULL.equals(listener)){
+            return this;
+        }
+
+        onVmCreationStartListeners.add(Objects.requireNonNull(listener));
+        return this;
+    }
+
+    /**
+     * Removes a Listener object from the registered List.
+     * @param listener the Listener to remove
+     * @return true if the Listener was removed, false otherwise
+     */
+    public boolean removeOnVmCreationStartListener(final EventListener<VmHostEventInfo> listener) {
+        return onVmCreationStartListeners.remove(listener);
+    }
+
+    /**
+     * Adds a listener object that will be notified every time
+     * a VM is placed into or removed from this Host.
+     * The listener can check if the VM was placed or removed by calling {@link Vm#isCreated()}.
+     * It enables the {@link Datacenter} to keep track of the VMs inside it,
+     * without being directly called by the Host.
+     *
+     * @param listener the Listener to add
+     * @return
+     */
+    public Host addOnVmPlacementChangeListener(final EventListener<VmHostEventInfo> listener) {
+        if(EventListener.NULL.equals(listener)){
+            return this;
+        }
+
+        onVmPlacementChangeListeners.add(Objects.requireNonNull(listener));
+        return this;
+    }
+
+    /**
+     * Removes a Listener object from the registered List.
+     * @param listener the Listener to remove
+     * @return true if the Listener was removed, false otherwise
+     */
+    public boolean removeOnVmPlacementChangeListener(final EventListener<VmHostEventInfo> listener) {
+        return onVmPlacementChangeListeners.remove(listener);
+    }
+
     /**
      * {@inheritDoc}
      * @return {@inheritDoc}
@@ -956,6 +1072,7 @@ public class HostSimple implements Host {
         * it must remain inactive.*/
         if(failed && this.active){
             this.active = false;
+            notifyOnAvailabilityChangeListeners();
         }
 
         return true;
@@ -969,17 +1086,25 @@ public class HostSimple implements Host {
     public final void setPeStatus(final List<Pe> peList, final Pe.Status newStatus){
         /*For performance reasons, stores the number of free and failed PEs
         instead of iterating over the PE list every time to find out.*/
+        boolean changed = false;
         for (final Pe pe : peList) {
-            updatePeStatus(pe, newStatus);
+            changed |= updatePeStatus(pe, newStatus);
+        }
+
+        if(changed) {
+            notifyOnAvailabilityChangeListeners();
         }
     }
 
-    private void updatePeStatus(final Pe pe, final Pe.Status newStatus) {
+    private boolean updatePeStatus(final Pe pe, final Pe.Status newStatus) {
         if(pe.getStatus() != newStatus) {
             updatePeStatusCount(pe.getStatus(), false);
             updatePeStatusCount(newStatus, true);
             pe.setStatus(newStatus);
+            return true;
         }
+
+        return false;
     }
 
     /**
@@ -1283,11 +1408,11 @@ public class HostSimple implements Host {
 
     @Override
     public void enableUtilizationStats() {
-        if (cpuUtilizationStats != null && cpuUtilizationStats != HostResourceStats.NULL) {
+        if (isCpuUtilizationStatsEnabled()) {
             return;
         }
 
-        this.cpuUtilizationStats = new HostResourceStats(this, Host::getCpuPercentUtilization);
+        enableCpuUtilizationStats();
         if(vmList.isEmpty()){
             final String host = this.getId() > -1 ? this.toString() : "Host";
             LOGGER.info("Automatically enabling computation of utilization statistics for VMs on {} could not be performed because it doesn't have VMs yet. You need to enable it for each VM created.", host);
@@ -1295,6 +1420,17 @@ public class HostSimple implements Host {
         else vmList.forEach(ResourceStatsComputer::enableUtilizationStats);
     }
 
+    @Override
+    public void enableCpuUtilizationStats() {
+        if (!isCpuUtilizationStatsEnabled()) {
+            this.cpuUtilizationStats = new HostResourceStats(this, Host::getCpuPercentUtilization);
+        }
+    }
+
+    private boolean isCpuUtilizationStatsEnabled() {
+        return cpuUtilizationStats != null && cpuUtilizationStats != HostResourceStats.NULL;
+    }
+
     @Override
     public PowerModelHost getPowerModel() {
         return powerModel;
@@ -1346,17 +1482,21 @@ public class HostSimple implements Host {
     private double addVmResourceUseToHistoryIfNotMigratingIn(final Vm vm, final double currentTime) {
         double totalAllocatedMips = getVmScheduler().getTotalAllocatedMipsForVm(vm);
         if (getVmsMigratingIn().contains(vm)) {
-            LOGGER.info("{}: {}: {} is migrating in", getSimulation().clockStr(), this, vm);
+            if(Log.isInfoEnabled(LOGGER, getSimulation())) {
+                //Hosts may be updated in parallel, so the message is logged in a deterministic order
+                simulation.runSequentially(() -> LOGGER.info("{}: {}: {} is migrating in", simulation.clockStr(), this, vm));
+            }
             return totalAllocatedMips;
         }
 
         final double totalRequestedMips = vm.getTotalCpuMipsRequested();
-        if (totalAllocatedMips + 0.1 < totalRequestedMips) {
+        if (totalAllocatedMips + 0.1 < totalRequestedMips && LOGGER.isWarnEnabled()) {
             final String reason = getVmsMigratingOut().contains(vm) ? "migration overhead" : "capacity unavailability";
             final long notAllocatedMipsByPe = (long)((totalRequestedMips - totalAllocatedMips)/vm.getNumberOfPes());
-            LOGGER.warn(
-                "{}: {}: {} MIPS not allocated for each one of the {} PEs from {} due to {}.",
-                getSimulation().clockStr(), this, notAllocatedMipsByPe, vm.getNumberOfPes(), vm, reason);
+            simulation.runSequentially(() ->
+                LOGGER.warn(
+                    "{}: {}: {} MIPS not allocated for each one of the {} PEs from {} due to {}.",
+                    simulation.clockStr(), this, notAllocatedMipsByPe, vm.getNumberOfPes(), vm, reason));
         }
 
         final VmStateHistoryEntry entry = new VmStateHistoryEntry(
@@ -1365,7 +1505,9 @@ public class HostSimple implements Host {
         vm.addStateHistoryEntry(entry);
 
         if (vm.isInMigration()) {
-            LOGGER.info("{}: {}: {} is migrating out ", getSimulation().clockStr(), this, vm);
+            if(Log.isInfoEnabled(LOGGER, getSimulation())) {
+                simulation.runSequentially(() -> LOGGER.info("{}: {}: {} is migrating out ", simulation.clockStr(), this, vm));
+            }
             totalAllocatedMips /= getVmScheduler().getMaxCpuUsagePercentDuringOutMigration();
         }
 
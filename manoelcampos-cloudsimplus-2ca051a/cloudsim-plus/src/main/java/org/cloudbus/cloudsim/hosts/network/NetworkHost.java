@@ -8,8 +8,10 @@
 package org.cloudbus.cloudsim.hosts.network;
 
 import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
 import org.cloudbus.cloudsim.hosts.HostSimple;
 import org.cloudbus.cloudsim.hosts.HostSuitability;
+import org.cloudbus.cloudsim.network.FlowNetwork;
 import org.cloudbus.cloudsim.network.HostPacket;
 import org.cloudbus.cloudsim.network.VmPacket;
 import org.cloudbus.cloudsim.network.switches.EdgeSwitch;
@@ -169,9 +171,23 @@ public class NetworkHost extends HostSimple {
     }
 
     /**
-     * Sends packets from the local packets buffer to VMs outside this host.
+     * Sends packets from the local packets buffer to VMs outside this host,
+     * through the network of the {@link NetworkDatacenter}.
+     * @see NetworkDatacenter#setFlowNetworkEnabled(boolean)
      */
     private void sendPacketsToExternalVms() {
+        if (isFlowNetworkEnabled() && !pktsToSendForExternalVms.isEmpty()) {
+            pktsToSendForExternalVms.forEach(pkt -> totalDataTransferBytes += pkt.getSize());
+
+            /* The FlowNetwork is shared by all Hosts in the Datacenter, which may be updated in parallel.
+             * This way, packets are added to it after all Hosts are updated, in the order of the Hosts. */
+            final FlowNetwork flowNetwork = ((NetworkDatacenter) getDatacenter()).getFlowNetwork();
+            final List<HostPacket> packets = new ArrayList<>(pktsToSendForExternalVms);
+            getSimulation().runSequentially(() -> flowNetwork.addFlows(packets));
+            pktsToSendForExternalVms.clear();
+            return;
+        }
+
         for (final HostPacket pkt : pktsToSendForExternalVms) {
             final double delay = edgeSwitch.downlinkTransferDelay(pkt, pktsToSendForExternalVms.size());
             totalDataTransferBytes += pkt.getSize();
@@ -184,6 +200,15 @@ public class NetworkHost extends HostSimple {
         pktsToSendForExternalVms.clear();
     }
 
+    /**
+     * Checks if the Host is inside a {@link NetworkDatacenter} which simulates the network at the flow level.
+     * @return
+     * @see NetworkDatacenter#setFlowNetworkEnabled(boolean)
+     */
+    private boolean isFlowNetworkEnabled() {
+        return getDatacenter() instanceof NetworkDatacenter && ((NetworkDatacenter) getDatacenter()).isFlowNetworkEnabled();
+    }
+
     private CloudletTaskScheduler getVmPacketScheduler(final Vm vm) {
         return vm.getCloudletScheduler().getTaskScheduler();
     }
@@ -21,17 +21,18 @@ import org.cloudbus.cloudsim.network.topologies.TopologicalLink;
 public class DelayMatrix {
 
 	/**
-	 * Matrix holding delay information between any two nodes.
+	 * Computes and stores the delay of the shortest path between any two nodes.
 	 */
-    private double[][] mDelayMatrix;
+    private FloydWarshall floyd;
 
 	/**
-	 * Number of nodes in the distance-aware-topology.
+	 * Indicates if the matrix is directed (true) or not (false).
 	 */
-    private int mTotalNodeNum;
+    private final boolean directed;
 
 	public DelayMatrix() {
-        mDelayMatrix = new double[0][0];
+        floyd = new FloydWarshall(0);
+        directed = false;
 	}
 
 	/**
@@ -41,12 +42,13 @@ public class DelayMatrix {
 	 * @param directed indicates if an directed matrix should be computed (true) or not (false)
 	 */
 	public DelayMatrix(final TopologicalGraph graph, final boolean directed) {
+		this.directed = directed;
 
 		// lets pre-initialize the Delay-Matrix
-		createDelayMatrix(graph, directed);
+		final double[][] delayMatrix = createDelayMatrix(graph, directed);
 
 		// now its time to calculate all possible connection-delays
-		calculateShortestPath();
+		calculateShortestPath(delayMatrix);
 	}
 
 	/**
@@ -58,11 +60,55 @@ public class DelayMatrix {
 	 */
 	public double getDelay(final int srcID, final int destID) {
 		// check the nodeIDs against internal array-boundaries
-		if (srcID > mTotalNodeNum || destID > mTotalNodeNum) {
+		if (srcID >= getTotalNodeNum() || destID >= getTotalNodeNum()) {
 			throw new ArrayIndexOutOfBoundsException("srcID or destID is higher than highest stored node-ID!");
 		}
 
-		return mDelayMatrix[srcID][destID];
+		return floyd.getDelay(srcID, destID);
+	}
+
+	/**
+	 * Adds a link to the matrix (or changes the delay of an existing one),
+	 * just updating the delays affected by such a link,
+	 * instead of computing the delays between all nodes again.
+	 * If the link connects nodes not stored in the matrix yet, the matrix grows to include them.
+	 *
+	 * @param link the link to add
+	 */
+	public void addLink(final TopologicalLink link) {
+		final int nodes = Math.max(link.getSrcNodeID(), link.getDestNodeID()) + 1;
+		if (nodes > getTotalNodeNum()) {
+			floyd.addVertices(nodes - getTotalNodeNum());
+		}
+
+		updateLink(link.getSrcNodeID(), link.getDestNodeID(), link.getLinkDelay());
+	}
+
+	/**
+	 * Removes the link between two nodes from the matrix,
+	 * just updating the delays of the paths that used such a link.
+	 *
+	 * @param srcID the id of the source node
+	 * @param destID the id of the destination node
+	 */
+	public void removeLink(final int srcID, final int destID) {
+		updateLink(srcID, destID, 0);
+	}
+
+	private void updateLink(final int srcID, final int destID, final double delay) {
+		floyd.updateLink(srcID, destID, delay);
+		if (!directed) {
+			// according to symmetry to all communication-paths
+			floyd.updateLink(destID, srcID, delay);
+		}
+	}
+
+	/**
+	 * Gets the number of nodes in the distance-aware-topology.
+	 * @return
+	 */
+	private int getTotalNodeNum() {
+		return floyd.getNumVertices();
 	}
 
 	/**
@@ -72,37 +118,42 @@ public class DelayMatrix {
 	 *
 	 * @param graph the network topological graph
 	 * @param directed indicates if an directed matrix should be computed (true) or not (false)
+	 * @return the matrix with the delay of the links between nodes
 	 */
-	private void createDelayMatrix(final TopologicalGraph graph, final boolean directed) {
+	private double[][] createDelayMatrix(final TopologicalGraph graph, final boolean directed) {
 
 		// number of nodes inside the network
-		mTotalNodeNum = graph.getNumberOfNodes();
+		final int totalNodeNum = graph.getNumberOfNodes();
 
-		mDelayMatrix = new double[mTotalNodeNum][mTotalNodeNum];
+		final double[][] delayMatrix = new double[totalNodeNum][totalNodeNum];
 
 		// cleanup the complete distance-matrix with "0"s
-		for (int row = 0; row < mTotalNodeNum; ++row) {
-			for (int col = 0; col < mTotalNodeNum; ++col) {
-				mDelayMatrix[row][col] = Double.MAX_VALUE;
+		for (int row = 0; row < totalNodeNum; ++row) {
+			for (int col = 0; col < totalNodeNum; ++col) {
+				delayMatrix[row][col] = Double.MAX_VALUE;
 			}
 		}
 
 
         for (final TopologicalLink edge : graph.getLinksList()) {
-			mDelayMatrix[edge.getSrcNodeID()][edge.getDestNodeID()] = edge.getLinkDelay();
+			delayMatrix[edge.getSrcNodeID()][edge.getDestNodeID()] = edge.getLinkDelay();
 			if (!directed) {
 				// according to symmetry to all communication-paths
-				mDelayMatrix[edge.getDestNodeID()][edge.getSrcNodeID()] = edge.getLinkDelay();
+				delayMatrix[edge.getDestNodeID()][edge.getSrcNodeID()] = edge.getLinkDelay();
 			}
 		}
+
+		return delayMatrix;
 	}
 
 	/**
 	 * Calculates the shortest path between all pairs of nodes.
+	 *
+	 * @param delayMatrix the matrix with the delay of the links between nodes
 	 */
-	private void calculateShortestPath() {
-		final FloydWarshall floyd = new FloydWarshall(mTotalNodeNum);
-		mDelayMatrix = floyd.computeShortestPaths(mDelayMatrix);
+	private void calculateShortestPath(final double[][] delayMatrix) {
+		floyd = new FloydWarshall(delayMatrix.length);
+		floyd.computeShortestPaths(delayMatrix);
 	}
 
 	@Override
@@ -112,18 +163,20 @@ public class DelayMatrix {
 		builder.append(
 		    String.format("just a simple printout of the distance-aware-topology-class%ndelay-matrix is:%n"));
 
-		for (int column = 0; column < mTotalNodeNum; ++column) {
+		final int totalNodeNum = getTotalNodeNum();
+		for (int column = 0; column < totalNodeNum; ++column) {
 			builder.append('\t').append(column);
 		}
 
-		for (int row = 0; row < mTotalNodeNum; ++row) {
+		for (int row = 0; row < totalNodeNum; ++row) {
 			builder.append(System.lineSeparator()).append(row);
 
-			for (int col = 0; col < mTotalNodeNum; ++col) {
-				if (mDelayMatrix[row][col] == Double.MAX_VALUE) {
+			for (int col = 0; col < totalNodeNum; ++col) {
+				final double delay = floyd.getDelay(row, col);
+				if (delay == Double.MAX_VALUE) {
 					builder.append("\t-");
 				} else {
-					builder.append('\t').append(mDelayMatrix[row][col]);
+					builder.append('\t').append(delay);
 				}
 			}
 		}
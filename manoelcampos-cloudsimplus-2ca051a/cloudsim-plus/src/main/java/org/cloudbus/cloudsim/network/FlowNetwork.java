@@ -0,0 +1,481 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.network.switches.EdgeSwitch;
+import org.cloudbus.cloudsim.network.switches.Switch;
+import org.cloudbus.cloudsim.util.BytesConversion;
+
+import java.util.*;
+
+/**
+ * A flow-level model of the network inside a {@link NetworkDatacenter},
+ * used as an alternative to the simulation of every {@link HostPacket} hop through the switches.
+ * Each packet sent between two Hosts is modeled as a flow,
+ * which traverses the links between the sender Host, the {@link Switch}es in its route and the receiver Host.
+ *
+ * <p>The bandwidth of each link is shared among its flows using a max-min fair allocation.
+ * The rates and completion times of flows are just recomputed when the set of flows on a link changes
+ * (a flow starts or finishes), and only for the flows sharing links (directly or transitively) with the changed ones.
+ * A single {@link CloudSimTags#NETWORK_FLOW_UPDATE} event is kept pending
+ * to process the next flow completion or packet delivery,
+ * instead of multiple events for every packet at every switch.</p>
+ *
+ * <p>When a flow finishes transferring its data, the packet is delivered to the receiver Host
+ * after the {@link Switch#getSwitchingDelay() switching delay} of every switch in the route.
+ * The data of a packet is transferred through all links of the route at the same time (as a fluid),
+ * while the packet-level simulation stores and forwards entire packets at every switch.
+ * That way, transfers of large packets through multiple switches finish earlier in this model.</p>
+ *
+ * <p>Packets sent at the same time, between the same Hosts and having the same size
+ * always get the same rate and finish together. Therefore, they are modeled as a single flow
+ * whose bandwidth share is weighted by the number of such packets.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 6.5.3
+ * @see NetworkDatacenter#setFlowNetworkEnabled(boolean)
+ */
+public class FlowNetwork {
+    /**
+     * The tolerance (in seconds) to consider a flow finished or a packet delivered,
+     * due to floating-point rounding in times computed from data sizes and rates.
+     */
+    private static final double TIME_TOLERANCE = 0.000000001;
+
+    private final NetworkDatacenter datacenter;
+
+    /**
+     * A map where each key is a link source (a Host or Switch),
+     * and each value is a map from the link destination to the link itself.
+     */
+    private final Map<Object, Map<Object, Link>> links;
+
+    /**
+     * Links which had flows added or removed since the last bandwidth allocation.
+     */
+    private final Set<Link> changedLinks;
+
+    /**
+     * Active flows, sorted by their expected finish time.
+     */
+    private final NavigableSet<Flow> flowsByFinishTime;
+
+    /**
+     * Finished flows whose packets are waiting to be delivered, sorted by the delivery time.
+     */
+    private final Queue<Flow> flowsToDeliver;
+
+    /**
+     * Times of the {@link CloudSimTags#NETWORK_FLOW_UPDATE} events already scheduled.
+     */
+    private final NavigableSet<Double> scheduledUpdateTimes;
+
+    private long lastFlowId;
+
+    /**
+     * Creates a flow-level network model for a given Datacenter.
+     * @param datacenter the Datacenter whose network will be modeled
+     */
+    public FlowNetwork(final NetworkDatacenter datacenter) {
+        this.datacenter = Objects.requireNonNull(datacenter);
+        this.links = new HashMap<>();
+        this.changedLinks = new LinkedHashSet<>();
+        this.flowsByFinishTime = new TreeSet<>(Comparator.comparingDouble(Flow::getFinishTime).thenComparingLong(Flow::getId));
+        this.flowsToDeliver = new PriorityQueue<>(Comparator.comparingDouble(Flow::getDeliveryTime).thenComparingLong(Flow::getId));
+        this.scheduledUpdateTimes = new TreeSet<>();
+    }
+
+    /**
+     * Starts the transfer of a packet as a new flow from its sender Host to the Host of the receiver VM.
+     * @param pkt the packet to send
+     * @throws IllegalStateException when there is no route between the sender and receiver Hosts
+     */
+    public void addFlow(final HostPacket pkt) {
+        addFlows(Collections.singletonList(pkt));
+    }
+
+    /**
+     * Starts the transfer of a list of packets as new flows from their sender Hosts to the Hosts of the receiver VMs,
+     * allocating the bandwidth of the links just once for all the new flows.
+     * @param packets the packets to send
+     * @throws IllegalStateException when there is no route between the sender and receiver Hosts
+     */
+    public void addFlows(final Collection<HostPacket> packets) {
+        final double now = clock();
+        final Map<List<Object>, Flow> newFlows = new LinkedHashMap<>();
+        for (final HostPacket pkt : packets) {
+            final NetworkHost receiverHost = (NetworkHost) pkt.getVmPacket().getDestination().getHost();
+            pkt.setDestination(receiverHost);
+            final List<Object> key = Arrays.asList(pkt.getSource(), receiverHost, pkt.getSize());
+            newFlows.computeIfAbsent(key, k -> new Flow(++lastFlowId, pkt.getSize(), now)).packets.add(pkt);
+        }
+
+        for (final Flow flow : newFlows.values()) {
+            final HostPacket pkt = flow.packets.get(0);
+            addRoute(flow, pkt.getSource(), pkt.getDestination());
+        }
+
+        update();
+    }
+
+    /**
+     * Gets the number of packets being transferred.
+     * @return
+     */
+    public int getActivePacketsNumber() {
+        return flowsByFinishTime.stream().mapToInt(Flow::getWeight).sum();
+    }
+
+    /**
+     * Gets the current transfer rate of the packets being transferred,
+     * in the order they were sent.
+     * @return a read-only map where each key is a packet being transferred
+     *         and each value is its current rate (in Megabits/s)
+     */
+    public Map<HostPacket, Double> getFlowRates() {
+        final SortedSet<Flow> flows = new TreeSet<>(Comparator.comparingLong(Flow::getId));
+        flows.addAll(flowsByFinishTime);
+        final Map<HostPacket, Double> rates = new LinkedHashMap<>();
+        flows.forEach(flow -> flow.packets.forEach(pkt -> rates.put(pkt, flow.rate)));
+        return Collections.unmodifiableMap(rates);
+    }
+
+    /**
+     * Finishes the flows which completed their transfers, delivers packets which reached their destination,
+     * reallocates the bandwidth of links whose flows changed and schedules the next update.
+     * It's called when a {@link CloudSimTags#NETWORK_FLOW_UPDATE} event is processed by the Datacenter.
+     */
+    public void update() {
+        final double now = clock();
+        scheduledUpdateTimes.headSet(now + TIME_TOLERANCE, true).clear();
+        finishFlows(now);
+        deliverPackets(now);
+        allocateBandwidth(now);
+        scheduleNextUpdate(now);
+    }
+
+    private double clock() {
+        return datacenter.getSimulation().clock();
+    }
+
+    /**
+     * Adds the links between a sender and a receiver Host to the route of a flow,
+     * following the edge, aggregate and root levels of the network topology.
+     */
+    private void addRoute(final Flow flow, final NetworkHost senderHost, final NetworkHost receiverHost) {
+        final EdgeSwitch senderEdge = senderHost.getEdgeSwitch();
+        final EdgeSwitch receiverEdge = receiverHost.getEdgeSwitch();
+        if (senderEdge == null || receiverEdge == null) {
+            throw new IllegalStateException("Hosts " + senderHost.getId() + " and " + receiverHost.getId() + " must be connected to an EdgeSwitch.");
+        }
+
+        addLink(flow, senderHost, senderEdge, senderEdge, false);
+        if (senderEdge != receiverEdge) {
+            final Switch senderAggregate = getFirstUplinkSwitch(senderEdge);
+            final Switch receiverAggregate = getFirstUplinkSwitch(receiverEdge);
+            addLink(flow, senderEdge, senderAggregate, senderEdge, true);
+            if (senderAggregate != receiverAggregate) {
+                final Switch root = getFirstUplinkSwitch(senderAggregate);
+                addLink(flow, senderAggregate, root, senderAggregate, true);
+                addLink(flow, root, receiverAggregate, root, false);
+            }
+
+            addLink(flow, receiverAggregate, receiverEdge, receiverAggregate, false);
+        }
+
+        addLink(flow, receiverEdge, receiverHost, receiverEdge, false);
+    }
+
+    private Switch getFirstUplinkSwitch(final Switch sw) {
+        if (sw.getUplinkSwitches().isEmpty()) {
+            throw new IllegalStateException(sw + " has no uplink switch to route packets to other switches.");
+        }
+
+        return sw.getUplinkSwitches().get(0);
+    }
+
+    /**
+     * Adds a link to the route of a flow.
+     * @param flow the flow to add the link to
+     * @param source the Host or Switch where the link starts
+     * @param destination the Host or Switch where the link ends
+     * @param sw the Switch which defines the link bandwidth
+     * @param uplink true to use the uplink bandwidth of the Switch, false to use its downlink bandwidth
+     */
+    private void addLink(final Flow flow, final Object source, final Object destination, final Switch sw, final boolean uplink) {
+        final Link link = links.computeIfAbsent(source, key -> new HashMap<>())
+                               .computeIfAbsent(destination, key -> new Link(sw, uplink));
+        link.flows.add(flow);
+        flow.route.add(link);
+        changedLinks.add(link);
+        if (source instanceof Switch) {
+            flow.latency += ((Switch) source).getSwitchingDelay();
+        }
+    }
+
+    private void finishFlows(final double now) {
+        while (!flowsByFinishTime.isEmpty() && flowsByFinishTime.first().finishTime <= now + TIME_TOLERANCE) {
+            final Flow flow = flowsByFinishTime.pollFirst();
+            for (final Link link : flow.route) {
+                link.flows.remove(flow);
+                changedLinks.add(link);
+            }
+
+            flow.deliveryTime = now + flow.latency;
+            flowsToDeliver.add(flow);
+        }
+    }
+
+    private void deliverPackets(final double now) {
+        while (!flowsToDeliver.isEmpty() && flowsToDeliver.peek().deliveryTime <= now + TIME_TOLERANCE) {
+            for (final HostPacket pkt : flowsToDeliver.poll().packets) {
+                pkt.getDestination().addReceivedNetworkPacket(pkt);
+            }
+        }
+    }
+
+    /**
+     * Allocates the bandwidth of the links whose set of flows changed
+     * (and of all links sharing flows with them) using a max-min fair allocation
+     * (progressive filling): the link providing the lowest bandwidth share
+     * is the bottleneck of all its flows, which get such a share.
+     * Then, the remaining links are shared among the remaining flows.
+     */
+    private void allocateBandwidth(final double now) {
+        if (changedLinks.isEmpty()) {
+            return;
+        }
+
+        final Set<Link> affectedLinks = new LinkedHashSet<>();
+        final Set<Flow> affectedFlows = new LinkedHashSet<>();
+        final Deque<Link> linksToVisit = new ArrayDeque<>(changedLinks);
+        changedLinks.clear();
+        while (!linksToVisit.isEmpty()) {
+            final Link link = linksToVisit.poll();
+            if (!affectedLinks.add(link)) {
+                continue;
+            }
+
+            for (final Flow flow : link.flows) {
+                if (affectedFlows.add(flow)) {
+                    linksToVisit.addAll(flow.route);
+                }
+            }
+        }
+
+        for (final Flow flow : affectedFlows) {
+            flowsByFinishTime.remove(flow);
+            flow.transfer(now);
+            flow.allocated = false;
+        }
+
+        for (final Link link : affectedLinks) {
+            link.availableBandwidth = link.getBandwidth();
+            link.unallocatedWeight = 0;
+            for (final Flow flow : link.flows) {
+                link.unallocatedWeight += flow.getWeight();
+            }
+        }
+
+        for (int unallocatedFlows = affectedFlows.size(); unallocatedFlows > 0; ) {
+            final Link bottleneck = findBottleneck(affectedLinks);
+            final double share = bottleneck.getFairShare();
+            for (final Flow flow : bottleneck.flows) {
+                if (!flow.allocated) {
+                    flow.allocate(share);
+                    unallocatedFlows--;
+                }
+            }
+        }
+
+        for (final Flow flow : affectedFlows) {
+            flow.finishTime = flow.rate > 0 ? now + flow.remainingMegabits / flow.rate : Double.MAX_VALUE;
+            flowsByFinishTime.add(flow);
+        }
+    }
+
+    private Link findBottleneck(final Set<Link> affectedLinks) {
+        Link bottleneck = null;
+        for (final Link link : affectedLinks) {
+            if (link.unallocatedWeight > 0 && (bottleneck == null || link.getFairShare() < bottleneck.getFairShare())) {
+                bottleneck = link;
+            }
+        }
+
+        return bottleneck;
+    }
+
+    /**
+     * Schedules a {@link CloudSimTags#NETWORK_FLOW_UPDATE} event for the next flow completion or packet delivery,
+     * unless there is an event already scheduled up to that time.
+     */
+    private void scheduleNextUpdate(final double now) {
+        double nextTime = Double.MAX_VALUE;
+        if (!flowsByFinishTime.isEmpty()) {
+            nextTime = flowsByFinishTime.first().finishTime;
+        }
+
+        if (!flowsToDeliver.isEmpty()) {
+            nextTime = Math.min(nextTime, flowsToDeliver.peek().deliveryTime);
+        }
+
+        if (nextTime == Double.MAX_VALUE || (!scheduledUpdateTimes.isEmpty() && scheduledUpdateTimes.first() <= nextTime)) {
+            return;
+        }
+
+        scheduledUpdateTimes.add(nextTime);
+        datacenter.schedule(Math.max(nextTime - now, 0), CloudSimTags.NETWORK_FLOW_UPDATE);
+    }
+
+    /**
+     * A directional link between two network elements (Hosts or Switches),
+     * whose bandwidth is defined by a Switch.
+     */
+    private static final class Link {
+        private final Switch sw;
+        private final boolean uplink;
+
+        /**
+         * Flows traversing the link, in the order they were added.
+         */
+        private final Set<Flow> flows;
+
+        /**
+         * The bandwidth still available to be allocated to flows (in Megabits/s).
+         */
+        private double availableBandwidth;
+
+        /**
+         * The number of packets traversing the link whose rate wasn't allocated yet.
+         */
+        private int unallocatedWeight;
+
+        private Link(final Switch sw, final boolean uplink) {
+            this.sw = sw;
+            this.uplink = uplink;
+            this.flows = new LinkedHashSet<>();
+        }
+
+        /**
+         * Gets the link bandwidth capacity (in Megabits/s).
+         */
+        private double getBandwidth() {
+            return uplink ? sw.getUplinkBandwidth() : sw.getDownlinkBandwidth();
+        }
+
+        /**
+         * Gets the bandwidth each unallocated packet gets if the available bandwidth is equally shared.
+         */
+        private double getFairShare() {
+            return Math.max(availableBandwidth, 0) / unallocatedWeight;
+        }
+    }
+
+    /**
+     * The transfer of packets having the same size through the links between the sender and the receiver Hosts.
+     */
+    private static final class Flow {
+        private final long id;
+        private final List<HostPacket> packets;
+        private final List<Link> route;
+
+        /**
+         * The sum of the switching delays of the Switches in the route (in seconds).
+         */
+        private double latency;
+
+        /**
+         * The amount of data of each packet still to be transferred (in Megabits).
+         */
+        private double remainingMegabits;
+
+        /**
+         * The current transfer rate of each packet (in Megabits/s).
+         */
+        private double rate;
+
+        /**
+         * The last time the {@link #remainingMegabits} was updated.
+         */
+        private double lastTransferTime;
+
+        private double finishTime;
+        private double deliveryTime;
+
+        /**
+         * Indicates if the {@link #rate} was already allocated in the current bandwidth allocation.
+         */
+        private boolean allocated;
+
+        private Flow(final long id, final long packetSize, final double startTime) {
+            this.id = id;
+            this.packets = new ArrayList<>(1);
+            this.route = new ArrayList<>(6);
+            this.remainingMegabits = BytesConversion.bytesToMegaBits(packetSize);
+            this.lastTransferTime = startTime;
+        }
+
+        /**
+         * Updates the amount of data still to be transferred, according to the current rate.
+         */
+        private void transfer(final double now) {
+            remainingMegabits = Math.max(remainingMegabits - rate * (now - lastTransferTime), 0);
+            lastTransferTime = now;
+        }
+
+        /**
+         * Allocates a rate to each packet of the flow, reserving it in all links of the route.
+         */
+        private void allocate(final double rate) {
+            this.rate = rate;
+            this.allocated = true;
+            for (final Link link : route) {
+                link.availableBandwidth -= rate * getWeight();
+                link.unallocatedWeight -= getWeight();
+            }
+        }
+
+        /**
+         * Gets the number of packets transferred by the flow.
+         */
+        private int getWeight() {
+            return packets.size();
+        }
+
+        private long getId() {
+            return id;
+        }
+
+        private double getFinishTime() {
+            return finishTime;
+        }
+
+        private double getDeliveryTime() {
+            return deliveryTime;
+        }
+    }
+}
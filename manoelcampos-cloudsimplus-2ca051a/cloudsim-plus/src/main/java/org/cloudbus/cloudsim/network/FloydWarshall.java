@@ -8,48 +8,60 @@
 package org.cloudbus.cloudsim.network;
 
 import java.util.Arrays;
-import java.util.List;
-import java.util.function.BiConsumer;
+import java.util.function.IntConsumer;
 import java.util.stream.IntStream;
 
-import static java.util.stream.Collectors.toList;
-
 /**
  * <a href="https://en.wikipedia.org/wiki/Floyd-Warshall_algorithm">Floyd-Warshall algorithm</a> to calculate the predecessor matrix and the delay
  * between all pairs of nodes. The delay represents the distance between the two vertices and it works as the weight for the Floyd-Warshall algorithm.
  *
+ * <p>The matrices are stored as flat row-major arrays and updated in place,
+ * so that each iteration just scans the rows of the matrices sequentially.
+ * The rows can be optionally updated in parallel (see {@link #setParallel(boolean)}).</p>
+ *
+ * <p>After the shortest paths are computed, links can be added, removed or changed
+ * by {@link #updateLink(int, int, double)}, which just updates the paths affected by the change,
+ * instead of running the whole algorithm again.</p>
+ *
  * @author Rahul Simha
  * @author Weishuai Yang
  * @version 1.2, 6/20/2005
  * @since CloudSim Toolkit 1.0
  */
 public class FloydWarshall {
-
     /**
-     * Number of vertices (network nodes).
+     * The minimum number of vertices to update the rows of the matrices in parallel,
+     * when {@link #isParallel() parallel} computation is enabled.
+     * For smaller graphs, the overhead of parallelism exceeds its gains.
      */
-    private final int numVertices;
+    private static final int MIN_VERTICES_FOR_PARALLEL = 256;
 
     /**
-     * List with the indexes of all vertices, from 0 to {@link #numVertices}-1.
+     * Number of vertices (network nodes).
      */
-    private final List<Integer> vertices;
+    private int numVertices;
 
     /**
-     * Weights when k is equal to -1.
-     * (used for dynamic programming).
+     * The delay of the direct link between every pair of vertices,
+     * where the element at position {@code i*numVertices + j}
+     * is the delay of the link from vertex i to j (0 meaning there is no link).
      */
-    private final double[][] dk_minus_one;
+    private double[] links;
 
     /**
-     * The predecessor matrix (used for dynamic programming).
+     * The delay of the shortest path between every pair of vertices,
+     * stored in the same way as the {@link #links}.
      */
-    private final int[][] pk;
+    private double[] delays;
 
     /**
-     * (used for dynamic programming).
+     * The predecessor matrix, where the element at position {@code i*numVertices + j}
+     * is the vertex just before j in the shortest path from i to j.
      */
-    private final int[][] pk_minus_one;
+    private int[] predecessors;
+
+    /** @see #isParallel() */
+    private boolean parallel;
 
     /**
      * Creates a matrix of network nodes.
@@ -57,11 +69,14 @@ public class FloydWarshall {
      * @param numVertices number of network nodes
      */
     public FloydWarshall(final int numVertices) {
-        this.numVertices = numVertices;
-        this.vertices = IntStream.range(0, numVertices).boxed().collect(toList());
-        dk_minus_one = new double[numVertices][numVertices];
-        pk = new int[numVertices][numVertices];
-        pk_minus_one = new int[numVertices][numVertices];
+        if (numVertices < 0) {
+            throw new IllegalArgumentException("The number of vertices cannot be negative.");
+        }
+
+        this.links = new double[0];
+        this.delays = new double[0];
+        this.predecessors = new int[0];
+        addVertices(numVertices);
     }
 
     /**
@@ -69,120 +84,446 @@ public class FloydWarshall {
      * for all existing vertices.
      * This is represented by the delay between all pairs vertices.
      *
-     * @param originalDelayMatrix original delay matrix
+     * @param originalDelayMatrix original delay matrix,
+     *                            where 0 means there is no link between two vertices
      * @return the new delay matrix (dk)
      */
-    public double[][] computeShortestPaths(double[][] originalDelayMatrix) {
+    public double[][] computeShortestPaths(final double[][] originalDelayMatrix) {
         savePreviousDelays(originalDelayMatrix);
-        return computeShortestPaths();
+        computeShortestPaths();
+        return getDelays();
     }
 
     /**
      * Computes the shortest path between a vertex to all the other ones,
      * for all existing vertices.
      * This is represented by the delay between all pairs vertices.
+     */
+    private void computeShortestPaths() {
+        for (int k = 0; k < numVertices; k++) {
+            final int hop = k;
+            forEachVertex(i -> computeShortestPathFromVertexToAllVertices(hop, i));
+        }
+    }
+
+    /**
+     * Computes the shortest path between only a specific vertex to all the other ones,
+     * when paths are allowed to pass through vertex k.
+     * Since the k-th row and column don't change when passing through k,
+     * the matrices can be updated in place.
      *
-     * @return the new delay matrix (dk)
+     * @param k the intermediate vertex to try finding a shorter path between each vertex i and j
+     * @param i the index of the vertex to compute its distance to all the other vertices
      */
-    private double[][] computeShortestPaths() {
-        final double[][] dk = new double[numVertices][numVertices];
+    private void computeShortestPathFromVertexToAllVertices(final int k, final int i) {
+        final int rowI = i * numVertices;
+        final double delayToK = delays[rowI + k];
+        if (i == k || delayToK == Double.MAX_VALUE) {
+            return;
+        }
 
-        for(final int k: vertices) {
-            computeShortestPathForSpecificNumberOfHops(dk, k);
+        final int rowK = k * numVertices;
+        for (int j = 0; j < numVertices; j++) {
+            // D_k[i][j] = min ( D_k-1[i][j], D_k-1[i][k] + D_k-1[k][j].
+            final double delay = delayToK + delays[rowK + j];
+            if (delay < delays[rowI + j]) {
+                delays[rowI + j] = delay;
+                predecessors[rowI + j] = predecessors[rowK + j];
+            }
         }
+    }
 
-        return dk;
+    /**
+     * Saves the delay matrix before updating.
+     *
+     * @param originalDelayMatrix the original delay matrix
+     */
+    private void savePreviousDelays(final double[][] originalDelayMatrix) {
+        for (int i = 0; i < numVertices; i++) {
+            final int row = i * numVertices;
+            for (int j = 0; j < numVertices; j++) {
+                links[row + j] = originalDelayMatrix[i][j];
+                delays[row + j] = Double.MAX_VALUE;
+                predecessors[row + j] = -1;
+                if (originalDelayMatrix[i][j] != 0) {
+                    delays[row + j] = originalDelayMatrix[i][j];
+                    predecessors[row + j] = i;
+                }
+            }
+
+            delays[row + i] = 0;
+            predecessors[row + i] = -1;
+        }
     }
 
     /**
-     * Computes the shortest path between a vertex to all the other ones,
-     * for all existing vertices, limited to a maximum number of hops.
-     * This is represented by the delay between all pairs vertices.
+     * Adds new vertices without any link to the graph.
+     * The new vertices receive the next indexes after the existing ones.
      *
-     * @param dk the delay matrix to be updated
-     * @param k maximum number of hops to try finding the shortest path between each vertex i and j
+     * @param count the number of vertices to add
      */
-    private void computeShortestPathForSpecificNumberOfHops(double[][] dk, int k) {
-        for(final int i: vertices) {
-            computeShortestPathFromVertexToAllVertices(dk, k, i);
+    public void addVertices(final int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("The number of vertices to add cannot be negative.");
         }
 
-        updateMatrices((i,j) -> {
-            dk_minus_one[i][j] = dk[i][j];
-            pk_minus_one[i][j] = pk[i][j];
-        });
+        final int previous = numVertices;
+        final int total = previous + count;
+        final double[] newLinks = new double[total * total];
+        final double[] newDelays = new double[total * total];
+        final int[] newPredecessors = new int[total * total];
+        Arrays.fill(newDelays, Double.MAX_VALUE);
+        Arrays.fill(newPredecessors, -1);
+        for (int i = 0; i < previous; i++) {
+            System.arraycopy(links, i * previous, newLinks, i * total, previous);
+            System.arraycopy(delays, i * previous, newDelays, i * total, previous);
+            System.arraycopy(predecessors, i * previous, newPredecessors, i * total, previous);
+        }
+
+        for (int i = previous; i < total; i++) {
+            newDelays[i * total + i] = 0;
+        }
+
+        this.numVertices = total;
+        this.links = newLinks;
+        this.delays = newDelays;
+        this.predecessors = newPredecessors;
     }
 
     /**
-     * Iterates over the path from one vertex to all the other ones, for all existing vertices,
-     * updating some matrices as defined by a  {@link BiConsumer}.
+     * Adds, removes or changes the delay of the link from one vertex to another,
+     * just updating the shortest paths affected by such a change.
      *
-     * @param updater a {@link BiConsumer} that updates all elements of any matrices, where the parameters
-     *                that this BiConsumer receives are the index i and j representing the path
-     *                between two vertices, for all existing vertices
-     */
-    private void updateMatrices(BiConsumer<Integer, Integer> updater){
-        for(final int i: vertices) {
-            for(final int j: vertices) {
-                updater.accept(i, j);
-            }
+     * <ul>
+     *  <li>if the link is added or its delay decreased,
+     *  the paths are updated in O(V²), by checking if
+     *  they become shorter when passing through the link;</li>
+     *  <li>if the link is removed or its delay increased,
+     *  only the paths from vertices whose shortest paths pass
+     *  through the link are computed again.</li>
+     * </ul>
+     *
+     * <p>The delays computed incrementally may differ in the last decimal places from
+     * the ones computed from scratch by {@link #computeShortestPaths(double[][])},
+     * since the delays of the links may be summed up in a different order.</p>
+     *
+     * @param src the source vertex of the link
+     * @param dest the destination vertex of the link
+     * @param delay the new link delay, where 0 means the link is removed
+     */
+    public void updateLink(final int src, final int dest, final double delay) {
+        checkVertex(src);
+        checkVertex(dest);
+        if (delay < 0) {
+            throw new IllegalArgumentException("Link delay cannot be negative.");
+        }
+
+        final int index = src * numVertices + dest;
+        final double previousWeight = weight(links[index]);
+        links[index] = delay;
+        if (src == dest) {
+            return;
+        }
+
+        final double newWeight = weight(delay);
+        if (newWeight < previousWeight) {
+            decreaseLinkDelay(src, dest, newWeight);
+        } else if (newWeight > previousWeight) {
+            increaseLinkDelay(src, dest);
         }
     }
 
     /**
-     * Computes the shortest path between only a specific vertex to all the other ones,
-     * limited to a maximum number of hops, and then updating the delay matrix.
-     * This is represented by the delay between all pairs vertices.
+     * Updates the shortest paths that become shorter by passing through a link,
+     * after such a link is added or its delay decreased.
+     * Since delays are never negative, paths from/to the link's endpoints
+     * don't change when passing through the link itself,
+     * so that the matrices can be updated in place.
      *
-     * @param dk the delay matrix to be updated
-     * @param k maximum number of hops to try finding the shortest path between each vertex i and j
-     * @param i the index of the vertex to compute its distance to all the other vertices
+     * @param src the source vertex of the link
+     * @param dest the destination vertex of the link
+     * @param weight the new link delay
      */
-    private void computeShortestPathFromVertexToAllVertices(double[][] dk, int k, int i) {
-        for(final int j: vertices) {
-            pk[i][j] = -1;
-            if (i != j) {
-                // D_k[i][j] = min ( D_k-1[i][j], D_k-1[i][k] + D_k-1[k][j].
-                if (dk_minus_one[i][j] <= dk_minus_one[i][k] + dk_minus_one[k][j]) {
-                    dk[i][j] = dk_minus_one[i][j];
-                    pk[i][j] = pk_minus_one[i][j];
-                } else {
-                    dk[i][j] = dk_minus_one[i][k] + dk_minus_one[k][j];
-                    pk[i][j] = pk_minus_one[k][j];
+    private void decreaseLinkDelay(final int src, final int dest, final double weight) {
+        if (weight >= delays[src * numVertices + dest]) {
+            return;
+        }
+
+        final int rowDest = dest * numVertices;
+        forEachVertex(i -> {
+            final int rowI = i * numVertices;
+            final double delayToSrc = delays[rowI + src];
+            if (delayToSrc == Double.MAX_VALUE) {
+                return;
+            }
+
+            final double delayToDest = delayToSrc + weight;
+            for (int j = 0; j < numVertices; j++) {
+                final double delay = delayToDest + delays[rowDest + j];
+                if (delay < delays[rowI + j]) {
+                    delays[rowI + j] = delay;
+                    predecessors[rowI + j] = j == dest ? src : predecessors[rowDest + j];
                 }
             }
+        });
+    }
+
+    /**
+     * Computes again the shortest paths from every vertex whose shortest path to
+     * the destination vertex passes through a link,
+     * after such a link is removed or its delay increased.
+     * The shortest paths from other vertices don't use the link and then don't change.
+     *
+     * @param src the source vertex of the link
+     * @param dest the destination vertex of the link
+     */
+    private void increaseLinkDelay(final int src, final int dest) {
+        final int[] affectedVertices =
+            IntStream.range(0, numVertices)
+                     .filter(i -> predecessors[i * numVertices + dest] == src)
+                     .toArray();
+        if (affectedVertices.length == 0) {
+            return;
         }
+
+        final int[][] neighbors = getNeighbors();
+        forEach(Arrays.stream(affectedVertices), i -> computeShortestPathsFromVertex(i, neighbors));
     }
 
     /**
-     * Saves the delay matrix before updating.
+     * Gets the adjacency lists of the graph.
+     * @return an array where each element i is the list of vertices which vertex i has a link to
+     */
+    private int[][] getNeighbors() {
+        final int[][] neighbors = new int[numVertices][];
+        final int[] buffer = new int[numVertices];
+        for (int i = 0; i < numVertices; i++) {
+            final int row = i * numVertices;
+            int count = 0;
+            for (int j = 0; j < numVertices; j++) {
+                if (i != j && weight(links[row + j]) < Double.MAX_VALUE) {
+                    buffer[count++] = j;
+                }
+            }
+
+            neighbors[i] = Arrays.copyOf(buffer, count);
+        }
+
+        return neighbors;
+    }
+
+    /**
+     * Computes the shortest paths from a given vertex to all the other ones,
+     * using the <a href="https://en.wikipedia.org/wiki/Dijkstra%27s_algorithm">Dijkstra's algorithm</a>,
+     * which takes O(E log V) for a graph with E links.
      *
-     * @param originalDelayMatrix the original delay matrix
+     * @param source the vertex to compute the shortest paths from
+     * @param neighbors the adjacency lists of the graph
      */
-    private void savePreviousDelays(double[][] originalDelayMatrix) {
-        for(final int i: vertices) {
-            for(final int j: vertices) {
-                dk_minus_one[i][j] = Double.MAX_VALUE;
-                pk_minus_one[i][j] = -1;
-                if (originalDelayMatrix[i][j] != 0) {
-                    dk_minus_one[i][j] = originalDelayMatrix[i][j];
-                    pk_minus_one[i][j] = i;
+    private void computeShortestPathsFromVertex(final int source, final int[][] neighbors) {
+        final int row = source * numVertices;
+        for (int j = 0; j < numVertices; j++) {
+            delays[row + j] = Double.MAX_VALUE;
+            predecessors[row + j] = links[row + j] == 0 ? -1 : source;
+        }
+
+        delays[row + source] = 0;
+        predecessors[row + source] = -1;
+
+        final boolean[] visited = new boolean[numVertices];
+        final VertexHeap heap = new VertexHeap(numVertices);
+        heap.add(source, 0);
+        while (!heap.isEmpty()) {
+            final int vertex = heap.poll();
+            if (visited[vertex]) {
+                continue;
+            }
+
+            visited[vertex] = true;
+            final int rowVertex = vertex * numVertices;
+            for (final int j : neighbors[vertex]) {
+                final double delay = delays[row + vertex] + links[rowVertex + j];
+                if (!visited[j] && delay < delays[row + j]) {
+                    delays[row + j] = delay;
+                    predecessors[row + j] = vertex;
+                    heap.add(j, delay);
                 }
-                // NOTE: we have set the value to infinity and will exploit this to avoid a comparison.
             }
         }
     }
 
+    /**
+     * Gets the weight of a link for the algorithm,
+     * where a non-existing link has the maximum weight.
+     * @param linkDelay the delay of the link (0 meaning there is no link)
+     * @return the link weight
+     */
+    private static double weight(final double linkDelay) {
+        return linkDelay == 0 ? Double.MAX_VALUE : linkDelay;
+    }
+
+    /**
+     * Performs an action for every vertex index,
+     * in parallel if parallel computation is enabled and the graph is large enough.
+     * @param action the action to perform
+     */
+    private void forEachVertex(final IntConsumer action) {
+        if (isParallelComputation()) {
+            IntStream.range(0, numVertices).parallel().forEach(action);
+            return;
+        }
+
+        for (int i = 0; i < numVertices; i++) {
+            action.accept(i);
+        }
+    }
+
+    private void forEach(final IntStream vertices, final IntConsumer action) {
+        (isParallelComputation() ? vertices.parallel() : vertices).forEach(action);
+    }
+
+    private boolean isParallelComputation() {
+        return parallel && numVertices >= MIN_VERTICES_FOR_PARALLEL;
+    }
+
+    private void checkVertex(final int vertex) {
+        if (vertex < 0 || vertex >= numVertices) {
+            throw new ArrayIndexOutOfBoundsException("Invalid vertex index: " + vertex);
+        }
+    }
+
+    /**
+     * Gets the delay of the shortest path between two vertices.
+     *
+     * @param src the source vertex
+     * @param dest the destination vertex
+     * @return the shortest path delay or {@link Double#MAX_VALUE} if dest is not reachable from src
+     * @throws ArrayIndexOutOfBoundsException when some vertex index is invalid
+     */
+    public double getDelay(final int src, final int dest) {
+        checkVertex(src);
+        checkVertex(dest);
+        return delays[src * numVertices + dest];
+    }
+
+    /**
+     * Gets a <b>copy</b> of the delay matrix containing the shortest path between all pairs of vertices.
+     *
+     * @return the delay matrix copy
+     */
+    public double[][] getDelays() {
+        final double[][] matrix = new double[numVertices][];
+        for (int i = 0; i < numVertices; i++) {
+            matrix[i] = Arrays.copyOfRange(delays, i * numVertices, (i + 1) * numVertices);
+        }
+
+        return matrix;
+    }
+
     /**
      * Gets a <b>copy</b> of the predecessor matrix.
      *
      * @return the predecessor matrix copy
      */
     public int[][] getPk() {
-        return Arrays.copyOf(pk, pk.length);
+        final int[][] matrix = new int[numVertices][];
+        for (int i = 0; i < numVertices; i++) {
+            matrix[i] = Arrays.copyOfRange(predecessors, i * numVertices, (i + 1) * numVertices);
+        }
+
+        return matrix;
     }
 
     public int getNumVertices(){
         return numVertices;
     }
+
+    /**
+     * Checks if the rows of the matrices are updated in parallel,
+     * which is only actually performed for graphs with at least {@value #MIN_VERTICES_FOR_PARALLEL} vertices.
+     * The results are the same as the sequential computation.
+     * @return true if parallel computation is enabled, false otherwise
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Enables or disables the parallel update of the rows of the matrices.
+     * @param parallel true to enable parallel computation, false to disable
+     * @return this instance
+     * @see #isParallel()
+     */
+    public FloydWarshall setParallel(final boolean parallel) {
+        this.parallel = parallel;
+        return this;
+    }
+
+    /**
+     * A binary min-heap of vertices ordered by their delay from a source vertex,
+     * which stores primitive values to avoid boxing.
+     * A vertex can be added multiple times when its delay decreases,
+     * and the outdated entries are just ignored when polled.
+     */
+    private static final class VertexHeap {
+        private int[] vertices;
+        private double[] keys;
+        private int size;
+
+        private VertexHeap(final int capacity) {
+            vertices = new int[Math.max(capacity, 1)];
+            keys = new double[vertices.length];
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        private void add(final int vertex, final double key) {
+            if (size == vertices.length) {
+                vertices = Arrays.copyOf(vertices, size * 2);
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+
+            int i = size++;
+            while (i > 0) {
+                final int parent = (i - 1) / 2;
+                if (keys[parent] <= key) {
+                    break;
+                }
+
+                vertices[i] = vertices[parent];
+                keys[i] = keys[parent];
+                i = parent;
+            }
+
+            vertices[i] = vertex;
+            keys[i] = key;
+        }
+
+        private int poll() {
+            final int first = vertices[0];
+            final int lastVertex = vertices[--size];
+            final double lastKey = keys[size];
+            int i = 0;
+            while (2 * i + 1 < size) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && keys[child + 1] < keys[child]) {
+                    child++;
+                }
+
+                if (lastKey <= keys[child]) {
+                    break;
+                }
+
+                vertices[i] = vertices[child];
+                keys[i] = keys[child];
+                i = child;
+            }
+
+            vertices[i] = lastVertex;
+            keys[i] = lastKey;
+            return first;
+        }
+    }
 }
@@ -10,7 +10,6 @@ package org.cloudbus.cloudsim.network.switches;
 import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.core.CloudSimEntity;
 import org.cloudbus.cloudsim.core.CloudSimTags;
-import org.cloudbus.cloudsim.core.events.PredicateType;
 import org.cloudbus.cloudsim.core.events.SimEvent;
 import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
 import org.cloudbus.cloudsim.hosts.network.NetworkHost;
@@ -87,6 +86,20 @@ public abstract class AbstractSwitch extends CloudSimEntity implements Switch {
      */
     private double switchingDelay;
 
+    /**
+     * The time the packets received must be forwarded,
+     * which is postponed every time a new packet arrives.
+     * @see #scheduleForwarding(double)
+     */
+    private double forwardingTime;
+
+    /**
+     * Indicates if there is a {@link CloudSimTags#NETWORK_EVENT_SEND} event
+     * pending to forward the packets received.
+     * @see #scheduleForwarding(double)
+     */
+    private boolean forwardingScheduled;
+
     public AbstractSwitch(final CloudSim simulation, final NetworkDatacenter dc) {
         super(simulation);
         this.packetToHostMap = new HashMap<>();
@@ -115,7 +128,7 @@ public abstract class AbstractSwitch extends CloudSimEntity implements Switch {
                 processPacketDown(evt);
             break;
             case CloudSimTags.NETWORK_EVENT_SEND:
-                processPacketForward();
+                processForwardingEvent();
             break;
             case CloudSimTags.NETWORK_EVENT_HOST:
                 processHostPacket(evt);
@@ -141,8 +154,7 @@ public abstract class AbstractSwitch extends CloudSimEntity implements Switch {
      */
     protected void processPacketDown(final SimEvent evt) {
         // Packet coming from up level router has to send downward.
-        getSimulation().cancelAll(this, new PredicateType(CloudSimTags.NETWORK_EVENT_SEND));
-        schedule(this, getSwitchingDelay(), CloudSimTags.NETWORK_EVENT_SEND);
+        scheduleForwarding(getSwitchingDelay());
     }
 
     /**
@@ -161,8 +173,47 @@ public abstract class AbstractSwitch extends CloudSimEntity implements Switch {
      */
     protected void processPacketUp(final SimEvent evt) {
         // Packet coming from down level router has to be sent up.
-        getSimulation().cancelAll(this, new PredicateType(CloudSimTags.NETWORK_EVENT_SEND));
-        schedule(this, switchingDelay, CloudSimTags.NETWORK_EVENT_SEND);
+        scheduleForwarding(switchingDelay);
+    }
+
+    /**
+     * Schedules the forwarding of the packets received after a given delay,
+     * postponing any forwarding already scheduled.
+     * This way, the packets received are forwarded together,
+     * when the delay elapses since the last packet arrival.
+     *
+     * <p>Instead of cancelling the pending {@link CloudSimTags#NETWORK_EVENT_SEND} event
+     * and sending a new one for every packet received,
+     * just the {@link #forwardingTime} is updated.
+     * There is at most a single forwarding event pending for the switch,
+     * which is rescheduled when it's processed before such a time
+     * (see {@link #processForwardingEvent()}).</p>
+     *
+     * @param delay the delay to forward the packets
+     */
+    private void scheduleForwarding(final double delay) {
+        forwardingTime = getSimulation().clock() + delay;
+        if (!forwardingScheduled) {
+            forwardingScheduled = true;
+            schedule(this, delay, CloudSimTags.NETWORK_EVENT_SEND);
+        }
+    }
+
+    /**
+     * Processes the pending {@link CloudSimTags#NETWORK_EVENT_SEND} event,
+     * forwarding the packets received if the {@link #forwardingTime} was reached,
+     * or rescheduling the event if the forwarding was postponed by packets
+     * received after the event was sent.
+     */
+    private void processForwardingEvent() {
+        final double delay = forwardingTime - getSimulation().clock();
+        if (delay > 0) {
+            schedule(this, delay, CloudSimTags.NETWORK_EVENT_SEND);
+            return;
+        }
+
+        forwardingScheduled = false;
+        processPacketForward();
     }
 
     /**
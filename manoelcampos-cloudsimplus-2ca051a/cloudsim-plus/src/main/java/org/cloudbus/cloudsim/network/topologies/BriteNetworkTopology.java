@@ -169,6 +169,16 @@ public final class BriteNetworkTopology implements NetworkTopology {
         return mtx;
     }
 
+    /**
+     * {@inheritDoc}
+     * The delays between nodes are just updated for the paths affected by the new link,
+     * instead of computed again for the entire network.
+     *
+     * @param src {@inheritDoc}
+     * @param dest {@inheritDoc}
+     * @param bandwidth {@inheritDoc}
+     * @param latency {@inheritDoc}
+     */
     @Override
     public void addLink(final SimEntity src, final SimEntity dest, final double bandwidth, final double latency) {
         if (graph == null) {
@@ -184,14 +194,61 @@ public final class BriteNetworkTopology implements NetworkTopology {
         addNodeMapping(dest);
 
         // generate a new link
-        graph.addLink(new TopologicalLink(entitiesMap.get(src), entitiesMap.get(dest), (float) latency, (float) bandwidth));
+        final TopologicalLink link = new TopologicalLink(entitiesMap.get(src), entitiesMap.get(dest), (float) latency, (float) bandwidth);
+        graph.addLink(link);
 
-        generateMatrices();
+        delayMatrix.addLink(link);
+        growBwMatrix(graph.getNumberOfNodes());
+        bwMatrix[link.getSrcNodeID()][link.getDestNodeID()] = link.getLinkBw();
+        bwMatrix[link.getDestNodeID()][link.getSrcNodeID()] = link.getLinkBw();
+
+        networkEnabled = true;
+    }
+
+    /**
+     * Increases the size of the bandwidth matrix
+     * (if it's smaller than a given number of nodes), keeping its current values.
+     *
+     * @param nodes the number of nodes the matrix must hold
+     */
+    private void growBwMatrix(final int nodes) {
+        if (bwMatrix.length >= nodes) {
+            return;
+        }
+
+        final double[][] mtx = new double[nodes][];
+        for (int i = 0; i < nodes; i++) {
+            mtx[i] = i < bwMatrix.length ? Arrays.copyOf(bwMatrix[i], nodes) : new double[nodes];
+        }
+
+        bwMatrix = mtx;
     }
 
+    /**
+     * Removes the link between two {@link SimEntity}s from the network topology.
+     * Since the network is undirected, the links in both directions between the given entities are removed.
+     * The delays between nodes are just updated for the paths that used such links.
+     *
+     * @param src {@link SimEntity} that represents the link's source node
+     * @param dest {@link SimEntity} that represents the link's destination node
+     */
     @Override
-    public void removeLink(SimEntity src, SimEntity dest) {
-        throw new UnsupportedOperationException("Removing links is not yet supported on BriteNetworkTopologies");
+    public void removeLink(final SimEntity src, final SimEntity dest) {
+        final Integer srcId = entitiesMap.get(src);
+        final Integer destId = entitiesMap.get(dest);
+        if (srcId == null || destId == null) {
+            return;
+        }
+
+        boolean removed = graph.removeLink(srcId, destId);
+        removed = graph.removeLink(destId, srcId) || removed;
+        if (!removed) {
+            return;
+        }
+
+        delayMatrix.removeLink(srcId, destId);
+        bwMatrix[srcId][destId] = 0;
+        bwMatrix[destId][srcId] = 0;
     }
 
     private void addNodeMapping(final SimEntity entity) {
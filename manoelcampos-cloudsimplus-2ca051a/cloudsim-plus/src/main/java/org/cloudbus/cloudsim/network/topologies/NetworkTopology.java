@@ -38,6 +38,11 @@ public interface NetworkTopology {
      */
     void addLink(SimEntity src, SimEntity dest, double bw, double lat);
 
+    /**
+     * Removes a link from the network topology.
+     * @param src {@link SimEntity} that represents the link's source node
+     * @param dest {@link SimEntity} that represents the link's destination node
+     */
     void removeLink(SimEntity src, SimEntity dest);
 
     /**
@@ -51,6 +51,17 @@ public class TopologicalGraph {
         linksList.add(edge);
     }
 
+    /**
+     * Removes the links from a topological node to another one.
+     *
+     * @param srcNodeId the id of the link's source node
+     * @param destNodeId the id of the link's destination node
+     * @return true if some link was removed, false otherwise
+     */
+    public boolean removeLink(final int srcNodeId, final int destNodeId) {
+        return linksList.removeIf(link -> link.getSrcNodeID() == srcNodeId && link.getDestNodeID() == destNodeId);
+    }
+
     /**
      * Adds an Topological Node to this graph.
      *
@@ -26,10 +26,9 @@ import org.cloudsimplus.listeners.CloudletResourceAllocationFailEventInfo;
 import org.cloudsimplus.listeners.EventListener;
 
 import java.util.*;
-import java.util.function.BiFunction;
-import java.util.function.BiPredicate;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
@@ -80,6 +79,23 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      */
     private final List<CloudletExecution> cloudletExecList;
 
+    /**
+     * The total number of PEs required by all Cloudlets in the {@link #cloudletExecList},
+     * which is kept updated as Cloudlets are added to or removed from that list,
+     * to avoid traversing it every time such a value is needed.
+     */
+    private long execCloudletsPes;
+
+    /**
+     * A buffer used to collect the Cloudlets which have just finished
+     * when they are removed from the {@link #cloudletExecList},
+     * which is reused along updates to avoid creating a new list each time.
+     */
+    private final List<CloudletExecution> finishedCloudletsBuffer;
+
+    /** A predicate to select finished Cloudlets, which is stateless to avoid creating a new object each time it is used. */
+    private static final Predicate<CloudletExecution> FINISHED_CLOUDLET = cle -> cle.getCloudlet().isFinished();
+
     /** @see #enableCloudletSubmittedList() */
     private boolean enableCloudletSubmittedList;
 
@@ -110,14 +126,29 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      * Creates a new CloudletScheduler object.
      */
     protected CloudletSchedulerAbstract() {
+        this(new ArrayList<>());
+    }
+
+    /**
+     * Creates a new CloudletScheduler object that uses a given List
+     * to store the Cloudlets waiting to be executed.
+     * This enables subclasses to define how such Cloudlets are kept,
+     * such as sorted by some criteria.
+     *
+     * @param cloudletWaitingList the List to store the Cloudlets waiting to be executed,
+     *                            that must be initially empty
+     * @see #getCloudletWaitingList()
+     */
+    protected CloudletSchedulerAbstract(final List<CloudletExecution> cloudletWaitingList) {
         setPreviousTime(0.0);
         vm = Vm.NULL;
         cloudletSubmittedList = new ArrayList<>();
         cloudletExecList = new ArrayList<>();
         cloudletPausedList = new ArrayList<>();
         cloudletFinishedList = new ArrayList<>();
+        finishedCloudletsBuffer = new ArrayList<>();
         cloudletFailedList = new ArrayList<>();
-        cloudletWaitingList = new ArrayList<>();
+        this.cloudletWaitingList = requireNonNull(cloudletWaitingList);
         cloudletReturnedList = new HashSet<>();
         currentMipsShare = new MipsShare();
         taskScheduler = CloudletTaskScheduler.NULL;
@@ -161,7 +192,8 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      */
     protected void setCurrentMipsShare(final MipsShare currentMipsShare) {
         if(currentMipsShare.pes() > vm.getNumberOfPes()){
-            LOGGER.warn("Requested {} PEs but {} has just {}", currentMipsShare.pes(), vm, vm.getNumberOfPes());
+            vm.getSimulation().runSequentially(() ->
+                LOGGER.warn("Requested {} PEs but {} has just {}", currentMipsShare.pes(), vm, vm.getNumberOfPes()));
             this.currentMipsShare = new MipsShare(vm.getNumberOfPes(), currentMipsShare.mips());
         }
         else this.currentMipsShare = currentMipsShare;
@@ -198,7 +230,7 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         return getPeCapacity();
     }
 
-    private Double getPeCapacity() {
+    private double getPeCapacity() {
         return currentMipsShare.mips();
     }
 
@@ -207,9 +239,7 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      * @return
      */
     private long totalPesOfAllExecCloudlets() {
-        return cloudletExecList.stream()
-            .map(CloudletExecution::getCloudlet)
-            .mapToLong(Cloudlet::getNumberOfPes).sum();
+        return execCloudletsPes;
     }
 
     private double getTotalMipsShare(){
@@ -327,7 +357,9 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
     protected void addCloudletToExecList(final CloudletExecution cle) {
         cle.setStatus(Cloudlet.Status.INEXEC);
         cle.setLastProcessingTime(getVm().getSimulation().clock());
+        cle.setExecListIndex(cloudletExecList.size());
         cloudletExecList.add(cle);
+        execCloudletsPes += cle.getNumberOfPes();
         addUsedPes(cle.getNumberOfPes());
     }
 
@@ -521,7 +553,13 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         final Consumer<CloudletExecution> cloudletStatusUpdaterConsumer)
     {
         final Function<CloudletExecution, Cloudlet> removeCloudletAndUpdateStatus = cle -> {
-            cloudletList.remove(cle);
+            if (cloudletList == cloudletExecList) {
+                removeFromExecListByIndex(cle);
+                onCloudletRemovedFromExecList(cle);
+            } else {
+                cloudletList.remove(cle);
+            }
+
             cloudletStatusUpdaterConsumer.accept(cle);
             return cle.getCloudlet();
         };
@@ -633,30 +671,43 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         final long requested = (long) getCloudletResourceAbsoluteUtilization(cloudlet, vmResource);
         final long available = vmResource.getAvailableResource();
         if(requested > vmResource.getCapacity()){
-            LOGGER.warn(
-                "{}: {}: {} requested {} {} of {} but that is >= the VM capacity ({})",
-                vm.getSimulation().clockStr(), getClass().getSimpleName(), cloudlet,
-                requested, vmResource.getUnit(), vmResource.getClass().getSimpleName(), vmResource.getCapacity());
+            if(LOGGER.isWarnEnabled()) {
+                vm.getSimulation().runSequentially(() ->
+                    LOGGER.warn(
+                        "{}: {}: {} requested {} {} of {} but that is >= the VM capacity ({})",
+                        vm.getSimulation().clockStr(), getClass().getSimpleName(), cloudlet,
+                        requested, vmResource.getUnit(), vmResource.getClass().getSimpleName(), vmResource.getCapacity()));
+            }
             return;
         }
 
-        if(requested > available){
-            final String msg1 =
-                    available > 0 ?
-                    String.format("just %d was available", available):
-                    "no amount is available.";
-            final String msg2 = vmResource.getClass() == Ram.class ? ". Using Virtual Memory," : ",";
-            LOGGER.warn(
-                "{}: {}: {} requested {} {} of {} but {}{} which delays Cloudlet processing.",
-                vm.getSimulation().clockStr(), getClass().getSimpleName(), cloudlet,
-                requested, vmResource.getUnit(), vmResource.getClass().getSimpleName(), msg1, msg2);
-
-            updateOnResourceAllocationFailListeners(vmResource, cloudlet, requested, available);
+        if(requested > available && (LOGGER.isWarnEnabled() || !resourceAllocationFailListeners.isEmpty())){
+            vm.getSimulation().runSequentially(() -> {
+                if(LOGGER.isWarnEnabled()) {
+                    logResourceAllocationFail(vmResource, cloudlet, requested, available);
+                }
+
+                updateOnResourceAllocationFailListeners(vmResource, cloudlet, requested, available);
+            });
         }
 
         vmResource.allocateResource(Math.min(requested, available));
     }
 
+    private void logResourceAllocationFail(
+        final ResourceManageable vmResource, final Cloudlet cloudlet, final long requested, final long available)
+    {
+        final String msg1 =
+                available > 0 ?
+                String.format("just %d was available", available):
+                "no amount is available.";
+        final String msg2 = vmResource.getClass() == Ram.class ? ". Using Virtual Memory," : ",";
+        LOGGER.warn(
+            "{}: {}: {} requested {} {} of {} but {}{} which delays Cloudlet processing.",
+            vm.getSimulation().clockStr(), getClass().getSimpleName(), cloudlet,
+            requested, vmResource.getUnit(), vmResource.getClass().getSimpleName(), msg1, msg2);
+    }
+
     private void updateOnResourceAllocationFailListeners(
         final ResourceManageable resource, final Cloudlet cloudlet, final long requested, final long available)
     {
@@ -792,23 +843,25 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      * (ii) 0 if there is available physical RAM (no over-subscription);
      * (iii) or {@link Double#MIN_VALUE} if the cloudlet is requesting more RAM then the total VM capacity.
      * @see <a href="https://www.kernel.org/doc/gorman/html/understand/understand014.html">Linux Kernel Swap Management</a>
-     * @see #getResourceOverSubscriptionDelay(CloudletExecution, double, ResourceManageable, BiPredicate, BiFunction)
      */
     private double getVirtualMemoryDelay(final CloudletExecution cle, final double processingTimeSpan) {
-        return getResourceOverSubscriptionDelay(
-            cle, processingTimeSpan, ((VmSimple)vm).getRam(),
+        final ResourceManageable vmRam = ((VmSimple)vm).getRam();
+        final double requestedRam = getCloudletResourceAbsoluteUtilization(cle.getCloudlet(), vmRam);
 
-            /*
-             * Since using VMem requires some portion of the RAM to be swapped between the disk
-             * to open up RAM space, the required RAM cannot be higher then the RAM capacity
-             * neither than the available disk space.
-             */
-            (vmRam, requestedRam) -> requestedRam <= vmRam.getCapacity() && requestedRam <= vm.getStorage().getAvailableResource(),
+        /*
+         * Since using VMem requires some portion of the RAM to be swapped between the disk
+         * to open up RAM space, the required RAM cannot be higher then the RAM capacity
+         * neither than the available disk space.
+         */
+        if(requestedRam > vmRam.getCapacity() || requestedRam > vm.getStorage().getAvailableResource()) {
+            return unsuitableResourceDelay(cle, processingTimeSpan);
+        }
 
-            /* Amount of RAM that was not allocated to the Cloudlet due to lack of VM capacity.
-             * This way, that extra amount will require virtual memory,
-             * delaying cloudlet execution due to Host's drive read latency. */
-            (notAllocatedRam, __) -> diskTransferTime(cle, notAllocatedRam));
+        /* Amount of RAM that was not allocated to the Cloudlet due to lack of VM capacity.
+         * This way, that extra amount will require virtual memory,
+         * delaying cloudlet execution due to Host's drive read latency. */
+        final double notAllocatedRam = notAllocatedResource(vmRam, requestedRam);
+        return notAllocatedRam > 0 ? overSubscriptionDelay(cle, diskTransferTime(cle, notAllocatedRam)) : 0;
     }
 
     /**
@@ -818,8 +871,8 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      *                 considering the read speed of the underlying Host disk.
      * @return
      */
-    private double diskTransferTime(final CloudletExecution cle, final Double dataSize) {
-        return cle.getCloudlet().getVm().getHost().getStorage().getTransferTime(dataSize.intValue());
+    private double diskTransferTime(final CloudletExecution cle, final double dataSize) {
+        return cle.getCloudlet().getVm().getHost().getStorage().getTransferTime((int)dataSize);
     }
 
     /**
@@ -834,27 +887,40 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      * @return (i) the processing delay in seconds (considering reduction in BW allocation);
      * (ii) 0 if there is available BW (no over-subscription);
      * (iii) or {@link Double#MIN_VALUE} if the cloudlet is requesting more BW then the total VM capacity.
-     * @see #getResourceOverSubscriptionDelay(CloudletExecution, double, ResourceManageable, BiPredicate, BiFunction)
      */
     private double getBandwidthOverSubscriptionDelay(final CloudletExecution cle, final double processingTimeSpan) {
-        return getResourceOverSubscriptionDelay(
-            cle, processingTimeSpan, ((VmSimple)vm).getBw(),
-            (vmBw, requestedBw) -> requestedBw <= vmBw.getCapacity(),
+        final ResourceManageable vmBw = ((VmSimple)vm).getBw();
+        final double requestedBw = getCloudletResourceAbsoluteUtilization(cle.getCloudlet(), vmBw);
+        if(requestedBw > vmBw.getCapacity()) {
+            return unsuitableResourceDelay(cle, processingTimeSpan);
+        }
+
+        /* When some BW cannot be allocated to the Cloudlet (due to over-subscription),
+        the delay is computed based on the time needed to use
+        the required bandwidth after the reduced allocation.
+        For instance, if the required bandwidth is 10mbps, that means
+        the cloudlet is willing to transfer 10 mbits in one second.
+        If just 8 mbps is allocated to the cloudlet,
+        to transfer the same 10 mbits it will take 0,25 second more. */
+        final double notAllocatedBw = notAllocatedResource(vmBw, requestedBw);
+        return notAllocatedBw > 0 ? overSubscriptionDelay(cle, requestedBw/(requestedBw-notAllocatedBw) - 1) : 0;
+    }
 
-            /* When some BW cannot be allocated to the Cloudlet (due to over-subscription),
-            the delay is computed based on the time needed to use
-            the required bandwidth after the reduced allocation.
-            For instance, if the required bandwidth is 10mbps, that means
-            the cloudlet is willing to transfer 10 mbits in one second.
-            If just 8 mbps is allocated to the cloudlet,
-            to transfer the same 10 mbits it will take 0,25 second more. */
-            (notAllocatedBw, requestedBw) -> requestedBw/(requestedBw-notAllocatedBw) - 1);
+    /**
+     * Gets the amount of a resource that cannot be allocated to a Cloudlet due to lack of VM capacity.
+     * This way, that extra amount will cause delay in cloudlet execution,
+     * since the cloudlet will wait for that non-allocated resource until the next processing time.
+     *
+     * @param vmResource the VM resource the cloudlet is requesting
+     * @param requestedResource the amount of resource requested by the Cloudlet
+     * @return the amount of resource that cannot be allocated (0 if there is no over-subscription)
+     */
+    private double notAllocatedResource(final ResourceManageable vmResource, final double requestedResource) {
+        return Math.max(requestedResource - vmResource.getAvailableResource(), 0);
     }
 
     /**
-     * Gets the cloudlet processing delay, including a delay when a given
-     * resource is oversubscribed, which will cause overhead for cloudlet processing,
-     * delaying its completion.
+     * Adds a delay in cloudlet processing caused by the over-subscription of some resource.
      * If the resource the cloudlet is request is RAM and it's oversubscribed, that
      * will activate virtual memory (swap).
      * If the resource is bandwidth, less data is supposed to be transferred
@@ -862,49 +928,28 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      * and the cloudlet execution is delayed too, since the data transfer will take longer.
      *
      * @param cle the Cloudlet being processed
-     * @param processingTimeSpan the current cloudlet processing time span
-     * @param vmResource the VM resource the cloudlet is requesting (that will be checked if it's oversubscribed)
-     * @param suitableCapacityPredicate a {@link BiPredicate} that receives the VM resource being requested and
-     *                                  the amount of requested resources,
-     *                                  then indicates if the requested capacity can be allocated or not
-     *                                  (even total or partially). If the predicate returns false,
-     *                                  that means the requested amount exceeds the total resource capacity.
-     * @param delayFunction a {@link BiFunction} that receives the amount of resources that couldn't be allocated to the cloudlet
-     *                      and the amount requested,
-     *                      then returning the additional delay in cloudlet processing caused by that
-     * @return (i) the processing delay in seconds;
-     * (ii) 0 if there is available physical resource (no over-subscription);
-     * (iii) or {@link Double#MIN_VALUE} if the cloudlet is requesting more resource then the total VM capacity.
+     * @param delay the additional delay in cloudlet processing
+     * @return the given delay
      * @see #getVirtualMemoryDelay(CloudletExecution, double)
      * @see #getBandwidthOverSubscriptionDelay(CloudletExecution, double)
      */
-    private double getResourceOverSubscriptionDelay(
-        final CloudletExecution cle, final double processingTimeSpan,
-        final ResourceManageable vmResource,
-        final BiPredicate<ResourceManageable, Double> suitableCapacityPredicate,
-        final BiFunction<Double, Double, Double> delayFunction)
-    {
-        final double requestedResource = getCloudletResourceAbsoluteUtilization(cle.getCloudlet(), vmResource);
-
-        /* If the requested resource is not suitable (even for over-subscription),
-        considering the total VM capacity.
-        Returns a negative value to indicate the allocation was not possible*/
-        if(!suitableCapacityPredicate.test(vmResource, requestedResource)) {
-            cle.incOverSubscriptionDelay(processingTimeSpan);
-            return Double.MIN_VALUE;
-        }
-
-        /* Amount of resource that was not allocated to the Cloudlet due to lack of VM capacity.
-         * This way, that extra amount will cause delay in cloudlet execution,
-         * since the cloudlet will wait for that non-allocated resource until the next processing time. */
-        final double notAllocatedResource = Math.max(requestedResource - vmResource.getAvailableResource(), 0);
-        if (notAllocatedResource > 0) {
-            final double delay = delayFunction.apply(notAllocatedResource, requestedResource);
-            cle.incOverSubscriptionDelay(delay);
-            return delay;
-        }
+    private double overSubscriptionDelay(final CloudletExecution cle, final double delay) {
+        cle.incOverSubscriptionDelay(delay);
+        return delay;
+    }
 
-        return 0;
+    /**
+     * Adds a delay in cloudlet processing for the entire processing time span,
+     * when the cloudlet is requesting more resource than the total VM capacity
+     * (even for over-subscription).
+     *
+     * @param cle the Cloudlet being processed
+     * @param processingTimeSpan the current cloudlet processing time span
+     * @return {@link Double#MIN_VALUE} to indicate the allocation was not possible
+     */
+    private double unsuitableResourceDelay(final CloudletExecution cle, final double processingTimeSpan) {
+        cle.incOverSubscriptionDelay(processingTimeSpan);
+        return Double.MIN_VALUE;
     }
 
     /**
@@ -944,32 +989,127 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      * {@link #getCloudletExecList() execution list}
      */
     private int addCloudletsToFinishedList() {
-        final List<CloudletExecution> finishedCloudlets
-            = cloudletExecList.stream()
-            .filter(cle -> cle.getCloudlet().isFinished())
-            .collect(toList());
-
-        for (final CloudletExecution c : finishedCloudlets) {
-            addCloudletToFinishedList(c);
+        final int finishedCloudlets = moveFromExecList(FINISHED_CLOUDLET, finishedCloudletsBuffer);
+        for (int i = 0; i < finishedCloudlets; i++) {
+            final CloudletExecution cle = finishedCloudletsBuffer.get(i);
+            onCloudletRemovedFromExecList(cle);
+            removeUsedPes(cle.getNumberOfPes());
+            setCloudletFinishTimeAndAddToFinishedList(cle);
         }
 
-        return finishedCloudlets.size();
-    }
-
-    private void addCloudletToFinishedList(final CloudletExecution cle) {
-        setCloudletFinishTimeAndAddToFinishedList(cle);
-        removeCloudletFromExecList(cle);
+        finishedCloudletsBuffer.clear();
+        return finishedCloudlets;
     }
 
     /**
      * Removes a Cloudlet from the list of cloudlets in execution.
+     * The last Cloudlet in such a list takes the place of the removed one,
+     * so that the remaining Cloudlets don't need to be shifted.
      *
      * @param cle the Cloudlet to be removed
      * @return the removed Cloudlet or {@link CloudletExecution#NULL} if not found
      */
     protected CloudletExecution removeCloudletFromExecList(final CloudletExecution cle) {
         removeUsedPes(cle.getNumberOfPes());
-        return cloudletExecList.remove(cle) ? cle : CloudletExecution.NULL;
+        if (!removeFromExecListByIndex(cle)) {
+            return CloudletExecution.NULL;
+        }
+
+        onCloudletRemovedFromExecList(cle);
+        return cle;
+    }
+
+    /**
+     * Removes a Cloudlet from the {@link #cloudletExecList} using its {@link CloudletExecution#getExecListIndex() index},
+     * moving the last Cloudlet in such a list to the place of the removed one.
+     *
+     * @param cle the Cloudlet to be removed
+     * @return true if the Cloudlet was removed, false if it was not in the execution list
+     */
+    private boolean removeFromExecListByIndex(final CloudletExecution cle) {
+        final int index = cle.getExecListIndex();
+        if (index < 0 || index >= cloudletExecList.size() || cloudletExecList.get(index) != cle) {
+            return false;
+        }
+
+        final int lastIndex = cloudletExecList.size() - 1;
+        final CloudletExecution last = cloudletExecList.remove(lastIndex);
+        if (index != lastIndex) {
+            cloudletExecList.set(index, last);
+            last.setExecListIndex(index);
+        }
+
+        cle.setExecListIndex(-1);
+        return true;
+    }
+
+    /**
+     * Removes all Cloudlets matching a given predicate from the list of cloudlets in execution,
+     * in a single pass over such a list, keeping the order of the remaining Cloudlets.
+     * Removing them one by one would shift the list for each removed Cloudlet.
+     *
+     * @param predicate the predicate to select the Cloudlets to remove
+     * @param removed a list where the removed Cloudlets are added to, in the order they were in the execution list
+     * @return the number of removed Cloudlets
+     */
+    protected int removeCloudletsFromExecList(
+        final Predicate<CloudletExecution> predicate, final List<CloudletExecution> removed)
+    {
+        final int previousSize = removed.size();
+        final int count = moveFromExecList(predicate, removed);
+        for (int i = previousSize; i < removed.size(); i++) {
+            final CloudletExecution cle = removed.get(i);
+            removeUsedPes(cle.getNumberOfPes());
+            onCloudletRemovedFromExecList(cle);
+        }
+
+        return count;
+    }
+
+    /**
+     * Moves the Cloudlets matching a given predicate from the {@link #cloudletExecList} to a given list.
+     * The remaining Cloudlets are moved to the beginning of the execution list, keeping their order,
+     * so that all matching ones are removed at once from the end of the list.
+     *
+     * @param predicate the predicate to select the Cloudlets to move
+     * @param destination the list to add the matching Cloudlets to
+     * @return the number of moved Cloudlets
+     */
+    private int moveFromExecList(final Predicate<CloudletExecution> predicate, final List<CloudletExecution> destination) {
+        int kept = 0;
+        for (int i = 0; i < cloudletExecList.size(); i++) {
+            final CloudletExecution cle = cloudletExecList.get(i);
+            if (predicate.test(cle)) {
+                cle.setExecListIndex(-1);
+                destination.add(cle);
+            } else {
+                if (kept != i) {
+                    cloudletExecList.set(kept, cle);
+                    cle.setExecListIndex(kept);
+                }
+
+                kept++;
+            }
+        }
+
+        final int moved = cloudletExecList.size() - kept;
+        if (moved > 0) {
+            cloudletExecList.subList(kept, cloudletExecList.size()).clear();
+        }
+
+        return moved;
+    }
+
+    /**
+     * Updates the information about the Cloudlets in the {@link #getCloudletExecList() execution list}
+     * after a Cloudlet is removed from such a list.
+     * Subclasses which keep additional information about such Cloudlets
+     * may override this method to update it, calling the super method.
+     *
+     * @param cle the Cloudlet removed from the execution list
+     */
+    protected void onCloudletRemovedFromExecList(final CloudletExecution cle) {
+        execCloudletsPes -= cle.getNumberOfPes();
     }
 
     /**
@@ -1033,16 +1173,15 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      * or {@link Double#MAX_VALUE} if there is no next Cloudlet to execute
      */
     protected double moveNextCloudletsFromWaitingToExecList(final double currentTime) {
-        Optional<CloudletExecution> optional = Optional.of(CloudletExecution.NULL);
         double nextCloudletFinishTime = Double.MAX_VALUE;
-        while (!cloudletWaitingList.isEmpty() && optional.isPresent()) {
-            optional = findSuitableWaitingCloudlet();
-            final double estimatedFinishTime =
-                optional
-                    .map(this::addWaitingCloudletToExecList)
-                    .map(cle -> cloudletEstimatedFinishTime(cle, currentTime))
-                    .orElse(Double.MAX_VALUE);
-            nextCloudletFinishTime = Math.min(nextCloudletFinishTime, estimatedFinishTime);
+        while (!cloudletWaitingList.isEmpty()) {
+            final Optional<CloudletExecution> optional = findSuitableWaitingCloudlet();
+            if (!optional.isPresent()) {
+                break;
+            }
+
+            final CloudletExecution cle = addWaitingCloudletToExecList(optional.get());
+            nextCloudletFinishTime = Math.min(nextCloudletFinishTime, cloudletEstimatedFinishTime(cle, currentTime));
         }
 
         return nextCloudletFinishTime;
@@ -1056,11 +1195,14 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      * Optional otherwise
      */
     protected Optional<CloudletExecution> findSuitableWaitingCloudlet() {
-        return cloudletWaitingList
-                .stream()
-                .filter(cle -> cle.getCloudlet().getStatus() != Status.FROZEN)
-                .filter(this::canExecuteCloudlet)
-                .findFirst();
+        for (int i = 0; i < cloudletWaitingList.size(); i++) {
+            final CloudletExecution cle = cloudletWaitingList.get(i);
+            if (cle.getCloudlet().getStatus() != Status.FROZEN && canExecuteCloudlet(cle)) {
+                return Optional.of(cle);
+            }
+        }
+
+        return Optional.empty();
     }
 
     /**
@@ -1172,10 +1314,12 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
     }
 
     private double getRequestedOrAllocatedCpuPercentUtilization(final double time, final boolean requestedUtilization) {
-        return cloudletExecList.stream()
-            .map(CloudletExecution::getCloudlet)
-            .mapToDouble(cloudlet -> getAbsoluteCloudletCpuUtilizationForAllPes(time, cloudlet, requestedUtilization))
-            .sum() / vm.getTotalMipsCapacity();
+        double totalMips = 0;
+        for (int i = 0; i < cloudletExecList.size(); i++) {
+            totalMips += getAbsoluteCloudletCpuUtilizationForAllPes(time, cloudletExecList.get(i).getCloudlet(), requestedUtilization);
+        }
+
+        return totalMips / vm.getTotalMipsCapacity();
     }
 
     /**
@@ -1299,11 +1443,12 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         final double allocatedPercent = requestedUtilization ? requestedPercent : Math.min(requestedPercent, 1);
 
         //Shows the log when the method is called to return the actual allocated resource amount (not the requested one)
-        if(requestedPercent > 1 && !requestedUtilization && !resourceName.isEmpty()) {
-            LOGGER.warn(
-                "{}: {}: {} is requesting {}% of the total {} capacity which cannot be allocated. Allocating {}%.",
-                vm.getSimulation().clockStr(), getClass().getSimpleName(), cloudlet,
-                requestedPercent*100, resourceName, allocatedPercent*100);
+        if(requestedPercent > 1 && !requestedUtilization && !resourceName.isEmpty() && LOGGER.isWarnEnabled()) {
+            vm.getSimulation().runSequentially(() ->
+                LOGGER.warn(
+                    "{}: {}: {} is requesting {}% of the total {} capacity which cannot be allocated. Allocating {}%.",
+                    vm.getSimulation().clockStr(), getClass().getSimpleName(), cloudlet,
+                    requestedPercent*100, resourceName, allocatedPercent*100));
         }
 
         return allocatedPercent * maxResourceAllowedToUse;
@@ -1362,7 +1507,7 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
 	 * @param cle Cloudlet to check if it can be added to the execution list
 	 * @return true if the Cloudlet can be added to the execution list, false otherwise
 	 */
-    private boolean canExecuteCloudlet(final CloudletExecution cle){
+    protected boolean canExecuteCloudlet(final CloudletExecution cle){
         return cle.getCloudlet().getStatus().ordinal() < Status.FROZEN.ordinal() && canExecuteCloudletInternal(cle);
     }
 
@@ -1374,6 +1519,8 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
     @Override
     public void clear() {
         this.cloudletWaitingList.clear();
+        this.cloudletExecList.forEach(cle -> cle.setExecListIndex(-1));
         this.cloudletExecList.clear();
+        this.execCloudletsPes = 0;
     }
 }
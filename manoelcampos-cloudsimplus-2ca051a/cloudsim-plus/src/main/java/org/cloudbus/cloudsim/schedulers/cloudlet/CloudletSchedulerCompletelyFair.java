@@ -28,14 +28,18 @@ import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.resources.Pe;
 import org.cloudbus.cloudsim.schedulers.MipsShare;
-import org.cloudbus.cloudsim.util.MathUtil;
 
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.function.Predicate;
 
-import static java.util.stream.Collectors.toList;
-
 /**
  * A simplified implementation of the <a href="https://en.wikipedia.org/wiki/Completely_Fair_Scheduler">Completely Fair Scheduler (CFS)</a>
  * that is the default scheduler used for most tasks on recent Linux Kernel. It is a time-shared
@@ -65,6 +69,13 @@ import static java.util.stream.Collectors.toList;
  *     room for other process to run.
  *     The CFS scheduler uses a dynamic defined timeslice.
  *     </li>
+ *     <li>Uses a Red-Black tree (a {@link TreeMap}), as in real implementations of CFS,
+ *     to keep waiting Cloudlets (the runqueue) increasingly sorted, based on their virtual runtime (vruntime or VRT),
+ *     placing the Cloudlets that have run the least at the top of the tree.
+ *     Since different Cloudlets may have the same virtual runtime,
+ *     the Cloudlets priority, ID and the order they were added are used to break ties,
+ *     ensuring each Cloudlet has a unique position in the tree.
+ *     </li>
  * </ul>
  *
  * And it currently <b>DOES NOT</b> implement the following features:
@@ -87,14 +98,6 @@ import static java.util.stream.Collectors.toList;
  *     (application execution is simulated just computing the amount of instructions
  *     that can be run), it doesn't matter which PEs are "running" the application.
  *     </li>
- *	   <li>It doesn't use a Red-Black tree (such as the TreeSet), as in real implementations of CFS,
- *	   to sort waiting Cloudlets (runqueue list) increasingly, based on their virtual runtime (vruntime or VRT)
- *	   (placing the Cloudlets that have run the least at the top of the tree).
- *	   Furthermore, the use of such a data structure added some complexity to the implementation.
- *	   Since different Cloudlets may have the same virtual runtime, this introduced some issues when adding or
- *	   removing elements in a structure such as the TreeSet, that requires
- *	   each value (the virtual runtime in this case) used to sort the Set to be unique.
- *	   </li>
  * </ul>
  * </p>
  *
@@ -135,27 +138,38 @@ public final class CloudletSchedulerCompletelyFair extends CloudletSchedulerTime
 	private int latency = 3;
 
     /**
-     * A comparator used to increasingly sort Cloudlets into the waiting list
-     * based on their virtual runtime (vruntime or VRT). By this way, the Cloudlets in the beginning
-     * of such a list will be that ones which have run the least and have to be
-     * prioritized when getting Cloudlets from this list to add to the execution
-     * list.
+     * The Cloudlets in the waiting list, sorted by their {@link Position}.
+     * It's the List used as the {@link #getCloudletWaitingList() waiting list} itself.
      *
-     * @param c1 first Cloudlet to compare
-     * @param c2 second Cloudlet to compare
-     * @return a negative value if c1 is lower than c2, zero if they are equals,
-     * a positive value if c1 is greater than c2
+     * @see Runqueue
      */
-    private int waitingCloudletsComparator(final CloudletExecution c1, final CloudletExecution c2){
-        final double vRuntimeDiff = c1.getVirtualRuntime() - c2.getVirtualRuntime();
-        if (vRuntimeDiff != 0) {
-            return MathUtil.doubleToInt(vRuntimeDiff);
-        }
+    private final Runqueue runqueue;
+
+    /**
+     * The weight sum of all Cloudlets in the execution list,
+     * which is updated as Cloudlets are added or removed from such a list.
+     *
+     * @see #getWeightSumOfRunningCloudlets()
+     */
+    private double weightSumOfRunningCloudlets;
+
+    /**
+     * The weight each Cloudlet in the execution list had when it was added to such a list,
+     * which is subtracted from the {@link #weightSumOfRunningCloudlets} when the Cloudlet is removed.
+     * This way, the sum is kept right even if the Cloudlet priority changes while it's running.
+     */
+    private final Map<CloudletExecution, Double> runningCloudletsWeight = new IdentityHashMap<>();
+
+    /**
+     * Creates a CloudletSchedulerCompletelyFair.
+     */
+    public CloudletSchedulerCompletelyFair() {
+        this(new Runqueue());
+    }
 
-        final long priorityDiff = c1.getCloudlet().getPriority() - c2.getCloudlet().getPriority();
-        final long idDiff = c1.getCloudletId() - c2.getCloudletId();
-        //Since the computed value is long but the comparator return must be int, rounds the value to the closest int
-        return Math.round(priorityDiff == 0 ? idDiff : priorityDiff);
+    private CloudletSchedulerCompletelyFair(final Runqueue runqueue) {
+        super(runqueue);
+        this.runqueue = runqueue;
     }
 
     /**
@@ -218,7 +232,8 @@ public final class CloudletSchedulerCompletelyFair extends CloudletSchedulerTime
 
     /**
      * Gets a <b>read-only</b> list of Cloudlets which are waiting to run, the so called
-     * <a href="https://en.wikipedia.org/wiki/Run_queue">run queue</a>.
+     * <a href="https://en.wikipedia.org/wiki/Run_queue">run queue</a>,
+     * sorted according to the virtual runtime (vruntime or VRT).
      *
      * <p>
      * <b>NOTE:</b> Different from real implementations, this scheduler uses just one run queue
@@ -243,8 +258,41 @@ public final class CloudletSchedulerCompletelyFair extends CloudletSchedulerTime
      */
     @Override
     protected Optional<CloudletExecution> findSuitableWaitingCloudlet() {
-        sortCloudletWaitingList(this::waitingCloudletsComparator);
-        return super.findSuitableWaitingCloudlet();
+        for (final CloudletExecution cle : runqueue) {
+            if (canExecuteCloudlet(cle)) {
+                return Optional.of(cle);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    @Override
+    protected void addCloudletToExecList(final CloudletExecution cle) {
+        super.addCloudletToExecList(cle);
+        final double weight = getCloudletWeight(cle);
+        runningCloudletsWeight.put(cle, weight);
+        weightSumOfRunningCloudlets += weight;
+    }
+
+    @Override
+    protected void onCloudletRemovedFromExecList(final CloudletExecution cle) {
+        super.onCloudletRemovedFromExecList(cle);
+        final Double weight = runningCloudletsWeight.remove(cle);
+        /*Resets the sum when there is no running Cloudlet,
+        * avoiding the accumulation of floating-point errors along the simulation.*/
+        if(runningCloudletsWeight.isEmpty()) {
+            weightSumOfRunningCloudlets = 0;
+        } else if(weight != null) {
+            weightSumOfRunningCloudlets -= weight;
+        }
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        runningCloudletsWeight.clear();
+        weightSumOfRunningCloudlets = 0;
     }
 
 	/**
@@ -296,10 +344,7 @@ public final class CloudletSchedulerCompletelyFair extends CloudletSchedulerTime
 	 * Gets the weight sum of all cloudlets in the executing list.
 	 */
 	private double getWeightSumOfRunningCloudlets() {
-		return getCloudletExecList()
-            .stream()
-            .mapToDouble(this::getCloudletWeight)
-            .sum();
+		return weightSumOfRunningCloudlets;
 	}
 
 	/**
@@ -493,7 +538,13 @@ public final class CloudletSchedulerCompletelyFair extends CloudletSchedulerTime
         is reset so that they can compete with other waiting Cloudlets to use
         the processor again.*/
         for(final CloudletExecution c: preemptedCloudlets) {
+            /*Since the vruntime is used to sort the runqueue,
+            * Cloudlets still waiting have to be removed before changing it and added back after that.*/
+            final boolean waiting = runqueue.remove(c);
             c.setVirtualRuntime(computeCloudletInitialVirtualRuntime(c));
+            if(waiting) {
+                runqueue.add(c);
+            }
         }
 
         return nextCloudletFinishTime;
@@ -511,15 +562,161 @@ public final class CloudletSchedulerCompletelyFair extends CloudletSchedulerTime
      */
     private List<CloudletExecution> preemptExecCloudletsWithExpiredVRuntimeAndMoveToWaitingList() {
         final Predicate<CloudletExecution> vrtReachedTimeSlice = cle -> cle.getVirtualRuntime() >= cle.getTimeSlice();
-        final List<CloudletExecution> expiredVrtCloudlets =
-            getCloudletExecList()
-                .stream()
-                .filter(vrtReachedTimeSlice)
-                .collect(toList());
-
-        expiredVrtCloudlets.forEach(cle -> addCloudletToWaitingList(removeCloudletFromExecList(cle)));
+        final List<CloudletExecution> expiredVrtCloudlets = new ArrayList<>();
+        removeCloudletsFromExecList(vrtReachedTimeSlice, expiredVrtCloudlets);
+        expiredVrtCloudlets.forEach(this::addCloudletToWaitingList);
         return expiredVrtCloudlets;
     }
 
-}
+    /**
+     * A runqueue that keeps waiting Cloudlets sorted by their {@link Position}
+     * into a Red-Black tree, enabling Cloudlets to be added and removed in O(log n) time.
+     * It's exposed as a List just to be used as the {@link #getCloudletWaitingList() waiting list},
+     * but getting an element by its index takes O(n) time.
+     *
+     * <p>The position of a Cloudlet is defined by its virtual runtime and priority when it's added to the runqueue.
+     * Changing such values while the Cloudlet is waiting doesn't corrupt the runqueue,
+     * but they just affect the order when the Cloudlet is added again.
+     * Cloudlets with the same virtual runtime, priority and id
+     * are kept in the order they were added.</p>
+     */
+    private static final class Runqueue extends AbstractList<CloudletExecution> {
+        /**
+         * The waiting Cloudlets, where each key is the position of a Cloudlet in the runqueue.
+         */
+        private final NavigableMap<Position, CloudletExecution> cloudlets = new TreeMap<>();
+
+        /**
+         * The position of each Cloudlet in the {@link #cloudlets} tree,
+         * used to find a Cloudlet even if its values changed after it was added.
+         */
+        private final Map<CloudletExecution, Position> positions = new IdentityHashMap<>();
+
+        /**
+         * The number of Cloudlets added to the runqueue so far,
+         * used to sort Cloudlets with the same virtual runtime, priority and id.
+         */
+        private long addedCloudlets;
+
+        @Override
+        public CloudletExecution get(final int index) {
+            if(index < 0 || index >= cloudlets.size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + cloudlets.size());
+            }
+
+            final Iterator<CloudletExecution> iterator = cloudlets.values().iterator();
+            for (int i = 0; i < index; i++) {
+                iterator.next();
+            }
+
+            return iterator.next();
+        }
+
+        @Override
+        public boolean add(final CloudletExecution cle) {
+            if(positions.containsKey(cle)) {
+                return false;
+            }
+
+            final Position position = new Position(cle, addedCloudlets++);
+            positions.put(cle, position);
+            cloudlets.put(position, cle);
+            return true;
+        }
+
+        @Override
+        public boolean remove(final Object obj) {
+            final Position position = positions.remove(obj);
+            return position != null && cloudlets.remove(position) != null;
+        }
+
+        @Override
+        public boolean contains(final Object obj) {
+            return positions.containsKey(obj);
+        }
+
+        @Override
+        public Iterator<CloudletExecution> iterator() {
+            final Iterator<CloudletExecution> iterator = cloudlets.values().iterator();
+            return new Iterator<CloudletExecution>() {
+                private CloudletExecution last;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public CloudletExecution next() {
+                    last = iterator.next();
+                    return last;
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                    positions.remove(last);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return cloudlets.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return cloudlets.isEmpty();
+        }
+
+        @Override
+        public void clear() {
+            cloudlets.clear();
+            positions.clear();
+        }
+    }
 
+    /**
+     * The position of a Cloudlet in the {@link Runqueue}, used to increasingly sort Cloudlets
+     * based on their virtual runtime (vruntime or VRT). By this way, the Cloudlets in the beginning
+     * of the runqueue will be that ones which have run the least and have to be
+     * prioritized when getting Cloudlets from it to add to the execution list.
+     * Cloudlets with the same virtual runtime are sorted by their priority, then by their ID
+     * and finally by the order they were added to the runqueue.
+     *
+     * <p>The position keeps the values of the Cloudlet when it was added to the runqueue,
+     * which are compared exactly. The comparator used before the runqueue was introduced
+     * converted the differences between priorities and IDs to float,
+     * so that very large IDs could be considered equal.</p>
+     */
+    private static final class Position implements Comparable<Position> {
+        private final double virtualRuntime;
+        private final int priority;
+        private final long cloudletId;
+        private final long sequence;
+
+        private Position(final CloudletExecution cle, final long sequence) {
+            this.virtualRuntime = cle.getVirtualRuntime();
+            this.priority = cle.getCloudlet().getPriority();
+            this.cloudletId = cle.getCloudletId();
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(final Position other) {
+            final int vrtComparison = Double.compare(virtualRuntime, other.virtualRuntime);
+            if(vrtComparison != 0) {
+                return vrtComparison;
+            }
+
+            final int priorityComparison = Integer.compare(priority, other.priority);
+            if(priorityComparison != 0) {
+                return priorityComparison;
+            }
+
+            final int idComparison = Long.compare(cloudletId, other.cloudletId);
+            return idComparison == 0 ? Long.compare(sequence, other.sequence) : idComparison;
+        }
+    }
+}
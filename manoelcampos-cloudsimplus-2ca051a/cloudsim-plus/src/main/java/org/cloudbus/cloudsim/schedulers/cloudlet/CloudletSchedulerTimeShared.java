@@ -74,6 +74,23 @@ import java.util.List;
  * @see CloudletSchedulerSpaceShared
  */
 public class CloudletSchedulerTimeShared extends CloudletSchedulerAbstract {
+    /**
+     * Creates a time-shared CloudletScheduler.
+     */
+    public CloudletSchedulerTimeShared() {
+        super();
+    }
+
+    /**
+     * Creates a time-shared CloudletScheduler that uses a given List
+     * to store the Cloudlets waiting to be executed.
+     *
+     * @param cloudletWaitingList the List to store the Cloudlets waiting to be executed,
+     *                            that must be initially empty
+     */
+    protected CloudletSchedulerTimeShared(final List<CloudletExecution> cloudletWaitingList) {
+        super(cloudletWaitingList);
+    }
 
     /**
      * {@inheritDoc}
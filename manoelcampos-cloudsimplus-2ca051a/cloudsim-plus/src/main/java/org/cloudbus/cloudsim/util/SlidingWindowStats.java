@@ -0,0 +1,317 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.util;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-capacity window holding the latest values added to it,
+ * which keeps such values both in arrival order (inside a ring buffer of primitive values)
+ * and sorted, so that order statistics such as the median,
+ * the <a href="https://en.wikipedia.org/wiki/Median_absolute_deviation">Median Absolute Deviation (MAD)</a>
+ * and the <a href="https://en.wikipedia.org/wiki/Interquartile_range">Inter-quartile Range (IQR)</a>
+ * can be computed without sorting the values every time they are requested.
+ *
+ * <p>When the window is full, adding a new value evicts the oldest one.
+ * Each addition takes O(log n) to find the position of the value in the sorted array,
+ * plus a shift of the sorted values after such a position.
+ * The median and the IQR are computed in constant time and the MAD in linear time,
+ * always giving the same results as {@link MathUtil#median(double...)},
+ * {@link MathUtil#mad(double...)} and {@link MathUtil#iqr(double...)}.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 6.5.3
+ */
+public class SlidingWindowStats {
+    /**
+     * A window that doesn't store any value.
+     */
+    public static final SlidingWindowStats NULL = new SlidingWindowStats(1) { @Override public void add(double value) {/**/} };
+
+    /**
+     * A ring buffer with the values in the window, in the order they were added.
+     * The oldest value is at the {@link #head} position.
+     */
+    private final double[] values;
+
+    /**
+     * The values in the window, in ascending order, where just the first {@link #size} positions are used.
+     */
+    private final double[] sorted;
+
+    /**
+     * The position of the oldest value inside the {@link #values} ring buffer.
+     */
+    private int head;
+
+    /** @see #size() */
+    private int size;
+
+    /**
+     * Creates a SlidingWindowStats.
+     * @param capacity the maximum number of values the window holds
+     */
+    public SlidingWindowStats(final int capacity) {
+        if(capacity <= 0){
+            throw new IllegalArgumentException("Capacity must be greater than 0.");
+        }
+
+        this.values = new double[capacity];
+        this.sorted = new double[capacity];
+    }
+
+    /**
+     * Adds a value to the window, evicting the oldest one if the window is full.
+     * @param value the value to add
+     */
+    public void add(final double value) {
+        if(isFull()){
+            removeSorted(values[head]);
+            values[head] = value;
+            head = (head + 1) % values.length;
+        } else {
+            values[(head + size) % values.length] = value;
+            size++;
+        }
+
+        insertSorted(value);
+    }
+
+    /**
+     * Inserts a value into the {@link #sorted} array, whose number of used positions
+     * must already have been updated to include the new value.
+     * @param value the value to insert
+     */
+    private void insertSorted(final double value) {
+        final int used = size - 1;
+        final int index = insertionPoint(Arrays.binarySearch(sorted, 0, used, value));
+        System.arraycopy(sorted, index, sorted, index + 1, used - index);
+        sorted[index] = value;
+    }
+
+    /**
+     * Removes a value from the {@link #sorted} array, without changing the {@link #size}.
+     * @param value the value to remove
+     */
+    private void removeSorted(final double value) {
+        final int index = Arrays.binarySearch(sorted, 0, size, value);
+        System.arraycopy(sorted, index + 1, sorted, index, size - index - 1);
+    }
+
+    private static int insertionPoint(final int binarySearchResult) {
+        return binarySearchResult < 0 ? -(binarySearchResult + 1) : binarySearchResult;
+    }
+
+    /**
+     * Gets a value from the window.
+     * @param index the index of the value, where 0 is the oldest value and {@link #size()}-1 is the latest one
+     * @return the value at the given index
+     */
+    public double get(final int index) {
+        if(index < 0 || index >= size){
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        return values[(head + index) % values.length];
+    }
+
+    /**
+     * Gets a new array with the values in the window, from the oldest to the latest one.
+     * @return
+     */
+    public double[] toArray() {
+        return latest(size);
+    }
+
+    /**
+     * Gets a new array with the latest values added to the window, from the oldest to the latest one.
+     * @param count the number of latest values to get
+     * @return an array with the given number of values (or all values if the window has less than that)
+     */
+    public double[] latest(final int count) {
+        final int length = Math.min(Math.max(count, 0), size);
+        final double[] result = new double[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = get(size - length + i);
+        }
+
+        return result;
+    }
+
+    /**
+     * Removes all values from the window.
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Gets the number of values in the window.
+     * @return
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the maximum number of values the window holds.
+     * @return
+     */
+    public int getCapacity() {
+        return values.length;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean isFull() {
+        return size == values.length;
+    }
+
+    /**
+     * Gets the median of the values in the window.
+     * @return the median or {@link Double#NaN} if the window is empty
+     */
+    public double getMedian() {
+        if(isEmpty()){
+            return Double.NaN;
+        }
+
+        return median(size, this::sortedValue);
+    }
+
+    /**
+     * Gets the Median Absolute Deviation (MAD) of the values in the window.
+     * @return the MAD or 0 if the window is empty
+     */
+    public double getMad() {
+        if(isEmpty()){
+            return 0;
+        }
+
+        return median(size, new AbsoluteDeviations(getMedian()));
+    }
+
+    /**
+     * Gets the Inter-quartile Range (IQR) of the values in the window.
+     * @return the IQR or 0 if the window has less than 2 values
+     */
+    public double getIqr() {
+        if(size < 2){
+            return 0;
+        }
+
+        final int quartile1 = (int) Math.round(0.25 * (size + 1)) - 1;
+        final int quartile3 = (int) Math.round(0.75 * (size + 1)) - 1;
+        return sorted[quartile3] - sorted[quartile1];
+    }
+
+    private double sortedValue(final int index) {
+        return sorted[index];
+    }
+
+    /**
+     * Computes the median of n ascending values, using the same estimation
+     * of the 50th percentile used by {@link MathUtil#median(double...)}.
+     * @param n the number of values
+     * @param ascendingValues a function that gets the i-th smallest value
+     *                        (which must be called with increasing indexes)
+     * @return the median
+     */
+    private static double median(final int n, final IndexedValue ascendingValues) {
+        final double pos = (n + 1) / 2.0;
+        final int floor = (int) pos;
+        final double lower = ascendingValues.get(floor - 1);
+        if(floor >= n) {
+            return lower;
+        }
+
+        final double upper = ascendingValues.get(floor);
+        return lower + (pos - floor) * (upper - lower);
+    }
+
+    /**
+     * A function that gets the i-th value from a sequence of values.
+     */
+    private interface IndexedValue {
+        double get(int index);
+    }
+
+    /**
+     * Gets the absolute deviations of the values in the window from a given center, in ascending order,
+     * merging the deviations of the values below and above the center,
+     * which are already sorted since the values in the window are.
+     * The deviations must be requested with increasing indexes.
+     */
+    private final class AbsoluteDeviations implements IndexedValue {
+        private final double center;
+
+        /** Index of the next value below the center, moving to the beginning of the sorted array. */
+        private int below;
+
+        /** Index of the next value at or above the center, moving to the end of the sorted array. */
+        private int above;
+
+        /** Index of the last deviation returned. */
+        private int current = -1;
+
+        /** The last deviation returned. */
+        private double deviation;
+
+        private AbsoluteDeviations(final double center) {
+            this.center = center;
+            this.above = insertionPoint(Arrays.binarySearch(sorted, 0, size, center));
+            //There may be multiple values equal to the center and the binary search may not find the first one
+            while (above > 0 && sorted[above - 1] >= center) {
+                above--;
+            }
+
+            this.below = above - 1;
+        }
+
+        @Override
+        public double get(final int index) {
+            while (current < index) {
+                deviation = next();
+                current++;
+            }
+
+            return deviation;
+        }
+
+        private double next() {
+            final double belowDeviation = below >= 0 ? Math.abs(center - sorted[below]) : Double.POSITIVE_INFINITY;
+            final double aboveDeviation = above < size ? Math.abs(center - sorted[above]) : Double.POSITIVE_INFINITY;
+            if(belowDeviation <= aboveDeviation) {
+                below--;
+                return belowDeviation;
+            }
+
+            above++;
+            return aboveDeviation;
+        }
+    }
+}
@@ -0,0 +1,351 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.util;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * A binary file storing the lines of a trace file already parsed by a {@link TraceReaderAbstract},
+ * so that the trace can be read again without decompressing and parsing the text file.
+ * The cache is written next to the trace file and is just used while the trace file
+ * size, last modification time and content hash don't change.
+ *
+ * <p>The cache file has a header followed by blocks of parsed lines.
+ * Each block is read through memory-mapping and its field values
+ * are stored using a dictionary, so that repeated values (such as usernames
+ * or common numbers) are stored (and decoded) just once per block.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 6.5.3
+ */
+final class TraceFileCache {
+    /**
+     * The extension appended to the trace file name to get the cache file name.
+     */
+    static final String EXTENSION = ".cache";
+
+    private static final int MAGIC = 0x43535443;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 2 * Integer.BYTES + 4 * Long.BYTES;
+    private static final int BLOCK_HEADER_SIZE = 2 * Integer.BYTES;
+
+    /**
+     * The size (in bytes) a block reaches before it's written to the cache file.
+     */
+    private static final int BLOCK_SIZE = 4 << 20;
+
+    /**
+     * The maximum number of values in the dictionary of a block.
+     */
+    private static final int MAX_DICTIONARY_SIZE = 1 << 16;
+
+    /**
+     * The number of bytes at the beginning and at the end of the trace file
+     * used to compute the trace hash.
+     */
+    private static final int HASHED_BYTES = 1 << 20;
+
+    /**
+     * A private constructor to avoid class instantiation.
+     */
+    private TraceFileCache(){/**/}
+
+    /**
+     * Gets the path of the cache file for a given trace file.
+     * @param traceFile the path of the trace file
+     * @return
+     */
+    static Path getCachePath(final Path traceFile) {
+        return traceFile.resolveSibling(traceFile.getFileName() + EXTENSION);
+    }
+
+    /**
+     * Checks if the cache file exists and was created from the current content of the trace file,
+     * using the same configuration to parse it.
+     *
+     * @param traceFile the path of the trace file
+     * @param configHash a hash of the configuration used to parse the trace file
+     * @return true if the cache file is valid, false otherwise
+     */
+    static boolean isValid(final Path traceFile, final long configHash) throws IOException {
+        final Path cacheFile = getCachePath(traceFile);
+        if (!Files.isRegularFile(cacheFile) || Files.size(cacheFile) < HEADER_SIZE) {
+            return false;
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile), HEADER_SIZE))) {
+            return input.readInt() == MAGIC &&
+                   input.readInt() == VERSION &&
+                   input.readLong() == Files.size(traceFile) &&
+                   input.readLong() == Files.getLastModifiedTime(traceFile).toMillis() &&
+                   input.readLong() == computeHash(traceFile) &&
+                   input.readLong() == configHash;
+        }
+    }
+
+    /**
+     * Computes a hash of the trace file, considering the bytes at its beginning and end,
+     * so that large traces don't need to be entirely read.
+     * @param traceFile the path of the trace file
+     * @return the hash
+     */
+    private static long computeHash(final Path traceFile) throws IOException {
+        final CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(traceFile, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(size, HASHED_BYTES));
+            channel.read(buffer, 0);
+            crc.update(buffer.array(), 0, buffer.position());
+
+            if (size > HASHED_BYTES) {
+                buffer.clear();
+                channel.read(buffer, Math.max(size - HASHED_BYTES, HASHED_BYTES));
+                crc.update(buffer.array(), 0, buffer.position());
+            }
+        }
+
+        return crc.getValue();
+    }
+
+    /**
+     * Creates a Writer to store the parsed lines of a trace file into its cache file.
+     * @param traceFile the path of the trace file
+     * @param configHash a hash of the configuration used to parse the trace file
+     * @return
+     */
+    static Writer newWriter(final Path traceFile, final long configHash) throws IOException {
+        return new Writer(traceFile, configHash);
+    }
+
+    /**
+     * Opens the cache file of a trace file to read its parsed lines.
+     * @param traceFile the path of the trace file
+     * @return
+     */
+    static Reader newReader(final Path traceFile) throws IOException {
+        return new Reader(getCachePath(traceFile));
+    }
+
+    /**
+     * Writes the parsed lines of a trace file into a temporary file,
+     * which replaces the cache file when the Writer is closed.
+     * This way, concurrent simulations never read a partially written cache.
+     */
+    static final class Writer implements Closeable {
+        private final Path cacheFile;
+        private final Path tempFile;
+        private final DataOutputStream output;
+        private final ByteArrayOutputStream block;
+        private final DataOutputStream blockOutput;
+        private final Map<String, Integer> dictionary;
+        private int blockLines;
+        private boolean committed;
+
+        private Writer(final Path traceFile, final long configHash) throws IOException {
+            this.cacheFile = getCachePath(traceFile);
+            this.tempFile = Files.createTempFile(cacheFile.toAbsolutePath().getParent(), cacheFile.getFileName().toString(), ".tmp");
+            this.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)));
+            this.block = new ByteArrayOutputStream(BLOCK_SIZE + BLOCK_SIZE / 4);
+            this.blockOutput = new DataOutputStream(block);
+            this.dictionary = new HashMap<>();
+
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(Files.size(traceFile));
+            output.writeLong(Files.getLastModifiedTime(traceFile).toMillis());
+            output.writeLong(computeHash(traceFile));
+            output.writeLong(configHash);
+        }
+
+        /**
+         * Writes a parsed line to the cache.
+         * @param fields the field values of the line
+         */
+        void write(final String[] fields) throws IOException {
+            writeVarInt(fields.length);
+            for (final String field : fields) {
+                final Integer index = dictionary.get(field);
+                if (index != null) {
+                    writeVarInt(index + 1);
+                    continue;
+                }
+
+                final byte[] bytes = field.getBytes(StandardCharsets.UTF_8);
+                writeVarInt(0);
+                writeVarInt(bytes.length);
+                blockOutput.write(bytes);
+                if (dictionary.size() < MAX_DICTIONARY_SIZE) {
+                    dictionary.put(field, dictionary.size());
+                }
+            }
+
+            blockLines++;
+            if (block.size() >= BLOCK_SIZE) {
+                flushBlock();
+            }
+        }
+
+        private void writeVarInt(int value) throws IOException {
+            while ((value & ~0x7F) != 0) {
+                blockOutput.writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+
+            blockOutput.writeByte(value);
+        }
+
+        private void flushBlock() throws IOException {
+            if (blockLines == 0) {
+                return;
+            }
+
+            output.writeInt(block.size());
+            output.writeInt(blockLines);
+            block.writeTo(output);
+            block.reset();
+            dictionary.clear();
+            blockLines = 0;
+        }
+
+        /**
+         * Indicates the entire trace file was written,
+         * so that the cache file is replaced when the Writer is closed.
+         */
+        void commit() throws IOException {
+            flushBlock();
+            committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                output.close();
+                if (committed) {
+                    Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        }
+    }
+
+    /**
+     * Reads the parsed lines of a trace file from its cache file,
+     * memory-mapping one block at a time.
+     */
+    static final class Reader implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer blockHeader;
+        private final List<String> dictionary;
+        private long nextBlockPosition;
+        private MappedByteBuffer block;
+        private int remainingBlockLines;
+        private byte[] bytes;
+
+        private Reader(final Path cacheFile) throws IOException {
+            this.channel = FileChannel.open(cacheFile, StandardOpenOption.READ);
+            this.blockHeader = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+            this.dictionary = new ArrayList<>();
+            this.nextBlockPosition = HEADER_SIZE;
+            this.bytes = new byte[256];
+        }
+
+        /**
+         * Reads the next parsed line from the cache.
+         * @return the field values of the line or null if there are no more lines
+         */
+        String[] next() throws IOException {
+            if (remainingBlockLines == 0 && !mapNextBlock()) {
+                return null;
+            }
+
+            remainingBlockLines--;
+            final String[] fields = new String[readVarInt()];
+            for (int i = 0; i < fields.length; i++) {
+                final int index = readVarInt();
+                fields[i] = index == 0 ? readNewValue() : dictionary.get(index - 1);
+            }
+
+            return fields;
+        }
+
+        private String readNewValue() {
+            final int length = readVarInt();
+            if (bytes.length < length) {
+                bytes = new byte[length];
+            }
+
+            block.get(bytes, 0, length);
+            final String value = new String(bytes, 0, length, StandardCharsets.UTF_8);
+            if (dictionary.size() < MAX_DICTIONARY_SIZE) {
+                dictionary.add(value);
+            }
+
+            return value;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = block.get();
+                value |= (current & 0x7F) << shift;
+                shift += 7;
+            } while ((current & 0x80) != 0);
+
+            return value;
+        }
+
+        private boolean mapNextBlock() throws IOException {
+            blockHeader.clear();
+            if (channel.read(blockHeader, nextBlockPosition) < BLOCK_HEADER_SIZE) {
+                return false;
+            }
+
+            blockHeader.flip();
+            final int blockSize = blockHeader.getInt();
+            remainingBlockLines = blockHeader.getInt();
+            block = channel.map(FileChannel.MapMode.READ_ONLY, nextBlockPosition + BLOCK_HEADER_SIZE, blockSize);
+            nextBlockPosition += BLOCK_HEADER_SIZE + blockSize;
+            dictionary.clear();
+            return remainingBlockLines > 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
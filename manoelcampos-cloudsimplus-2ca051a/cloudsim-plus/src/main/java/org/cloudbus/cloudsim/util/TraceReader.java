@@ -68,6 +68,42 @@ public interface TraceReader {
      */
     TraceReader setMaxLinesToRead(int maxLinesToRead);
 
+    /**
+     * Checks if trace lines are parsed in parallel, in chunks of lines.
+     * Even so, parsed lines are processed one by one in the order they appear in the file.
+     *
+     * @return true if lines are parsed in parallel, false otherwise (default)
+     */
+    boolean isParallelParsing();
+
+    /**
+     * Enables or disables the parallel parsing of trace lines, in chunks of lines.
+     * Even so, parsed lines are processed one by one in the order they appear in the file.
+     * Enabling it usually just pays off for large trace files.
+     *
+     * @param parallelParsing true to parse lines in parallel, false otherwise
+     */
+    TraceReader setParallelParsing(boolean parallelParsing);
+
+    /**
+     * Checks if a binary cache of the parsed trace lines is used to speed up
+     * reading the same trace file again.
+     *
+     * @return true if the cache is enabled, false otherwise (default)
+     * @see #setCacheEnabled(boolean)
+     */
+    boolean isCacheEnabled();
+
+    /**
+     * Enables or disables a binary cache of the parsed trace lines,
+     * which is written next to the trace file (with the ".cache" extension) the first time it's read.
+     * Next times the file is read, the parsed lines are loaded from the cache,
+     * as long as the trace file and the configuration used to parse it don't change.
+     *
+     * @param cacheEnabled true to enable the cache, false otherwise
+     */
+    TraceReader setCacheEnabled(boolean cacheEnabled);
+
     /**
      * Gets the path of the trace file.
      * @return
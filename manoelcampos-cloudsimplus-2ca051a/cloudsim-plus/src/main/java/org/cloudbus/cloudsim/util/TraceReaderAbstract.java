@@ -2,9 +2,14 @@ package org.cloudbus.cloudsim.util;
 
 import java.io.*;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipInputStream;
 
@@ -24,6 +29,14 @@ import static java.util.Objects.requireNonNull;
  *       when running the simulation. For instance, you can use <b>java -Xmx200M</b>
  *       to define the JVM heap size will be 200MB.
  *   </li>
+ *   <li>Fields delimited by a single character or by white spaces
+ *       are split without using regular expressions.
+ *       For large trace files, lines can also be {@link #setParallelParsing(boolean) parsed in parallel}.
+ *   </li>
+ *   <li>If the same trace file is read several times (such as in repeated experiment runs),
+ *       a {@link #setCacheEnabled(boolean) binary cache} of the parsed lines can be enabled,
+ *       avoiding decompressing and parsing the file again.
+ *   </li>
  * </ul>
  * </p>
  *
@@ -31,12 +44,56 @@ import static java.util.Objects.requireNonNull;
  * @since CloudSim Plus 4.0.0
  */
 public abstract class TraceReaderAbstract implements TraceReader {
+    /**
+     * The size of the buffer (in chars) used to read trace files.
+     */
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    /**
+     * The number of lines parsed at once when {@link #isParallelParsing() parallel parsing} is enabled.
+     */
+    private static final int PARSING_CHUNK_LINES = 8192;
+
+    /**
+     * Regular expression characters which cannot be used as a
+     * {@link #fieldDelimiterChar} without being escaped.
+     */
+    private static final String REGEX_META_CHARS = ".$|()[]{}^?*+\\";
+
+    /**
+     * The regex used to split fields by white spaces.
+     */
+    private static final String WHITESPACE_REGEX = "\\s+";
+
     private final String filePath;
     private final InputStream inputStream;
 
     /** @see #getFieldDelimiterRegex() */
     private String fieldDelimiterRegex;
 
+    /**
+     * The compiled {@link #getFieldDelimiterRegex()}, used when fields
+     * are not delimited by a single character or by white spaces.
+     */
+    private Pattern fieldDelimiterPattern;
+
+    /**
+     * The character used to delimit fields when the {@link #getFieldDelimiterRegex()}
+     * just matches a single character, or 0 otherwise.
+     */
+    private char fieldDelimiterChar;
+
+    /**
+     * Indicates if the {@link #getFieldDelimiterRegex()} splits fields by white spaces.
+     */
+    private boolean whitespaceDelimiter;
+
+    /** @see #isParallelParsing() */
+    private boolean parallelParsing;
+
+    /** @see #isCacheEnabled() */
+    private boolean cacheEnabled;
+
     /**
      * @see #getMaxLinesToRead()
      */
@@ -47,6 +104,31 @@ public abstract class TraceReaderAbstract implements TraceReader {
     /** @see #getLastLineNumber() */
     private int lastLineNumber;
 
+    /**
+     * The reader used to {@link #readNextParsedLine() incrementally read} the trace file
+     * or null if such a reading has not started yet.
+     */
+    private BufferedReader incrementalReader;
+
+    /**
+     * The stream used to {@link #readNextParsedLine() incrementally read}
+     * the entries of a zip trace file or null if the file is not a zip one.
+     */
+    private ZipInputStream incrementalZipStream;
+
+    /**
+     * The reader used to {@link #readNextParsedLine() incrementally read}
+     * the {@link #setCacheEnabled(boolean) cache} of the trace file
+     * or null if such a reading has not started yet or the cache is not used.
+     */
+    private TraceFileCache.Reader incrementalCacheReader;
+
+    /**
+     * Indicates if the {@link #readNextParsedLine() incremental reading}
+     * of the trace file has reached its end.
+     */
+    private boolean incrementalReadingFinished;
+
     /**
      * Create a new SwfWorkloadFileReader object.
      *
@@ -71,7 +153,7 @@ public abstract class TraceReaderAbstract implements TraceReader {
             throw new IllegalArgumentException("Invalid trace file name.");
         }
 
-        this.fieldDelimiterRegex = "\\s+";
+        this.setFieldDelimiterRegex(WHITESPACE_REGEX);
         this.setMaxLinesToRead(Integer.MAX_VALUE);
         this.inputStream = inputStream;
         this.filePath = filePath;
@@ -103,8 +185,70 @@ public abstract class TraceReaderAbstract implements TraceReader {
     }
 
     @Override
-    public final TraceReader setFieldDelimiterRegex(String fieldDelimiterRegex) {
-        this.fieldDelimiterRegex = fieldDelimiterRegex;
+    public final TraceReader setFieldDelimiterRegex(final String fieldDelimiterRegex) {
+        this.fieldDelimiterRegex = requireNonNull(fieldDelimiterRegex);
+        this.fieldDelimiterPattern = Pattern.compile(fieldDelimiterRegex);
+        this.fieldDelimiterChar = getLiteralChar(fieldDelimiterRegex);
+        this.whitespaceDelimiter = WHITESPACE_REGEX.equals(fieldDelimiterRegex);
+        return this;
+    }
+
+    /**
+     * Gets the single character a regex matches.
+     * @param regex the regex to check
+     * @return the character the regex matches or 0 if the regex doesn't match just a single character
+     */
+    private static char getLiteralChar(final String regex) {
+        if(regex.length() == 1 && REGEX_META_CHARS.indexOf(regex.charAt(0)) == -1) {
+            return regex.charAt(0);
+        }
+
+        if(regex.length() == 2 && regex.charAt(0) == '\\') {
+            final char escaped = regex.charAt(1);
+            if(escaped == 't') {
+                return '\t';
+            }
+
+            return REGEX_META_CHARS.indexOf(escaped) == -1 ? 0 : escaped;
+        }
+
+        return 0;
+    }
+
+    @Override
+    public boolean isParallelParsing() {
+        return parallelParsing;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>When enabled, the {@link #parseTraceLine(String)} method is called concurrently,
+     * so that subclasses overriding it must ensure it's thread-safe.</p>
+     * @param parallelParsing {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public final TraceReader setParallelParsing(final boolean parallelParsing) {
+        this.parallelParsing = parallelParsing;
+        return this;
+    }
+
+    @Override
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>The cache is just used if the {@link #getFilePath()} is a file in the file system
+     * (not a resource inside a jar). If the cache cannot be created,
+     * the trace file is read as usual.</p>
+     * @param cacheEnabled {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public final TraceReader setCacheEnabled(final boolean cacheEnabled) {
+        this.cacheEnabled = cacheEnabled;
         return this;
     }
 
@@ -132,17 +276,115 @@ public abstract class TraceReaderAbstract implements TraceReader {
         return inputStream;
     }
 
+    /**
+     * Splits a trace line into fields, ensuring that empty fields won't be discarded.
+     * Leading and trailing white spaces are ignored.
+     *
+     * @param line the line to parse
+     * @return an array containing the field values or an empty array if the line is a comment
+     */
     protected String[] parseTraceLine(final String line){
         if (isComment(line)) {
             return new String[0];
         }
 
-        //Splits the string, ensuring that empty fields won't be discarded
-        return line.trim().split(fieldDelimiterRegex, -1);
+        int start = 0;
+        int end = line.length();
+        while (start < end && line.charAt(start) <= ' ') {
+            start++;
+        }
+
+        while (end > start && line.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        if(fieldDelimiterChar != 0) {
+            return splitByChar(line, start, end);
+        }
+
+        if(whitespaceDelimiter) {
+            return splitByWhitespaces(line, start, end);
+        }
+
+        return fieldDelimiterPattern.split(line.substring(start, end), -1);
+    }
+
+    /**
+     * Splits a line by the {@link #fieldDelimiterChar}.
+     * @param line the line to split
+     * @param start the index of the first char of the line to consider
+     * @param end the index after the last char of the line to consider
+     * @return the fields
+     */
+    private String[] splitByChar(final String line, final int start, final int end) {
+        int fieldsNumber = 1;
+        for (int i = start; i < end; i++) {
+            if (line.charAt(i) == fieldDelimiterChar) {
+                fieldsNumber++;
+            }
+        }
+
+        final String[] fields = new String[fieldsNumber];
+        int fieldStart = start;
+        for (int i = 0; i < fieldsNumber - 1; i++) {
+            final int fieldEnd = line.indexOf(fieldDelimiterChar, fieldStart);
+            fields[i] = line.substring(fieldStart, fieldEnd);
+            fieldStart = fieldEnd + 1;
+        }
+
+        fields[fieldsNumber - 1] = line.substring(fieldStart, end);
+        return fields;
+    }
+
+    /**
+     * Splits a line by sequences of white spaces (as the "\\s+" regex).
+     * @param line the line to split, which must not start or end with white spaces
+     * @param start the index of the first char of the line to consider
+     * @param end the index after the last char of the line to consider
+     * @return the fields
+     */
+    private static String[] splitByWhitespaces(final String line, final int start, final int end) {
+        int fieldsNumber = 1;
+        for (int i = start; i < end; i++) {
+            if (isWhitespace(line.charAt(i)) && !isWhitespace(line.charAt(i - 1))) {
+                fieldsNumber++;
+            }
+        }
+
+        final String[] fields = new String[fieldsNumber];
+        int fieldStart = start;
+        int field = 0;
+        for (int i = start; i < end; i++) {
+            if (!isWhitespace(line.charAt(i))) {
+                continue;
+            }
+
+            if (!isWhitespace(line.charAt(i - 1))) {
+                fields[field++] = line.substring(fieldStart, i);
+            }
+
+            fieldStart = i + 1;
+        }
+
+        fields[field] = line.substring(fieldStart, end);
+        return fields;
+    }
+
+    /**
+     * Checks if a char is a white space as defined by the "\\s" regex.
+     */
+    private static boolean isWhitespace(final char chr) {
+        return chr == ' ' || chr == '\t' || chr == '\n' || chr == '\u000B' || chr == '\f' || chr == '\r';
     }
 
     private boolean isComment(final String line) {
-        return Arrays.stream(commentString).anyMatch(line::startsWith);
+        for (final String comment : commentString) {
+            if (line.startsWith(comment)) {
+                return true;
+            }
+        }
+
+        return false;
     }
 
     /**
@@ -197,6 +439,11 @@ public abstract class TraceReaderAbstract implements TraceReader {
      * @throws UncheckedIOException if the there was any error reading the file
      */
     protected void readFile(final Function<String[], Boolean> processParsedLineFunction) {
+        if(cacheEnabled && prepareCache()) {
+            readCachedFile(processParsedLineFunction);
+            return;
+        }
+
         /*@TODO It would be implemented using specific classes to avoid this "if" chain.
                 If a new format is included, the code has to be changed to include another if*/
         try {
@@ -212,6 +459,92 @@ public abstract class TraceReaderAbstract implements TraceReader {
         }
     }
 
+    /**
+     * Creates the {@link #setCacheEnabled(boolean) cache} of the trace file,
+     * if there isn't a valid one yet.
+     * @return true if the cache can be used, false if the trace file must be read instead
+     */
+    private boolean prepareCache() {
+        final Path traceFile = Paths.get(filePath);
+        if(!Files.isRegularFile(traceFile)) {
+            LOGGER.warn("{}: {} is not in the file system, so a cache for it cannot be used.", getClass().getSimpleName(), filePath);
+            return false;
+        }
+
+        try {
+            if (!TraceFileCache.isValid(traceFile, getParsingConfigHash())) {
+                writeCache(traceFile);
+            }
+
+            return true;
+        } catch (IOException e) {
+            LOGGER.warn("{}: The cache for {} could not be created. Reading the trace file instead.", getClass().getSimpleName(), filePath, e);
+            return false;
+        }
+    }
+
+    /**
+     * Gets a hash of the attributes defining how trace lines are parsed,
+     * so that a cache created using different attributes is not used.
+     */
+    private long getParsingConfigHash() {
+        return 31L * fieldDelimiterRegex.hashCode() + Arrays.hashCode(commentString);
+    }
+
+    /**
+     * Parses all lines from the trace file and stores them into its {@link #setCacheEnabled(boolean) cache}.
+     * The trace file is read using a new {@link InputStream}, so that if the cache cannot be created,
+     * the one given to the constructor can still be used to read the file.
+     * @param traceFile the path of the trace file
+     */
+    private void writeCache(final Path traceFile) throws IOException {
+        try (InputStream input = Files.newInputStream(traceFile);
+             TraceFileCache.Writer writer = TraceFileCache.newWriter(traceFile, getParsingConfigHash()))
+        {
+            if (filePath.endsWith(".zip")) {
+                final ZipInputStream zipInputStream = new ZipInputStream(input);
+                while (zipInputStream.getNextEntry() != null) {
+                    writeCache(writer, zipInputStream);
+                }
+            } else writeCache(writer, filePath.endsWith(".gz") ? new GZIPInputStream(input) : input);
+
+            writer.commit();
+        }
+    }
+
+    private void writeCache(final TraceFileCache.Writer writer, final InputStream input) throws IOException {
+        //The reader is safely closed by the caller
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(input), BUFFER_SIZE);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            final String[] parsedTraceLine = parseTraceLine(line);
+            if (parsedTraceLine.length > 0) {
+                writer.write(parsedTraceLine);
+            }
+        }
+    }
+
+    /**
+     * Reads the parsed lines from the {@link #setCacheEnabled(boolean) cache} of the trace file.
+     *
+     * @param processParsedLineFunction a {@link Function} that receives each parsed line as an array
+     *                          and performs an operation over it, returning true if the operation was executed
+     * @throws UncheckedIOException if the there was any error reading the file
+     */
+    private void readCachedFile(final Function<String[], Boolean> processParsedLineFunction) {
+        try (TraceFileCache.Reader reader = TraceFileCache.newReader(Paths.get(filePath))) {
+            lastLineNumber = 0;
+            String[] parsedTraceLine;
+            while (lastLineNumber < maxLinesToRead && (parsedTraceLine = reader.next()) != null) {
+                if (processParsedLineFunction.apply(parsedTraceLine)) {
+                    lastLineNumber++;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      * Reads traces from an {@link InputStream} linked to a file in any supported format,
      * then creates a Cloudlet for each line read.
@@ -226,8 +559,13 @@ public abstract class TraceReaderAbstract implements TraceReader {
         requireNonNull(processParsedLineFunction);
 
         //The reader is safely closed by the caller
-        final BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream));
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream), BUFFER_SIZE);
         lastLineNumber = 0;
+        if(parallelParsing) {
+            readFileInParallel(reader, processParsedLineFunction);
+            return;
+        }
+
         String line;
         while ((line = readNextLine(reader, lastLineNumber)) != null) {
             final String[] parsedTraceLine = parseTraceLine(line);
@@ -237,6 +575,165 @@ public abstract class TraceReaderAbstract implements TraceReader {
         }
     }
 
+    /**
+     * Reads traces from a file, parsing chunks of lines in parallel,
+     * while the lines from the previous chunk are processed in order.
+     *
+     * @param reader the object that is reading the trace file
+     * @param processParsedLineFunction a {@link Function} that receives each parsed line as an array
+     *                          and performs an operation over it, returning true if the operation was executed
+     * @throws IOException if the there was any error reading the file
+     */
+    private void readFileInParallel(final BufferedReader reader, final Function<String[], Boolean> processParsedLineFunction) throws IOException {
+        CompletableFuture<String[][]> nextChunk = parseChunkAsync(readChunk(reader));
+        while (true) {
+            final String[][] parsedChunk = nextChunk.join();
+            if (parsedChunk.length == 0) {
+                return;
+            }
+
+            nextChunk = parseChunkAsync(readChunk(reader));
+            for (final String[] parsedTraceLine : parsedChunk) {
+                if (lastLineNumber >= maxLinesToRead) {
+                    return;
+                }
+
+                if(parsedTraceLine.length > 0 && processParsedLineFunction.apply(parsedTraceLine)) {
+                    lastLineNumber++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the next {@link #PARSING_CHUNK_LINES} lines from a trace file.
+     * @param reader the object that is reading the trace file
+     * @return the lines read (which is empty when there are no more lines to read)
+     */
+    private List<String> readChunk(final BufferedReader reader) throws IOException {
+        final List<String> lines = new ArrayList<>(PARSING_CHUNK_LINES);
+        String line;
+        while (lines.size() < PARSING_CHUNK_LINES && (line = readNextLine(reader, lastLineNumber)) != null) {
+            lines.add(line);
+        }
+
+        return lines;
+    }
+
+    private CompletableFuture<String[][]> parseChunkAsync(final List<String> lines) {
+        return CompletableFuture.supplyAsync(() -> lines.parallelStream().map(this::parseTraceLine).toArray(String[][]::new));
+    }
+
+    /**
+     * Reads the next line from the trace file, so that the file can be processed
+     * incrementally, instead of reading all lines at once using {@link #readFile(Function)}.
+     * Each call continues from where the previous one stopped,
+     * skipping comments and blank lines.
+     * This way, just the line being processed needs to be kept in memory.
+     * The file is closed when its end or the {@link #getMaxLinesToRead() maximum number of lines} is reached.
+     *
+     * @return an array containing the field values from the next line,
+     *         or null if there are no more lines to read
+     * @throws UncheckedIOException if the there was any error reading the file
+     */
+    protected String[] readNextParsedLine() {
+        if(incrementalReadingFinished){
+            return null;
+        }
+
+        try {
+            if (incrementalReader == null && incrementalCacheReader == null) {
+                lastLineNumber = 0;
+                if (cacheEnabled && prepareCache())
+                    incrementalCacheReader = TraceFileCache.newReader(Paths.get(filePath));
+                else incrementalReader = newIncrementalReader();
+            }
+
+            if (lastLineNumber < maxLinesToRead) {
+                final String[] parsedTraceLine =
+                    incrementalCacheReader == null ? readNextParsedLineFromTrace() : readNextParsedLineFromCache();
+                if (parsedTraceLine != null) {
+                    lastLineNumber++;
+                    return parsedTraceLine;
+                }
+            }
+
+            incrementalReadingFinished = true;
+            inputStream.close();
+            if (incrementalCacheReader != null) {
+                incrementalCacheReader.close();
+            }
+
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the next non-blank and non-comment line from the trace file.
+     * @return the field values of the line or null if there are no more lines
+     */
+    private String[] readNextParsedLineFromTrace() throws IOException {
+        while (incrementalReader != null) {
+            final String line = incrementalReader.readLine();
+            if (line == null) {
+                incrementalReader = nextZipEntryReader();
+                continue;
+            }
+
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+
+            final String[] parsedTraceLine = parseTraceLine(line);
+            if (parsedTraceLine.length > 0) {
+                return parsedTraceLine;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Reads the next non-blank line from the {@link #setCacheEnabled(boolean) cache} of the trace file.
+     * @return the field values of the line or null if there are no more lines
+     */
+    private String[] readNextParsedLineFromCache() throws IOException {
+        String[] parsedTraceLine;
+        do {
+            parsedTraceLine = incrementalCacheReader.next();
+        } while (parsedTraceLine != null && parsedTraceLine.length == 1 && parsedTraceLine[0].isEmpty());
+
+        return parsedTraceLine;
+    }
+
+    private BufferedReader newIncrementalReader() throws IOException {
+        requireNonNull(inputStream);
+        if (getFilePath().endsWith(".gz")) {
+            return new BufferedReader(new InputStreamReader(new GZIPInputStream(inputStream)), BUFFER_SIZE);
+        }
+
+        if (getFilePath().endsWith(".zip")) {
+            incrementalZipStream = new ZipInputStream(inputStream);
+            return nextZipEntryReader();
+        }
+
+        return new BufferedReader(new InputStreamReader(inputStream), BUFFER_SIZE);
+    }
+
+    /**
+     * Gets a reader for the next entry of a zip trace file being {@link #readNextParsedLine() incrementally read}.
+     * @return the reader for the next entry or null if the file is not a zip or there are no more entries
+     */
+    private BufferedReader nextZipEntryReader() throws IOException {
+        if (incrementalZipStream == null || incrementalZipStream.getNextEntry() == null) {
+            return null;
+        }
+
+        return new BufferedReader(new InputStreamReader(incrementalZipStream));
+    }
+
     /**
      * Reads the next line of the workload file.
      *
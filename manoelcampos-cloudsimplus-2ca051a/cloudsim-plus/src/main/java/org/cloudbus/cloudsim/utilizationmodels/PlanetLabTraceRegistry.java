@@ -0,0 +1,277 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.utilizationmodels;
+
+import org.cloudbus.cloudsim.util.MathUtil;
+import org.cloudbus.cloudsim.util.ResourceLoader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * A registry of the PlanetLab trace files already read by {@link UtilizationModelPlanetLab} instances,
+ * so that each trace file is read and parsed just once,
+ * even if it's used by thousands of Cloudlets or VMs.
+ * Instances using the same trace file (and the same number of data samples) share the same utilization array,
+ * unless they use a mapper Function to change the values read from the trace.
+ *
+ * <p>A trace file is read again if its size or last modification time changes.
+ * The registry is shared by all simulations running in the same JVM,
+ * but it just keeps a trace while there are {@link UtilizationModelPlanetLab} instances using it.
+ * After that, the trace is released by the garbage collector and removed from the registry.
+ * You can also call {@link #clear()} to stop sharing the traces already read.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 6.5.3
+ */
+public final class PlanetLabTraceRegistry {
+    /**
+     * A map where each key is composed by the number of data samples requested and the trace file path,
+     * and each value is a weak reference to the trace read from such a file.
+     */
+    private static final Map<String, TraceReference> TRACES = new ConcurrentHashMap<>();
+
+    /**
+     * A queue where the references to traces released by the garbage collector are added,
+     * so that they are removed from the {@link #TRACES} map.
+     */
+    private static final ReferenceQueue<Trace> RELEASED_TRACES = new ReferenceQueue<>();
+
+    /**
+     * A private constructor to avoid class instantiation.
+     */
+    private PlanetLabTraceRegistry(){/**/}
+
+    /**
+     * Gets the number of trace files in the registry.
+     * @return
+     */
+    public static int size() {
+        removeReleasedTraces();
+        return TRACES.size();
+    }
+
+    /**
+     * Removes all trace files from the registry.
+     * The utilization arrays of existing {@link UtilizationModelPlanetLab} instances are not affected.
+     */
+    public static void clear() {
+        TRACES.clear();
+    }
+
+    /**
+     * Gets a trace file from the registry, reading it if it wasn't read yet or was changed since then.
+     *
+     * @param workloadFilePath the path of a PlanetLab trace file
+     *                         (inside the application's resource directory or in the file system)
+     * @param dataSamples number of samples to read from the trace file
+     *                    (see {@link UtilizationModelPlanetLab#UtilizationModelPlanetLab(String, double, int)})
+     * @return the trace read from the file
+     * @throws NumberFormatException when a value inside the file is not a valid number
+     * @throws UncheckedIOException when the trace file cannot be read
+     */
+    static Trace getTrace(final String workloadFilePath, final int dataSamples) {
+        removeReleasedTraces();
+        final String version = getVersion(workloadFilePath);
+
+        /* Keeps a strong reference to the trace, since the one inside the map
+         * may be released as soon as it's returned. */
+        final Trace[] result = new Trace[1];
+        TRACES.compute(dataSamples + ":" + workloadFilePath, (key, ref) -> {
+            final Trace trace = ref == null ? null : ref.get();
+            if (trace != null && trace.version.equals(version)) {
+                result[0] = trace;
+                return ref;
+            }
+
+            result[0] = readTrace(workloadFilePath, dataSamples, version);
+            return new TraceReference(key, result[0]);
+        });
+
+        return result[0];
+    }
+
+    /**
+     * Removes from the registry the traces released by the garbage collector,
+     * since no {@link UtilizationModelPlanetLab} is using them anymore.
+     */
+    private static void removeReleasedTraces() {
+        TraceReference ref;
+        while ((ref = (TraceReference) RELEASED_TRACES.poll()) != null) {
+            TRACES.remove(ref.key, ref);
+        }
+    }
+
+    /**
+     * Gets a String identifying the current version of a trace file,
+     * composed by its size and last modification time.
+     * Resources inside a jar file cannot be changed, so they have always the same version.
+     */
+    private static String getVersion(final String workloadFilePath) {
+        final URL url = UtilizationModelPlanetLab.class.getResource("/" + workloadFilePath);
+        if (url != null && !"file".equals(url.getProtocol())) {
+            return "";
+        }
+
+        try {
+            final Path path = url == null ? Paths.get(workloadFilePath) : Paths.get(url.toURI());
+            return Files.isRegularFile(path) ? Files.size(path) + "@" + Files.getLastModifiedTime(path) : "";
+        } catch (IOException | URISyntaxException e) {
+            return "";
+        }
+    }
+
+    /**
+     * Reads the PlanetLab trace file in which each one of its lines
+     * is a resource utilization percentage to be used for a different simulation time.
+     * The number of the line represents the simulation time to which
+     * the value in such a line will be used as a resource utilization percentage.
+     * For instance, the line 0 represents a resource utilization percentage for
+     * simulation time 0.
+     *
+     * @param workloadFilePath the path of the trace file
+     * @param dataSamples number of samples to read from the workload file
+     *                    (see {@link UtilizationModelPlanetLab#UtilizationModelPlanetLab(String, double, int)})
+     * @param version the current version of the trace file
+     * @return the trace containing the utilization values read from the file (in scale from 0 to 1)
+     * @throws UncheckedIOException when the trace file cannot be read
+     */
+    private static Trace readTrace(final String workloadFilePath, int dataSamples, final String version) {
+        double[] utilization = {0};
+
+        int lineNum = 0;
+        try (BufferedReader reader = ResourceLoader.newBufferedReader(workloadFilePath, UtilizationModelPlanetLab.class)) {
+            String line;
+            while((line=reader.readLine())!=null && lineNum < utilization.length){
+                if(lineNum == 0){
+                    dataSamples = parseDataSamples(line, dataSamples);
+                    utilization = new double[dataSamples];
+                }
+
+                if(!isComment(line)) {
+                    utilization[lineNum++] = Double.parseDouble(line) / 100.0;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return new Trace(utilization, lineNum, version);
+    }
+
+    /**
+     * Try to get the number of lines from the trace file (data samples).
+     * @param line the first line read from the trace
+     * @param dataSamples The number of lines to read.
+     *                    If negative it means it will try to get the
+     *                    number of lines directly from the file.
+     *                    The trace may have its number of lines as a comment in the
+     *                    first line of the file.
+     * @return the given data sample if it's a positive number;
+     *         the default data sample if the given value is negative
+     *         and the file doesn't contain the number of lines in the first line;
+     *         the number of lines read from the file
+     */
+    private static int parseDataSamples(final String line, int dataSamples) {
+        if(dataSamples < 0){
+            dataSamples = isComment(line) ? MathUtil.parseInt(line.substring(1), UtilizationModelPlanetLab.DEF_DATA_SAMPLES) : UtilizationModelPlanetLab.DEF_DATA_SAMPLES;
+        }
+
+        return Math.max(2, dataSamples);
+    }
+
+    private static boolean isComment(final String line) {
+        return line.startsWith("#");
+    }
+
+    /**
+     * A weak reference to a trace inside the registry,
+     * which knows its key to be removed from the registry when the trace is released.
+     */
+    private static final class TraceReference extends WeakReference<Trace> {
+        private final String key;
+
+        private TraceReference(final String key, final Trace trace) {
+            super(trace, RELEASED_TRACES);
+            this.key = key;
+        }
+    }
+
+    /**
+     * The utilization values read from a PlanetLab trace file.
+     */
+    static final class Trace {
+        /**
+         * The utilization values (in scale from 0 to 1), where the positions
+         * after the {@link #readSamples} are zero.
+         */
+        private final double[] utilization;
+
+        /**
+         * The number of utilization values actually read from the trace file.
+         */
+        private final int readSamples;
+
+        /** @see PlanetLabTraceRegistry#getVersion(String) */
+        private final String version;
+
+        private Trace(final double[] utilization, final int readSamples, final String version) {
+            this.utilization = utilization;
+            this.readSamples = readSamples;
+            this.version = version;
+        }
+
+        /**
+         * Gets the utilization values, mapped by a given Function.
+         * @param mapper a Function to map the values read from the trace,
+         *               which must be the {@code identity} one to get the shared values array
+         * @return the shared array of utilization values (if the identity mapper is given)
+         *         or a new array containing the mapped values
+         */
+        double[] getUtilization(final UnaryOperator<Double> mapper) {
+            if (mapper == UtilizationModelPlanetLab.IDENTITY) {
+                return utilization;
+            }
+
+            final double[] mapped = Arrays.copyOf(utilization, utilization.length);
+            for (int i = 0; i < readSamples; i++) {
+                mapped[i] = mapper.apply(utilization[i]);
+            }
+
+            return mapped;
+        }
+    }
+}
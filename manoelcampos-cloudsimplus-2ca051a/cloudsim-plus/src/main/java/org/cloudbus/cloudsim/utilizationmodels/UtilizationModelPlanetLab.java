@@ -1,12 +1,5 @@
 package org.cloudbus.cloudsim.utilizationmodels;
 
-import org.cloudbus.cloudsim.util.MathUtil;
-import org.cloudbus.cloudsim.util.ResourceLoader;
-
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.UncheckedIOException;
 import java.util.Objects;
 import java.util.function.UnaryOperator;
 
@@ -20,6 +13,12 @@ import java.util.function.UnaryOperator;
  * This value in seconds is commonly used for the {@link #getSchedulingInterval() scheduling interval} attribute
  * when instantiating an object of this class.
  * </p>
+ *
+ * <p>Each trace file is read just once, even if it's used by multiple instances of this class.
+ * Instances created from the same trace file (that don't use a mapper Function)
+ * share the same utilization values, saving memory and time
+ * when there are thousands of Cloudlets or VMs using the same traces.
+ * See {@link PlanetLabTraceRegistry} for details.</p>
  */
 public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
     /**
@@ -52,6 +51,11 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
      */
     public static final int DEF_SCHEDULING_INTERVAL = 300;
 
+    /**
+     * The default mapper Function, which doesn't change the value read from the trace file.
+     */
+    static final UnaryOperator<Double> IDENTITY = UnaryOperator.identity();
+
     /**
      * @see #getSchedulingInterval()
      */
@@ -69,9 +73,20 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
      * by such a Function. If no mapper Function is set, the values
      * are returned and stored as read from the trace file (always in scale from 0 to 1).</p>
      *
-     * @see #readWorkloadFile(InputStreamReader, int)
+     * <p>When the values are read from a trace file and there is no mapper Function set,
+     * this array is shared by all instances using the same trace.
+     * That is why it's private and the values can just be read by {@link #getUtilizationSample(int)}.</p>
+     *
+     * @see PlanetLabTraceRegistry
      */
-    protected final double[] utilization;
+    private final double[] utilization;
+
+    /**
+     * The trace the {@link #utilization} values were read from,
+     * which is kept in the {@link PlanetLabTraceRegistry} while there are instances using it
+     * (or null if the values were not read from a trace file).
+     */
+    private final PlanetLabTraceRegistry.Trace trace;
 
     /**
      * Instantiates a new PlanetLab utilization model from a trace
@@ -111,7 +126,7 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
      * @see #getSchedulingInterval()
      */
     public static UtilizationModelPlanetLab getInstance(final String workloadFilePath, final double schedulingInterval) {
-        return new UtilizationModelPlanetLab(newReader(workloadFilePath), schedulingInterval, -1);
+        return new UtilizationModelPlanetLab(workloadFilePath, schedulingInterval, -1);
     }
 
     /**
@@ -141,11 +156,7 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
      * @see #getInstance(String)
      */
     public static UtilizationModelPlanetLab getInstance(final String workloadFilePath, final UnaryOperator<Double> mapper) throws NumberFormatException {
-        return new UtilizationModelPlanetLab(newReader(workloadFilePath), DEF_SCHEDULING_INTERVAL, -1, mapper);
-    }
-
-    private static InputStreamReader newReader(final String workloadFilePath) {
-        return ResourceLoader.newInputStreamReader(workloadFilePath, UtilizationModelPlanetLab.class);
+        return new UtilizationModelPlanetLab(workloadFilePath, mapper);
     }
 
     /**
@@ -196,7 +207,7 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
      * @see #getInstance(String)
      */
     public UtilizationModelPlanetLab(final String workloadFilePath, final UnaryOperator<Double> mapper) throws NumberFormatException {
-        this(newReader(workloadFilePath), DEF_SCHEDULING_INTERVAL, -1, mapper);
+        this(PlanetLabTraceRegistry.getTrace(workloadFilePath, -1), DEF_SCHEDULING_INTERVAL, mapper);
     }
 
     /**
@@ -220,27 +231,19 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
     public UtilizationModelPlanetLab(final String workloadFilePath, final double schedulingInterval, final int dataSamples) throws NumberFormatException {
         /*The default mapper Function doesn't change the value read from the trace file.
          Therefore, the value is used as is.*/
-        this(newReader(workloadFilePath), schedulingInterval, dataSamples);
+        this(PlanetLabTraceRegistry.getTrace(workloadFilePath, dataSamples), schedulingInterval, IDENTITY);
     }
 
     private UtilizationModelPlanetLab(
-        final InputStreamReader sreader,
+        final PlanetLabTraceRegistry.Trace trace,
         final double schedulingInterval,
-        final int dataSamples) throws NumberFormatException
-    {
-        this(sreader, schedulingInterval, dataSamples, UnaryOperator.identity());
-    }
-
-    private UtilizationModelPlanetLab(
-        final InputStreamReader sreader,
-        final double schedulingInterval,
-        final int dataSamples,
-        final UnaryOperator<Double> mapper) throws NumberFormatException
+        final UnaryOperator<Double> mapper)
     {
         super();
         setSchedulingInterval(schedulingInterval);
         this.mapper = Objects.requireNonNull(mapper);
-        utilization = readWorkloadFile(sreader, dataSamples);
+        this.trace = trace;
+        utilization = trace.getUtilization(mapper);
     }
 
     /**
@@ -278,72 +281,7 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
             throw new IllegalArgumentException("The number of utilization samples must be greater than 1.");
         }
         this.utilization = utilization;
-    }
-
-    /**
-     * Reads the planet lab workload file in which each one of its lines
-     * is a resource utilization percentage to be used for a different simulation time.
-     * The number of the line represents the simulation time to which
-     * the value in such a line will be used as a resource utilization percentage.
-     * For instance, the line 0 represents a resource utilization percentage for
-     * simulation time 0.
-     *
-     * @param sreader the {@link InputStreamReader} to read the file
-     * @param dataSamples number of samples to read from the workload file.
-     *                    If -1 is given, it checks if the first line of the trace has a comment.
-     *                    In this case, that comment is expected to represent the number of lines
-     *                    inside the trace and it will be used to accordingly create an array
-     *                    of that size to store the values read from the trace.
-     *                    If the file doesn't have such a comment with a valid line number,
-     *                    it will be tried to read just {@link #DEF_DATA_SAMPLES} lines
-     *                    from the trace.
-     * @return an array containing the utilization values read from the trace file (in scale from 0 to 1)
-     * @throws UncheckedIOException when the trace file cannot be read
-     * @see #utilization
-     */
-    private double[] readWorkloadFile(final InputStreamReader sreader, int dataSamples) {
-        Objects.requireNonNull(sreader);
-        double[] utilization = {0};
-
-        try (BufferedReader reader = new BufferedReader(sreader)) {
-            int lineNum = 0;
-            String line;
-            while((line=reader.readLine())!=null && lineNum < utilization.length){
-                if(lineNum == 0){
-                    dataSamples = parseDataSamples(line, dataSamples);
-                    utilization = createEmptyArray(dataSamples);
-                }
-
-                if(!isComment(line)) {
-                    utilization[lineNum++] = mapper.apply(Double.parseDouble(line) / 100.0);
-                }
-            }
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
-        }
-
-        return utilization;
-    }
-
-    /**
-     * Try to get the number of lines from the trace file (data samples).
-     * @param line the first line read from the trace
-     * @param dataSamples The number of lines to read.
-     *                    If negative it means it will try to get the
-     *                    number of lines directly from the file.
-     *                    The trace may have its number of lines as a comment in the
-     *                    first line of the file.
-     * @return the given data sample if it's a positive number;
-     *         the default data sample if the given value is negative
-     *         and the file doesn't contain the number of lines in the first line;
-     *         the number of lines read from the file
-     */
-    private int parseDataSamples(final String line, int dataSamples) {
-        if(dataSamples < 0){
-            dataSamples = isComment(line) ? MathUtil.parseInt(line.substring(1), DEF_DATA_SAMPLES) : DEF_DATA_SAMPLES;
-        }
-
-        return Math.max(2, dataSamples);
+        this.trace = null;
     }
 
     /**
@@ -354,17 +292,25 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
         return utilization.length;
     }
 
-    private boolean isComment(final String line) {
-        return line.startsWith("#");
+    /**
+     * Gets a utilization value read from the trace file
+     * (or computed by the {@link #mapper} Function).
+     *
+     * @param index the index of the utilization sample, from 0 to {@link #getDataSamples()}-1
+     * @return the utilization value (usually in scale from 0 to 1)
+     */
+    public double getUtilizationSample(final int index){
+        return utilization[index];
     }
 
-    private double[] createEmptyArray(final int size) {
-        final double[] data = new double[size];
-        for (int i = 0; i < size; i++) {
-            data[i]=0;
-        }
-
-        return data;
+    /**
+     * Checks if this instance shares the utilization values with another one,
+     * which happens when both were read from the same trace file, without a mapper Function.
+     * @param other the other instance to check
+     * @return true if the utilization values are shared, false otherwise
+     */
+    /* default */ boolean isSharingUtilizationWith(final UtilizationModelPlanetLab other){
+        return utilization == other.utilization;
     }
 
     @Override
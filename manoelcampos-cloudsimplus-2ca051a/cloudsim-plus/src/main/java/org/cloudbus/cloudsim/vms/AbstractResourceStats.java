@@ -3,6 +3,7 @@ package org.cloudbus.cloudsim.vms;
 import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
 import org.cloudbus.cloudsim.core.AbstractMachine;
 import org.cloudbus.cloudsim.resources.Resource;
+import org.cloudbus.cloudsim.util.SlidingWindowStats;
 
 import java.util.Objects;
 import java.util.function.Function;
@@ -22,6 +23,8 @@ public abstract class AbstractResourceStats<T extends AbstractMachine> {
     private double previousTime;
     private double previousUtilization;
 
+    /** @see #getHistory() */
+    private SlidingWindowStats history;
     /**
      * Creates a ResourceStats to collect resource utilization statistics.
      * @param machine the machine where the statistics will be collected (which can be a Vm or Host)
@@ -32,6 +35,7 @@ public abstract class AbstractResourceStats<T extends AbstractMachine> {
         this.resourceUtilizationFunction = Objects.requireNonNull(resourceUtilizationFunction);
         this.machine = Objects.requireNonNull(machine);
         this.stats = new SummaryStatistics();
+        this.history = SlidingWindowStats.NULL;
     }
 
     /**
@@ -60,6 +64,7 @@ public abstract class AbstractResourceStats<T extends AbstractMachine> {
             }
 
             this.stats.addValue(utilization);
+            this.history.add(utilization);
             this.previousUtilization = utilization;
             return true;
         } finally {
@@ -67,6 +72,36 @@ public abstract class AbstractResourceStats<T extends AbstractMachine> {
         }
     }
 
+    /**
+     * Gets a window with the latest resource utilization percentages (from 0 to 1) collected,
+     * which is just kept after {@link #enableHistory(int)} is called.
+     * @return the utilization history or {@link SlidingWindowStats#NULL} if it's not enabled
+     */
+    public SlidingWindowStats getHistory() {
+        return history;
+    }
+
+    /**
+     * Enables keeping the latest resource utilization percentages collected,
+     * which can be got by {@link #getHistory()}.
+     * If the history is already enabled with a lower capacity,
+     * it's enlarged, keeping the values already collected.
+     *
+     * @param capacity the maximum number of latest utilization values to keep
+     */
+    public void enableHistory(final int capacity) {
+        if(history != SlidingWindowStats.NULL && history.getCapacity() >= capacity){
+            return;
+        }
+
+        final SlidingWindowStats newHistory = new SlidingWindowStats(capacity);
+        for (final double value : history.toArray()) {
+            newHistory.add(value);
+        }
+
+        this.history = newHistory;
+    }
+
     /**
      * Gets the minimum resource utilization percentage (from 0 to 1).
      * @return
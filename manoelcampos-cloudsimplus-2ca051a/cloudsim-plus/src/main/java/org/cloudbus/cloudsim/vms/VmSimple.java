@@ -113,6 +113,13 @@ public class VmSimple extends CustomerEntityAbstract implements Vm {
     private MipsShare allocatedMips;
     private MipsShare requestedMips;
 
+    /**
+     * Operations given to {@link org.cloudbus.cloudsim.core.Simulation#runSequentially(Runnable)} at every VM processing update,
+     * which are created just once to avoid allocating a new object at each update.
+     */
+    private final Runnable updateProcessingListenersNotifier = this::notifyOnUpdateProcessingListeners;
+    private final Runnable idleVmDestructionRequester = () -> getBroker().requestIdleVmDestruction(this);
+
     /**
      * Creates a Vm with 1024 MEGA of RAM, 100 Megabits/s of Bandwidth and 1024 MEGA of Storage Size.
      * To change these values, use the respective setters. While the Vm {@link #isCreated()
@@ -276,7 +283,9 @@ public class VmSimple extends CustomerEntityAbstract implements Vm {
             setLastBusyTime();
         }
         final double nextSimulationDelay = cloudletScheduler.updateProcessing(currentTime, mipsShare);
-        notifyOnUpdateProcessingListeners();
+        if (!onUpdateProcessingListeners.isEmpty()) {
+            getSimulation().runSequentially(updateProcessingListenersNotifier);
+        }
 
         /* If the current time is some value with the decimals greater than x.0
          * (such as 45.1) and the next event delay is any integer number such as 5,
@@ -289,7 +298,8 @@ public class VmSimple extends CustomerEntityAbstract implements Vm {
          */
         final double decimals = currentTime - (int) currentTime;
         cpuUtilizationStats.add(currentTime);
-        getBroker().requestIdleVmDestruction(this);
+        //The broker is shared among Hosts that may be updated in parallel
+        getSimulation().runSequentially(idleVmDestructionRequester);
         if (nextSimulationDelay == Double.MAX_VALUE) {
             return nextSimulationDelay;
         }
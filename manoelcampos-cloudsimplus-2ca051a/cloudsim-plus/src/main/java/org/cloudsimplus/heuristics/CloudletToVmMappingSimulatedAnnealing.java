@@ -74,7 +74,7 @@ public class CloudletToVmMappingSimulatedAnnealing
     }
 
     private boolean isThereInitialSolution(){
-        return !initialSolution.getResult().isEmpty();
+        return initialSolution.getCloudletsNumber() > 0;
     }
 
     @Override
@@ -121,4 +121,59 @@ public class CloudletToVmMappingSimulatedAnnealing
         return clone;
     }
 
+    /**
+     * {@inheritDoc}
+     * The chain uses the same VMs and Cloudlets of this heuristic.
+     * If this heuristic already has an initial solution, all chains start from it.
+     * Otherwise, each chain generates its own random initial solution.
+     *
+     * @param random {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    protected CloudletToVmMappingSimulatedAnnealing createChain(final ContinuousDistribution random) {
+        final CloudletToVmMappingSimulatedAnnealing chain =
+            new CloudletToVmMappingSimulatedAnnealing(getCurrentTemperature(), random);
+        chain.setVmList(vmList);
+        chain.setCloudletList(cloudletList);
+        if(isThereInitialSolution()) {
+            chain.initialSolution = initialSolution;
+        }
+
+        return chain;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Instead of creating a neighbor solution for each search,
+     * the VMs of two random Cloudlets are swapped directly in the current solution
+     * when such a move is accepted. Since the cost of a swap is evaluated in constant time,
+     * each search takes O(1), no matter the number of Cloudlets.
+     * The initial solution is cloned once, before the first search, so that it's not changed.</p>
+     */
+    @Override
+    protected void searchSolutionInNeighborhood() {
+        if(getBestSolutionSoFar() == initialSolution) {
+            setBestSolutionSoFar(new CloudletToVmMappingSolution(initialSolution));
+        }
+
+        final CloudletToVmMappingSolution solution = getBestSolutionSoFar();
+        final int cloudlets = solution.getCloudletsNumber();
+        for (int i = 0; i < getNeighborhoodSearchesByIteration(); i++) {
+            if(cloudlets < 2){
+                continue;
+            }
+
+            final int firstIdx = getRandomValue(cloudlets);
+            final int secondIdx = getRandomValue(cloudlets);
+            final double neighborCost = solution.getCostOfSwap(firstIdx, secondIdx);
+            if (getAcceptanceProbability(solution.getCost(), neighborCost) > getRandomValue(1)) {
+                solution.swapVmsOfCloudlets(firstIdx, secondIdx);
+            }
+        }
+
+        setNeighborSolution(solution);
+    }
+
 }
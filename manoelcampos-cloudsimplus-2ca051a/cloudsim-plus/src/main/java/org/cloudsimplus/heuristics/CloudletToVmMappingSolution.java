@@ -33,6 +33,13 @@ import java.util.stream.Collectors;
  * A possible solution for mapping a set of Cloudlets to a set of Vm's.
  * It represents a solution generated using a {@link Heuristic} implementation.
  *
+ * <p>Cloudlets and VMs are stored in arrays, indexed by the order they were bound.
+ * For each VM, it's kept the number of Cloudlets and the sum of their PEs,
+ * so that the solution cost is updated in O(1) when a Cloudlet is moved to another VM.
+ * That enables evaluating ({@link #getCostOfSwap(int, int)}), applying and rolling back
+ * ({@link #swapVmsOfCloudlets(int, int)}) a neighborhood move in constant time,
+ * no matter the number of Cloudlets.</p>
+ *
  * @author Manoel Campos da Silva Filho
  * @see Heuristic
  * @since CloudSim Plus 1.0
@@ -46,27 +53,67 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
      */
     public static final double MIN_DIFF = 0.0001;
 
+    private static final int DEF_CAPACITY = 16;
+
+    /**
+     * The Cloudlets in the solution, where the position of each Cloudlet is its index in the arrays below.
+     */
+    private List<Cloudlet> cloudlets;
+
+    /**
+     * A map where each key is a Cloudlet and the value is its index in the {@link #cloudlets} List.
+     */
+    private Map<Cloudlet, Integer> cloudletIndexes;
+
+    /**
+     * The VMs in the solution, where the position of each VM is its index in the arrays below.
+     */
+    private List<Vm> vms;
+
+    /**
+     * A map where each key is a VM and the value is its index in the {@link #vms} List.
+     */
+    private Map<Vm, Integer> vmIndexes;
+
+    /**
+     * Indicates if the {@link #cloudlets} and {@link #vms} Lists (and their index maps)
+     * are shared with a cloned solution.
+     * Since neighbor solutions just move Cloudlets between VMs,
+     * such Lists are only copied when a new Cloudlet or VM is added to a solution.
+     */
+    private boolean sharedIndexes;
+
+    /**
+     * The index of the VM each Cloudlet is bound to,
+     * where each position is the index of a Cloudlet.
+     */
+    private int[] cloudletVms;
+
+    /**
+     * The number of PEs of each Cloudlet when it was bound to a VM.
+     */
+    private long[] cloudletPes;
+
+    /**
+     * The number of PEs of each VM when it was firstly added to the solution.
+     */
+    private long[] vmPes;
+
     /**
-     * @see #getResult()
+     * The sum of PEs from the Cloudlets bound to each VM.
      */
-    private final Map<Cloudlet, Vm> cloudletVmMap;
+    private long[] vmCloudletsPes;
 
     /**
-     * Indicates if the {@link #getCost() ()} has to be recomputed
-     * due to changes in {@link #cloudletVmMap}.
-     * When it is computed, its value is stored to be used
-     * in subsequent calls, until the map is changed again, in order to
-     * improve performance.
+     * The number of Cloudlets bound to each VM.
      */
-    private boolean recomputeCost = true;
+    private int[] vmCloudletsNumber;
 
     /**
-     * The last computed cost value, since the
-     * last time the {@link #cloudletVmMap} was changed.
+     * The cost of the entire mapping, updated each time a Cloudlet is moved to another VM.
      * @see #getCost()
-     * @see #recomputeCost
      */
-    private double lastCost;
+    private long cost;
 
     private final Heuristic heuristic;
 
@@ -78,24 +125,40 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
      * being created.
      */
     public CloudletToVmMappingSolution(final Heuristic heuristic){
-        this(heuristic, new HashMap<>());
-    }
-
-    private CloudletToVmMappingSolution(final Heuristic heuristic, final Map<Cloudlet, Vm> cloudletVmMap){
         this.heuristic = heuristic;
-        this.cloudletVmMap = cloudletVmMap;
+        this.cloudlets = new ArrayList<>();
+        this.cloudletIndexes = new HashMap<>();
+        this.vms = new ArrayList<>();
+        this.vmIndexes = new HashMap<>();
+        this.cloudletVms = new int[DEF_CAPACITY];
+        this.cloudletPes = new long[DEF_CAPACITY];
+        this.vmPes = new long[DEF_CAPACITY];
+        this.vmCloudletsPes = new long[DEF_CAPACITY];
+        this.vmCloudletsNumber = new int[DEF_CAPACITY];
     }
 
     /**
      * Clones a given solution.
+     * The arrays of the given solution are copied,
+     * but the Lists of Cloudlets and VMs are shared until
+     * a new Cloudlet or VM is added to one of the solutions.
      *
      * @param solution the solution to be cloned
      */
     public CloudletToVmMappingSolution(final CloudletToVmMappingSolution solution){
-        this(solution.heuristic, new HashMap<>(solution.cloudletVmMap));
-        this.recomputeCost = solution.recomputeCost;
-        this.lastCost = solution.lastCost;
-        this.cloudletVmMap.putAll(solution.cloudletVmMap);
+        this.heuristic = solution.heuristic;
+        this.cloudlets = solution.cloudlets;
+        this.cloudletIndexes = solution.cloudletIndexes;
+        this.vms = solution.vms;
+        this.vmIndexes = solution.vmIndexes;
+        this.sharedIndexes = true;
+        solution.sharedIndexes = true;
+        this.cloudletVms = solution.cloudletVms.clone();
+        this.cloudletPes = solution.cloudletPes.clone();
+        this.vmPes = solution.vmPes.clone();
+        this.vmCloudletsPes = solution.vmCloudletsPes.clone();
+        this.vmCloudletsNumber = solution.vmCloudletsNumber.clone();
+        this.cost = solution.cost;
     }
 
     /**
@@ -105,65 +168,174 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
      * @param vm the Vm to assign a cloudlet to
      */
     public void bindCloudletToVm(final Cloudlet cloudlet, final Vm vm){
-        cloudletVmMap.put(cloudlet, vm);
-        recomputeCost = true;
+        final int vmIndex = getVmIndex(vm);
+        moveCloudlet(getCloudletIndex(cloudlet), vmIndex);
     }
 
-    @Override
-    public Heuristic<HeuristicSolution<Map<Cloudlet, Vm>>> getHeuristic() {
-        return heuristic;
+    /**
+     * Gets the index of a Cloudlet in the solution, adding it if it isn't in the solution yet.
+     * @param cloudlet the Cloudlet to get its index
+     * @return the Cloudlet index
+     */
+    private int getCloudletIndex(final Cloudlet cloudlet) {
+        final Integer index = cloudletIndexes.get(cloudlet);
+        if(index != null) {
+            return index;
+        }
+
+        copySharedIndexes();
+        final int newIndex = cloudlets.size();
+        cloudlets.add(cloudlet);
+        cloudletIndexes.put(cloudlet, newIndex);
+        if(newIndex == cloudletVms.length) {
+            cloudletVms = Arrays.copyOf(cloudletVms, newIndex * 2);
+            cloudletPes = Arrays.copyOf(cloudletPes, newIndex * 2);
+        }
+
+        cloudletVms[newIndex] = -1;
+        cloudletPes[newIndex] = cloudlet.getNumberOfPes();
+        return newIndex;
+    }
+
+    /**
+     * Gets the index of a VM in the solution, adding it if it isn't in the solution yet.
+     * @param vm the VM to get its index
+     * @return the VM index
+     */
+    private int getVmIndex(final Vm vm) {
+        final Integer index = vmIndexes.get(vm);
+        if(index != null) {
+            return index;
+        }
+
+        copySharedIndexes();
+        final int newIndex = vms.size();
+        vms.add(vm);
+        vmIndexes.put(vm, newIndex);
+        if(newIndex == vmPes.length) {
+            vmPes = Arrays.copyOf(vmPes, newIndex * 2);
+            vmCloudletsPes = Arrays.copyOf(vmCloudletsPes, newIndex * 2);
+            vmCloudletsNumber = Arrays.copyOf(vmCloudletsNumber, newIndex * 2);
+        }
+
+        vmPes[newIndex] = vm.getNumberOfPes();
+        return newIndex;
     }
 
-    private void recomputeCostIfRequested() {
-        if(!this.recomputeCost) {
+    /**
+     * Copies the Lists of Cloudlets and VMs (and their index maps) if they are shared with another solution,
+     * before a new Cloudlet or VM is added.
+     */
+    private void copySharedIndexes() {
+        if(!sharedIndexes) {
             return;
         }
 
-        this.lastCost = computeCostOfAllVms();
-        this.recomputeCost = false;
+        cloudlets = new ArrayList<>(cloudlets);
+        cloudletIndexes = new HashMap<>(cloudletIndexes);
+        vms = new ArrayList<>(vms);
+        vmIndexes = new HashMap<>(vmIndexes);
+        sharedIndexes = false;
     }
 
-    private double computeCostOfAllVms() {
-        return groupCloudletsByVm()
-                .entrySet()
-                .stream()
-                .mapToDouble(this::getVmCost)
-                .sum();
+    /**
+     * Moves a Cloudlet to a VM, updating the solution cost.
+     * @param cloudletIndex the index of the Cloudlet to move
+     * @param vmIndex the index of the VM to move the Cloudlet to
+     */
+    private void moveCloudlet(final int cloudletIndex, final int vmIndex) {
+        final int previousVmIndex = cloudletVms[cloudletIndex];
+        if(previousVmIndex == vmIndex) {
+            return;
+        }
+
+        if(previousVmIndex >= 0) {
+            cost -= getVmCost(previousVmIndex);
+            vmCloudletsPes[previousVmIndex] -= cloudletPes[cloudletIndex];
+            vmCloudletsNumber[previousVmIndex]--;
+            cost += getVmCost(previousVmIndex);
+        }
+
+        cost -= getVmCost(vmIndex);
+        vmCloudletsPes[vmIndex] += cloudletPes[cloudletIndex];
+        vmCloudletsNumber[vmIndex]++;
+        cost += getVmCost(vmIndex);
+
+        cloudletVms[cloudletIndex] = vmIndex;
     }
 
     /**
-     * Gets a Map of Cloudlets grouped by their VMs,
-     * where each key is a VM and the value is a List of Map Entries
-     * containing the Cloudlets running in that VM.
-     * @return
+     * Gets the cost of the Cloudlets currently bound to a given VM.
+     * A VM with no Cloudlet has no cost.
+     * @param vmIndex the index of the VM
+     * @return the VM cost
+     * @see #getVmCost(Vm, List)
      */
-    private Map<Vm, List<Map.Entry<Cloudlet, Vm>>> groupCloudletsByVm() {
-        return cloudletVmMap.entrySet().stream()
-            .collect(Collectors.groupingBy(Map.Entry::getValue));
+    private long getVmCost(final int vmIndex) {
+        return vmCloudletsNumber[vmIndex] == 0 ? 0 : getVmCost(vmIndex, vmCloudletsPes[vmIndex]);
+    }
+
+    private long getVmCost(final int vmIndex, final long cloudletsPes) {
+        return Math.abs(vmPes[vmIndex] - cloudletsPes);
+    }
+
+    @Override
+    public Heuristic<HeuristicSolution<Map<Cloudlet, Vm>>> getHeuristic() {
+        return heuristic;
+    }
+
+    /**
+     * Computes the cost of all Cloudlets to VMs mapping from scratch,
+     * getting the current number of PEs from every Cloudlet and VM.
+     */
+    private void recomputeCost() {
+        Arrays.fill(vmCloudletsPes, 0);
+        Arrays.fill(vmCloudletsNumber, 0);
+        for (int i = 0; i < vms.size(); i++) {
+            vmPes[i] = vms.get(i).getNumberOfPes();
+        }
+
+        for (int i = 0; i < cloudlets.size(); i++) {
+            cloudletPes[i] = cloudlets.get(i).getNumberOfPes();
+            vmCloudletsPes[cloudletVms[i]] += cloudletPes[i];
+            vmCloudletsNumber[cloudletVms[i]]++;
+        }
+
+        cost = 0;
+        for (int i = 0; i < vms.size(); i++) {
+            cost += getVmCost(i);
+        }
     }
 
     /**
      * {@inheritDoc}
      *
      * It computes the cost of the entire mapping between Vm's and Cloudlets.
+     * The cost is kept up-to-date as Cloudlets are bound to VMs,
+     * considering the number of PEs Cloudlets and VMs had when they were added to the solution.
      *
      * @return {@inheritDoc}
+     * @see #getCost(boolean)
      */
     @Override
     public double getCost() {
-        recomputeCostIfRequested();
-        return this.lastCost;
+        return cost;
     }
 
     /**
      * It computes the costs of the entire mapping between Vm's and cloudlets.
      *
-     * @param forceRecompute indicate if the cost has to be recomputed anyway
+     * @param forceRecompute indicate if the cost has to be recomputed anyway,
+     *                       getting the current number of PEs from every Cloudlet and VM
+     *                       (which may have changed after they were added to the solution)
      * @return the cost of the entire mapping between Vm's and cloudlets
      * @see #getCost()
      */
     public double getCost(final boolean forceRecompute) {
-        recomputeCost |= forceRecompute;
+        if(forceRecompute) {
+            recomputeCost();
+        }
+
         return getCost();
     }
 
@@ -238,17 +410,80 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
     /**
      *
      * @return the actual solution, providing the mapping between Cloudlets
-     * and Vm's.
+     * and Vm's. The returned Map is a read-only view of the solution,
+     * reflecting any later change in it.
      */
     @Override
     public Map<Cloudlet, Vm> getResult() {
-        return Collections.unmodifiableMap(cloudletVmMap);
+        return new ResultMap();
+    }
+
+    /**
+     * Gets the number of Cloudlets in the solution.
+     * Each Cloudlet is identified by an index from 0 to this number - 1,
+     * according to the order the Cloudlets were bound to VMs.
+     * @return
+     */
+    public int getCloudletsNumber() {
+        return cloudlets.size();
+    }
+
+    /**
+     * Computes the cost this solution would have if the VMs of two Cloudlets were swapped,
+     * without changing the solution. It takes constant time.
+     *
+     * @param cloudletIndex1 the index of the first Cloudlet
+     * @param cloudletIndex2 the index of the second Cloudlet
+     * @return the cost of the solution after the swap
+     * @see #swapVmsOfCloudlets(int, int)
+     */
+    public double getCostOfSwap(final int cloudletIndex1, final int cloudletIndex2) {
+        final int vmIndex1 = cloudletVms[checkCloudletIndex(cloudletIndex1)];
+        final int vmIndex2 = cloudletVms[checkCloudletIndex(cloudletIndex2)];
+        if(vmIndex1 == vmIndex2) {
+            return cost;
+        }
+
+        final long pesDiff = cloudletPes[cloudletIndex2] - cloudletPes[cloudletIndex1];
+        //The number of Cloudlets of each VM doesn't change, therefore both VMs keep having a cost
+        return cost
+               - getVmCost(vmIndex1) + getVmCost(vmIndex1, vmCloudletsPes[vmIndex1] + pesDiff)
+               - getVmCost(vmIndex2) + getVmCost(vmIndex2, vmCloudletsPes[vmIndex2] - pesDiff);
+    }
+
+    /**
+     * Swaps the VMs of two Cloudlets in constant time, updating the solution cost.
+     * Since the operation is its own inverse, calling it again with the same
+     * Cloudlets rolls the change back.
+     *
+     * @param cloudletIndex1 the index of the first Cloudlet
+     * @param cloudletIndex2 the index of the second Cloudlet
+     * @return true if the Cloudlets were in different VMs and then were swapped, false otherwise
+     * @see #getCostOfSwap(int, int)
+     */
+    public boolean swapVmsOfCloudlets(final int cloudletIndex1, final int cloudletIndex2) {
+        final int vmIndex1 = cloudletVms[checkCloudletIndex(cloudletIndex1)];
+        final int vmIndex2 = cloudletVms[checkCloudletIndex(cloudletIndex2)];
+        if(vmIndex1 == vmIndex2) {
+            return false;
+        }
+
+        moveCloudlet(cloudletIndex1, vmIndex2);
+        moveCloudlet(cloudletIndex2, vmIndex1);
+        return true;
+    }
+
+    private int checkCloudletIndex(final int cloudletIndex) {
+        if(cloudletIndex < 0 || cloudletIndex >= cloudlets.size()) {
+            throw new IndexOutOfBoundsException("Invalid Cloudlet index: " + cloudletIndex);
+        }
+
+        return cloudletIndex;
     }
 
     /**
      * Swap the Vm's of 2 randomly selected cloudlets
-     * in the {@link #cloudletVmMap} in order to
-     * provide a neighbor solution.
+     * in order to provide a neighbor solution.
      *
      * The method change the given Map entries, moving the
      * cloudlet of the first entry to the Vm of the second entry
@@ -274,84 +509,135 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
 
     /**
      * Swap the Vm's of 2 randomly selected cloudlets
-     * in the {@link #cloudletVmMap} in order to
-     * provide a neighbor solution.
-     *
-     * The method change the given Map entries, moving the
-     * cloudlet of the first entry to the Vm of the second entry
-     * and vice-versa.
+     * in order to provide a neighbor solution.
      *
-     * @see #swapVmsOfTwoMapEntries(List)
+     * @see #swapVmsOfCloudlets(int, int)
      * @return true if the Cloudlet's VMs where swapped, false otherwise
      */
     boolean swapVmsOfTwoRandomSelectedMapEntries() {
-        return swapVmsOfTwoMapEntries(getRandomMapEntries());
+        if(cloudlets.size() < 2) {
+            return false;
+        }
+
+        final int firstIdx = heuristic.getRandomValue(cloudlets.size());
+        final int secondIdx = heuristic.getRandomValue(cloudlets.size());
+        return swapVmsOfCloudlets(firstIdx, secondIdx);
     }
 
     /**
-     * Try to get 2 randomly selected entries from the {@link #cloudletVmMap}.
+     * Try to get 2 randomly selected entries from the solution.
+     * Changing the value of a returned entry binds its Cloudlet to another VM.
      *
-     * @return a List with 2 entries from the {@link #cloudletVmMap} if the map size is at least 2;
-     *         an unitary List if the map has only 1 entry;
-     *         or an empty List if there is no entry in the map.
+     * @return a List with 2 entries from the solution if it has at least 2 Cloudlets;
+     *         an unitary List if the solution has only 1 Cloudlet
+     *         (or the same Cloudlet was randomly selected twice);
+     *         or an empty List if there is no Cloudlet in the solution.
      *
      * @see #swapVmsOfTwoMapEntries(List)
      */
     protected List<Map.Entry<Cloudlet, Vm>> getRandomMapEntries() {
-        if(cloudletVmMap.isEmpty()) {
-            return new ArrayList<>();
+        final List<Map.Entry<Cloudlet, Vm>> selected = new ArrayList<>(2);
+        if(cloudlets.isEmpty()) {
+            return selected;
         }
 
-        if(cloudletVmMap.size() == 1) {
-            return createListWithFirstMapEntry();
+        if(cloudlets.size() == 1) {
+            selected.add(new CloudletVmEntry(0));
+            return selected;
         }
 
-        return createListWithTwoRandomEntries();
+        final int firstIdx = heuristic.getRandomValue(cloudlets.size());
+        final int secondIdx = heuristic.getRandomValue(cloudlets.size());
+        selected.add(new CloudletVmEntry(firstIdx));
+        if(secondIdx != firstIdx) {
+            selected.add(new CloudletVmEntry(secondIdx));
+        }
+
+        return selected;
     }
 
     /**
-     * Creates a List using only the first entry in the {@link #cloudletVmMap}.
-     * @return a single-entry List with either the first {@link #cloudletVmMap} entry,
-     *         or an empty List in case no entry is found.
+     * A Map Entry representing the VM a Cloudlet is bound to in the solution,
+     * which changes such a VM when {@link #setValue(Vm)} is called.
      */
-    private List<Map.Entry<Cloudlet, Vm>> createListWithFirstMapEntry() {
-        return cloudletVmMap.entrySet()
-            .stream()
-            .limit(1)
-            .collect(Collectors.toList());
+    private final class CloudletVmEntry implements Map.Entry<Cloudlet, Vm> {
+        private final int cloudletIndex;
+
+        private CloudletVmEntry(final int cloudletIndex) {
+            this.cloudletIndex = cloudletIndex;
+        }
+
+        @Override
+        public Cloudlet getKey() {
+            return cloudlets.get(cloudletIndex);
+        }
+
+        @Override
+        public Vm getValue() {
+            return vms.get(cloudletVms[cloudletIndex]);
+        }
+
+        @Override
+        public Vm setValue(final Vm vm) {
+            final Vm previousVm = getValue();
+            moveCloudlet(cloudletIndex, getVmIndex(vm));
+            return previousVm;
+        }
     }
 
     /**
-     * Creates a List with 2 randomly selected entries from the {@link #cloudletVmMap}.
-     * The way the method is called is ensured there is at least to entries
-     * in the {@link #cloudletVmMap}.
-     *
-     * @return a List with the 2 randomly selected entries
+     * A read-only Map view of the solution,
+     * where each key is a Cloudlet and the value is the VM it's bound to.
      */
-    private List<Map.Entry<Cloudlet, Vm>> createListWithTwoRandomEntries() {
-        final int size = cloudletVmMap.entrySet().size();
+    private final class ResultMap extends AbstractMap<Cloudlet, Vm> {
+        @Override
+        public int size() {
+            return cloudlets.size();
+        }
 
-        final int firstIdx = heuristic.getRandomValue(size);
-        final int secondIdx = heuristic.getRandomValue(size);
+        @Override
+        public boolean containsKey(final Object cloudlet) {
+            return cloudletIndexes.containsKey(cloudlet);
+        }
 
-        final List<Map.Entry<Cloudlet, Vm>> selected = new ArrayList<>(2);
-        final Iterator<Map.Entry<Cloudlet, Vm>> it = cloudletVmMap.entrySet().iterator();
-
-        /*
-        Loop over the entries until those ones defined by the first and second index
-        are found and added to the List.
-        Since Map doesn't have an index, we can't access the ith entry directly.
-        This loop ensures we iterate the least number of times
-        until finding the required entries, without creating
-        a List with all entries in order to get just two of them.
-        */
-        for(int i = 0; selected.size() < 2 && it.hasNext(); i++){
-            final Map.Entry<Cloudlet, Vm> solution = it.next();
-            if(i == firstIdx || i == secondIdx){
-                selected.add(solution);
-            }
+        @Override
+        public Vm get(final Object cloudlet) {
+            final Integer index = cloudletIndexes.get(cloudlet);
+            return index == null ? null : vms.get(cloudletVms[index]);
         }
 
-        return selected;
+        @Override
+        public Set<Entry<Cloudlet, Vm>> entrySet() {
+            return new AbstractSet<Entry<Cloudlet, Vm>>() {
+                @Override
+                public Iterator<Entry<Cloudlet, Vm>> iterator() {
+                    return new Iterator<Entry<Cloudlet, Vm>>() {
+                        private int index;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < cloudlets.size();
+                        }
+
+                        @Override
+                        public Entry<Cloudlet, Vm> next() {
+                            if(!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+
+                            final Entry<Cloudlet, Vm> entry =
+                                new SimpleImmutableEntry<>(cloudlets.get(index), vms.get(cloudletVms[index]));
+                            index++;
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return cloudlets.size();
+                }
+            };
+        }
     }
 }
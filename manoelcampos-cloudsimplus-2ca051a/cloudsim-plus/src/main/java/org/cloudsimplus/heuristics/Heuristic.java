@@ -142,9 +142,7 @@ public interface Heuristic<S extends HeuristicSolution<?>> {
 	 *
 	 * @return the final solution
 	 * @see #getBestSolutionSoFar()
-     *
-	 * @TODO Try to parallelize the solution finding in order
-     *       to reduce search time using Parallel Streams.
+	 * @see SimulatedAnnealing#setChainSeeds(long...)
 	 */
 	S solve();
 
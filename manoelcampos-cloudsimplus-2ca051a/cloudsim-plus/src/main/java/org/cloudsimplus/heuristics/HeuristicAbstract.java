@@ -64,6 +64,11 @@ public abstract class HeuristicAbstract<S extends HeuristicSolution<?>>  impleme
 	 */
 	private double solveTime;
 
+	/**
+	 * @see #getMaxSolveTime()
+	 */
+	private double maxSolveTime;
+
 	/**
 	 * Creates a heuristic.
 	 *
@@ -127,17 +132,86 @@ public abstract class HeuristicAbstract<S extends HeuristicSolution<?>>  impleme
 	@Override
 	public S solve() {
 		final long startTime = System.currentTimeMillis();
+		startSearch();
+		searchIterations(Long.MAX_VALUE, getDeadline(startTime));
+		setSolveTime((System.currentTimeMillis() - startTime)/1000.0);
+
+		return getBestSolutionSoFar();
+	}
+
+	/**
+	 * Starts the solution search from the {@link #getInitialSolution() initial solution}.
+	 */
+	/* default */ void startSearch() {
 		setBestSolutionSoFar(getInitialSolution());
-		while (!isToStopSearch()) {
+	}
+
+	/**
+	 * Runs a given number of iterations of the solution search,
+	 * stopping before that if {@link #isToStopSearch()} or the deadline is reached.
+	 *
+	 * @param iterations the maximum number of iterations to run
+	 * @param deadline the time (in milliseconds, as returned by {@link System#currentTimeMillis()})
+	 *                 when the search must be stopped
+	 * @return true if the search can continue, false if it has to be stopped
+	 */
+	/* default */ boolean searchIterations(final long iterations, final long deadline) {
+		for (long i = 0; i < iterations; i++) {
+			if (isToStopSearch() || System.currentTimeMillis() >= deadline) {
+				return false;
+			}
+
             searchSolutionInNeighborhood();
             updateSystemState();
 		}
-		setSolveTime((System.currentTimeMillis() - startTime)/1000.0);
 
-		return getBestSolutionSoFar();
+		return !isToStopSearch() && System.currentTimeMillis() < deadline;
 	}
 
-    private void searchSolutionInNeighborhood() {
+	/**
+	 * Gets the time the solution search must be stopped, according to the {@link #getMaxSolveTime()}.
+	 * @param startTime the time the search was started (in milliseconds)
+	 * @return the deadline (in milliseconds) or {@link Long#MAX_VALUE} if there is no time limit
+	 */
+	/* default */ long getDeadline(final long startTime) {
+		return maxSolveTime > 0 ? startTime + (long)(maxSolveTime * 1000) : Long.MAX_VALUE;
+	}
+
+	/**
+	 * Gets the maximum wall-clock time the solution search can take (in seconds).
+	 * The search stops when such a time is reached,
+	 * even if {@link #isToStopSearch()} still returns false.
+	 *
+	 * @return the maximum solve time (in seconds) or 0 if there is no time limit
+	 */
+	public double getMaxSolveTime() {
+		return maxSolveTime;
+	}
+
+	/**
+	 * Sets the maximum wall-clock time the solution search can take (in seconds).
+	 * The search stops when such a time is reached,
+	 * even if {@link #isToStopSearch()} still returns false.
+	 * Since the number of iterations performed until that time depends
+	 * on the machine speed, the solution found isn't reproducible anymore
+	 * when the search is stopped due to such a limit.
+	 *
+	 * @param maxSolveTime the maximum solve time (in seconds) or 0 to set no time limit
+	 */
+	public void setMaxSolveTime(final double maxSolveTime) {
+		if (maxSolveTime < 0) {
+			throw new IllegalArgumentException("Max solve time cannot be negative.");
+		}
+
+		this.maxSolveTime = maxSolveTime;
+	}
+
+    /**
+     * Searches {@link #getNeighborhoodSearchesByIteration()} neighbor solutions
+     * for the current iteration of the heuristic,
+     * accepting each one according to the {@link #getAcceptanceProbability() acceptance probability}.
+     */
+    protected void searchSolutionInNeighborhood() {
         for (int i = 0; i < getNeighborhoodSearchesByIteration(); i++) {
             setNeighborSolution(createNeighbor(getBestSolutionSoFar()));
             if (getAcceptanceProbability() > getRandomValue(1)) {
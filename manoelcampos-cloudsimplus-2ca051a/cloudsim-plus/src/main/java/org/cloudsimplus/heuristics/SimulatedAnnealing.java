@@ -24,6 +24,15 @@
 package org.cloudsimplus.heuristics;
 
 import org.cloudbus.cloudsim.distributions.ContinuousDistribution;
+import org.cloudbus.cloudsim.distributions.UniformDistr;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import static java.util.stream.Collectors.toList;
 
 /**
  * A base class for implementation of
@@ -53,6 +62,12 @@ import org.cloudbus.cloudsim.distributions.ContinuousDistribution;
  * </ol>
  * </p>
  *
+ * <p>The search can be performed by multiple chains running in parallel
+ * (see {@link #setChainSeeds(long...)}), which can be either independent
+ * or periodically exchange their solutions, implementing a
+ * <a href="https://en.wikipedia.org/wiki/Parallel_tempering">Parallel Tempering</a>
+ * (see {@link #setExchangeInterval(int)}).</p>
+ *
  * @param <S> the class of solutions the heuristic will deal with, starting with a random solution
  *           and execute the solution search in order to achieve a satisfying solution (defined by a stop criteria)
  * @author Manoel Campos da Silva Filho
@@ -77,6 +92,16 @@ public abstract class SimulatedAnnealing<S extends HeuristicSolution<?>> extends
      */
     private double coolingRate;
 
+    /**
+     * @see #setChainSeeds(long...)
+     */
+    private long[] chainSeeds;
+
+    /**
+     * @see #getExchangeInterval()
+     */
+    private int exchangeInterval;
+
 	/**
      * Instantiates a simulated annealing heuristic.
      *
@@ -85,6 +110,7 @@ public abstract class SimulatedAnnealing<S extends HeuristicSolution<?>> extends
      */
     SimulatedAnnealing(final ContinuousDistribution random, final Class<S> solutionClass){
         super(random, solutionClass);
+        this.chainSeeds = new long[0];
     }
 
 	/**
@@ -104,9 +130,23 @@ public abstract class SimulatedAnnealing<S extends HeuristicSolution<?>> extends
      */
     @Override
     public double getAcceptanceProbability() {
+        return getAcceptanceProbability(getBestSolutionSoFar().getCost(), getNeighborSolution().getCost());
+    }
+
+    /**
+     * Computes the probability of accepting a neighbor solution,
+     * given its cost and the cost of the current solution.
+     * It enables heuristics that evaluate a neighbor solution without creating it
+     * to compute the acceptance probability.
+     *
+     * @param currentCost the cost of the current solution
+     * @param neighborCost the cost of the neighbor solution
+     * @return the acceptance probability
+     * @see #getAcceptanceProbability()
+     */
+    protected double getAcceptanceProbability(final double currentCost, final double neighborCost) {
         final double boltzmannConstant = 1.0;
-        return Math.exp((getBestSolutionSoFar().getCost() - getNeighborSolution().getCost())
-               / (boltzmannConstant * currentTemperature));
+        return Math.exp((currentCost - neighborCost) / (boltzmannConstant * currentTemperature));
     }
 
     /**
@@ -188,4 +228,221 @@ public abstract class SimulatedAnnealing<S extends HeuristicSolution<?>> extends
         this.coldTemperature = coldTemperature;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>If {@link #setChainSeeds(long...) chain seeds} were set,
+     * the search is performed by multiple chains in parallel,
+     * returning the solution with the lowest cost among all chains.</p>
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public S solve() {
+        if(chainSeeds.length == 0) {
+            return super.solve();
+        }
+
+        return solveInParallel();
+    }
+
+    /**
+     * Runs the search in multiple chains in parallel, in rounds of {@link #getExchangeInterval()} iterations
+     * (or in a single round if there is no exchange interval).
+     * After each round, the solutions of chains with adjacent temperatures may be exchanged.
+     * Since chains only interact between rounds, using their own random number generators,
+     * the solution found is the same for a given set of seeds, regardless of the threads scheduling.
+     *
+     * @return the solution with the lowest cost among all chains
+     */
+    private S solveInParallel() {
+        final long startTime = System.currentTimeMillis();
+        final long deadline = getDeadline(startTime);
+        final List<SimulatedAnnealing<S>> chains = createChains();
+        final ContinuousDistribution exchangeRandom = new UniformDistr(0, 1, Arrays.hashCode(chainSeeds));
+        final long iterations = exchangeInterval > 0 ? exchangeInterval : Long.MAX_VALUE;
+
+        List<SimulatedAnnealing<S>> activeChains = chains;
+        while(!activeChains.isEmpty()) {
+            activeChains = searchInParallel(activeChains, iterations, deadline);
+            exchangeSolutions(chains, activeChains, exchangeRandom);
+        }
+
+        SimulatedAnnealing<S> bestChain = chains.get(0);
+        for (final SimulatedAnnealing<S> chain : chains) {
+            if(chain.getBestSolutionSoFar().getCost() < bestChain.getBestSolutionSoFar().getCost()) {
+                bestChain = chain;
+            }
+        }
+
+        setBestSolutionSoFar(bestChain.getBestSolutionSoFar());
+        setNeighborSolution(bestChain.getNeighborSolution());
+        setCurrentTemperature(chains.get(0).getCurrentTemperature());
+        setSolveTime((System.currentTimeMillis() - startTime)/1000.0);
+        return getBestSolutionSoFar();
+    }
+
+    /**
+     * Creates the chains to run the search in parallel, one for each seed.
+     * All chains use the same cooling parameters of this heuristic.
+     * If there is an {@link #getExchangeInterval() exchange interval},
+     * the initial temperatures of the chains are geometrically spaced
+     * from the current temperature towards the cold temperature,
+     * so that the first chain is the hottest one.
+     *
+     * @return the List of chains
+     */
+    private List<SimulatedAnnealing<S>> createChains() {
+        final double ratio =
+            exchangeInterval > 0 && coldTemperature > 0 && coldTemperature < currentTemperature ?
+                Math.pow(coldTemperature / currentTemperature, 1.0 / chainSeeds.length) :
+                1;
+
+        final List<SimulatedAnnealing<S>> chains = new ArrayList<>(chainSeeds.length);
+        for (int i = 0; i < chainSeeds.length; i++) {
+            final SimulatedAnnealing<S> chain = createChain(new UniformDistr(0, 1, chainSeeds[i]));
+            chain.setCurrentTemperature(currentTemperature * Math.pow(ratio, i));
+            chain.setColdTemperature(coldTemperature);
+            chain.setCoolingRate(coolingRate);
+            chain.setNeighborhoodSearchesByIteration(getNeighborhoodSearchesByIteration());
+            chain.startSearch();
+            chains.add(chain);
+        }
+
+        return chains;
+    }
+
+    /**
+     * Runs a given number of iterations of some chains in parallel.
+     * @param chains the chains to run
+     * @param iterations the maximum number of iterations to run
+     * @param deadline the time (in milliseconds) when the search must be stopped
+     * @return the List of chains that can continue the search
+     */
+    private List<SimulatedAnnealing<S>> searchInParallel(
+        final List<SimulatedAnnealing<S>> chains, final long iterations, final long deadline)
+    {
+        final ForkJoinPool pool = ForkJoinPool.commonPool();
+        final List<ForkJoinTask<Boolean>> tasks =
+            chains.stream()
+                  .map(chain -> pool.submit(() -> chain.searchIterations(iterations, deadline)))
+                  .collect(toList());
+
+        final List<SimulatedAnnealing<S>> activeChains = new ArrayList<>(chains.size());
+        for (int i = 0; i < chains.size(); i++) {
+            if(tasks.get(i).join()) {
+                activeChains.add(chains.get(i));
+            }
+        }
+
+        return activeChains;
+    }
+
+    /**
+     * Tries to exchange the solutions of chains with adjacent temperatures,
+     * according to the Metropolis criterion used by Parallel Tempering:
+     * if the hotter chain has a solution with lower cost,
+     * such a solution is always moved to the colder chain;
+     * otherwise the exchange is randomly accepted.
+     * Chains are paired by their position in the List of all chains,
+     * so that a pair is skipped if some of its chains has stopped,
+     * instead of pairing chains with non-adjacent temperatures.
+     *
+     * @param chains all the chains, sorted by decreasing initial temperature
+     * @param activeChains the chains that can continue the search
+     * @param random the random number generator used to accept exchanges
+     */
+    private void exchangeSolutions(
+        final List<SimulatedAnnealing<S>> chains,
+        final List<SimulatedAnnealing<S>> activeChains,
+        final ContinuousDistribution random)
+    {
+        if(exchangeInterval <= 0) {
+            return;
+        }
+
+        for (int i = 0; i < chains.size() - 1; i++) {
+            final SimulatedAnnealing<S> chain1 = chains.get(i);
+            final SimulatedAnnealing<S> chain2 = chains.get(i + 1);
+            if(!activeChains.contains(chain1) || !activeChains.contains(chain2)) {
+                continue;
+            }
+
+            final double costDiff = chain1.getBestSolutionSoFar().getCost() - chain2.getBestSolutionSoFar().getCost();
+            final double inverseTemperatureDiff = 1 / chain2.currentTemperature - 1 / chain1.currentTemperature;
+            final double probability = Math.exp(-costDiff * inverseTemperatureDiff);
+            if(probability >= 1 || probability > random.sample()) {
+                final S solution1 = chain1.getBestSolutionSoFar();
+                chain1.setBestSolutionSoFar(chain2.getBestSolutionSoFar());
+                chain2.setBestSolutionSoFar(solution1);
+            }
+        }
+    }
+
+    /**
+     * Creates a new heuristic to be used as one of the chains that
+     * perform the search in parallel, using a given random number generator.
+     * It must solve the same problem of this heuristic.
+     * The cooling parameters are set by the caller.
+     *
+     * @param random the random number generator for the chain
+     * @return the new chain
+     * @see #setChainSeeds(long...)
+     */
+    protected abstract SimulatedAnnealing<S> createChain(ContinuousDistribution random);
+
+    /**
+     * Gets the number of chains to run the search in parallel.
+     * @return the number of chains or 0 if the search is sequential
+     * @see #setChainSeeds(long...)
+     */
+    public int getChainsNumber() {
+        return chainSeeds.length;
+    }
+
+    /**
+     * Sets the seeds of the random number generators for multiple chains
+     * that will perform the search in parallel
+     * (using the {@link ForkJoinPool#commonPool() common ForkJoinPool}),
+     * one chain for each seed.
+     * When the search is stopped by the temperature,
+     * the solution found is always the same for a given set of seeds.
+     *
+     * @param seeds the seeds for the random number generators of each chain
+     *              (no seed given means the search is performed sequentially,
+     *              using the random number generator of this heuristic)
+     * @see #setExchangeInterval(int)
+     * @see #setMaxSolveTime(double)
+     */
+    public void setChainSeeds(final long... seeds) {
+        this.chainSeeds = seeds.clone();
+    }
+
+    /**
+     * Gets the number of iterations after which chains with adjacent temperatures
+     * may exchange their solutions, when the search is performed by
+     * {@link #setChainSeeds(long...) multiple chains}.
+     *
+     * @return the exchange interval (in number of iterations) or 0 if the chains are independent
+     */
+    public int getExchangeInterval() {
+        return exchangeInterval;
+    }
+
+    /**
+     * Sets the number of iterations after which chains with adjacent temperatures
+     * may exchange their solutions, when the search is performed by
+     * {@link #setChainSeeds(long...) multiple chains}.
+     * In such a case, the chains start from different temperatures
+     * (implementing a Parallel Tempering).
+     *
+     * @param exchangeInterval the exchange interval (in number of iterations) or 0 to make chains independent
+     */
+    public void setExchangeInterval(final int exchangeInterval) {
+        if(exchangeInterval < 0) {
+            throw new IllegalArgumentException("Exchange interval cannot be negative.");
+        }
+
+        this.exchangeInterval = exchangeInterval;
+    }
 }
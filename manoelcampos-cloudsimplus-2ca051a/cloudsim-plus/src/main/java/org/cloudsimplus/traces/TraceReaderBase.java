@@ -38,11 +38,6 @@ import java.util.Objects;
  * @since CloudSim Plus 4.0.0
  */
 public abstract class TraceReaderBase extends TraceReaderAbstract {
-    /**
-     * Regular expression to check if a String corresponds to an integer number.
-     */
-    private static final String INT_REGEX = "^-?\\d+$";
-
     /** @see #getLastParsedLineArray() */
     private String[] lastParsedLineArray;
 
@@ -79,7 +74,7 @@ public abstract class TraceReaderBase extends TraceReaderAbstract {
      */
     protected <T extends Enum> double getFieldDoubleValue(final T field, final double defaultValue){
         final String value = getFieldValue(field);
-        return  value.matches("^-?\\d+(\\.?\\d+)?$") ? Double.parseDouble(value) : defaultValue;
+        return isDecimal(value) ? Double.parseDouble(value) : defaultValue;
     }
 
     /**
@@ -101,7 +96,7 @@ public abstract class TraceReaderBase extends TraceReaderAbstract {
      */
     protected <T extends Enum> int getFieldIntValue(final T field, final int defaultValue){
         final String value = getFieldValue(field);
-        return  value.matches(INT_REGEX) ? Integer.parseInt(value) : defaultValue;
+        return isInteger(value) ? Integer.parseInt(value) : defaultValue;
     }
 
     /**
@@ -123,7 +118,50 @@ public abstract class TraceReaderBase extends TraceReaderAbstract {
      */
     protected <T extends Enum> long getFieldLongValue(final T field, final long defaultValue){
         final String value = getFieldValue(field);
-        return  value.matches(INT_REGEX) ? Long.parseLong(value) : defaultValue;
+        return isInteger(value) ? Long.parseLong(value) : defaultValue;
+    }
+
+    /**
+     * Checks if a String corresponds to an integer number
+     * (as the "^-?\\d+$" regex, but without the overhead of using one).
+     * @param value the String to check
+     * @return true if the String is an integer, false otherwise
+     */
+    private static boolean isInteger(final String value) {
+        final int start = value.startsWith("-") ? 1 : 0;
+        return skipDigits(value, start) == value.length() && value.length() > start;
+    }
+
+    /**
+     * Checks if a String corresponds to a decimal number
+     * (as the "^-?\\d+(\\.?\\d+)?$" regex, but without the overhead of using one).
+     * @param value the String to check
+     * @return true if the String is a decimal number, false otherwise
+     */
+    private static boolean isDecimal(final String value) {
+        final int start = value.startsWith("-") ? 1 : 0;
+        final int dot = skipDigits(value, start);
+        if(dot == start) {
+            return false;
+        }
+
+        if(dot == value.length()) {
+            return true;
+        }
+
+        return value.charAt(dot) == '.' && skipDigits(value, dot + 1) == value.length() && value.length() > dot + 1;
+    }
+
+    /**
+     * Gets the index of the first non-digit char of a String, starting from a given index.
+     */
+    private static int skipDigits(final String value, final int start) {
+        int i = start;
+        while (i < value.length() && value.charAt(i) >= '0' && value.charAt(i) <= '9') {
+            i++;
+        }
+
+        return i;
     }
 
     /**
@@ -65,6 +65,12 @@ import static java.util.Objects.requireNonNull;
  *
  * <p>Check important details at {@link TraceReaderAbstract}.</p>
  *
+ * <p>By default, the entire trace file is read when {@link #process()} is called
+ * and the events for all tasks are kept in memory until they are sent at the simulation start.
+ * For large trace files, you can enable a streaming replay by calling
+ * {@link #setStreamingWindow(double)}, so that memory usage depends on the number of
+ * tasks running at the same time, instead of the trace length.</p>
+ *
  * @see #process()
  *
  * @author Manoel Campos da Silva Filho
@@ -77,6 +83,37 @@ public class GoogleTaskEventsTraceReader extends GoogleTraceReaderAbstract<Cloud
     /** @see #setAutoSubmitCloudlets(boolean) */
     private boolean autoSubmitCloudlets;
 
+    /**
+     * The number of Cloudlets created from the trace file so far.
+     */
+    private int createdCloudletsNumber;
+
+    /** @see #getStreamingWindow() */
+    private double streamingWindow;
+
+    /**
+     * Indicates if the streaming replay of the trace file has started.
+     */
+    private boolean streamingStarted;
+
+    /**
+     * The last line read from the trace file during the streaming replay,
+     * which is not inside the current streaming window yet (or null if there is no such a line).
+     */
+    private String[] pendingLineArray;
+
+    /**
+     * The timestamp (in seconds) of the {@link #pendingLineArray}.
+     */
+    private double pendingLineTimestamp;
+
+    /**
+     * Brokers which had the {@link DatacenterBroker#setShutdownWhenIdle(boolean) shutdown when idle}
+     * disabled during the streaming replay, since new Cloudlets may be submitted to them after they become idle.
+     * The shutdown is enabled again when the end of the trace file is reached.
+     */
+    private final List<DatacenterBroker> brokersToShutdownWhenIdle;
+
     /**
      * Defines the type of information missing in the trace file.
      * It represents the possible values for the MISSING_INFO field.
@@ -397,6 +434,7 @@ public class GoogleTaskEventsTraceReader extends GoogleTraceReaderAbstract<Cloud
         this.autoSubmitCloudlets = true;
         brokersMap = new HashMap<>();
         cloudletEvents = new HashMap<>();
+        brokersToShutdownWhenIdle = new ArrayList<>();
         setMaxCloudletsToCreate(Integer.MAX_VALUE);
     }
 
@@ -409,6 +447,13 @@ public class GoogleTaskEventsTraceReader extends GoogleTraceReaderAbstract<Cloud
      * (the timestamp is used to delay the Cloudlet submission).
      * </p>
      *
+     * <p>If the {@link #setStreamingWindow(double) streaming replay} is enabled,
+     * just the trace lines inside the first streaming window are read by this method.
+     * The other ones are read along the simulation execution.
+     * This way, the returned Collection just contains the Cloudlets for the tasks which
+     * were submitted but didn't terminate yet (which is updated as the simulation goes on).
+     * </p>
+     *
      * @return the Set of all submitted {@link Cloudlet}s for any timestamp inside the trace file.
      * @see #getBrokers()
      */
@@ -418,7 +463,181 @@ public class GoogleTaskEventsTraceReader extends GoogleTraceReaderAbstract<Cloud
             LOGGER.info("{}: Auto-submission of Cloudlets from trace file is disabled. Don't forget to submitted them to the broker.", getClass().getSimpleName());
         }
 
-        return super.process();
+        if(!isStreaming()) {
+            return super.process();
+        }
+
+        if(!streamingStarted) {
+            streamingStarted = true;
+            preProcess();
+            getBrokers().forEach(this::disableShutdownWhenIdle);
+            sendCloudletEventsInsideStreamingWindow();
+            if(simulation.isRunning())
+                startStreaming();
+            else simulation.addOnSimulationStartListener(info -> startStreaming());
+        }
+
+        return getAvailableObjects();
+    }
+
+    /**
+     * Gets the time interval (in seconds) ahead of the current simulation time
+     * for which task events are read from the trace file,
+     * when the streaming replay is enabled.
+     *
+     * @return the streaming window (in seconds) or 0 if the streaming replay is disabled (default)
+     * @see #setStreamingWindow(double)
+     */
+    public double getStreamingWindow() {
+        return streamingWindow;
+    }
+
+    /**
+     * Enables or disables the streaming replay of the trace file.
+     * When enabled, the trace file is read incrementally along the simulation execution
+     * and just the events happening inside the streaming window
+     * (from the current simulation time up to the given interval ahead of it)
+     * are sent to brokers. The state kept for a task is discarded when it
+     * reaches a terminal event (such as FINISH, FAIL or KILL).
+     *
+     * <p>The streaming replay requires the trace file to be sorted by the
+     * {@link FieldIndex#TIMESTAMP timestamp}, as the Google Cluster trace files are.
+     * It must be enabled before calling {@link #process()}.
+     * Brokers for usernames which first appear after the first streaming window are created
+     * during the simulation execution, so that you have to submit VMs to them dynamically.
+     * To avoid that, you can {@link #setDefaultBroker(DatacenterBroker) set a default broker}.</p>
+     *
+     * @param streamingWindow the streaming window (in seconds) or 0 to disable the streaming replay
+     * @return
+     */
+    public GoogleTaskEventsTraceReader setStreamingWindow(final double streamingWindow) {
+        if(streamingWindow < 0) {
+            throw new IllegalArgumentException("The streaming window cannot be negative.");
+        }
+
+        this.streamingWindow = streamingWindow;
+        return this;
+    }
+
+    /**
+     * Checks if the streaming replay of the trace file is enabled.
+     * @return true if the streaming replay is enabled, false otherwise
+     * @see #setStreamingWindow(double)
+     */
+    public boolean isStreaming() {
+        return streamingWindow > 0;
+    }
+
+    /**
+     * Sends the events for the tasks inside the first streaming window
+     * (which are read before the simulation starts)
+     * and schedules the reading of the next window.
+     */
+    private void startStreaming() {
+        sendCloudletEvents();
+        cloudletEvents.clear();
+        if(pendingLineArray != null) {
+            scheduleNextStreamingWindow();
+        }
+    }
+
+    /**
+     * Reads the trace lines inside the streaming window, processing them
+     * to create Cloudlets and send task events to brokers.
+     * If there are more lines in the trace file,
+     * schedules the reading of the next ones to when they enter the window.
+     */
+    private void sendCloudletEventsInsideStreamingWindow() {
+        final double windowEnd = simulation.clock() + streamingWindow;
+        while (readNextPendingLine()) {
+            if (pendingLineTimestamp > windowEnd) {
+                scheduleNextStreamingWindow();
+                return;
+            }
+
+            processParsedLine(pendingLineArray);
+            pendingLineArray = null;
+        }
+
+        enableShutdownWhenIdle();
+    }
+
+    /**
+     * Enables again the shutdown of brokers when they become idle,
+     * after the end of the trace file is reached.
+     * @see #brokersToShutdownWhenIdle
+     */
+    private void enableShutdownWhenIdle() {
+        for (final DatacenterBroker broker : brokersToShutdownWhenIdle) {
+            broker.setShutdownWhenIdle(true);
+            if(simulation.isRunning()) {
+                broker.requestShutdownWhenIdle();
+            }
+        }
+
+        brokersToShutdownWhenIdle.clear();
+    }
+
+    /**
+     * Reads the next line from the trace file (if there isn't a {@link #pendingLineArray} yet),
+     * keeping it as the pending one.
+     * @return true if there is a pending line, false if the end of the trace file was reached
+     */
+    private boolean readNextPendingLine() {
+        if(pendingLineArray != null) {
+            return true;
+        }
+
+        pendingLineArray = readNextParsedLine();
+        if(pendingLineArray == null) {
+            return false;
+        }
+
+        setLastParsedLineArray(pendingLineArray);
+        pendingLineTimestamp = FieldIndex.TIMESTAMP.getValue(this);
+        return true;
+    }
+
+    /**
+     * Schedules the reading of the next trace lines
+     * to when the {@link #pendingLineArray} enters the streaming window.
+     * The Runnable is sent to the broker of the pending line, as the task events themselves.
+     * If the simulation is not running yet, the reading is scheduled when it starts.
+     */
+    private void scheduleNextStreamingWindow() {
+        if(!simulation.isRunning()) {
+            return;
+        }
+
+        setLastParsedLineArray(pendingLineArray);
+        final DatacenterBroker broker = getOrCreateBroker(FieldIndex.USERNAME.getValue(this));
+        final double delay = Math.max(pendingLineTimestamp - streamingWindow - simulation.clock(), 0);
+        final Runnable nextWindowRunnable = this::sendCloudletEventsInsideStreamingWindow;
+        broker.schedule(new CloudSimEvent(delay, broker, CloudSimTags.CLOUDLET_UPDATE_ATTRIBUTES, nextWindowRunnable));
+    }
+
+    /**
+     * Disables the shutdown of a broker when it becomes idle,
+     * while the trace file is being streamed.
+     * @param broker the broker to disable the shutdown
+     * @see #brokersToShutdownWhenIdle
+     */
+    private void disableShutdownWhenIdle(final DatacenterBroker broker) {
+        if(broker.isShutdownWhenIdle() && !brokersToShutdownWhenIdle.contains(broker)) {
+            broker.setShutdownWhenIdle(false);
+            brokersToShutdownWhenIdle.add(broker);
+        }
+    }
+
+    /**
+     * Gets the delay to send an event happening at a given timestamp in the trace file.
+     * When the trace file is being streamed, the events are sent along the simulation execution,
+     * so that the delay is relative to the current simulation time.
+     * @param timestamp the timestamp (in seconds) the event happened in the trace file
+     * @return the delay (in seconds) to send the event
+     */
+    /* default */ double getEventDelay(final double timestamp) {
+        return isStreaming() ? Math.max(timestamp - simulation.clock(), 0) : timestamp;
     }
 
     /**
@@ -487,11 +706,32 @@ public class GoogleTaskEventsTraceReader extends GoogleTraceReaderAbstract<Cloud
     /* default */ boolean requestCloudletStatusChange(final int tag) {
         final TaskEvent taskEvent = createTaskEventFromTraceLine();
         final DatacenterBroker broker = getBroker(taskEvent.getUserName());
-        final double delay = taskEvent.getTimestamp();
+        final double delay = getEventDelay(taskEvent.getTimestamp());
 
-        return findObject(taskEvent.getUniqueTaskId())
+        final boolean requested = findObject(taskEvent.getUniqueTaskId())
                 .map(cloudlet -> addCloudletStatusChangeEvents(new CloudSimEvent(delay, broker, tag, cloudlet), taskEvent))
                 .isPresent();
+
+        if(requested && isTerminalTag(tag)) {
+            discardTaskState();
+        }
+
+        return requested;
+    }
+
+    private boolean isTerminalTag(final int tag) {
+        return tag == CloudSimTags.CLOUDLET_FINISH || tag == CloudSimTags.CLOUDLET_FAIL || tag == CloudSimTags.CLOUDLET_CANCEL;
+    }
+
+    /**
+     * Discards the state kept for the task in the last trace line read,
+     * when it reaches a terminal event and the trace file is being streamed.
+     * Its Cloudlet is kept just by its broker from now on.
+     */
+    /* default */ void discardTaskState() {
+        if(isStreaming()) {
+            removeAvailableObject(createTaskEventFromTraceLine().getUniqueTaskId());
+        }
     }
 
     /**
@@ -583,7 +823,7 @@ public class GoogleTaskEventsTraceReader extends GoogleTraceReaderAbstract<Cloud
          * This way, it will be executed only when the event is processed.*/
         final CloudSimEvent attrsChangeSimEvt =
             new CloudSimEvent(
-                taskEvent.getTimestamp(),
+                getEventDelay(taskEvent.getTimestamp()),
                 statusChangeSimEvt.getDestination(),
                 CloudSimTags.CLOUDLET_UPDATE_ATTRIBUTES, attributesUpdateRunnable);
 
@@ -594,11 +834,18 @@ public class GoogleTaskEventsTraceReader extends GoogleTraceReaderAbstract<Cloud
     }
 
     /**
-     * Adds a Cloudlet event to the map of events to send
+     * Adds a Cloudlet event to the map of events to send.
+     * If the trace file is being streamed and the simulation is running,
+     * the event is sent immediately.
      * @param cloudlet
      * @param evt
      */
     private void addEventToSend(final Cloudlet cloudlet, final CloudSimEvent evt) {
+        if(isStreaming() && simulation.isRunning()) {
+            evt.getSource().schedule(evt);
+            return;
+        }
+
         cloudletEvents
             .compute(cloudlet, (key, list) -> list == null ? new LinkedList<>() : list)
             .add(evt);
@@ -688,7 +935,12 @@ public class GoogleTaskEventsTraceReader extends GoogleTraceReaderAbstract<Cloud
     }
 
     private DatacenterBroker createBroker(final String username) {
-        return new DatacenterBrokerSimple(simulation, "Broker_"+username);
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation, "Broker_"+username);
+        if(isStreaming()) {
+            disableShutdownWhenIdle(broker);
+        }
+
+        return broker;
     }
 
     /**
@@ -760,7 +1012,21 @@ public class GoogleTaskEventsTraceReader extends GoogleTraceReaderAbstract<Cloud
      * @return true to indicate the Cloudlet is allowed to be created, false otherwise.
      */
     protected boolean allowCloudletCreation() {
-        return availableObjectsCount() < getMaxCloudletsToCreate();
+        return createdCloudletsNumber < getMaxCloudletsToCreate();
+    }
+
+    /**
+     * Adds a Cloudlet created from the trace file to the list of available ones.
+     * @param cloudlet the created Cloudlet
+     * @return true if the Cloudlet was added, false otherwise
+     */
+    /* default */ boolean addCreatedCloudlet(final Cloudlet cloudlet) {
+        if(addAvailableObject(cloudlet)) {
+            createdCloudletsNumber++;
+            return true;
+        }
+
+        return false;
     }
 
     /**
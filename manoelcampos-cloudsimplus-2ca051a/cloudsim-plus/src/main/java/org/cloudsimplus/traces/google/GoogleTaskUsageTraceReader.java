@@ -41,9 +41,7 @@ import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
 
 import static java.util.Objects.requireNonNull;
 
@@ -62,6 +60,11 @@ import static java.util.Objects.requireNonNull;
  *
  * <p>Check important details at {@link TraceReaderAbstract}.</p>
  *
+ * <p>By default, the entire trace file is read when {@link #process()} is called
+ * and all resource usage changes are kept in memory until they are sent at the simulation start.
+ * For large trace files, you can enable a streaming replay by calling
+ * {@link #setStreamingWindow(double)}, so that memory usage doesn't depend on the trace length.</p>
+ *
  * @see #process()
  *
  * @author Manoel Campos da Silva Filho
@@ -71,6 +74,45 @@ public final class GoogleTaskUsageTraceReader extends GoogleTraceReaderAbstract<
     private final List<CloudSimEvent> cloudletUsageChangeEvents;
     private final List<DatacenterBroker> brokers;
 
+    /**
+     * A map of Cloudlets submitted to the {@link #brokers},
+     * where each key is a Cloudlet id.
+     */
+    private final Map<Long, Cloudlet> submittedCloudletsMap;
+
+    /**
+     * The number of Cloudlets submitted to the {@link #brokers}
+     * the last time the {@link #submittedCloudletsMap} was updated.
+     */
+    private int lastSubmittedCloudletsNumber;
+
+    /** @see #getStreamingWindow() */
+    private double streamingWindow;
+
+    /**
+     * Indicates if the streaming replay of the trace file has started.
+     */
+    private boolean streamingStarted;
+
+    /**
+     * The last resource usage read from the trace file during the streaming replay,
+     * which is not inside the current streaming window yet (or null if there is no such a usage).
+     */
+    private TaskUsage pendingUsage;
+
+    /**
+     * The Cloudlet the {@link #pendingUsage} belongs to.
+     */
+    private Cloudlet pendingCloudlet;
+
+    /**
+     * Brokers which had the {@link DatacenterBroker#setShutdownWhenIdle(boolean) shutdown when idle}
+     * disabled during the streaming replay, since the events to read the next resource usage changes
+     * are sent to them and new Cloudlets may be submitted after they become idle.
+     * The shutdown is enabled again when the end of the trace file is reached.
+     */
+    private final List<DatacenterBroker> brokersToShutdownWhenIdle;
+
     /**
      * The index of each field in the trace file.
      */
@@ -317,6 +359,8 @@ public final class GoogleTaskUsageTraceReader extends GoogleTraceReaderAbstract<
         }
         this.simulation = brokers.get(0).getSimulation();
         cloudletUsageChangeEvents = new ArrayList<>();
+        submittedCloudletsMap = new HashMap<>();
+        brokersToShutdownWhenIdle = new ArrayList<>();
     }
 
     /**
@@ -345,11 +389,193 @@ public final class GoogleTaskUsageTraceReader extends GoogleTraceReaderAbstract<
      * from Google Cluster trace files won't change according
      * to the percentage of CPU capacity the Cloudlets are using.</p>
      *
+     * <p>If the {@link #setStreamingWindow(double) streaming replay} is enabled,
+     * the trace file is not read by this method, but along the simulation execution.
+     * This way, the returned Collection is just filled as the trace lines are read.</p>
+     *
      * @return the Set of all {@link Cloudlet}s processed according to a line in the trace file
      */
     @Override
     public Collection<Cloudlet> process() {
-        return super.process();
+        if(!isStreaming()) {
+            return super.process();
+        }
+
+        if(!streamingStarted) {
+            streamingStarted = true;
+            brokers.forEach(this::disableShutdownWhenIdle);
+            if (simulation.isRunning())
+                requestUsageChangesInsideStreamingWindow();
+            else simulation.addOnSimulationStartListener(info -> requestUsageChangesInsideStreamingWindow());
+        }
+
+        return getAvailableObjects();
+    }
+
+    /**
+     * Gets the time interval (in seconds) ahead of the current simulation time
+     * for which resource usage changes are read from the trace file,
+     * when the streaming replay is enabled.
+     *
+     * @return the streaming window (in seconds) or 0 if the streaming replay is disabled (default)
+     * @see #setStreamingWindow(double)
+     */
+    public double getStreamingWindow() {
+        return streamingWindow;
+    }
+
+    /**
+     * Enables or disables the streaming replay of the trace file.
+     * When enabled, the trace file is read incrementally along the simulation execution
+     * and just resource usage changes starting inside the streaming window
+     * (from the current simulation time up to the given interval ahead of it)
+     * are sent to brokers.
+     * This way, memory usage doesn't depend on the trace length.
+     *
+     * <p>The streaming replay requires the trace file to be sorted by the
+     * {@link FieldIndex#START_TIME start time}, as the Google Cluster trace files are.
+     * It must be enabled before calling {@link #process()}.
+     * Until the end of the trace file is reached, brokers are not
+     * {@link DatacenterBroker#setShutdownWhenIdle(boolean) shut down when idle},
+     * since Cloudlets may be submitted to them after a gap in the trace.</p>
+     *
+     * @param streamingWindow the streaming window (in seconds) or 0 to disable the streaming replay
+     * @return this reader
+     */
+    public GoogleTaskUsageTraceReader setStreamingWindow(final double streamingWindow) {
+        if(streamingWindow < 0) {
+            throw new IllegalArgumentException("The streaming window cannot be negative.");
+        }
+
+        this.streamingWindow = streamingWindow;
+        return this;
+    }
+
+    /**
+     * Checks if the streaming replay of the trace file is enabled.
+     * @return true if the streaming replay is enabled, false otherwise
+     * @see #setStreamingWindow(double)
+     */
+    public boolean isStreaming() {
+        return streamingWindow > 0;
+    }
+
+    /**
+     * Reads the resource usage changes starting inside the streaming window
+     * and sends them to brokers. If there are more changes in the trace file,
+     * schedules the reading of the next ones to when they enter the window.
+     */
+    private void requestUsageChangesInsideStreamingWindow() {
+        final double windowEnd = simulation.clock() + streamingWindow;
+        while (readNextPendingUsage()) {
+            if (pendingUsage.getStartTime() > windowEnd) {
+                scheduleNextStreamingWindow();
+                return;
+            }
+
+            sendCloudletUsageChange(pendingCloudlet, pendingUsage);
+            pendingUsage = null;
+            pendingCloudlet = null;
+        }
+
+        enableShutdownWhenIdle();
+    }
+
+    /**
+     * Enables again the shutdown of brokers when they become idle,
+     * after the end of the trace file is reached.
+     * @see #brokersToShutdownWhenIdle
+     */
+    private void enableShutdownWhenIdle() {
+        for (final DatacenterBroker broker : brokersToShutdownWhenIdle) {
+            broker.setShutdownWhenIdle(true);
+            broker.requestShutdownWhenIdle();
+        }
+
+        brokersToShutdownWhenIdle.clear();
+    }
+
+    /**
+     * Disables the shutdown of a broker when it becomes idle,
+     * while the trace file is being streamed.
+     * @param broker the broker to disable the shutdown
+     * @see #brokersToShutdownWhenIdle
+     */
+    private void disableShutdownWhenIdle(final DatacenterBroker broker) {
+        if(broker.isShutdownWhenIdle() && !brokersToShutdownWhenIdle.contains(broker)) {
+            broker.setShutdownWhenIdle(false);
+            brokersToShutdownWhenIdle.add(broker);
+        }
+    }
+
+    /**
+     * Reads trace lines until finding the resource usage of some submitted Cloudlet,
+     * keeping it as the {@link #pendingUsage}.
+     * @return true if there is a pending usage, false if the end of the trace file was reached
+     */
+    private boolean readNextPendingUsage() {
+        while (pendingUsage == null) {
+            final String[] parsedLineArray = readNextParsedLine();
+            if (parsedLineArray == null) {
+                return false;
+            }
+
+            setLastParsedLineArray(parsedLineArray);
+            final TaskUsage taskUsage = createTaskUsageFromTraceLine();
+            findCloudlet(taskUsage.getUniqueTaskId()).ifPresent(cloudlet -> {
+                addAvailableObject(cloudlet);
+                pendingCloudlet = cloudlet;
+                pendingUsage = taskUsage;
+            });
+        }
+
+        return true;
+    }
+
+    /**
+     * Schedules the reading of the next resource usage changes from the trace file
+     * to when the {@link #pendingUsage} enters the streaming window.
+     * The Runnable is sent to the broker owning the pending Cloudlet, as the changes themselves.
+     */
+    private void scheduleNextStreamingWindow() {
+        final double delay = pendingUsage.getStartTime() - streamingWindow - simulation.clock();
+        final DatacenterBroker broker = pendingCloudlet.getBroker();
+        final Runnable nextWindowRunnable = this::requestUsageChangesInsideStreamingWindow;
+        broker.schedule(new CloudSimEvent(delay, broker, CloudSimTags.CLOUDLET_UPDATE_ATTRIBUTES, nextWindowRunnable));
+    }
+
+    private void sendCloudletUsageChange(final Cloudlet cloudlet, final TaskUsage taskUsage) {
+        final double delay = Math.max(taskUsage.getStartTime() - simulation.clock(), 0);
+        final DatacenterBroker broker = cloudlet.getBroker();
+        broker.schedule(
+            new CloudSimEvent(
+                delay, broker, CloudSimTags.CLOUDLET_UPDATE_ATTRIBUTES,
+                newResourceUsageUpdateRunnable(cloudlet, taskUsage)));
+    }
+
+    /**
+     * Finds a Cloudlet submitted to any of the {@link #brokers}.
+     * @param id the id of the Cloudlet to find
+     * @return an {@link Optional} containing the Cloudlet or an empty one if it was not found
+     */
+    private Optional<Cloudlet> findCloudlet(final long id) {
+        final Cloudlet cloudlet = submittedCloudletsMap.get(id);
+        if(cloudlet != null) {
+            return Optional.of(cloudlet);
+        }
+
+        //Updates the map just if new Cloudlets were submitted since the last time
+        final int submittedCloudletsNumber = brokers.stream().mapToInt(broker -> broker.getCloudletSubmittedList().size()).sum();
+        if(submittedCloudletsNumber == lastSubmittedCloudletsNumber) {
+            return Optional.empty();
+        }
+
+        lastSubmittedCloudletsNumber = submittedCloudletsNumber;
+        for (final DatacenterBroker broker : brokers) {
+            broker.getCloudletSubmittedList().forEach(submitted -> submittedCloudletsMap.putIfAbsent(submitted.getId(), submitted));
+        }
+
+        return Optional.ofNullable(submittedCloudletsMap.get(id));
     }
 
     /** There is not pre-process for this implementation. */
@@ -374,10 +600,7 @@ public final class GoogleTaskUsageTraceReader extends GoogleTraceReaderAbstract<
     @Override
     protected boolean processParsedLineInternal() {
         final TaskUsage taskUsage = createTaskUsageFromTraceLine();
-        return brokers.stream()
-               .flatMap(broker -> getAvailableObjects().stream())
-               .filter(cloudlet -> cloudlet.getId() == taskUsage.getUniqueTaskId())
-               .findFirst()
+        return findCloudlet(taskUsage.getUniqueTaskId())
                .map(cloudlet -> requestCloudletUsageChange(cloudlet, taskUsage)).isPresent();
     }
 
@@ -406,7 +629,29 @@ public final class GoogleTaskUsageTraceReader extends GoogleTraceReaderAbstract<
      */
     private boolean requestCloudletUsageChange(final Cloudlet cloudlet, final TaskUsage taskUsage)
     {
-        final Runnable resourceUsageUpdateRunnable = () -> {
+        if(hasCloudletResourceUsageChanged(cloudlet, taskUsage)){
+            addAvailableObject(cloudlet);
+            final CloudSimEvent evt =
+                new CloudSimEvent(
+                    taskUsage.getStartTime(), cloudlet.getBroker(),
+                    CloudSimTags.CLOUDLET_UPDATE_ATTRIBUTES, newResourceUsageUpdateRunnable(cloudlet, taskUsage));
+            return cloudletUsageChangeEvents.add(evt);
+        }
+
+        return false;
+    }
+
+    /**
+     * Creates a Runnable to be sent to the broker to change a Cloudlet resource usage.
+     */
+    private Runnable newResourceUsageUpdateRunnable(final Cloudlet cloudlet, final TaskUsage taskUsage) {
+        return () -> {
+            /* When using the streaming replay, the usage is not compared when the trace line is read,
+             * since previous changes may not have been applied yet. */
+            if(!hasCloudletResourceUsageChanged(cloudlet, taskUsage)){
+                return;
+            }
+
             final StringBuilder builder = new StringBuilder();
             if (cloudlet.getUtilizationOfCpu() != taskUsage.getMeanCpuUsageRate()) {
                 builder.append("CPU Utilization: ")
@@ -425,25 +670,11 @@ public final class GoogleTaskUsageTraceReader extends GoogleTraceReaderAbstract<
                 cloudlet.setUtilizationModelRam(createUtilizationModel(cloudlet.getUtilizationModelRam(), taskUsage.getCanonicalMemoryUsage()));
             }
 
-            /* We don't need to check if some resource was changed because
-             * if this Runnable is executed is because something was.
-             * An event to execute such Runnable is just sent in such a condition.*/
+            //Some resource usage was changed, as checked at the beginning of the Runnable
             final DatacenterBroker broker = cloudlet.getBroker();
             broker.LOGGER.trace("{}: {}: {} resource usage changed: {}", simulation.clockStr(), broker.getName(), cloudlet, builder);
             cloudlet.getVm().getHost().updateProcessing(simulation.clock());
         };
-
-
-        if(hasCloudletResourceUsageChanged(cloudlet, taskUsage)){
-            addAvailableObject(cloudlet);
-            final CloudSimEvent evt =
-                new CloudSimEvent(
-                    taskUsage.getStartTime(), cloudlet.getBroker(),
-                    CloudSimTags.CLOUDLET_UPDATE_ATTRIBUTES, resourceUsageUpdateRunnable);
-            return cloudletUsageChangeEvents.add(evt);
-        }
-
-        return false;
     }
 
     /**
@@ -137,6 +137,16 @@ abstract class GoogleTraceReaderAbstract<T extends Identifiable> extends TraceRe
         return availableObjectsMap.put(object.getId(), Objects.requireNonNull(object)) == null;
     }
 
+    /**
+     * Removes an object T from the list of available objects.
+     * @param id the id of the object T to remove
+     * @return true if the object was removed, false otherwise
+     * @see #availableObjectsMap
+     */
+    /* default */ final boolean removeAvailableObject(final long id){
+        return availableObjectsMap.remove(id) != null;
+    }
+
     /**
      * Gets the number of objects available (created) so far.
      * @return
@@ -64,7 +64,13 @@ class TaskData extends MachineDataAbstract {
      * @return
      */
     public long getUniqueTaskId(){
-        final String uniqueId = String.format("%d%d", getJobId(), getTaskIndex());
-        return Long.parseLong(uniqueId);
+        //Concatenates the decimal digits of the ids without creating Strings
+        long multiplier = 10;
+        while (multiplier <= getTaskIndex()) {
+            multiplier = Math.multiplyExact(multiplier, 10);
+        }
+
+        final long taskIndex = getJobId() < 0 ? -getTaskIndex() : getTaskIndex();
+        return Math.addExact(Math.multiplyExact(getJobId(), multiplier), taskIndex);
     }
 }
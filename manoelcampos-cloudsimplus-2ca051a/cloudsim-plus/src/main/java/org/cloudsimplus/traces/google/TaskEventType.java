@@ -55,12 +55,12 @@ public enum TaskEventType {
             // Since Cloudlet id must be unique, it will be the concatenation of the job and task id
             cloudlet.setId(event.getUniqueTaskId());
             cloudlet.setJobId(event.getJobId());
-            final double delay = FieldIndex.TIMESTAMP.getValue(reader);
-            cloudlet.setSubmissionDelay(delay);
+            final double timestamp = FieldIndex.TIMESTAMP.getValue(reader);
+            cloudlet.setSubmissionDelay(reader.getEventDelay(timestamp));
 
             /* Set status to FROZEN to avoid the cloudlet to start running after being submitted.
             The execution must start only after a SCHEDULE event happens. */
-            if(delay > 0) {
+            if(timestamp > 0) {
                 cloudlet.setStatus(Cloudlet.Status.FROZEN);
             }
 
@@ -68,7 +68,7 @@ public enum TaskEventType {
                 broker.submitCloudlet(cloudlet);
             }
 
-            return reader.addAvailableObject(cloudlet);
+            return reader.addCreatedCloudlet(cloudlet);
         }
     },
 
@@ -136,6 +136,7 @@ public enum TaskEventType {
     LOST{
         @Override
         protected boolean process(final GoogleTaskEventsTraceReader reader) {
+            reader.discardTaskState();
             return false;
         }
     },
@@ -24,6 +24,7 @@
 package org.cloudsimplus.util;
 
 import ch.qos.logback.classic.Level;
+import org.cloudbus.cloudsim.core.Simulation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -67,4 +68,33 @@ public final class Log {
         final Logger root = LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
         setLevel(root, level);
     }
+
+    /**
+     * Checks if INFO messages must be built and logged by a given logger
+     * while processing the events of a simulation.
+     * It must be called before building such messages on simulation hot paths,
+     * so that no message is built when it won't be logged.
+     *
+     * @param logger the logger to check
+     * @param simulation the simulation which the logging object belongs to
+     * @return true if the INFO level is enabled for the logger and the simulation
+     *         is not in {@link Simulation#isQuietLogging() quiet logging mode}, false otherwise
+     */
+    public static boolean isInfoEnabled(final Logger logger, final Simulation simulation){
+        return logger.isInfoEnabled() && !simulation.isQuietLogging();
+    }
+
+    /**
+     * Checks if TRACE messages must be built and logged by a given logger
+     * while processing the events of a simulation.
+     *
+     * @param logger the logger to check
+     * @param simulation the simulation which the logging object belongs to
+     * @return true if the TRACE level is enabled for the logger and the simulation
+     *         is not in {@link Simulation#isQuietLogging() quiet logging mode}, false otherwise
+     * @see #isInfoEnabled(Logger, Simulation)
+     */
+    public static boolean isTraceEnabled(final Logger logger, final Simulation simulation){
+        return logger.isTraceEnabled() && !simulation.isQuietLogging();
+    }
 }
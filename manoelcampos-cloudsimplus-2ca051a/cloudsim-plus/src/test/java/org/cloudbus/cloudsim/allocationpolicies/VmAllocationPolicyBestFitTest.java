@@ -0,0 +1,112 @@
+package org.cloudbus.cloudsim.allocationpolicies;
+
+import org.cloudbus.cloudsim.core.Simulation;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.hosts.HostSimpleTest;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.schedulers.vm.VmSchedulerSpaceShared;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimpleTest.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 6.5.3
+ */
+public class VmAllocationPolicyBestFitTest {
+    private static VmAllocationPolicyBestFit createVmAllocationPolicy(final List<Host> hosts) {
+        final VmAllocationPolicyBestFit policy = new VmAllocationPolicyBestFit();
+        policy.setDatacenter(new DatacenterSimple(Simulation.NULL, hosts));
+        return policy;
+    }
+
+    private static List<Host> createHosts(final int... pesByHost) {
+        final List<Host> hosts = new ArrayList<>(pesByHost.length);
+        for (int i = 0; i < pesByHost.length; i++) {
+            hosts.add(HostSimpleTest.createHostSimple(i, pesByHost[i], HOST_MIPS, HOST_RAM, HOST_BW, HOST_BASE_STORAGE));
+        }
+
+        return hosts;
+    }
+
+    @Test
+    public void allocateHostForVm_SelectsSuitableHostWithFewestFreePes() {
+        final List<Host> hosts = createHosts(4, 2, 6, 5);
+        final VmAllocationPolicyBestFit policy = createVmAllocationPolicy(hosts);
+
+        final Vm vm0 = VmTestUtil.createVm(0, 1000, 2);
+        assertTrue(policy.allocateHostForVm(vm0).fully());
+        assertEquals(hosts.get(1), vm0.getHost());
+
+        final Vm vm1 = VmTestUtil.createVm(1, 1000, 1);
+        assertTrue(policy.allocateHostForVm(vm1).fully());
+        assertEquals(hosts.get(0), vm1.getHost());
+
+        //The Host with 4 PEs now has just 3 free PEs
+        final Vm vm2 = VmTestUtil.createVm(2, 1000, 4);
+        assertTrue(policy.allocateHostForVm(vm2).fully());
+        assertEquals(hosts.get(3), vm2.getHost());
+    }
+
+    @Test
+    public void allocateHostForVm_WhenHostsAreSpaceShared_HostsWithoutEnoughFreePesAreNotChecked() {
+        final List<Host> checkedHosts = new ArrayList<>();
+        final List<Host> hosts = new ArrayList<>();
+        for (final int pes : new int[]{1, 2, 4}) {
+            final HostSimple host = new HostSimple(HOST_RAM, HOST_BW, HOST_BASE_STORAGE, createPes(pes)) {
+                @Override
+                public boolean isSuitableForVm(final Vm vm) {
+                    checkedHosts.add(this);
+                    return super.isSuitableForVm(vm);
+                }
+            };
+            host.setVmScheduler(new VmSchedulerSpaceShared()).setId(hosts.size());
+            hosts.add(host);
+        }
+
+        final VmAllocationPolicyBestFit policy = createVmAllocationPolicy(hosts);
+        final Vm vm = VmTestUtil.createVm(0, 1000, 2);
+        assertTrue(policy.allocateHostForVm(vm).fully());
+        assertEquals(hosts.get(1), vm.getHost());
+        assertFalse(checkedHosts.contains(hosts.get(0)), "A Host without enough free PEs must not be checked");
+    }
+
+    @Test
+    public void allocateHostForVm_WhenHostFailsOrIsShutdown_HostIsReindexed() {
+        final List<Host> hosts = createHosts(4, 2, 6, 5);
+        final VmAllocationPolicyBestFit policy = createVmAllocationPolicy(hosts);
+
+        final Vm vm0 = VmTestUtil.createVm(0, 1000, 1);
+        assertTrue(policy.allocateHostForVm(vm0).fully());
+        assertEquals(hosts.get(1), vm0.getHost());
+
+        hosts.get(1).setFailed(true);
+        final Vm vm1 = VmTestUtil.createVm(1, 1000, 1);
+        assertTrue(policy.allocateHostForVm(vm1).fully());
+        assertEquals(hosts.get(0), vm1.getHost());
+
+        //Inactive Hosts are just selected when there is no suitable active Host
+        hosts.get(0).setActive(false);
+        final Vm vm2 = VmTestUtil.createVm(2, 1000, 1);
+        assertTrue(policy.allocateHostForVm(vm2).fully());
+        assertEquals(hosts.get(3), vm2.getHost());
+    }
+
+    private static List<Pe> createPes(final int pes) {
+        final List<Pe> peList = new ArrayList<>(pes);
+        for (int i = 0; i < pes; i++) {
+            peList.add(new PeSimple(HOST_MIPS));
+        }
+
+        return peList;
+    }
+}
@@ -11,6 +11,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -82,4 +83,32 @@ public class VmAllocationPolicySimpleTest {
         final Vm vm = VmTestUtil.createVm(0, 1000, 10);
         assertFalse(policy.allocateHostForVm(vm).fully());
     }
+
+    @Test
+    public void allocateHostForVm_WhenVmListIsGiven_VmsArePlacedInTheGivenOrder() {
+        final Vm vm0 = VmTestUtil.createVm(0, 1000, 2);
+        final Vm vm1 = VmTestUtil.createVm(1, 1000, 6);
+        final Vm vm2 = VmTestUtil.createVm(2, 1000, 10);
+
+        //Placing the 6-PE VM first would leave room for the 2-PE one, but VMs must be placed in the given order
+        assertEquals(Arrays.asList(vm1, vm2), policy.allocateHostForVm(Arrays.asList(vm0, vm1, vm2)));
+        assertEquals(policy.getDatacenter().getHostList().get(2), vm0.getHost());
+    }
+
+    @Test
+    public void allocateHostForVm_WhenHostPesAreReleasedOutsideThePolicy_HostFreePesAreConsidered() {
+        final Host hostWithMoreFreePes = policy.getDatacenter().getHostList().get(2);
+        final Vm vm0 = VmTestUtil.createVm(0, 1000, 2);
+        assertTrue(policy.allocateHostForVm(vm0).fully());
+        assertEquals(hostWithMoreFreePes, vm0.getHost());
+
+        final Vm vm1 = VmTestUtil.createVm(1, 1000, 1);
+        assertTrue(policy.allocateHostForVm(vm1).fully());
+        assertEquals(policy.getDatacenter().getHostList().get(3), vm1.getHost());
+
+        hostWithMoreFreePes.getVmScheduler().deallocatePesFromVm(vm0);
+        final Vm vm2 = VmTestUtil.createVm(2, 1000, 1);
+        assertTrue(policy.allocateHostForVm(vm2).fully());
+        assertEquals(hostWithMoreFreePes, vm2.getHost());
+    }
 }
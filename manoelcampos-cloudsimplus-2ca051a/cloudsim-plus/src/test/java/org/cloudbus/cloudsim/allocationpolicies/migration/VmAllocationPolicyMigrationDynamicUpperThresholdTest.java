@@ -0,0 +1,109 @@
+package org.cloudbus.cloudsim.allocationpolicies.migration;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimpleTest;
+import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicyMinimumUtilization;
+import org.cloudbus.cloudsim.util.MathUtil;
+import org.cloudbus.cloudsim.util.SlidingWindowStats;
+import org.cloudbus.cloudsim.vms.HostResourceStats;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class VmAllocationPolicyMigrationDynamicUpperThresholdTest {
+    private static final double[] UTILIZATION = {0.2, 0.3, 0.25, 0.4, 0.5, 0.45, 0.6, 0.55, 0.7, 0.65, 0.8, 0.75};
+
+    private static Host createHost(final VmAllocationPolicyMigrationDynamicUpperThresholdFirstFit policy, final double... utilization) {
+        final Host host = HostSimpleTest.createHostSimple(0, 2);
+        final SlidingWindowStats history = policy.getUtilizationHistory(host);
+        for (final double value : utilization) {
+            history.add(value);
+        }
+
+        return host;
+    }
+
+    @Test
+    public void computeHostUtilizationMeasure_Mad() {
+        final VmAllocationPolicyMigrationMedianAbsoluteDeviation policy =
+            new VmAllocationPolicyMigrationMedianAbsoluteDeviation(new VmSelectionPolicyMinimumUtilization());
+        final Host host = createHost(policy, UTILIZATION);
+        assertEquals(MathUtil.mad(UTILIZATION), policy.computeHostUtilizationMeasure(host));
+    }
+
+    @Test
+    public void computeHostUtilizationMeasure_Iqr() {
+        final VmAllocationPolicyMigrationInterQuartileRange policy =
+            new VmAllocationPolicyMigrationInterQuartileRange(new VmSelectionPolicyMinimumUtilization());
+        final Host host = createHost(policy, UTILIZATION);
+        assertEquals(MathUtil.iqr(UTILIZATION.clone()), policy.computeHostUtilizationMeasure(host));
+    }
+
+    @Test
+    public void computeHostUtilizationMeasure_WhenNotEnoughHistory() {
+        final VmAllocationPolicyMigrationMedianAbsoluteDeviation policy =
+            new VmAllocationPolicyMigrationMedianAbsoluteDeviation(new VmSelectionPolicyMinimumUtilization());
+        final Host host = createHost(policy, 0.5, 0.6);
+        assertThrows(IllegalStateException.class, () -> policy.computeHostUtilizationMeasure(host));
+        assertEquals(Double.MAX_VALUE, policy.getOverUtilizationThreshold(host));
+    }
+
+    @Test
+    public void isHostOverloaded_LocalRegression() {
+        final VmAllocationPolicyMigrationLocalRegression policy = new VmAllocationPolicyMigrationLocalRegression(
+            new VmSelectionPolicyMinimumUtilization(), 1.5, VmAllocationPolicyMigration.NULL);
+
+        //The latest 10 values increase about 5% every sample, then the prediction for the next sample is about 80%
+        final Host host = createHost(policy, UTILIZATION);
+        assertEquals(0.8 * 1.5, policy.computeHostUtilizationMeasure(host), 0.01);
+        assertTrue(policy.isHostOverloaded(host));
+    }
+
+    @Test
+    public void localRegressionDefaultSafetyParameter() {
+        final VmAllocationPolicyMigrationLocalRegression policy =
+            new VmAllocationPolicyMigrationLocalRegression(new VmSelectionPolicyMinimumUtilization());
+        assertEquals(VmAllocationPolicyMigrationLocalRegression.DEF_SAFETY_PARAMETER, policy.getSafetyParameter());
+    }
+
+    @Test
+    public void getOverUtilizationThreshold_MadDefaultSafetyParameter() {
+        final VmAllocationPolicyMigrationMedianAbsoluteDeviation policy =
+            new VmAllocationPolicyMigrationMedianAbsoluteDeviation(new VmSelectionPolicyMinimumUtilization());
+        final Host host = createHost(policy, UTILIZATION);
+        final double expected = 1 - VmAllocationPolicyMigrationMedianAbsoluteDeviation.DEF_SAFETY_PARAMETER * MathUtil.mad(UTILIZATION);
+        assertEquals(expected, policy.getOverUtilizationThreshold(host), 0.0001);
+        assertTrue(policy.getOverUtilizationThreshold(host) < 1);
+    }
+
+    @Test
+    public void getOverUtilizationThreshold_IqrDefaultSafetyParameter() {
+        final VmAllocationPolicyMigrationInterQuartileRange policy =
+            new VmAllocationPolicyMigrationInterQuartileRange(new VmSelectionPolicyMinimumUtilization());
+        final Host host = createHost(policy, UTILIZATION);
+        final double expected = 1 - VmAllocationPolicyMigrationInterQuartileRange.DEF_SAFETY_PARAMETER * MathUtil.iqr(UTILIZATION.clone());
+        assertEquals(expected, policy.getOverUtilizationThreshold(host), 0.0001);
+        assertTrue(policy.getOverUtilizationThreshold(host) < 1);
+    }
+
+    @Test
+    public void getUtilizationHistory_EnablesJustHostCpuStats() {
+        final VmAllocationPolicyMigrationMedianAbsoluteDeviation policy =
+            new VmAllocationPolicyMigrationMedianAbsoluteDeviation(new VmSelectionPolicyMinimumUtilization());
+        final Host host = HostSimpleTest.createHostSimple(0, 2);
+        policy.getUtilizationHistory(host);
+        assertNotSame(HostResourceStats.NULL, host.getCpuUtilizationStats());
+    }
+
+    @Test
+    public void isHostOverloaded_LocalRegressionRobust_WhenNotEnoughHistory() {
+        final VmAllocationPolicyMigrationLocalRegression policy = new VmAllocationPolicyMigrationLocalRegressionRobust(
+            new VmSelectionPolicyMinimumUtilization(), 1.2, VmAllocationPolicyMigration.NULL);
+        final Host host = createHost(policy, 0.9, 0.95);
+        assertThrows(IllegalStateException.class, () -> policy.computeHostUtilizationMeasure(host));
+        assertFalse(policy.isHostOverloaded(host));
+    }
+}
@@ -0,0 +1,114 @@
+package org.cloudbus.cloudsim.core;
+
+import org.cloudbus.cloudsim.core.events.SimEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that {@link CloudSim} just executes entities having events to process
+ * at each clock tick, keeping the order events are processed.
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 6.5.3
+ */
+public class CloudSimReadyEntitiesTest {
+    private static final int IDLE_ENTITIES = 10;
+    private static final int TAG1 = 1;
+    private static final int TAG2 = 2;
+    private static final int TAG3 = 3;
+    private static final int TAG4 = 4;
+    private static final int TAG5 = 5;
+
+    @Test
+    public void idleEntitiesAreSkippedAndEventsOrderIsKept() {
+        final CloudSim simulation = new CloudSim();
+        final List<String> log = new ArrayList<>();
+
+        /* The first entity sends events to the last one,
+         * which replies and sends a delayed event to another entity.
+         * Idle entities are added in between to check they are never executed. */
+        final LoggingEntity first = new LoggingEntity(simulation, "A", log);
+        final List<LoggingEntity> idleEntities = new ArrayList<>(IDLE_ENTITIES);
+        for (int i = 0; i < IDLE_ENTITIES; i++) {
+            idleEntities.add(new LoggingEntity(simulation, "Idle" + i, log));
+        }
+        final LoggingEntity last = new LoggingEntity(simulation, "B", log);
+        final LoggingEntity delayed = new LoggingEntity(simulation, "C", log);
+
+        first.onStart = () -> {
+            first.schedule(last, 1, TAG1);
+            first.schedule(last, 1, TAG2);
+            first.schedule(2, TAG3);
+        };
+        last.onEvent = evt -> {
+            if (evt.getTag() == TAG1) {
+                last.schedule(first, 0, TAG4);
+                last.schedule(delayed, 2, TAG5);
+            }
+        };
+
+        simulation.start();
+
+        final List<String> expected = Arrays.asList("B:1@1.0", "B:2@1.0", "A:4@1.0", "A:3@2.0", "C:5@3.0");
+        assertEquals(expected, log);
+        final List<LoggingEntity> entities = new ArrayList<>(idleEntities);
+        entities.addAll(Arrays.asList(first, last, delayed));
+        entities.forEach(ent -> assertEquals(0, ent.idleRuns, ent.getName() + " must not be executed when it has no events"));
+    }
+
+    /**
+     * An entity that logs the events it processes and counts
+     * how many times it was executed without processing any event.
+     */
+    private static class LoggingEntity extends CloudSimEntity {
+        private final List<String> log;
+        private Runnable onStart = () -> {};
+        private Consumer<SimEvent> onEvent = evt -> {};
+        private int processedEvents;
+        private int idleRuns;
+
+        /**
+         * Indicates if the end of simulation was notified,
+         * after which all entities are executed once more to finish.
+         */
+        private boolean simulationEnded;
+
+        LoggingEntity(final Simulation simulation, final String name, final List<String> log) {
+            super(simulation);
+            setName(name);
+            this.log = log;
+        }
+
+        @Override
+        protected void startInternal() {
+            onStart.run();
+        }
+
+        @Override
+        public void run(final double until) {
+            final int previousProcessedEvents = processedEvents;
+            super.run(until);
+            if (processedEvents == previousProcessedEvents && !simulationEnded) {
+                idleRuns++;
+            }
+        }
+
+        @Override
+        public void processEvent(final SimEvent evt) {
+            processedEvents++;
+            if (evt.getTag() == CloudSimTags.END_OF_SIMULATION) {
+                simulationEnded = true;
+                return;
+            }
+
+            log.add(String.format("%s:%d@%.1f", getName(), evt.getTag(), evt.getTime()));
+            onEvent.accept(evt);
+        }
+    }
+}
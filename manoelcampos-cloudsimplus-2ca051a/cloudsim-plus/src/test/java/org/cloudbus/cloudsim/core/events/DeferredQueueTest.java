@@ -0,0 +1,78 @@
+package org.cloudbus.cloudsim.core.events;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.SimEntity;
+import org.cloudbus.cloudsim.core.Simulation;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 6.5.3
+ */
+public class DeferredQueueTest {
+    @Test
+    public void removeFirstKeepsTimeOrder() {
+        final DeferredQueue queue = new DeferredQueue();
+        final double[] times = {5, 1, 3, 3, 7, 2, 9, 0, 4, 8, 6, 10};
+        for (int i = 0; i < times.length; i++) {
+            queue.addEvent(new CloudSimEvent(times[i], SimEntity.NULL, SimEntity.NULL, i, null));
+        }
+
+        assertEquals(times.length, queue.size());
+        assertEquals(0, queue.first().getTime());
+
+        //Events with the same time keep the order they were added
+        final SimEvent evt = queue.removeFirst(SimEntity.NULL, e -> e.getTime() == 3);
+        assertEquals(2, evt.getTag());
+
+        double previousTime = -1;
+        while (!queue.isEmpty()) {
+            final SimEvent next = queue.removeFirst(SimEntity.NULL, Simulation.ANY_EVT);
+            assertTrue(next.getTime() >= previousTime);
+            previousTime = next.getTime();
+        }
+
+        assertSame(SimEvent.NULL, queue.removeFirst(SimEntity.NULL, Simulation.ANY_EVT));
+    }
+
+    @Test
+    public void removeIfAfterWrappingAround() {
+        final DeferredQueue queue = new DeferredQueue();
+        for (int i = 0; i < 100; i++) {
+            queue.addEvent(new CloudSimEvent(i, SimEntity.NULL, SimEntity.NULL, i % 2, null));
+            if (i % 3 == 0) {
+                queue.removeFirst(SimEntity.NULL, Simulation.ANY_EVT);
+            }
+        }
+
+        final int size = queue.size();
+        final long odd = queue.stream().filter(e -> e.getTag() == 1).count();
+        assertTrue(queue.removeIf(e -> e.getTag() == 1));
+        assertEquals(size - odd, queue.size());
+        assertTrue(queue.stream().allMatch(e -> e.getTag() == 0));
+    }
+
+    @Test
+    public void mailboxOfFinishedEntityIsRemovedWhenEmpty() {
+        final DeferredQueue queue = new DeferredQueue();
+        final DatacenterBroker broker = new DatacenterBrokerSimple(new CloudSim());
+        queue.addEvent(new CloudSimEvent(0, SimEntity.NULL, broker, 0, null));
+        queue.removeFirst(broker, Simulation.ANY_EVT);
+        assertEquals(1, queue.getMailboxesNumber(), "The mailbox of an alive entity must be kept");
+
+        broker.setState(SimEntity.State.FINISHED);
+        queue.addEvent(new CloudSimEvent(1, SimEntity.NULL, broker, 0, null));
+        queue.addEvent(new CloudSimEvent(2, SimEntity.NULL, broker, 1, null));
+        queue.removeIf(e -> e.getTag() == 1);
+        assertEquals(1, queue.getMailboxesNumber());
+        assertFalse(queue.removeMailboxIfUnused(broker));
+
+        queue.removeFirst(broker, Simulation.ANY_EVT);
+        assertEquals(0, queue.getMailboxesNumber());
+        assertFalse(queue.hasEvents(broker));
+    }
+}
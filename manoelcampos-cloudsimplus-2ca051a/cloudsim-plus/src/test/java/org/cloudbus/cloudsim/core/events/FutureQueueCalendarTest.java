@@ -0,0 +1,174 @@
+package org.cloudbus.cloudsim.core.events;
+
+import org.cloudbus.cloudsim.core.SimEntity;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that a {@link FutureQueueCalendar} keeps events
+ * in the same order of a {@link FutureQueue}.
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 6.5.3
+ */
+public class FutureQueueCalendarTest {
+    private static final long SEED = 1;
+
+    @Test
+    public void firstOnEmptyQueue() {
+        assertThrows(NoSuchElementException.class, () -> new FutureQueueCalendar().first());
+    }
+
+    @Test
+    public void sameOrderOfFutureQueue() {
+        final FutureEventQueue expected = new FutureQueue();
+        final FutureEventQueue calendar = new FutureQueueCalendar();
+        final Random random = new Random(SEED);
+        double clock = 0;
+
+        for (int i = 0; i < 20_000; i++) {
+            final double delay = random.nextInt(4) == 0 ? 0 : random.nextDouble() * random.nextInt(1000);
+            final int tag = random.nextInt(5) - 1;
+            final boolean first = random.nextInt(10) == 0;
+            addEvent(expected, clock + delay, tag, first);
+            addEvent(calendar, clock + delay, tag, first);
+
+            if (random.nextBoolean()) {
+                clock = pollAndCompare(expected, calendar);
+            }
+        }
+
+        while (!expected.isEmpty()) {
+            pollAndCompare(expected, calendar);
+        }
+
+        assertTrue(calendar.isEmpty());
+    }
+
+    @Test
+    public void removeIf() {
+        final FutureEventQueue expected = new FutureQueue();
+        final FutureEventQueue calendar = new FutureQueueCalendar();
+        final Random random = new Random(SEED);
+        for (int i = 0; i < 5_000; i++) {
+            final double time = random.nextInt(500);
+            final int tag = random.nextInt(5);
+            addEvent(expected, time, tag, false);
+            addEvent(calendar, time, tag, false);
+        }
+
+        assertTrue(expected.removeIf(evt -> evt.getTag() == 2));
+        assertTrue(calendar.removeIf(evt -> evt.getTag() == 2));
+        assertEquals(expected.size(), calendar.size());
+        assertEquals(expected.size(), calendar.stream().count());
+        while (!expected.isEmpty()) {
+            pollAndCompare(expected, calendar);
+        }
+    }
+
+    @Test
+    public void pollFirstBatch() {
+        final FutureEventQueue expected = new FutureQueue();
+        final FutureEventQueue calendar = new FutureQueueCalendar();
+        final Random random = new Random(SEED);
+        for (int i = 0; i < 5_000; i++) {
+            final double time = random.nextInt(100);
+            final int tag = random.nextInt(5);
+            addEvent(expected, time, tag, false);
+            addEvent(calendar, time, tag, false);
+        }
+
+        final List<SimEvent> expectedBatch = new ArrayList<>();
+        final List<SimEvent> calendarBatch = new ArrayList<>();
+        while (!expected.isEmpty()) {
+            final double time = expected.first().getTime();
+            final int count = expected.pollFirstBatch(expectedBatch);
+            assertEquals(count, calendar.pollFirstBatch(calendarBatch));
+            assertEquals(expectedBatch, calendarBatch);
+            assertTrue(expectedBatch.stream().allMatch(evt -> evt.getTime() == time));
+            assertTrue(expected.isEmpty() || expected.first().getTime() > time);
+            expectedBatch.clear();
+            calendarBatch.clear();
+        }
+
+        assertTrue(calendar.isEmpty());
+        assertEquals(0, calendar.pollFirstBatch(calendarBatch));
+    }
+
+    @Test
+    public void removeIndexedBySourceAndTag() {
+        final FutureEventQueue expected = new FutureQueue();
+        final FutureEventQueue calendar = new FutureQueueCalendar();
+        final Random random = new Random(SEED);
+        for (int i = 0; i < 5_000; i++) {
+            final double time = random.nextInt(500);
+            final int tag = random.nextInt(5);
+            addEvent(expected, time, tag, false);
+            addEvent(calendar, time, tag, false);
+        }
+
+        final SimEvent canceled = calendar.removeFirst(SimEntity.NULL, 3, evt -> evt.getTime() > 100);
+        assertTrue(expected.remove(expected.stream().filter(evt -> evt.getTag() == 3 && evt.getTime() > 100).findFirst().get()));
+        assertEquals(3, canceled.getTag());
+
+        //Events added after the (source, tag) pair is indexed must be indexed too
+        addEvent(expected, 600, 3, false);
+        addEvent(calendar, 600, 3, false);
+        assertTrue(expected.removeIf(evt -> evt.getTag() == 3));
+        assertTrue(calendar.removeIf(SimEntity.NULL, 3, evt -> true));
+        assertFalse(calendar.removeIf(SimEntity.NULL, 3, evt -> true));
+        assertEquals(SimEvent.NULL, calendar.removeFirst(SimEntity.NULL, 3, evt -> true));
+        assertEquals(expected.size(), calendar.size());
+        while (!expected.isEmpty()) {
+            pollAndCompare(expected, calendar);
+        }
+    }
+
+    @Test
+    public void removeIndexedBySourceAndTagAfterIndexIsRemoved() {
+        final FutureEventQueue calendar = new FutureQueueCalendar();
+        addEvent(calendar, 10, 3, false);
+        assertEquals(10, calendar.removeFirst(SimEntity.NULL, 3, evt -> true).getTime());
+
+        //The emptied (source, tag) pair must be indexed again when requested
+        addEvent(calendar, 20, 3, false);
+        addEvent(calendar, 30, 3, false);
+        assertEquals(20, calendar.removeFirst(SimEntity.NULL, 3, evt -> true).getTime());
+
+        calendar.removeIndex(SimEntity.NULL);
+        addEvent(calendar, 40, 3, false);
+        assertTrue(calendar.removeIf(SimEntity.NULL, 3, evt -> true));
+        assertTrue(calendar.isEmpty());
+    }
+
+    private static void addEvent(final FutureEventQueue queue, final double time, final int tag, final boolean first) {
+        final SimEvent evt = new CloudSimEvent(time, SimEntity.NULL, SimEntity.NULL, tag, null);
+        if (first) {
+            queue.addEventFirst(evt);
+        } else {
+            queue.addEvent(evt);
+        }
+    }
+
+    /**
+     * Removes the first event from both queues, checking they are the same.
+     * @return the time of the removed event
+     */
+    private static double pollAndCompare(final FutureEventQueue expected, final FutureEventQueue calendar) {
+        final SimEvent expectedEvt = expected.first();
+        final SimEvent actualEvt = calendar.first();
+        assertEquals(expectedEvt.getTime(), actualEvt.getTime());
+        assertEquals(expectedEvt.getTag(), actualEvt.getTag());
+        assertEquals(expectedEvt.getSerial(), actualEvt.getSerial());
+        assertTrue(expected.remove(expectedEvt));
+        assertTrue(calendar.remove(actualEvt));
+        assertEquals(expected.size(), calendar.size());
+        return actualEvt.getTime();
+    }
+}
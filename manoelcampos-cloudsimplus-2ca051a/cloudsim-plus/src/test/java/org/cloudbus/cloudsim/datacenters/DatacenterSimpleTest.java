@@ -0,0 +1,86 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.datacenters;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 6.5.3
+ */
+public class DatacenterSimpleTest {
+    private static final int HOSTS = 2;
+    private static final int HOST_PES = 4;
+    private static final double MIPS = 1000;
+
+    @Test
+    public void vmBrokersAreUpdatedAsVmsAreCreatedAndDestroyed() {
+        final CloudSim simulation = new CloudSim();
+        final DatacenterSimple dc = new DatacenterSimple(simulation, createHosts());
+        final DatacenterBrokerSimple broker = new DatacenterBrokerSimple(simulation);
+        final List<Boolean> brokerFoundWhenVmsCreated = new ArrayList<>();
+
+        final Vm vm = new VmSimple(MIPS, 2);
+        vm.addOnHostAllocationListener(info -> brokerFoundWhenVmsCreated.add(dc.getRelatedEntities().contains(broker)));
+        broker.submitVmList(singletonList(vm));
+
+        final Cloudlet cloudlet = new CloudletSimple(10_000, 1);
+        broker.submitCloudletList(singletonList(cloudlet));
+
+        simulation.start();
+
+        assertEquals(singletonList(true), brokerFoundWhenVmsCreated);
+        assertTrue(dc.getRelatedEntities().isEmpty());
+    }
+
+    private static List<Host> createHosts() {
+        final List<Host> hosts = new ArrayList<>(HOSTS);
+        for (int i = 0; i < HOSTS; i++) {
+            final List<Pe> peList = new ArrayList<>(HOST_PES);
+            for (int j = 0; j < HOST_PES; j++) {
+                peList.add(new PeSimple(MIPS));
+            }
+
+            hosts.add(new HostSimple(2048, 10_000, 100_000, peList));
+        }
+
+        return hosts;
+    }
+}
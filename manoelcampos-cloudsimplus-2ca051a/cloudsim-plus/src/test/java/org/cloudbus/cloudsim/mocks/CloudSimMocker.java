@@ -91,6 +91,8 @@ public final class CloudSimMocker {
         final CloudSimMocker mocker = new CloudSimMocker();
         consumer.accept(mocker);
         EasyMock.expect(mocker.mock.isRunning()).andReturn(true).anyTimes();
+        EasyMock.expect(mocker.mock.isQuietLogging()).andReturn(false).anyTimes();
+        mocker.runSequentially();
         CloudSimMocker.replay(mocker.mock);
         return mocker.mock;
     }
@@ -109,6 +111,19 @@ public final class CloudSimMocker {
                 .andReturn(clockTimeToReturn);
     }
 
+    /**
+     * Makes the {@link CloudSim#runSequentially(Runnable)} method from the mocked CloudSim class
+     * to run the given operation immediately, as the real class does when
+     * no parallel execution is in progress.
+     */
+    private void runSequentially() {
+        mock.runSequentially(EasyMock.anyObject());
+        EasyMock.expectLastCall().andAnswer(() -> {
+            ((Runnable) EasyMock.getCurrentArguments()[0]).run();
+            return null;
+        }).anyTimes();
+    }
+
     public IExpectationSetters<Boolean> isTerminationTimeSet() {
         return EasyMock
             .expect(mock.isTerminationTimeSet())
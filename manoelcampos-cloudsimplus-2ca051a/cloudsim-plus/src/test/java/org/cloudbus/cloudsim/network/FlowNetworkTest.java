@@ -0,0 +1,186 @@
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.network.*;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.network.switches.AggregateSwitch;
+import org.cloudbus.cloudsim.network.switches.EdgeSwitch;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.network.NetworkVm;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlowNetworkTest {
+    private static final int HOSTS = 4;
+    private static final double EDGE_UPLINK_BW = 100;
+    private static final double EDGE_DOWNLINK_BW = 1000;
+
+    private CloudSim simulation;
+    private NetworkDatacenter datacenter;
+    private List<NetworkHost> hosts;
+    private List<NetworkVm> vms;
+
+    /** The description of the Cloudlets finished in the last run of {@link #runApplication(boolean, boolean)}. */
+    private List<String> finishedCloudlets;
+
+    /**
+     * Creates a Datacenter with 2 edge switches (connected to an aggregate switch),
+     * each one having 2 Hosts with a VM.
+     */
+    private void createDatacenter(final boolean flowNetworkEnabled) {
+        simulation = new CloudSim();
+        hosts = new ArrayList<>(HOSTS);
+        vms = new ArrayList<>(HOSTS);
+        for (int i = 0; i < HOSTS; i++) {
+            final List<Pe> peList = Arrays.asList(new PeSimple(1000, new PeProvisionerSimple()), new PeSimple(1000, new PeProvisionerSimple()));
+            hosts.add(new NetworkHost(10000, 100000, 100000, peList));
+            final NetworkVm vm = new NetworkVm(i, 1000, 2);
+            vm.setRam(1000).setBw(1000).setSize(1000).setCloudletScheduler(new CloudletSchedulerTimeShared());
+            vms.add(vm);
+        }
+
+        datacenter = new NetworkDatacenter(simulation, hosts, new VmAllocationPolicySimple());
+        datacenter.setSchedulingInterval(1);
+        datacenter.setFlowNetworkEnabled(flowNetworkEnabled);
+
+        final AggregateSwitch aggregateSwitch = new AggregateSwitch(simulation, datacenter);
+        datacenter.addSwitch(aggregateSwitch);
+        for (int i = 0; i < HOSTS / 2; i++) {
+            final EdgeSwitch edgeSwitch = new EdgeSwitch(simulation, datacenter);
+            edgeSwitch.setUplinkBandwidth(EDGE_UPLINK_BW);
+            edgeSwitch.setDownlinkBandwidth(EDGE_DOWNLINK_BW);
+            edgeSwitch.getUplinkSwitches().add(aggregateSwitch);
+            aggregateSwitch.getDownlinkSwitches().add(edgeSwitch);
+            datacenter.addSwitch(edgeSwitch);
+            edgeSwitch.connectHost(hosts.get(i * 2));
+            edgeSwitch.connectHost(hosts.get(i * 2 + 1));
+        }
+    }
+
+    private HostPacket newPacket(final int sourceIndex, final int destinationIndex, final long bytes) {
+        final VmPacket vmPacket = new VmPacket(vms.get(sourceIndex), vms.get(destinationIndex), bytes, null, null);
+        return new HostPacket(hosts.get(sourceIndex), vmPacket);
+    }
+
+    @Test
+    public void testMaxMinFairBandwidthAllocation() {
+        createDatacenter(true);
+        for (int i = 0; i < HOSTS; i++) {
+            vms.get(i).setHost(hosts.get(i));
+        }
+
+        //Flows 0 and 1 share the edge uplink, which is their bottleneck
+        final HostPacket crossSwitch0 = newPacket(0, 2, 1000);
+        final HostPacket crossSwitch1 = newPacket(1, 3, 2000);
+        //Flow 2 shares the link from Host 1 with flow 1, getting the bandwidth that flow 1 doesn't use
+        final HostPacket local = newPacket(1, 0, 3000);
+        datacenter.getFlowNetwork().addFlows(Arrays.asList(crossSwitch0, crossSwitch1, local));
+
+        final Map<HostPacket, Double> rates = datacenter.getFlowNetwork().getFlowRates();
+        assertEquals(3, datacenter.getFlowNetwork().getActivePacketsNumber());
+        assertEquals(EDGE_UPLINK_BW / 2, rates.get(crossSwitch0));
+        assertEquals(EDGE_UPLINK_BW / 2, rates.get(crossSwitch1));
+        assertEquals(EDGE_DOWNLINK_BW - EDGE_UPLINK_BW / 2, rates.get(local));
+    }
+
+    @Test
+    public void testPacketsWithSameRouteAndSizeShareBandwidthAsIndividualFlows() {
+        createDatacenter(true);
+        for (int i = 0; i < HOSTS; i++) {
+            vms.get(i).setHost(hosts.get(i));
+        }
+
+        final List<HostPacket> localPackets = Arrays.asList(newPacket(0, 1, 1000), newPacket(0, 1, 1000), newPacket(0, 1, 1000));
+        //The edge uplink is the bottleneck of such a packet, so the local packets share the remaining bandwidth
+        final HostPacket crossSwitch = newPacket(2, 1, 500);
+        final List<HostPacket> packets = new ArrayList<>(localPackets);
+        packets.add(crossSwitch);
+        datacenter.getFlowNetwork().addFlows(packets);
+
+        final Map<HostPacket, Double> rates = datacenter.getFlowNetwork().getFlowRates();
+        assertEquals(4, datacenter.getFlowNetwork().getActivePacketsNumber());
+        assertEquals(EDGE_UPLINK_BW, rates.get(crossSwitch));
+        localPackets.forEach(pkt -> assertEquals((EDGE_DOWNLINK_BW - EDGE_UPLINK_BW) / 3, rates.get(pkt)));
+    }
+
+    @Test
+    public void testFlowNetworkFinishesCloudletsWithFewerEvents() {
+        final long packetEvents = runApplication(false, false);
+        final long flowEvents = runApplication(true, false);
+        assertTrue(flowEvents < packetEvents, "Flow events: " + flowEvents + " Packet events: " + packetEvents);
+    }
+
+    @Test
+    public void testFlowNetworkGivesSameResultsWhenUpdatingHostsInParallel() {
+        final long sequentialEvents = runApplication(true, false);
+        final List<String> expected = finishedCloudlets;
+
+        final long parallelEvents = runApplication(true, true);
+        assertEquals(expected, finishedCloudlets);
+        assertEquals(sequentialEvents, parallelEvents);
+    }
+
+    /**
+     * Runs an application where each Cloudlet sends packets to a Cloudlet in a Host connected to another switch.
+     * @param parallelHosts true to update Hosts in parallel, false otherwise
+     * @return the number of events generated
+     */
+    private long runApplication(final boolean flowNetworkEnabled, final boolean parallelHosts) {
+        final int packets = 50;
+        createDatacenter(flowNetworkEnabled);
+        if (parallelHosts) {
+            datacenter.setParallelHostsProcessingThreshold(1);
+        }
+
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        broker.submitVmList(vms);
+
+        final List<NetworkCloudlet> cloudlets = new ArrayList<>(HOSTS);
+        for (final NetworkVm vm : vms) {
+            final NetworkCloudlet cloudlet = new NetworkCloudlet(1000, 2);
+            cloudlet.setUtilizationModel(new UtilizationModelFull()).setVm(vm).setBroker(broker);
+            cloudlet.addTask(new CloudletExecutionTask(0, 1000));
+            cloudlets.add(cloudlet);
+        }
+
+        for (int i = 0; i < HOSTS; i++) {
+            final NetworkCloudlet receiver = cloudlets.get((i + 2) % HOSTS);
+            final CloudletSendTask sendTask = new CloudletSendTask(1);
+            cloudlets.get(i).addTask(sendTask);
+            for (int j = 0; j < packets; j++) {
+                sendTask.addPacket(receiver, 100000);
+            }
+
+            final CloudletReceiveTask receiveTask = new CloudletReceiveTask(2, vms.get(i));
+            receiveTask.setExpectedPacketsToReceive(packets);
+            receiver.addTask(receiveTask);
+        }
+
+        broker.submitCloudletList(cloudlets);
+        simulation.start();
+
+        assertEquals(HOSTS, broker.getCloudletFinishedList().size());
+        for (final NetworkHost host : hosts) {
+            assertEquals(packets * 100000, host.getTotalDataTransferBytes());
+        }
+
+        finishedCloudlets = new ArrayList<>();
+        broker.getCloudletFinishedList().forEach(cloudlet -> finishedCloudlets.add(cloudlet.getId() + " " + cloudlet.getFinishTime()));
+
+        return simulation.getGeneratedEventsNumber();
+    }
+}
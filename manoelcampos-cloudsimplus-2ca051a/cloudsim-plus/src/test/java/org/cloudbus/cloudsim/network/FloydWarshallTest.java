@@ -0,0 +1,124 @@
+package org.cloudbus.cloudsim.network;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FloydWarshallTest {
+    private static final double DELTA = 0.000001;
+
+    /**
+     * Creates the delay matrix of an undirected graph in line: 0 - 1 - 2 - 3,
+     * where each link has delay 1.
+     */
+    private static double[][] createLineGraph() {
+        final double[][] matrix = new double[4][4];
+        for (int i = 0; i < 3; i++) {
+            matrix[i][i + 1] = 1;
+            matrix[i + 1][i] = 1;
+        }
+
+        return matrix;
+    }
+
+    @Test
+    public void testComputeShortestPaths() {
+        final FloydWarshall floyd = new FloydWarshall(4);
+        final double[][] delays = floyd.computeShortestPaths(createLineGraph());
+
+        assertEquals(0, delays[0][0]);
+        assertEquals(1, delays[0][1]);
+        assertEquals(3, delays[0][3]);
+        assertEquals(3, delays[3][0]);
+        assertEquals(2, floyd.getPk()[0][3]);
+        assertEquals(-1, floyd.getPk()[0][0]);
+    }
+
+    @Test
+    public void testAddLinkUpdatesShortestPaths() {
+        final FloydWarshall floyd = new FloydWarshall(4);
+        floyd.computeShortestPaths(createLineGraph());
+
+        floyd.updateLink(0, 3, 0.5);
+        assertEquals(0.5, floyd.getDelay(0, 3));
+        assertEquals(1.5, floyd.getDelay(0, 2));
+        assertEquals(3, floyd.getDelay(3, 0), "The link is directed");
+        assertEquals(0, floyd.getPk()[0][3]);
+        assertEquals(3, floyd.getPk()[0][2]);
+    }
+
+    @Test
+    public void testRemoveLinkUpdatesShortestPaths() {
+        final double[][] matrix = createLineGraph();
+        matrix[0][3] = 5;
+        matrix[3][0] = 5;
+        final FloydWarshall floyd = new FloydWarshall(4);
+        floyd.computeShortestPaths(matrix);
+        assertEquals(3, floyd.getDelay(0, 3));
+
+        floyd.updateLink(1, 2, 0);
+        floyd.updateLink(2, 1, 0);
+        assertEquals(5, floyd.getDelay(0, 3));
+        assertEquals(6, floyd.getDelay(0, 2));
+        assertEquals(7, floyd.getDelay(1, 2));
+
+        floyd.updateLink(0, 3, 0);
+        floyd.updateLink(3, 0, 0);
+        assertEquals(Double.MAX_VALUE, floyd.getDelay(0, 3));
+    }
+
+    @Test
+    public void testIncrementalUpdatesMatchComputationFromScratch() {
+        final int vertices = 60;
+        final Random random = new Random(5);
+        final double[][] matrix = new double[vertices][vertices];
+        final FloydWarshall floyd = new FloydWarshall(vertices);
+        for (int i = 0; i < vertices * 5; i++) {
+            final int src = random.nextInt(vertices);
+            final int dest = random.nextInt(vertices);
+            matrix[src][dest] = i % 4 == 0 ? 0 : random.nextDouble() + 0.1;
+            floyd.updateLink(src, dest, matrix[src][dest]);
+        }
+
+        final double[][] expected = new FloydWarshall(vertices).computeShortestPaths(matrix);
+        for (int i = 0; i < vertices; i++) {
+            assertArrayEquals(expected[i], floyd.getDelays()[i], DELTA);
+        }
+    }
+
+    @Test
+    public void testParallelComputationHasSameResult() {
+        final int vertices = 300;
+        final Random random = new Random(7);
+        final double[][] matrix = new double[vertices][vertices];
+        for (int i = 0; i < vertices * 3; i++) {
+            matrix[random.nextInt(vertices)][random.nextInt(vertices)] = random.nextDouble() + 0.1;
+        }
+
+        final double[][] expected = new FloydWarshall(vertices).computeShortestPaths(matrix);
+        final double[][] result = new FloydWarshall(vertices).setParallel(true).computeShortestPaths(matrix);
+        assertArrayEquals(expected, result);
+    }
+
+    @Test
+    public void testAddVertices() {
+        final FloydWarshall floyd = new FloydWarshall(4);
+        floyd.computeShortestPaths(createLineGraph());
+        floyd.addVertices(1);
+        assertEquals(5, floyd.getNumVertices());
+        assertEquals(3, floyd.getDelay(0, 3));
+        assertEquals(Double.MAX_VALUE, floyd.getDelay(0, 4));
+
+        floyd.updateLink(3, 4, 2);
+        assertEquals(5, floyd.getDelay(0, 4));
+    }
+
+    @Test
+    public void testGetDelayInvalidVertex() {
+        final FloydWarshall floyd = new FloydWarshall(4);
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> floyd.getDelay(1, -1));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> floyd.getDelay(4, 0));
+    }
+}
@@ -0,0 +1,75 @@
+package org.cloudbus.cloudsim.network.switches;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.core.events.SimEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AbstractSwitchTest {
+    private static final double SWITCHING_DELAY = 1.5;
+
+    @Test
+    public void testPacketsReceivedKeepJustOneForwardingEvent() {
+        final CloudSim simulation = new CloudSim();
+        final TestSwitch sw = new TestSwitch(simulation, new double[]{0, 0, 0, 1, 1, 2});
+        simulation.start();
+
+        sw.pendingForwardingEvents.forEach(pending -> assertEquals(1, pending));
+        assertEquals(6, sw.pendingForwardingEvents.size());
+    }
+
+    @Test
+    public void testForwardingIsPostponedUntilSwitchingDelayAfterLastPacket() {
+        final CloudSim simulation = new CloudSim();
+        final TestSwitch sw = new TestSwitch(simulation, new double[]{0, 1, 2});
+        simulation.start();
+
+        final double lastPacketTime = 2;
+        assertEquals(lastPacketTime + SWITCHING_DELAY, sw.forwardingTimes.get(sw.forwardingTimes.size()-1));
+        assertEquals(lastPacketTime + SWITCHING_DELAY, simulation.clock());
+    }
+
+    /**
+     * A switch that receives packets at given times.
+     */
+    private static final class TestSwitch extends AbstractSwitch {
+        private final double[] packetTimes;
+        private final List<Double> forwardingTimes = new ArrayList<>();
+        private final List<Long> pendingForwardingEvents = new ArrayList<>();
+
+        private TestSwitch(final CloudSim simulation, final double[] packetTimes) {
+            super(simulation, null);
+            this.packetTimes = packetTimes;
+            setSwitchingDelay(SWITCHING_DELAY);
+        }
+
+        @Override
+        protected void startInternal() {
+            for (final double time : packetTimes) {
+                schedule(this, time, CloudSimTags.NETWORK_EVENT_UP);
+            }
+        }
+
+        @Override
+        public void processEvent(final SimEvent evt) {
+            if (evt.getTag() == CloudSimTags.NETWORK_EVENT_SEND) {
+                forwardingTimes.add(getSimulation().clock());
+            }
+
+            super.processEvent(evt);
+            if (evt.getTag() == CloudSimTags.NETWORK_EVENT_UP) {
+                pendingForwardingEvents.add(getSimulation().getNumberOfFutureEvents(e -> e.getTag() == CloudSimTags.NETWORK_EVENT_SEND));
+            }
+        }
+
+        @Override
+        public int getLevel() {
+            return 0;
+        }
+    }
+}
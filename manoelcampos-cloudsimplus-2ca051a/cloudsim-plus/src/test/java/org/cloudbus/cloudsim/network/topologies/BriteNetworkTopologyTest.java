@@ -0,0 +1,73 @@
+package org.cloudbus.cloudsim.network.topologies;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.SimEntity;
+import org.cloudbus.cloudsim.network.DelayMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BriteNetworkTopologyTest {
+    private static final double DELTA = 0.000001;
+
+    private static List<SimEntity> createEntities(final int count) {
+        final CloudSim simulation = new CloudSim();
+        final List<SimEntity> entities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entities.add(new DatacenterBrokerSimple(simulation));
+        }
+
+        return entities;
+    }
+
+    @Test
+    public void testAddAndRemoveLink() {
+        final List<SimEntity> entities = createEntities(3);
+        final BriteNetworkTopology topology = new BriteNetworkTopology();
+        topology.addLink(entities.get(0), entities.get(1), 10, 1);
+        topology.addLink(entities.get(1), entities.get(2), 10, 2);
+        topology.addLink(entities.get(0), entities.get(2), 5, 4);
+        assertEquals(3, topology.getDelay(entities.get(0), entities.get(2)), DELTA);
+        assertEquals(3, topology.getDelay(entities.get(2), entities.get(0)), DELTA);
+
+        topology.removeLink(entities.get(2), entities.get(1));
+        assertEquals(4, topology.getDelay(entities.get(0), entities.get(2)), DELTA);
+        assertEquals(5, topology.getDelay(entities.get(1), entities.get(2)), DELTA);
+        assertEquals(0, topology.getBwMatrix()[1][2]);
+        assertEquals(2, topology.getTopologicalGraph().getNumberOfLinks());
+    }
+
+    @Test
+    public void testIncrementalDelaysMatchDelayMatrixFromGraph() {
+        final int count = 40;
+        final List<SimEntity> entities = createEntities(count);
+        final BriteNetworkTopology topology = new BriteNetworkTopology();
+        final Random random = new Random(3);
+
+        //Each entity is mapped to a BRITE node id in the order it's added to the topology
+        final Map<SimEntity, Integer> nodeIds = new HashMap<>();
+        for (int i = 0; i < count * 3; i++) {
+            final SimEntity src = entities.get(random.nextInt(count));
+            final SimEntity dest = entities.get(random.nextInt(count));
+            nodeIds.putIfAbsent(src, nodeIds.size());
+            nodeIds.putIfAbsent(dest, nodeIds.size());
+            topology.addLink(src, dest, 10, random.nextInt(10) + 1);
+        }
+
+        final DelayMatrix expected = new DelayMatrix(topology.getTopologicalGraph(), false);
+        assertEquals(topology.getTopologicalGraph().getNumberOfNodes(), topology.getBwMatrix().length);
+        for (final SimEntity src : nodeIds.keySet()) {
+            for (final SimEntity dest : nodeIds.keySet()) {
+                final double expectedDelay = expected.getDelay(nodeIds.get(src), nodeIds.get(dest));
+                assertEquals(expectedDelay, topology.getDelay(src, dest), DELTA);
+            }
+        }
+    }
+}
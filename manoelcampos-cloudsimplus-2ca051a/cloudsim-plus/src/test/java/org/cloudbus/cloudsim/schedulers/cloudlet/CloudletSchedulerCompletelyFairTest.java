@@ -0,0 +1,117 @@
+package org.cloudbus.cloudsim.schedulers.cloudlet;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
+import org.cloudbus.cloudsim.cloudlets.CloudletTestUtil;
+import org.cloudbus.cloudsim.datacenters.Datacenter;
+import org.cloudbus.cloudsim.schedulers.MipsShare;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class CloudletSchedulerCompletelyFairTest {
+    private static final int VM_PES = 2;
+    private static final long MIPS = 1000;
+
+    private CloudletSchedulerCompletelyFair instance;
+    private List<Cloudlet> cloudlets;
+
+    @BeforeEach
+    public void setUp(){
+        instance = new CloudletSchedulerCompletelyFair();
+        instance.setVm(new VmSimple(0, MIPS, VM_PES));
+        instance.setCurrentMipsShare(new MipsShare(VM_PES, MIPS));
+        cloudlets = new ArrayList<>();
+    }
+
+    @Test
+    public void testWaitingListIsSortedRegardlessOfSubmissionOrder() {
+        submitCloudlets(4, 3, 2, 1, 0);
+
+        assertEquals(asList(4L, 3L), getCloudletIds(instance.getCloudletExecList()));
+        assertEquals(asList(0L, 1L, 2L), getCloudletIds(instance.getCloudletWaitingList()));
+        assertEquals(1, instance.getCloudletWaitingList().get(1).getCloudletId());
+    }
+
+    @Test
+    public void testPausedCloudletIsRemovedFromWaitingList() {
+        submitCloudlets(4, 3, 2, 1, 0);
+
+        assertTrue(instance.cloudletPause(cloudlets.get(3)));
+        assertEquals(asList(0L, 2L), getCloudletIds(instance.getCloudletWaitingList()));
+    }
+
+    @Test
+    public void testWaitingCloudletsWithSameIdAreKept() {
+        submitCloudlets(0, 1, 2, 2);
+
+        assertEquals(asList(2L, 2L), getCloudletIds(instance.getCloudletWaitingList()));
+        assertTrue(instance.cloudletPause(cloudlets.get(3)));
+        assertEquals(singletonList(2L), getCloudletIds(instance.getCloudletWaitingList()));
+    }
+
+    @Test
+    public void testWaitingCloudletIsRemovedAfterItsPriorityChanges() {
+        submitCloudlets(0, 1, 2, 3);
+
+        cloudlets.get(3).setPriority(5);
+        assertTrue(instance.cloudletPause(cloudlets.get(3)));
+        assertEquals(singletonList(2L), getCloudletIds(instance.getCloudletWaitingList()));
+    }
+
+    @Test
+    public void testCloudletTimeSliceAfterRunningCloudletsChange() {
+        submitCloudlets(0, 1);
+        final CloudletExecution cle = new CloudletExecution(CloudletTestUtil.createCloudlet(2, MIPS, 1));
+
+        //The weight of each Cloudlet is the same, so the latency is equally divided
+        assertEquals(instance.getLatency() / 2.0, instance.computeCloudletTimeSlice(cle));
+
+        instance.cloudletCancel(cloudlets.get(0));
+        assertEquals(instance.getMinimumGranularity(), instance.computeCloudletTimeSlice(cle));
+    }
+
+    @Test
+    public void testCloudletTimeSliceAfterRunningCloudletPriorityChanges() {
+        submitCloudlets(0, 1);
+        final CloudletExecution cle = new CloudletExecution(CloudletTestUtil.createCloudlet(2, MIPS, 1));
+
+        //The weight the Cloudlet had when it started running must be removed from the weight sum
+        cloudlets.get(0).setPriority(5);
+        instance.cloudletCancel(cloudlets.get(0));
+        assertEquals(instance.getMinimumGranularity(), instance.computeCloudletTimeSlice(cle));
+    }
+
+    @Test
+    public void testClear() {
+        submitCloudlets(0, 1, 2);
+        instance.clear();
+
+        assertTrue(instance.getCloudletWaitingList().isEmpty());
+        assertTrue(instance.getCloudletExecList().isEmpty());
+    }
+
+    private void submitCloudlets(final long... ids) {
+        for (final long id : ids) {
+            final Cloudlet cloudlet = CloudletTestUtil.createCloudlet((int) id, MIPS, 1);
+            cloudlet.assignToDatacenter(Datacenter.NULL);
+            cloudlets.add(cloudlet);
+            instance.cloudletSubmit(cloudlet);
+        }
+    }
+
+    private List<Long> getCloudletIds(final List<CloudletExecution> list) {
+        return list.stream().map(CloudletExecution::getCloudletId).collect(toList());
+    }
+}
@@ -4,7 +4,9 @@ import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
 import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
 import org.cloudbus.cloudsim.cloudlets.CloudletTestUtil;
+import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.utilizationmodels.UtilizationModel;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelDynamic;
 import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
@@ -13,6 +15,7 @@ import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
 import java.util.List;
 
+import static java.util.Arrays.asList;
 import static org.cloudbus.cloudsim.schedulers.cloudlet.CloudletSchedulerTimeSharedTestUtil.newSchedulerWithRunningCloudlets;
 import static org.cloudbus.cloudsim.schedulers.cloudlet.CloudletSchedulerTimeSharedTestUtil.newSchedulerWithSingleCoreRunningCloudlets;
 import static org.junit.jupiter.api.Assertions.*;
@@ -294,6 +297,23 @@ public class CloudletSchedulerTimeSharedTest {
         assertEquals(0, instance.getCloudletExecList().size());
     }
 
+    @Test
+    public void testRemoveCloudletFromExecListMovesLastCloudletToRemovedPosition() {
+        final List<CloudletExecution> list = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final CloudletExecution cle = new CloudletExecution(CloudletTestUtil.createCloudletWithOnePe(i));
+            list.add(cle);
+            instance.addCloudletToExecList(cle);
+        }
+
+        assertSame(list.get(0), instance.removeCloudletFromExecList(list.get(0)));
+        assertEquals(asList(list.get(2), list.get(1)), instance.getCloudletExecList());
+        assertSame(CloudletExecution.NULL, instance.removeCloudletFromExecList(list.get(0)));
+        assertSame(list.get(2), instance.removeCloudletFromExecList(list.get(2)));
+        assertSame(list.get(1), instance.removeCloudletFromExecList(list.get(1)));
+        assertTrue(instance.getCloudletExecList().isEmpty());
+    }
+
     @Test
     public void testRemoveCloudletFromExecListWhenCloudletNoFound() {
         final CloudletExecution cloudletNotAdded = new CloudletExecution(CloudletTestUtil.createCloudletWithOnePe(0));
@@ -313,4 +333,36 @@ public class CloudletSchedulerTimeSharedTest {
         instance.addCloudletToExecList(cloudlet);
         assertEquals(list.size(), instance.getCloudletExecList().size());
     }
+
+    /**
+     * Runs 4 single-PE cloudlets in a scheduler with 4 PEs,
+     * where just the cloudlets in even positions finish after the first second.
+     * Checks that only finished cloudlets are removed from the execution list,
+     * that the remaining ones keep their original order and
+     * that the PEs of finished cloudlets are released.
+     */
+    @Test
+    public void testUpdateProcessingRemovesJustFinishedCloudletsKeepingExecOrder() {
+        final long mips = 1000;
+        final int vmPes = 4;
+        final CloudletSchedulerTimeShared instance =
+            CloudletSchedulerTimeSharedTestUtil.createCloudletSchedulerWithMipsList(vmPes, mips);
+        final UtilizationModel ramBwModel = new UtilizationModelDynamic(1.0/vmPes);
+        for (int i = 0; i < vmPes; i++) {
+            final Cloudlet cloudlet = CloudletTestUtil.createCloudlet(i, mips * (i % 2 + 1), 1);
+            cloudlet.setUtilizationModelRam(ramBwModel).setUtilizationModelBw(ramBwModel);
+            cloudlet.assignToDatacenter(Datacenter.NULL);
+            instance.cloudletSubmit(cloudlet);
+        }
+
+        instance.updateProcessing(1.0, instance.getCurrentMipsShare());
+
+        final List<CloudletExecution> execList = instance.getCloudletExecList();
+        assertEquals(2, execList.size());
+        assertEquals(1, execList.get(0).getCloudletId());
+        assertEquals(3, execList.get(1).getCloudletId());
+        assertEquals(2, instance.getCloudletFinishedList().size());
+        assertEquals(2, instance.getUsedPes());
+        assertEquals(0.5, instance.getRequestedCpuPercent(1.0));
+    }
 }
@@ -0,0 +1,70 @@
+package org.cloudbus.cloudsim.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SlidingWindowStatsTest {
+    @Test
+    public void add_WhenFull_EvictOldestValue() {
+        final SlidingWindowStats window = new SlidingWindowStats(3);
+        window.add(1);
+        window.add(2);
+        window.add(3);
+        window.add(4);
+
+        assertTrue(window.isFull());
+        assertArrayEquals(new double[]{2, 3, 4}, window.toArray());
+        assertArrayEquals(new double[]{3, 4}, window.latest(2));
+        assertEquals(2, window.get(0));
+    }
+
+    @Test
+    public void statistics_EqualsMathUtilResults() {
+        final Random random = new Random(1);
+        final SlidingWindowStats window = new SlidingWindowStats(30);
+        for (int i = 0; i < 500; i++) {
+            //Repeated values check the sorted window keeps duplicates
+            window.add(random.nextInt(20) / 20.0);
+            final double[] values = window.toArray();
+            assertEquals(MathUtil.median(values), window.getMedian());
+            assertEquals(MathUtil.mad(values), window.getMad());
+            if(values.length > 1) {
+                assertEquals(MathUtil.iqr(Arrays.copyOf(values, values.length)), window.getIqr());
+            }
+        }
+    }
+
+    @Test
+    public void statistics_WhenEmpty() {
+        final SlidingWindowStats window = new SlidingWindowStats(3);
+        assertTrue(Double.isNaN(window.getMedian()));
+        assertEquals(0, window.getMad());
+        assertEquals(0, window.getIqr());
+    }
+
+    @Test
+    public void testMad() {
+        final SlidingWindowStats window = new SlidingWindowStats(MathUtilTest.DATA3.length);
+        Arrays.stream(MathUtilTest.DATA3).forEach(window::add);
+        assertEquals(MathUtilTest.MAD, window.getMad());
+    }
+
+    @Test
+    public void clear() {
+        final SlidingWindowStats window = new SlidingWindowStats(2);
+        window.add(1);
+        window.clear();
+        assertTrue(window.isEmpty());
+        window.add(5);
+        assertArrayEquals(new double[]{5}, window.toArray());
+    }
+
+    @Test
+    public void constructor_WhenCapacityIsNotPositive() {
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowStats(0));
+    }
+}
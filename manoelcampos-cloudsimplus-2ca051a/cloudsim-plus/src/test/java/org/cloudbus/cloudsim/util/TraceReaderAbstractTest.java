@@ -0,0 +1,166 @@
+package org.cloudbus.cloudsim.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 6.5.3
+ */
+public class TraceReaderAbstractTest {
+    private static final String[] LINES = {
+        "", "   ", "1", "  1 2   3 ", "1\t2 \t 3", "a,b,,c,", ",a", "1,,", "x | y|z ", "a;b ; c", "a\tb\t\tc", "#1 2"
+    };
+
+    private static final String[] DELIMITERS = {"\\s+", ",", "\\|", ";", " ", "\\t", "\t", "\\s*,\\s*"};
+
+    /**
+     * Checks that fields are split as using {@link String#split(String, int)}
+     * after trimming the line, even when no regex is used.
+     */
+    @Test
+    public void testParseTraceLineSameResultsAsRegexSplit() {
+        for (final String delimiter : DELIMITERS) {
+            final TraceReaderAbstract reader = newReader("");
+            reader.setFieldDelimiterRegex(delimiter);
+            for (final String line : LINES) {
+                final String[] expected = line.startsWith("#") ? new String[0] : line.trim().split(delimiter, -1);
+                final String msg = String.format("Delimiter '%s' and line '%s'", delimiter, line);
+                assertArrayEquals(expected, reader.parseTraceLine(line), msg);
+            }
+        }
+    }
+
+    @Test
+    public void testParallelParsingKeepsLinesOrder() {
+        final int linesNumber = 50_000;
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < linesNumber; i++) {
+            builder.append(i).append(',').append(i * 2).append(System.lineSeparator());
+        }
+
+        final List<String> expected = readLines(builder.toString(), false, Integer.MAX_VALUE);
+        final List<String> actual = readLines(builder.toString(), true, Integer.MAX_VALUE);
+        assertEquals(linesNumber, expected.size());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testParallelParsingReadsMaxLines() {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            builder.append(i).append(System.lineSeparator());
+        }
+
+        final int maxLines = 10_001;
+        final List<String> expected = readLines(builder.toString(), false, maxLines);
+        final List<String> actual = readLines(builder.toString(), true, maxLines);
+        assertEquals(maxLines, actual.size());
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * Checks that reading a trace file from its cache gives the same lines of reading the file,
+     * using a trace with more distinct values than fit into the dictionary of a cache block
+     * and with more than one block.
+     */
+    @Test
+    public void testCachedFileSameLinesAsTraceFile(@TempDir final Path tempDir) throws IOException {
+        final Path traceFile = createGzipTrace(tempDir, 250_000, "user");
+        final Path cacheFile = TraceFileCache.getCachePath(traceFile);
+
+        final List<String> expected = readLines(traceFile, false);
+        assertFalse(Files.exists(cacheFile));
+
+        assertEquals(expected, readLines(traceFile, true));
+        assertTrue(Files.exists(cacheFile));
+        final FileTime cacheTime = Files.getLastModifiedTime(cacheFile);
+
+        assertEquals(expected, readLines(traceFile, true));
+        assertEquals(cacheTime, Files.getLastModifiedTime(cacheFile));
+        assertEquals(expected, readLinesIncrementally(traceFile));
+    }
+
+    @Test
+    public void testCacheIsRecreatedWhenTraceFileChanges(@TempDir final Path tempDir) throws IOException {
+        final Path traceFile = createGzipTrace(tempDir, 100, "user1");
+        readLines(traceFile, true);
+
+        createGzipTrace(tempDir, 100, "user2");
+        Files.setLastModifiedTime(traceFile, FileTime.fromMillis(System.currentTimeMillis() + 2000));
+        final List<String> lines = readLines(traceFile, true);
+        assertEquals(readLines(traceFile, false), lines);
+        assertTrue(lines.get(lines.size()-1).contains("user2"));
+    }
+
+    private static Path createGzipTrace(final Path dir, final int linesNumber, final String user) throws IOException {
+        final Path traceFile = dir.resolve("trace.csv.gz");
+        try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(traceFile))) {
+            final StringBuilder builder = new StringBuilder("# a comment\n");
+            for (int i = 0; i < linesNumber; i++) {
+                builder.append(i).append(',').append(i % 7).append(",,").append(user).append('\n');
+                if(i % 1000 == 0) {
+                    builder.append('\n');
+                }
+            }
+
+            output.write(builder.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        return traceFile;
+    }
+
+    private static List<String> readLines(final Path traceFile, final boolean cacheEnabled) throws IOException {
+        final TraceReaderAbstract reader = new TraceReaderAbstract(traceFile.toString()) {};
+        reader.setFieldDelimiterRegex(",").setCacheEnabled(cacheEnabled);
+        final List<String> lines = new ArrayList<>();
+        reader.readFile(parsedLine -> parsedLine.length > 1 && lines.add(Arrays.toString(parsedLine)));
+        return lines;
+    }
+
+    private static List<String> readLinesIncrementally(final Path traceFile) {
+        try {
+            final TraceReaderAbstract reader = new TraceReaderAbstract(traceFile.toString()) {};
+            reader.setFieldDelimiterRegex(",").setCacheEnabled(true);
+            final List<String> lines = new ArrayList<>();
+            String[] parsedLine;
+            while ((parsedLine = reader.readNextParsedLine()) != null) {
+                lines.add(Arrays.toString(parsedLine));
+            }
+
+            return lines;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<String> readLines(final String content, final boolean parallel, final int maxLines) {
+        final TraceReaderAbstract reader = newReader(content);
+        reader.setFieldDelimiterRegex(",").setMaxLinesToRead(maxLines);
+        reader.setParallelParsing(parallel);
+        final List<String> lines = new ArrayList<>();
+        reader.readFile(parsedLine -> lines.add(Arrays.toString(parsedLine)));
+        assertEquals(lines.size(), reader.getLastLineNumber());
+        return lines;
+    }
+
+    private static TraceReaderAbstract newReader(final String content) {
+        final byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        return new TraceReaderAbstract("trace.txt", new ByteArrayInputStream(bytes)) {};
+    }
+}
@@ -11,7 +11,7 @@ import java.io.UncheckedIOException;
 import java.nio.file.*;
 import java.util.stream.IntStream;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class UtilizationModelPlanetLabTest {
     private static final String TEMP_TRACE = "temp-planetlab-trace.txt";
@@ -143,6 +143,43 @@ public class UtilizationModelPlanetLabTest {
         checkUtilizationValuesFromTempTrace(planetlab, linesToRead);
     }
 
+    @Test
+    public void testInstancesFromTheSameTraceShareUtilizationValues() {
+        final UtilizationModelPlanetLab other = UtilizationModelPlanetLab.getInstance(FILE, SCHEDULING_INTERVAL);
+        assertTrue(instance.isSharingUtilizationWith(other));
+
+        final UtilizationModelPlanetLab mapped = UtilizationModelPlanetLab.getInstance(FILE, cpuUtilization -> cpuUtilization*2);
+        assertFalse(instance.isSharingUtilizationWith(mapped));
+        assertEquals(instance.getUtilizationSample(1)*2, mapped.getUtilizationSample(1));
+    }
+
+    @Test
+    public void testChangedTraceIsReadAgain() {
+        final String path = createTempTraceFile(4, true);
+        final UtilizationModelPlanetLab planetlab = new UtilizationModelPlanetLab(path, SCHEDULING_INTERVAL);
+        assertEquals(4, planetlab.getDataSamples());
+
+        createTempTraceFile(6, true);
+        final UtilizationModelPlanetLab changed = new UtilizationModelPlanetLab(path, SCHEDULING_INTERVAL);
+        assertEquals(6, changed.getDataSamples());
+        checkUtilizationValuesFromTempTrace(changed, 6);
+    }
+
+    @Test
+    public void testTraceNotUsedAnymoreIsRemovedFromRegistry() throws InterruptedException {
+        final String path = createTempTraceFile(4, true);
+        PlanetLabTraceRegistry.clear();
+        assertEquals(4, new UtilizationModelPlanetLab(path, SCHEDULING_INTERVAL).getDataSamples());
+        assertEquals(1, PlanetLabTraceRegistry.size());
+
+        for (int i = 0; i < 100 && PlanetLabTraceRegistry.size() > 0; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertEquals(0, PlanetLabTraceRegistry.size());
+    }
+
     @Test
     public void testGetIntervalSize1EndLowerThanStart() {
         final int expected = 1;
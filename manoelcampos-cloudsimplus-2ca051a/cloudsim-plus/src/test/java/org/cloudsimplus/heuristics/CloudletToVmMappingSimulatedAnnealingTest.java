@@ -0,0 +1,134 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.heuristics;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletTestUtil;
+import org.cloudbus.cloudsim.distributions.UniformDistr;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class CloudletToVmMappingSimulatedAnnealingTest {
+    private static final int VMS = 10;
+    private static final int CLOUDLETS = 100;
+
+    @Test
+    public void testSolveInParallelIsDeterministicForTheSameSeeds() {
+        final CloudletToVmMappingSolution solution1 = createHeuristic(0, 1, 2, 3).solve();
+        final CloudletToVmMappingSolution solution2 = createHeuristic(0, 1, 2, 3).solve();
+        assertEquals(solution1.getCost(), solution2.getCost());
+        assertEquals(getVmIds(solution1), getVmIds(solution2));
+    }
+
+    @Test
+    public void testSolveInParallelWithExchangeIsDeterministicForTheSameSeeds() {
+        final CloudletToVmMappingSimulatedAnnealing heuristic1 = createHeuristic(0, 1, 2, 3);
+        final CloudletToVmMappingSimulatedAnnealing heuristic2 = createHeuristic(0, 1, 2, 3);
+        heuristic1.setExchangeInterval(10);
+        heuristic2.setExchangeInterval(10);
+
+        assertEquals(getVmIds(heuristic1.solve()), getVmIds(heuristic2.solve()));
+    }
+
+    @Test
+    public void testSolveInParallelReturnsBestChainSolution() {
+        final CloudletToVmMappingSimulatedAnnealing heuristic = createHeuristic(0, 1, 2, 3);
+        final double initialCost = heuristic.getInitialSolution().getCost();
+        final CloudletToVmMappingSolution solution = heuristic.solve();
+
+        assertEquals(4, heuristic.getChainsNumber());
+        assertTrue(solution.getCost() <= initialCost);
+        assertEquals(solution.getCost(), solution.getCost(true));
+        assertSame(solution, heuristic.getBestSolutionSoFar());
+    }
+
+    @Test
+    public void testSolveStopsWhenMaxSolveTimeIsReached() {
+        final CloudletToVmMappingSimulatedAnnealing heuristic = createHeuristic(0, 1);
+        heuristic.setColdTemperature(0);
+        heuristic.setCoolingRate(0);
+        heuristic.setMaxSolveTime(0.2);
+        heuristic.solve();
+
+        assertTrue(heuristic.getSolveTime() >= 0.2);
+        assertTrue(heuristic.getSolveTime() < 5);
+    }
+
+    @Test
+    public void testSetMaxSolveTimeNegative() {
+        final CloudletToVmMappingSimulatedAnnealing heuristic = createHeuristic();
+        assertThrows(IllegalArgumentException.class, () -> heuristic.setMaxSolveTime(-1));
+    }
+
+    @Test
+    public void testSetExchangeIntervalNegative() {
+        final CloudletToVmMappingSimulatedAnnealing heuristic = createHeuristic();
+        assertThrows(IllegalArgumentException.class, () -> heuristic.setExchangeInterval(-1));
+    }
+
+    /**
+     * Gets the ID of the VM each Cloudlet is mapped to in a given solution,
+     * since solutions created by different heuristics have distinct Cloudlet objects.
+     */
+    private List<Long> getVmIds(final CloudletToVmMappingSolution solution) {
+        return solution.getResult().entrySet().stream()
+                       .sorted(Comparator.comparingLong(entry -> entry.getKey().getId()))
+                       .map(entry -> entry.getValue().getId())
+                       .collect(toList());
+    }
+
+    private CloudletToVmMappingSimulatedAnnealing createHeuristic(final long... chainSeeds) {
+        final CloudletToVmMappingSimulatedAnnealing heuristic =
+            new CloudletToVmMappingSimulatedAnnealing(1.0, new UniformDistr(0, 1, 0));
+        heuristic.setColdTemperature(0.0001);
+        heuristic.setCoolingRate(0.003);
+        heuristic.setNeighborhoodSearchesByIteration(10);
+        heuristic.setChainSeeds(chainSeeds);
+
+        final List<Vm> vms = new ArrayList<>(VMS);
+        for (int i = 0; i < VMS; i++) {
+            vms.add(VmTestUtil.createVm(i, 1000, i % 4 + 1));
+        }
+
+        final List<Cloudlet> cloudlets = new ArrayList<>(CLOUDLETS);
+        for (int i = 0; i < CLOUDLETS; i++) {
+            cloudlets.add(CloudletTestUtil.createCloudlet(i, 10000, i % 3 + 1));
+        }
+
+        heuristic.setVmList(vms);
+        heuristic.setCloudletList(cloudlets);
+        return heuristic;
+    }
+}
@@ -32,11 +32,11 @@ import org.junit.jupiter.api.Test;
 
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  *
@@ -186,4 +186,84 @@ public class CloudletToVmMappingSolutionTest {
             swappedVmsEntries.get(1).getValue().getId());
         assertEquals(swappedVmsEntries, originalEntries, msg);
     }
+
+    /**
+     * Creates a solution with 6 Cloudlets with 1 to 3 PEs each,
+     * bound in round-robin to 3 VMs with 2, 4 and 6 PEs.
+     */
+    private CloudletToVmMappingSolution createSolutionWithThreeVms() {
+        final CloudletToVmMappingSolution instance = new CloudletToVmMappingSolution(Heuristic.NULL);
+        final Vm[] vms = new Vm[3];
+        for (int i = 0; i < vms.length; i++) {
+            vms[i] = VmTestUtil.createVm(i, 1000, (i + 1) * 2);
+        }
+
+        for (int i = 0; i < 6; i++) {
+            instance.bindCloudletToVm(CloudletTestUtil.createCloudlet(i, 1000, i % 3 + 1), vms[i % 3]);
+        }
+
+        return instance;
+    }
+
+    @Test
+    public void testCostIsUpdatedWhenCloudletIsBoundToAnotherVm() {
+        final CloudletToVmMappingSolution instance = createSolutionWithThreeVms();
+        //VM PEs: 2, 4, 6; Cloudlets PEs by VM: 1+1, 2+2, 3+3
+        assertEquals(0, instance.getCost());
+
+        //Moves the first Cloudlet (with 1 PE) to the VM of the third one (with 6 PEs)
+        final List<Cloudlet> cloudlets = new ArrayList<>(instance.getResult().keySet());
+        final Vm vm = instance.getResult().get(cloudlets.get(2));
+        instance.bindCloudletToVm(cloudlets.get(0), vm);
+        assertEquals(2, instance.getCost());
+        assertEquals(instance.getCost(true), instance.getCost());
+        assertEquals(vm, instance.getResult().get(cloudlets.get(0)));
+    }
+
+    @Test
+    public void testSwapVmsOfCloudletsAndRollback() {
+        final CloudletToVmMappingSolution instance = createSolutionWithThreeVms();
+        final double costOfSwap = instance.getCostOfSwap(0, 2);
+        assertEquals(0, instance.getCost(), "Evaluating a swap must not change the solution");
+
+        assertTrue(instance.swapVmsOfCloudlets(0, 2));
+        assertEquals(costOfSwap, instance.getCost());
+        assertEquals(4, instance.getCost());
+        assertEquals(instance.getCost(true), instance.getCost());
+
+        assertTrue(instance.swapVmsOfCloudlets(0, 2));
+        assertEquals(0, instance.getCost());
+        assertFalse(instance.swapVmsOfCloudlets(0, 3), "Cloudlets 0 and 3 are in the same VM");
+    }
+
+    @Test
+    public void testClonedSolutionIsIndependent() {
+        final CloudletToVmMappingSolution instance = createSolutionWithThreeVms();
+        final Map<Cloudlet, Vm> originalMapping = new HashMap<>(instance.getResult());
+        final CloudletToVmMappingSolution clone = new CloudletToVmMappingSolution(instance);
+
+        clone.swapVmsOfCloudlets(0, 1);
+        clone.bindCloudletToVm(CloudletTestUtil.createCloudlet(6, 1000, 1), VmTestUtil.createVm(3, 1000, 1));
+        assertEquals(originalMapping, instance.getResult());
+        assertEquals(0, instance.getCost());
+        assertEquals(6, instance.getCloudletsNumber());
+        assertEquals(7, clone.getCloudletsNumber());
+    }
+
+    @Test
+    public void testGetRandomMapEntriesChangesSolution() {
+        final CloudletToVmMappingSolution instance = new CloudletToVmMappingSolution(Heuristic.NULL);
+        final Vm vm0 = VmTestUtil.createVm(0, 1000, 1);
+        final Vm vm1 = VmTestUtil.createVm(1, 1000, 1);
+        final Cloudlet cloudlet = CloudletTestUtil.createCloudlet(0, 1000, 1);
+        instance.bindCloudletToVm(cloudlet, vm0);
+        instance.bindCloudletToVm(CloudletTestUtil.createCloudlet(1, 1000, 1), vm0);
+        assertEquals(1, instance.getCost());
+
+        final List<Map.Entry<Cloudlet, Vm>> entries = instance.getRandomMapEntries();
+        assertEquals(1, entries.size(), "Heuristic.NULL always selects the first entry");
+        entries.get(0).setValue(vm1);
+        assertEquals(vm1, instance.getResult().get(cloudlet));
+        assertEquals(0, instance.getCost());
+    }
 }
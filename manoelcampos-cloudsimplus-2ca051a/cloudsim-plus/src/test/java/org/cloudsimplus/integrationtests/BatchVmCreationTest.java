@@ -0,0 +1,105 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.integrationtests;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.junit.jupiter.api.Test;
+
+import static org.cloudsimplus.integrationtests.IntegrationTestUtil.createAndSubmitVms;
+import static org.cloudsimplus.integrationtests.IntegrationTestUtil.createHosts;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * An Integration Test (IT) to check that a broker requesting the creation of VMs in batches
+ * (see {@link DatacenterBroker#setBatchVmCreation(boolean)})
+ * sends a single request to the Datacenter and
+ * places larger VMs first.
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 6.5.3
+ */
+public class BatchVmCreationTest {
+    private static final int HOSTS = 2;
+    private static final int HOST_PES = 4;
+
+    /**
+     * The number of PEs for each VM to create.
+     * If VMs are placed in that order by the {@link org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple},
+     * the first two VMs are placed into different Hosts and there is no room left for the last one.
+     */
+    private static final int[] VM_PES = {2, 2, 4};
+
+    private int vmCreationRequests;
+    private int vmBatchCreationRequests;
+
+    @Test
+    public void individualVmCreation() {
+        final DatacenterBroker broker = runSimulation(false);
+        assertEquals(2, broker.getVmCreatedList().size());
+        assertEquals(1, broker.getVmFailedList().size());
+        assertEquals(VM_PES.length, vmCreationRequests);
+        assertEquals(0, vmBatchCreationRequests);
+    }
+
+    @Test
+    public void batchVmCreation() {
+        final DatacenterBroker broker = runSimulation(true);
+        assertEquals(VM_PES.length, broker.getVmCreatedList().size());
+        assertTrue(broker.getVmFailedList().isEmpty());
+        assertEquals(0, vmCreationRequests);
+        assertEquals(1, vmBatchCreationRequests);
+        assertEquals(VM_PES.length, broker.getCloudletFinishedList().size());
+    }
+
+    private DatacenterBroker runSimulation(final boolean batch) {
+        final CloudSim simulation = new CloudSim();
+        simulation.addOnEventProcessingListener(evt -> {
+            if(evt.getDestination() instanceof DatacenterSimple) {
+                vmCreationRequests += evt.getTag() == CloudSimTags.VM_CREATE_ACK ? 1 : 0;
+                vmBatchCreationRequests += evt.getTag() == CloudSimTags.VM_CREATE_BATCH_ACK ? 1 : 0;
+            }
+        });
+        new DatacenterSimple(simulation, createHosts(HOSTS, HOST_PES));
+
+        final DatacenterBrokerSimple broker = new DatacenterBrokerSimple(simulation);
+        broker.setFailedVmsRetryDelay(0);
+        broker.setBatchVmCreation(batch);
+        for (final int pes : VM_PES) {
+            createAndSubmitVms(broker, 1, pes);
+        }
+
+        for (int i = 0; i < VM_PES.length; i++) {
+            broker.submitCloudlet(new CloudletSimple(1000, 1).setSizes(300));
+        }
+
+        simulation.start();
+        return broker;
+    }
+}
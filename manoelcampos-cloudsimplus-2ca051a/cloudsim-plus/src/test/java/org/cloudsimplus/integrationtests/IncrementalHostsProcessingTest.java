@@ -0,0 +1,150 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.integrationtests;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static java.util.Collections.singletonList;
+import static org.cloudsimplus.integrationtests.IntegrationTestUtil.MIPS;
+import static org.cloudsimplus.integrationtests.IntegrationTestUtil.createAndSubmitVms;
+import static org.cloudsimplus.integrationtests.IntegrationTestUtil.createHosts;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * An Integration Test (IT) to check that a simulation where the Datacenter
+ * just updates Hosts affected by some change
+ * (see {@link DatacenterSimple#isIncrementalHostsProcessing()})
+ * gives the same results of updating all Hosts,
+ * when Cloudlets have a constant resource utilization.
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 6.5.3
+ */
+public class IncrementalHostsProcessingTest {
+    private static final int HOSTS = 40;
+    private static final int HOST_PES = 4;
+    private static final int VMS = 40;
+    private static final int VM_PES = 2;
+    private static final int CLOUDLETS = 80;
+    private static final long SEED = 7;
+
+    /** Number of times Hosts were updated in the last simulation run. */
+    private int hostUpdates;
+
+    @Test
+    public void sameFinishTimesWithFewerHostUpdates() {
+        final List<Cloudlet> expected = runSimulation(false);
+        final int allHostsUpdates = hostUpdates;
+
+        final List<Cloudlet> actual = runSimulation(true);
+
+        assertEquals(CLOUDLETS, expected.size());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+            assertEquals(expected.get(i).getVm().getId(), actual.get(i).getVm().getId());
+            assertEquals(expected.get(i).getExecStartTime(), actual.get(i).getExecStartTime(), "start " + i);
+            assertEquals(expected.get(i).getFinishTime(), actual.get(i).getFinishTime(), "finish " + i);
+        }
+
+        assertTrue(hostUpdates < allHostsUpdates);
+    }
+
+    /**
+     * Creates a VM into a Host which wasn't updated since the beginning of the simulation,
+     * checking that the Host is brought up to date just before the VM is placed.
+     */
+    @Test
+    public void hostIsUpdatedBeforeCreatingVmIntoIt() {
+        final CloudSim simulation = new CloudSim();
+        final Host host = createHosts(1, HOST_PES).get(0);
+        final List<String> updates = new ArrayList<>();
+        host.addOnUpdateProcessingListener(info -> updates.add(info.getTime() + " " + host.getVmList().size()));
+        final DatacenterSimple dc = new DatacenterSimple(simulation, singletonList(host));
+        dc.setIncrementalHostsProcessing(true);
+
+        final DatacenterBrokerSimple broker = new DatacenterBrokerSimple(simulation);
+        final List<Vm> vms = createAndSubmitVms(broker, 2, VM_PES);
+        final double vmDelay = 10;
+        vms.get(1).setSubmissionDelay(vmDelay);
+        final Cloudlet cloudlet = new CloudletSimple(100_000, 1).setSizes(300);
+        broker.submitCloudlet(cloudlet);
+        broker.bindCloudletToVm(cloudlet, vms.get(0));
+        simulation.start();
+
+        assertTrue(cloudlet.getFinishTime() > vmDelay);
+        assertTrue(updates.contains(vms.get(1).getStartTime() + " 1"), "The Host must be updated with its previous VMs: " + updates);
+    }
+
+    private List<Cloudlet> runSimulation(final boolean incremental) {
+        hostUpdates = 0;
+        final CloudSim simulation = new CloudSim();
+        final List<Host> hosts = createHosts(HOSTS, HOST_PES);
+        hosts.forEach(host -> host.addOnUpdateProcessingListener(info -> hostUpdates++));
+        final DatacenterSimple dc = new DatacenterSimple(simulation, hosts);
+        dc.setIncrementalHostsProcessing(incremental);
+
+        final DatacenterBrokerSimple broker = new DatacenterBrokerSimple(simulation);
+        createAndSubmitVms(broker, VMS, VM_PES);
+        broker.submitCloudletList(createCloudlets());
+        simulation.start();
+
+        final List<Cloudlet> finished = new ArrayList<>(broker.getCloudletFinishedList());
+        finished.sort((c1, c2) -> Long.compare(c1.getId(), c2.getId()));
+        return finished;
+    }
+
+    /**
+     * Creates Cloudlets whose length is multiple of the MI a VM PE executes in one second.
+     * Since their submission delays are whole seconds too,
+     * a Cloudlet never finishes a little after some other event
+     * (less than the simulation's minimal time between events).
+     * That would make its finish be detected in a later processing update,
+     * which may happen at different times in each mode.
+     */
+    private static List<Cloudlet> createCloudlets() {
+        final Random random = new Random(SEED);
+        final List<Cloudlet> cloudlets = new ArrayList<>(CLOUDLETS);
+        for (int i = 0; i < CLOUDLETS; i++) {
+            final Cloudlet cloudlet = new CloudletSimple((long) MIPS * (1 + random.nextInt(20)), 1);
+            cloudlet.setSizes(300);
+            cloudlet.setSubmissionDelay(random.nextInt(30));
+            cloudlets.add(cloudlet);
+        }
+
+        return cloudlets;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.integrationtests;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.cloudsimplus.builders.HostBuilder;
+import org.cloudsimplus.builders.VmBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility methods to create the Hosts and VMs used by integration tests,
+ * using the default capacities defined by the {@link HostBuilder} and {@link VmBuilder}.
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 6.5.3
+ */
+final class IntegrationTestUtil {
+    /**
+     * The MIPS capacity of each Host and VM PE.
+     */
+    static final double MIPS = 1000;
+
+    /**
+     * A private constructor to avoid class instantiation.
+     */
+    private IntegrationTestUtil(){/**/}
+
+    /**
+     * Creates a list of Hosts.
+     * @param amount the number of Hosts to create
+     * @param pes the number of PEs for each Host
+     * @return the created Hosts
+     */
+    static List<Host> createHosts(final int amount, final int pes) {
+        return new HostBuilder().setPes(pes).setMips(MIPS).create(amount).getHosts();
+    }
+
+    /**
+     * Creates a list of VMs and submits them to a given broker.
+     * The VMs don't have an id, so that the broker assigns them a sequential one.
+     *
+     * @param broker the broker to submit the VMs to
+     * @param amount the number of VMs to create
+     * @param pes the number of PEs for each VM
+     * @return the created VMs
+     */
+    static List<Vm> createAndSubmitVms(final DatacenterBrokerSimple broker, final int amount, final long pes) {
+        new VmBuilder(broker)
+            .setVmCreationFunction(VmSimple::new)
+            .setPes(pes).setMips(MIPS)
+            .createAndSubmit(amount);
+
+        final List<Vm> waitingVms = broker.getVmWaitingList();
+        return new ArrayList<>(waitingVms.subList(waitingVms.size() - amount, waitingVms.size()));
+    }
+}
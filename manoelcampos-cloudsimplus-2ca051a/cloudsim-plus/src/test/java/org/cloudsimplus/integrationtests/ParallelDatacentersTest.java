@@ -0,0 +1,151 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.integrationtests;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.Datacenter;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelDynamic;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.cloudsimplus.integrationtests.IntegrationTestUtil.createAndSubmitVms;
+import static org.cloudsimplus.integrationtests.IntegrationTestUtil.createHosts;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * An Integration Test (IT) to check that a simulation with multiple Datacenters
+ * gives exactly the same results when Datacenters are executed sequentially
+ * or in parallel (see {@link CloudSim#isProcessEventsInParallel()}),
+ * and when Hosts are updated in parallel
+ * (see {@link DatacenterSimple#getParallelHostsProcessingThreshold()}).
+ * Each broker places its VMs into a different Datacenter,
+ * so that Datacenters can be executed in parallel.
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 6.5.3
+ */
+public class ParallelDatacentersTest {
+    private static final int DATACENTERS = 6;
+    private static final int HOSTS = 10;
+    private static final int HOST_PES = 8;
+    private static final int VMS = 10;
+    private static final int VM_PES = 2;
+    private static final int CLOUDLETS = 50;
+    private static final long SEED = 3;
+
+    @Test
+    public void sameResultsOfSequentialExecution() {
+        final CloudSim sequential = new CloudSim();
+        final List<String> expected = runSimulation(sequential, false);
+
+        final CloudSim parallel = new CloudSim();
+        parallel.setProcessEventsInParallel(true);
+        final List<String> actual = runSimulation(parallel, false);
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, actual);
+        assertEquals(sequential.clock(), parallel.clock());
+        assertEquals(sequential.getGeneratedEventsNumber(), parallel.getGeneratedEventsNumber());
+    }
+
+    @Test
+    public void sameResultsAndListenersOrderWhenUpdatingHostsInParallel() {
+        final CloudSim sequential = new CloudSim();
+        final List<String> expected = runSimulation(sequential, false);
+
+        final CloudSim parallel = new CloudSim();
+        final List<String> actual = runSimulation(parallel, true);
+
+        assertEquals(expected, actual);
+        assertEquals(sequential.getGeneratedEventsNumber(), parallel.getGeneratedEventsNumber());
+    }
+
+    /**
+     * Runs a simulation and gets a description of the execution of each finished Cloudlet,
+     * preceded by the notifications of Hosts processing updates.
+     * @param parallelHosts true to update Hosts in parallel, false otherwise
+     */
+    private static List<String> runSimulation(final CloudSim simulation, final boolean parallelHosts) {
+        final Random random = new Random(SEED);
+        final List<String> results = new ArrayList<>();
+        final List<Datacenter> datacenters = new ArrayList<>();
+        for (int i = 0; i < DATACENTERS; i++) {
+            final List<Host> hosts = createHosts(HOSTS, HOST_PES);
+            hosts.forEach(host -> host.addOnUpdateProcessingListener(info -> results.add(info.getTime() + " " + host)));
+            final DatacenterSimple dc = new DatacenterSimple(simulation, hosts);
+            dc.setSchedulingInterval(i % 2 == 0 ? 2 : 0);
+            if (parallelHosts) {
+                dc.setParallelHostsProcessingThreshold(1);
+            }
+
+            datacenters.add(dc);
+        }
+
+        final List<DatacenterBrokerSimple> brokers = new ArrayList<>();
+        for (final Datacenter dc : datacenters) {
+            final DatacenterBrokerSimple broker = new DatacenterBrokerSimple(simulation);
+            broker.setDatacenterMapper((lastDc, vm) -> dc);
+            brokers.add(broker);
+        }
+
+        for (final DatacenterBrokerSimple broker : brokers) {
+            createAndSubmitVms(broker, VMS, VM_PES);
+            broker.submitCloudletList(createCloudlets(random));
+        }
+
+        simulation.start();
+
+        for (final DatacenterBroker broker : brokers) {
+            for (final Cloudlet cloudlet : broker.getCloudletFinishedList()) {
+                results.add(String.format(
+                    "%d %d %d %d %s %s", broker.getId(), cloudlet.getId(), cloudlet.getVm().getId(),
+                    cloudlet.getVm().getHost().getId(), cloudlet.getExecStartTime(), cloudlet.getFinishTime()));
+            }
+        }
+
+        return results;
+    }
+
+    private static List<Cloudlet> createCloudlets(final Random random) {
+        final List<Cloudlet> cloudlets = new ArrayList<>(CLOUDLETS);
+        for (int i = 0; i < CLOUDLETS; i++) {
+            final Cloudlet cloudlet = new CloudletSimple(1000 + random.nextInt(10000), 1, new UtilizationModelDynamic(0.5));
+            cloudlet.setSizes(300);
+            cloudlet.setSubmissionDelay(random.nextInt(20));
+            cloudlets.add(cloudlet);
+        }
+
+        return cloudlets;
+    }
+}
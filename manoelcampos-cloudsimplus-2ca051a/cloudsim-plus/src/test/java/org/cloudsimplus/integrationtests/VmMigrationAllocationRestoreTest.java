@@ -0,0 +1,125 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.integrationtests;
+
+import org.cloudbus.cloudsim.allocationpolicies.migration.VmAllocationPolicyMigrationAbstract;
+import org.cloudbus.cloudsim.allocationpolicies.migration.VmAllocationPolicyMigrationBestFitStaticThreshold;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.power.models.PowerModelHostSimple;
+import org.cloudbus.cloudsim.schedulers.vm.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicyMinimumUtilization;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelDynamic;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.cloudsimplus.integrationtests.IntegrationTestUtil.createAndSubmitVms;
+import static org.cloudsimplus.integrationtests.IntegrationTestUtil.createHosts;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * An Integration Test (IT) to check that the VMs temporarily moved among Hosts
+ * by a {@link VmAllocationPolicyMigrationAbstract} to compute a new VM placement
+ * are placed back into their original Hosts before the migrations are requested.
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 6.5.3
+ */
+public class VmMigrationAllocationRestoreTest {
+    private static final int HOSTS = 20;
+    private static final int HOST_PES = 8;
+    private static final long SEED = 11;
+
+    private int nonEmptyMigrationMaps;
+
+    @Test
+    public void vmsAreKeptInSourceHostsAfterComputingNewPlacement() {
+        final Random random = new Random(SEED);
+        final CloudSim simulation = new CloudSim();
+        final List<Host> hosts = createHosts(HOSTS, HOST_PES);
+        hosts.forEach(host -> host.setVmScheduler(new VmSchedulerTimeShared()).setPowerModel(new PowerModelHostSimple(250, 100)));
+
+        final List<Integer> hostOfVm = new ArrayList<>();
+        for (int i = 0; i < HOSTS; i++) {
+            final int vms = 1 + random.nextInt(3);
+            for (int j = 0; j < vms; j++) {
+                hostOfVm.add(i);
+            }
+        }
+
+        final VmAllocationPolicyMigrationAbstract policy =
+            new VmAllocationPolicyMigrationBestFitStaticThreshold(new VmSelectionPolicyMinimumUtilization(), 0.5) {
+                @Override
+                public Map<Vm, Host> getOptimizedAllocationMap(final List<? extends Vm> vmList) {
+                    final Map<Host, Set<Vm>> expected = getVmsByHost(hosts);
+                    final Map<Vm, Host> migrationMap = super.getOptimizedAllocationMap(vmList);
+                    if(!migrationMap.isEmpty()) {
+                        nonEmptyMigrationMaps++;
+                        assertEquals(expected, getVmsByHost(hosts));
+                    }
+
+                    return migrationMap;
+                }
+            };
+        policy.setUnderUtilizationThreshold(0.3);
+        policy.setFindHostForVmFunction((p, vm) -> Optional.of(hosts.get(hostOfVm.get((int) vm.getId()))));
+        new DatacenterSimple(simulation, hosts, policy).setSchedulingInterval(10);
+
+        final DatacenterBrokerSimple broker = new DatacenterBrokerSimple(simulation);
+        final List<Vm> vms = createAndSubmitVms(broker, hostOfVm.size(), 2);
+        final List<Cloudlet> cloudlets = new ArrayList<>(vms.size());
+        for (final Vm vm : vms) {
+            final Cloudlet cloudlet = new CloudletSimple(20_000 + random.nextInt(80_000), 2)
+                .setUtilizationModelCpu(new UtilizationModelDynamic(0.01 + random.nextDouble() * 0.98))
+                .setUtilizationModelRam(new UtilizationModelFull())
+                .setUtilizationModelBw(new UtilizationModelFull())
+                .setSizes(100);
+            cloudlet.setVm(vm);
+            cloudlets.add(cloudlet);
+        }
+
+        broker.submitCloudletList(cloudlets);
+        simulation.terminateAt(200);
+        simulation.start();
+
+        assertTrue(nonEmptyMigrationMaps > 0);
+    }
+
+    private static Map<Host, Set<Vm>> getVmsByHost(final List<Host> hosts) {
+        final Map<Host, Set<Vm>> map = new HashMap<>();
+        for (final Host host : hosts) {
+            map.put(host, new HashSet<>(host.getVmList()));
+        }
+
+        return map;
+    }
+}
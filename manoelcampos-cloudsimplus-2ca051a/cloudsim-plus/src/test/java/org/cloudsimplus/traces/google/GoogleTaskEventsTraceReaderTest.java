@@ -23,11 +23,33 @@
  */
 package org.cloudsimplus.traces.google;
 
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelDynamic;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.VmSimple;
 import org.cloudsimplus.traces.google.GoogleTaskEventsTraceReader.FieldIndex;
 import org.cloudsimplus.traces.google.GoogleTaskEventsTraceReader.MissingInfo;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author Manoel Campos da Silva Filho
@@ -87,4 +109,104 @@ public class GoogleTaskEventsTraceReaderTest {
         assertEquals(12, FieldIndex.DIFFERENT_MACHINE_CONSTRAINT.ordinal());
     }
 
+    @Test
+    public void testUniqueTaskIdConcatenatesJobIdAndTaskIndex() {
+        assertEquals(10, new TaskEvent().setJobId(1).setTaskIndex(0).getUniqueTaskId());
+        assertEquals(4_028_922_835L, new TaskEvent().setJobId(4_028_922_835L / 10).setTaskIndex(5).getUniqueTaskId());
+        assertEquals(12_345, new TaskEvent().setJobId(12).setTaskIndex(345).getUniqueTaskId());
+        assertEquals(7_100, new TaskEvent().setJobId(7).setTaskIndex(100).getUniqueTaskId());
+    }
+
+    private static final int TASKS = 30;
+    private static final int SUBMISSION_INTERVAL = 10;
+    private static final int TASK_DURATION = 25;
+    private static final double STREAMING_WINDOW = 15;
+
+    @TempDir
+    /* default */ Path tempDir;
+
+    /** Maximum number of tasks the reader kept in memory at the same time. */
+    private int maxLiveTasks;
+
+    /**
+     * Checks that the streaming replay submits and finishes Cloudlets at the same times of
+     * reading the entire trace file, but just keeping the tasks which didn't terminate yet.
+     */
+    @Test
+    public void streamingReplayKeepsJustLiveTasks() throws IOException {
+        final Path traceFile = createTraceFile();
+
+        final List<String> expected = runSimulation(traceFile, 0);
+        final int allTasks = maxLiveTasks;
+
+        final List<String> actual = runSimulation(traceFile, STREAMING_WINDOW);
+
+        assertEquals(TASKS, allTasks);
+        assertEquals(TASKS, expected.size());
+        assertEquals(expected, actual);
+        assertTrue(maxLiveTasks <= (TASK_DURATION + STREAMING_WINDOW)/SUBMISSION_INTERVAL + 1);
+    }
+
+    /**
+     * Creates a trace file where a new task is submitted and scheduled at every {@link #SUBMISSION_INTERVAL}
+     * and finishes after {@link #TASK_DURATION}.
+     */
+    private Path createTraceFile() throws IOException {
+        final List<long[]> events = new ArrayList<>();
+        for (int task = 0; task < TASKS; task++) {
+            final long submission = task * SUBMISSION_INTERVAL;
+            events.add(new long[]{submission, task, TaskEventType.SUBMIT.ordinal()});
+            events.add(new long[]{submission + 1, task, TaskEventType.SCHEDULE.ordinal()});
+            events.add(new long[]{submission + TASK_DURATION, task, TaskEventType.FINISH.ordinal()});
+        }
+        events.sort((evt1, evt2) -> Long.compare(evt1[0], evt2[0]));
+
+        final List<String> lines = new ArrayList<>(events.size());
+        for (final long[] evt : events) {
+            lines.add(String.format("%d,,1,%d,0,%d,user,3,9,0.125,0.07446,0.2122,0", evt[0]*1_000_000, evt[1], evt[2]));
+        }
+
+        final Path file = tempDir.resolve("task-events.csv");
+        Files.write(file, lines);
+        return file;
+    }
+
+    /**
+     * Runs a simulation where Cloudlets are created from a trace file.
+     * @return a List where each item describes the execution of a finished Cloudlet
+     */
+    private List<String> runSimulation(final Path traceFile, final double streamingWindow) throws IOException {
+        final CloudSim simulation = new CloudSim();
+        final List<Pe> peList = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            peList.add(new PeSimple(1000));
+        }
+        new DatacenterSimple(simulation, Collections.singletonList(new HostSimple(16000, 100000, 1000000, peList)));
+
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        broker.submitVm(new VmSimple(1000, 8).setRam(4096).setBw(1000).setSize(1000));
+
+        final GoogleTaskEventsTraceReader reader =
+            new GoogleTaskEventsTraceReader(simulation, traceFile.toString(), this::createCloudlet);
+        reader.setDefaultBroker(broker).setStreamingWindow(streamingWindow);
+        final Collection<Cloudlet> liveTasks = reader.process();
+        maxLiveTasks = liveTasks.size();
+        simulation.addOnClockTickListener(info -> maxLiveTasks = Math.max(maxLiveTasks, liveTasks.size()));
+        simulation.start();
+
+        final List<String> results = new ArrayList<>();
+        for (final Cloudlet cloudlet : broker.getCloudletFinishedList()) {
+            results.add(String.format("%d %.2f %.2f", cloudlet.getId(), cloudlet.getExecStartTime(), cloudlet.getFinishTime()));
+        }
+
+        results.sort(String::compareTo);
+        return results;
+    }
+
+    private Cloudlet createCloudlet(final TaskEvent event) {
+        return new CloudletSimple(1_000_000_000, 1)
+            .setUtilizationModelCpu(new UtilizationModelFull())
+            .setUtilizationModelRam(new UtilizationModelDynamic(0.01, event.getResourceRequestForRam()))
+            .setUtilizationModelBw(new UtilizationModelDynamic(0.01));
+    }
 }
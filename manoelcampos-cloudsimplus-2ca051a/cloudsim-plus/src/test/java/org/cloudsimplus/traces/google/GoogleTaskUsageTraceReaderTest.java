@@ -23,10 +23,34 @@
  */
 package org.cloudsimplus.traces.google;
 
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelDynamic;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
 import org.cloudsimplus.traces.google.GoogleTaskUsageTraceReader.FieldIndex;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author Manoel Campos da Silva Filho
@@ -57,4 +81,195 @@ public class GoogleTaskUsageTraceReaderTest {
         assertEquals(13, FieldIndex.MAXIMUM_CPU_USAGE.ordinal());
         assertEquals(14, FieldIndex.MAXIMUM_DISK_IO_TIME.ordinal());
     }
+
+    private static final int USAGE_SAMPLES = 40;
+    private static final double SAMPLES_INTERVAL = 10;
+    private static final double STREAMING_WINDOW = 25;
+
+    /** The time the first usage sample after a gap in the trace file starts. */
+    private static final double GAP_END_TIME = 300;
+
+    private static final double VM_DESTRUCTION_DELAY = 10;
+
+    @TempDir
+    /* default */ Path tempDir;
+
+    /** Maximum number of resource usage change events in the simulation queue at the same time. */
+    private long maxUsageChangeEvents;
+
+    /**
+     * Checks that the streaming replay changes the Cloudlets resource usage
+     * at the same times of reading the entire trace file,
+     * but without keeping all the changes in the simulation queue.
+     */
+    @Test
+    public void streamingReplayChangesUsageAtTheSameTimes() throws IOException {
+        final Path traceFile = createTraceFile();
+
+        final List<String> expected = runSimulation(traceFile, 0);
+        final long allUsageChangeEvents = maxUsageChangeEvents;
+
+        final List<String> actual = runSimulation(traceFile, STREAMING_WINDOW);
+
+        assertEquals(2*USAGE_SAMPLES, allUsageChangeEvents);
+        assertTrue(expected.size() > USAGE_SAMPLES);
+        assertEquals(expected, actual);
+        assertTrue(maxUsageChangeEvents <= 2*(STREAMING_WINDOW/SAMPLES_INTERVAL + 1) + 1);
+    }
+
+    /**
+     * Checks that a broker is not shut down when it becomes idle during a gap between
+     * resource usage samples, so that the usage of a Cloudlet submitted after the gap is still changed.
+     */
+    @Test
+    public void streamingReplayKeepsBrokerAliveDuringGapBetweenUsageSamples() throws IOException {
+        final Path traceFile = tempDir.resolve("task-usage-gap.csv");
+        Files.write(traceFile, Arrays.asList(
+            usageLine(SAMPLES_INTERVAL, 0, 0.5),
+            usageLine(GAP_END_TIME, 0, 0.6),
+            usageLine(GAP_END_TIME + 2*STREAMING_WINDOW, 0, 0.6),
+            usageLine(GAP_END_TIME + 4*STREAMING_WINDOW, 1, 0.7)));
+
+        final CloudSim simulation = new CloudSim();
+        new DatacenterSimple(simulation, Collections.singletonList(createHost()));
+
+        /* Just the first VM is destroyed when idle,
+         * making the broker idle after the first Cloudlet finishes. */
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        final Vm firstVm = createVm();
+        broker.setVmDestructionDelayFunction(vm -> vm == firstVm ? VM_DESTRUCTION_DELAY : DatacenterBroker.DEF_VM_DESTRUCTION_DELAY);
+        broker.submitVm(firstVm);
+        final Cloudlet first = createCloudlet(0, 10_000);
+        broker.submitCloudlet(first);
+
+        final GoogleTaskUsageTraceReader reader =
+            new GoogleTaskUsageTraceReader(Collections.singletonList(broker), traceFile.toString());
+        reader.setStreamingWindow(STREAMING_WINDOW).process();
+
+        //Submits a new Cloudlet when the usage samples after the gap start being read
+        final Cloudlet second = createCloudlet(1, 100_000);
+        final Vm secondVm = createVm();
+        simulation.addOnClockTickListener(info -> {
+            if(info.getTime() >= GAP_END_TIME - STREAMING_WINDOW && secondVm.getBroker() != broker) {
+                broker.submitVm(secondVm);
+                broker.submitCloudlet(second);
+                broker.bindCloudletToVm(second, secondVm);
+            }
+        });
+        simulation.start();
+
+        assertTrue(first.getFinishTime() + VM_DESTRUCTION_DELAY < GAP_END_TIME - STREAMING_WINDOW);
+        assertTrue(second.isFinished());
+        assertEquals(0.7, second.getUtilizationOfCpu());
+    }
+
+    private static String usageLine(final double startTime, final int task, final double cpu) {
+        final long startMicroSecs = (long)(startTime*1_000_000);
+        return String.format(
+            "%d,%d,1,%d,0,%.2f,0.10,0.08,0.001,0.002,0.07,0.002,0.0001,0.04,0.0004",
+            startMicroSecs, startMicroSecs + 10_000_000, task, cpu);
+    }
+
+    /**
+     * Creates a trace file with usage samples for 2 tasks (with ids 10 and 11),
+     * sorted by start time.
+     */
+    private Path createTraceFile() throws IOException {
+        final List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= USAGE_SAMPLES; i++) {
+            final long startMicroSecs = (long)(i*SAMPLES_INTERVAL*1_000_000);
+            for (int task = 0; task < 2; task++) {
+                final double cpu = 0.5 + 0.1*((i + task) % 4);
+                final double ram = 0.1 + 0.05*((i + task) % 2);
+                lines.add(String.format(
+                    "%d,%d,1,%d,0,%.2f,%.2f,0.08,0.001,0.002,0.07,0.002,0.0001,0.04,0.0004",
+                    startMicroSecs, startMicroSecs + 10_000_000, task, cpu, ram));
+            }
+        }
+
+        final Path file = tempDir.resolve("task-usage.csv");
+        Files.write(file, lines);
+        return file;
+    }
+
+    /**
+     * Runs a simulation where the usage of Cloudlets changes according to a trace file.
+     * @return a List where each item describes a resource usage change of a Cloudlet
+     */
+    private List<String> runSimulation(final Path traceFile, final double streamingWindow) throws IOException {
+        maxUsageChangeEvents = 0;
+        final CloudSim simulation = new CloudSim();
+        final Host host = createHost();
+        new DatacenterSimple(simulation, Collections.singletonList(host));
+
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        broker.submitVm(createVm());
+        final List<Cloudlet> cloudlets = new ArrayList<>();
+        for (int task = 0; task < 2; task++) {
+            cloudlets.add(createCloudlet(task, 500_000));
+        }
+        broker.submitCloudletList(cloudlets);
+
+        final GoogleTaskUsageTraceReader reader =
+            new GoogleTaskUsageTraceReader(Collections.singletonList(broker), traceFile.toString());
+        reader.setStreamingWindow(streamingWindow).process();
+
+        final List<String> usageChanges = new ArrayList<>();
+        host.addOnUpdateProcessingListener(info -> {
+            for (final Cloudlet cloudlet : cloudlets) {
+                final String usage = String.format("%d %.2f %.2f", cloudlet.getId(), cloudlet.getUtilizationOfCpu(), cloudlet.getUtilizationOfRam());
+                if(!lastUsage(usageChanges, cloudlet).equals(usage)) {
+                    usageChanges.add(String.format("%.2f %s", info.getTime(), usage));
+                }
+            }
+        });
+        simulation.addOnClockTickListener(info ->
+            maxUsageChangeEvents = Math.max(
+                maxUsageChangeEvents,
+                simulation.getNumberOfFutureEvents(evt -> evt.getTag() == CloudSimTags.CLOUDLET_UPDATE_ATTRIBUTES)));
+        simulation.start();
+
+        cloudlets.forEach(cloudlet -> usageChanges.add(String.format("%d finished at %.2f", cloudlet.getId(), cloudlet.getFinishTime())));
+        return usageChanges;
+    }
+
+    private static Host createHost() {
+        final List<Pe> peList = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            peList.add(new PeSimple(1000));
+        }
+
+        return new HostSimple(16000, 100000, 1000000, peList);
+    }
+
+    private static Vm createVm() {
+        return new VmSimple(1000, 2).setRam(4096).setBw(1000).setSize(1000);
+    }
+
+    /**
+     * Creates a Cloudlet for a task in the trace file.
+     * @param task the index of the task, where the Cloudlet id is the task index prefixed by 1
+     * @param length the Cloudlet length (in MI)
+     */
+    private static Cloudlet createCloudlet(final int task, final long length) {
+        final Cloudlet cloudlet = new CloudletSimple(length, 1);
+        cloudlet.setUtilizationModelCpu(new UtilizationModelDynamic(1))
+                .setUtilizationModelRam(new UtilizationModelDynamic(0.1))
+                .setUtilizationModelBw(new UtilizationModelDynamic(0.1));
+        cloudlet.setId(Long.parseLong("1" + task));
+        return cloudlet;
+    }
+
+    private static String lastUsage(final List<String> usageChanges, final Cloudlet cloudlet) {
+        final String prefix = cloudlet.getId() + " ";
+        for (int i = usageChanges.size() - 1; i >= 0; i--) {
+            final String change = usageChanges.get(i);
+            final String usage = change.substring(change.indexOf(' ') + 1);
+            if (usage.startsWith(prefix)) {
+                return usage;
+            }
+        }
+
+        return "";
+    }
 }
@@ -0,0 +1,131 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.util;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicy;
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class LogTest {
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    public void setUp() {
+        appender = new ListAppender<>();
+        appender.start();
+        rootLogger().addAppender(appender);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        rootLogger().detachAppender(appender);
+    }
+
+    @Test
+    public void quietLoggingSuppressesInfoAndTrace() {
+        final CloudSim simulation = new CloudSim();
+        simulation.setQuietLogging(true);
+        final org.slf4j.Logger logger = LoggerFactory.getLogger(LogTest.class.getSimpleName());
+
+        assertFalse(Log.isInfoEnabled(logger, simulation));
+        assertFalse(Log.isTraceEnabled(logger, simulation));
+    }
+
+    @Test
+    public void quietSimulationLogsWarnings() {
+        final CloudSim simulation = new CloudSim();
+        simulation.setQuietLogging(true);
+        runSimulationWithVmCreationFailure(simulation);
+
+        final List<String> infoMessages = messages(VmAllocationPolicy.LOGGER, Level.INFO);
+        assertTrue(infoMessages.isEmpty(), "INFO messages must not be logged in quiet mode: " + infoMessages);
+        assertFalse(messages(VmAllocationPolicy.LOGGER, Level.WARN).isEmpty(), "WARN messages must be logged in quiet mode");
+    }
+
+    @Test
+    public void notQuietSimulationLogsInfoAndWarnings() {
+        final CloudSim simulation = new CloudSim();
+        runSimulationWithVmCreationFailure(simulation);
+
+        assertFalse(messages(VmAllocationPolicy.LOGGER, Level.INFO).isEmpty());
+        assertFalse(messages(VmAllocationPolicy.LOGGER, Level.WARN).isEmpty());
+    }
+
+    /**
+     * Runs a simulation where just one of two VMs can be placed into the only Host,
+     * so that the {@link VmAllocationPolicy} logs an INFO message for the created VM
+     * and a warning for the VM which couldn't be created.
+     */
+    private static void runSimulationWithVmCreationFailure(final CloudSim simulation) {
+        final Host host = new HostSimple(4096, 10000, 100000, singletonList(new PeSimple(1000)));
+        new DatacenterSimple(simulation, singletonList(host));
+
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        broker.setFailedVmsRetryDelay(-1);
+        final List<Vm> vms = Arrays.asList(new VmSimple(1000, 1), new VmSimple(1000, 1));
+        vms.forEach(vm -> vm.setRam(512).setBw(1000).setSize(1000));
+        broker.submitVmList(vms);
+        broker.submitCloudlet(new CloudletSimple(1000, 1).setSizes(300));
+        simulation.start();
+    }
+
+    private List<String> messages(final org.slf4j.Logger logger, final Level level) {
+        return appender.list
+                       .stream()
+                       .filter(evt -> evt.getLoggerName().equals(logger.getName()) && evt.getLevel() == level)
+                       .map(ILoggingEvent::getFormattedMessage)
+                       .collect(toList());
+    }
+
+    private static Logger rootLogger() {
+        return (Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+    }
+}